@@ -0,0 +1,584 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.ObjectFactory;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.metadata.TypeFactory;
+
+/**
+ * BenchmarkModel holds the source and destination types used by the
+ * benchmarks, along with factory methods for populated instances and the
+ * MapperFactory configuration used to map them.
+ */
+public final class BenchmarkModel {
+
+    private BenchmarkModel() {
+
+    }
+
+    /*
+     * Flat beans
+     */
+
+    public static class FlatSource {
+        public long id;
+        public String name;
+        public String email;
+        public int age;
+        public double score;
+        public boolean active;
+        public Integer rank;
+        public char grade;
+    }
+
+    public static class FlatDestination {
+        public long id;
+        public String name;
+        public String email;
+        public int age;
+        public double score;
+        public boolean active;
+        public Integer rank;
+        public char grade;
+    }
+
+    /*
+     * Nested object graphs
+     */
+
+    public static class Address {
+        public String street;
+        public String city;
+        public String zipCode;
+        public String country;
+    }
+
+    public static class Customer {
+        public String name;
+        public String email;
+        public Address billingAddress;
+    }
+
+    public static class Product {
+        public String sku;
+        public String name;
+        public double price;
+    }
+
+    public static class OrderLine {
+        public Product product;
+        public int quantity;
+    }
+
+    public static class Order {
+        public String id;
+        public Customer customer;
+        public Address shippingAddress;
+        public List<OrderLine> lines;
+    }
+
+    public static class AddressDto {
+        public String street;
+        public String city;
+        public String zipCode;
+        public String country;
+    }
+
+    public static class CustomerDto {
+        public String name;
+        public String email;
+        public AddressDto billingAddress;
+    }
+
+    public static class ProductDto {
+        public String sku;
+        public String name;
+        public double price;
+    }
+
+    public static class OrderLineDto {
+        public ProductDto product;
+        public int quantity;
+    }
+
+    public static class OrderDto {
+        public String id;
+        public CustomerDto customer;
+        public AddressDto shippingAddress;
+        public List<OrderLineDto> lines;
+    }
+
+    /*
+     * Collections and maps
+     */
+
+    public static class Catalog {
+        public List<Product> products;
+        public Set<String> tags;
+        public Map<String, Product> productsBySku;
+        public Map<String, Integer> stock;
+    }
+
+    public static class CatalogDto {
+        public List<ProductDto> products;
+        public Set<String> tags;
+        public Map<String, ProductDto> productsBySku;
+        public Map<String, Integer> stock;
+    }
+
+    /*
+     * Lists and arrays
+     */
+
+    public static class ProductList {
+        public List<Product> products;
+    }
+
+    public static class ProductListDto {
+        public List<ProductDto> products;
+    }
+
+    public static class ProductArray {
+        public Product[] products;
+    }
+
+    public static class ProductArrayDto {
+        public ProductDto[] products;
+    }
+
+    public static class Samples {
+        public int[] counts;
+        public double[] values;
+    }
+
+    public static class SamplesDto {
+        public int[] counts;
+        public double[] values;
+    }
+
+    public static class ConvertedSamplesDto {
+        public long[] counts;
+        public float[] values;
+    }
+
+    /*
+     * Polymorphic destinations, resolved through MultipleMapperWrapper
+     */
+
+    public static class Shape {
+        public String kind;
+        public String name;
+        public double size;
+    }
+
+    public abstract static class ShapeDto {
+        public String name;
+    }
+
+    public static class CircleDto extends ShapeDto {
+        public double radius;
+    }
+
+    public static class SquareDto extends ShapeDto {
+        public double side;
+    }
+
+    /*
+     * Converter heavy beans
+     */
+
+    public enum Status {
+        NEW, ACTIVE, CLOSED
+    }
+
+    public static class Measurement {
+        public Date created;
+        public Date updated;
+        public long timestamp;
+        public String count;
+        public int quantity;
+        public Status status;
+        public String level;
+        public BigDecimal amount;
+        public Long total;
+    }
+
+    public static class MeasurementDto {
+        public Calendar created;
+        public XMLGregorianCalendar updated;
+        public Date timestamp;
+        public int count;
+        public String quantity;
+        public String status;
+        public Status level;
+        public double amount;
+        public Integer total;
+    }
+
+    /*
+     * Enum heavy beans
+     */
+
+    public enum StatusDto {
+        CLOSED, ACTIVE, NEW
+    }
+
+    public static class Event {
+        public Status status;
+        public Status previousStatus;
+        public Status nextStatus;
+        public String requestedStatus;
+    }
+
+    public static class EventDto {
+        public StatusDto status;
+        public StatusDto previousStatus;
+        public StatusDto nextStatus;
+        public Status requestedStatus;
+    }
+
+    /*
+     * Date and time beans, holding the same values as java.time types or as
+     * Calendars
+     */
+
+    public static class Schedule {
+        public Instant created;
+        public Instant modified;
+        public Instant expires;
+        public LocalDate day;
+        public OffsetDateTime scheduled;
+        public Duration timeout;
+    }
+
+    public static class CalendarSchedule {
+        public Calendar created;
+        public Calendar modified;
+        public Calendar expires;
+        public Calendar day;
+        public Calendar scheduled;
+        public Date timeout;
+    }
+
+    public static class ScheduleDto {
+        public Date created;
+        public Timestamp modified;
+        public long expires;
+        public java.sql.Date day;
+        public XMLGregorianCalendar scheduled;
+        public long timeout;
+    }
+
+    /*
+     * Beans exchanged as XML calendars, on their way from Dates to Timestamps
+     */
+
+    public static class Receipt {
+        public Date issued;
+        public Date received;
+        public Date settled;
+    }
+
+    public static class ReceiptXml {
+        public XMLGregorianCalendar issued;
+        public XMLGregorianCalendar received;
+        public XMLGregorianCalendar settled;
+    }
+
+    public static class ReceiptRecord {
+        public Timestamp issued;
+        public Timestamp received;
+        public Timestamp settled;
+    }
+
+    /*
+     * Trees with back-references
+     */
+
+    public static class Node {
+        public String name;
+        public Node parent;
+        public List<Node> children;
+    }
+
+    public static class NodeDto {
+        public String name;
+        public NodeDto parent;
+        public List<NodeDto> children;
+    }
+
+    /*
+     * Same shape as Node, but without a reference back to the parent
+     */
+
+    public static class Tree {
+        public String name;
+        public List<Tree> children;
+    }
+
+    public static class TreeDto {
+        public String name;
+        public List<TreeDto> children;
+    }
+
+    /**
+     * Creates a new MapperFactory configured for all of the types in this
+     * model.
+     *
+     * @return the configured MapperFactory
+     */
+    public static MapperFactory newMapperFactory() {
+        MapperFactory factory = new DefaultMapperFactory.Builder().build();
+
+        factory.classMap(Order.class, OrderDto.class).byDefault().register();
+        factory.classMap(Customer.class, CustomerDto.class).byDefault().register();
+        factory.classMap(Address.class, AddressDto.class).byDefault().register();
+        factory.classMap(OrderLine.class, OrderLineDto.class).byDefault().register();
+        factory.classMap(Product.class, ProductDto.class).byDefault().register();
+        factory.classMap(ProductList.class, ProductListDto.class).byDefault().register();
+        factory.classMap(ProductArray.class, ProductArrayDto.class).byDefault().register();
+        factory.classMap(Samples.class, SamplesDto.class).byDefault().register();
+        factory.classMap(Samples.class, ConvertedSamplesDto.class).byDefault().register();
+        factory.classMap(Event.class, EventDto.class).byDefault().register();
+        factory.classMap(Schedule.class, ScheduleDto.class).byDefault().register();
+        factory.classMap(CalendarSchedule.class, ScheduleDto.class).byDefault().register();
+        factory.classMap(Receipt.class, ReceiptXml.class).byDefault().register();
+        factory.classMap(ReceiptXml.class, ReceiptRecord.class).byDefault().register();
+
+        factory.registerObjectFactory(new ObjectFactory<ShapeDto>() {
+            public ShapeDto create(Object source, MappingContext mappingContext) {
+                return "circle".equals(((Shape) source).kind) ? new CircleDto() : new SquareDto();
+            }
+        }, TypeFactory.valueOf(ShapeDto.class), TypeFactory.valueOf(Shape.class));
+        factory.classMap(Shape.class, CircleDto.class).field("size", "radius").byDefault().register();
+        factory.classMap(Shape.class, SquareDto.class).field("size", "side").byDefault().register();
+
+        return factory;
+    }
+
+    public static FlatSource newFlatSource(int index) {
+        FlatSource source = new FlatSource();
+        source.id = index;
+        source.name = "name" + index;
+        source.email = "name" + index + "@example.com";
+        source.age = 20 + index % 50;
+        source.score = index * 1.5;
+        source.active = index % 2 == 0;
+        source.rank = index;
+        source.grade = (char) ('A' + index % 5);
+        return source;
+    }
+
+    public static Address newAddress(int index) {
+        Address address = new Address();
+        address.street = index + " Main Street";
+        address.city = "City" + index;
+        address.zipCode = String.valueOf(10000 + index);
+        address.country = "Country";
+        return address;
+    }
+
+    public static Product newProduct(int index) {
+        Product product = new Product();
+        product.sku = "SKU-" + index;
+        product.name = "Product " + index;
+        product.price = 9.99 + index;
+        return product;
+    }
+
+    public static Order newOrder(int lineCount) {
+        Order order = new Order();
+        order.id = "order";
+        order.customer = new Customer();
+        order.customer.name = "customer";
+        order.customer.email = "customer@example.com";
+        order.customer.billingAddress = newAddress(0);
+        order.shippingAddress = newAddress(1);
+        order.lines = new ArrayList<OrderLine>(lineCount);
+        for (int i = 0; i < lineCount; ++i) {
+            OrderLine line = new OrderLine();
+            line.product = newProduct(i);
+            line.quantity = i + 1;
+            order.lines.add(line);
+        }
+        return order;
+    }
+
+    public static Catalog newCatalog(int size) {
+        Catalog catalog = new Catalog();
+        catalog.products = new ArrayList<Product>(size);
+        catalog.tags = new LinkedHashSet<String>();
+        catalog.productsBySku = new HashMap<String, Product>();
+        catalog.stock = new HashMap<String, Integer>();
+        for (int i = 0; i < size; ++i) {
+            Product product = newProduct(i);
+            catalog.products.add(product);
+            catalog.tags.add("tag" + i);
+            catalog.productsBySku.put(product.sku, product);
+            catalog.stock.put(product.sku, i);
+        }
+        return catalog;
+    }
+
+    public static ProductList newProductList(int size) {
+        ProductList list = new ProductList();
+        list.products = new ArrayList<Product>(size);
+        for (int i = 0; i < size; ++i) {
+            list.products.add(newProduct(i));
+        }
+        return list;
+    }
+
+    public static ProductArray newProductArray(int size) {
+        ProductArray array = new ProductArray();
+        array.products = new Product[size];
+        for (int i = 0; i < size; ++i) {
+            array.products[i] = newProduct(i);
+        }
+        return array;
+    }
+
+    public static Samples newSamples(int size) {
+        Samples samples = new Samples();
+        samples.counts = new int[size];
+        samples.values = new double[size];
+        for (int i = 0; i < size; ++i) {
+            samples.counts[i] = i;
+            samples.values[i] = i * 0.5;
+        }
+        return samples;
+    }
+
+    public static List<Shape> newShapes(int count) {
+        List<Shape> shapes = new ArrayList<Shape>(count);
+        for (int i = 0; i < count; ++i) {
+            Shape shape = new Shape();
+            shape.kind = i % 2 == 0 ? "circle" : "square";
+            shape.name = "shape" + i;
+            shape.size = i;
+            shapes.add(shape);
+        }
+        return shapes;
+    }
+
+    public static Measurement newMeasurement() {
+        Measurement measurement = new Measurement();
+        measurement.created = new Date(1500000000000L);
+        measurement.updated = new Date(1500000360000L);
+        measurement.timestamp = 1500000720000L;
+        measurement.count = "42";
+        measurement.quantity = 7;
+        measurement.status = Status.ACTIVE;
+        measurement.level = "CLOSED";
+        measurement.amount = new BigDecimal("1234.56");
+        measurement.total = 100000L;
+        return measurement;
+    }
+
+    public static Event newEvent() {
+        Event event = new Event();
+        event.status = Status.ACTIVE;
+        event.previousStatus = Status.NEW;
+        event.nextStatus = Status.CLOSED;
+        event.requestedStatus = "CLOSED";
+        return event;
+    }
+
+    public static Schedule newSchedule() {
+        Schedule schedule = new Schedule();
+        schedule.created = Instant.ofEpochMilli(1500000000000L);
+        schedule.modified = Instant.ofEpochMilli(1500000360000L);
+        schedule.expires = Instant.ofEpochMilli(1500000720000L);
+        schedule.day = LocalDate.of(2017, 7, 14);
+        schedule.scheduled = OffsetDateTime.parse("2017-07-14T02:40:00.250+02:00");
+        schedule.timeout = Duration.ofMillis(360000L);
+        return schedule;
+    }
+
+    public static CalendarSchedule newCalendarSchedule() {
+        CalendarSchedule schedule = new CalendarSchedule();
+        schedule.created = newCalendar(1500000000000L);
+        schedule.modified = newCalendar(1500000360000L);
+        schedule.expires = newCalendar(1500000720000L);
+        schedule.day = newCalendar(1499990400000L);
+        schedule.scheduled = newCalendar(1499992800250L);
+        schedule.timeout = new Date(360000L);
+        return schedule;
+    }
+
+    private static Calendar newCalendar(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        return calendar;
+    }
+
+    public static Receipt newReceipt() {
+        Receipt receipt = new Receipt();
+        receipt.issued = new Date(1500000000000L);
+        receipt.received = new Date(1500000360250L);
+        receipt.settled = new Date(1510000720500L);
+        return receipt;
+    }
+
+    public static Node newNodeTree(int depth, int breadth) {
+        Node node = new Node();
+        node.name = "node" + depth;
+        node.children = new ArrayList<Node>(breadth);
+        if (depth > 0) {
+            for (int i = 0; i < breadth; ++i) {
+                Node child = newNodeTree(depth - 1, breadth);
+                child.parent = node;
+                node.children.add(child);
+            }
+        }
+        return node;
+    }
+
+    public static Tree newTree(int depth, int breadth) {
+        Tree tree = new Tree();
+        tree.name = "tree" + depth;
+        tree.children = new ArrayList<Tree>(breadth);
+        if (depth > 0) {
+            for (int i = 0; i < breadth; ++i) {
+                tree.children.add(newTree(depth - 1, breadth));
+            }
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Catalog;
+import ma.glasnost.orika.benchmark.BenchmarkModel.CatalogDto;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatDestination;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the mapping of collections and maps: a bean holding a List, a Set
+ * and two Maps, as well as a List of beans mapped directly using
+ * <code>mapAsList</code>.
+ */
+@State(Scope.Benchmark)
+public class CollectionBenchmark extends AbstractMappingBenchmark {
+
+    @Param({ "10", "1000" })
+    public int size;
+
+    private MapperFacade mapperFacade;
+    private Catalog catalog;
+    private List<FlatSource> sources;
+
+    @Setup
+    public void setUp() {
+        mapperFacade = BenchmarkModel.newMapperFactory().getMapperFacade();
+        catalog = BenchmarkModel.newCatalog(size);
+        sources = new ArrayList<FlatSource>(size);
+        for (int i = 0; i < size; ++i) {
+            sources.add(BenchmarkModel.newFlatSource(i));
+        }
+    }
+
+    @Benchmark
+    public CatalogDto collectionsAndMaps() {
+        return mapperFacade.map(catalog, CatalogDto.class);
+    }
+
+    @Benchmark
+    public List<FlatDestination> mapAsList() {
+        return mapperFacade.mapAsList(sources, FlatDestination.class);
+    }
+}
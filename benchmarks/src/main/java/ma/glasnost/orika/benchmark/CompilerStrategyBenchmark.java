@@ -0,0 +1,110 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.OrikaSystemProperties;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Customer;
+import ma.glasnost.orika.benchmark.BenchmarkModel.CustomerDto;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatDestination;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatSource;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.BytecodeCompilerStrategy;
+import ma.glasnost.orika.impl.generator.CompilerStrategy;
+import ma.glasnost.orika.impl.generator.EclipseJdtCompilerStrategy;
+import ma.glasnost.orika.impl.generator.JaninoCompilerStrategy;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of generating a single mapper with each of the compiler
+ * strategies; each invocation builds a new MapperFactory, with a single
+ * class-map registered, using the same compiler strategy instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 200)
+@Measurement(iterations = 500)
+public class CompilerStrategyBenchmark extends AbstractMappingBenchmark {
+
+    @Param({ "javassist", "janino", "eclipse", "bytecode" })
+    public String compilerStrategy;
+
+    private CompilerStrategy strategy;
+    private MapperFactory flatFactory;
+    private MapperFactory customerFactory;
+
+    @Setup(Level.Trial)
+    public void setUpStrategy() {
+        /*
+         * The Eclipse JDT strategy writes source files by default
+         */
+        System.setProperty(OrikaSystemProperties.WRITE_SOURCE_FILES, "false");
+        if ("javassist".equals(compilerStrategy)) {
+            strategy = new JavassistCompilerStrategy();
+        } else if ("janino".equals(compilerStrategy)) {
+            strategy = new JaninoCompilerStrategy();
+        } else if ("eclipse".equals(compilerStrategy)) {
+            strategy = new EclipseJdtCompilerStrategy();
+        } else {
+            strategy = new BytecodeCompilerStrategy();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpFactories() {
+        flatFactory = new DefaultMapperFactory.Builder().compilerStrategy(strategy).usePrecompiledMappers(false).build();
+        flatFactory.classMap(FlatSource.class, FlatDestination.class).byDefault().register();
+
+        customerFactory = new DefaultMapperFactory.Builder().compilerStrategy(strategy).usePrecompiledMappers(false).build();
+        customerFactory.classMap(Customer.class, CustomerDto.class).byDefault().register();
+    }
+
+    /**
+     * A mapper whose fields are all copied by reference
+     */
+    @Benchmark
+    public MapperFacade generateFlatBeanMapper() {
+        return flatFactory.getMapperFacade();
+    }
+
+    /**
+     * A mapper with a nested bean field, which the bytecode strategy
+     * generates from source
+     */
+    @Benchmark
+    public MapperFacade generateNestedBeanMapper() {
+        return customerFactory.getMapperFacade();
+    }
+}
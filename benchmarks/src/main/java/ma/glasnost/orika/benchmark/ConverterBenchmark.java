@@ -0,0 +1,61 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Measurement;
+import ma.glasnost.orika.benchmark.BenchmarkModel.MeasurementDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the mapping of a bean whose properties are all mapped using the
+ * built-in converters (date and time types, String to/from numbers and enums,
+ * and numeric conversions).
+ */
+@State(Scope.Benchmark)
+public class ConverterBenchmark extends AbstractMappingBenchmark {
+
+    private MapperFacade mapperFacade;
+    private BoundMapperFacade<Measurement, MeasurementDto> boundMapperFacade;
+    private Measurement measurement;
+
+    @Setup
+    public void setUp() {
+        MapperFactory factory = BenchmarkModel.newMapperFactory();
+        mapperFacade = factory.getMapperFacade();
+        boundMapperFacade = factory.getMapperFacade(Measurement.class, MeasurementDto.class);
+        measurement = BenchmarkModel.newMeasurement();
+    }
+
+    @Benchmark
+    public MeasurementDto mapperFacade() {
+        return mapperFacade.map(measurement, MeasurementDto.class);
+    }
+
+    @Benchmark
+    public MeasurementDto boundMapperFacade() {
+        return boundMapperFacade.map(measurement);
+    }
+}
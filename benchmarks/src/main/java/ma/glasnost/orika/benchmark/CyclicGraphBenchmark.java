@@ -0,0 +1,68 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Node;
+import ma.glasnost.orika.benchmark.BenchmarkModel.NodeDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the cycle tracking of large graphs: a tree of nodes, each with a
+ * reference back to its parent, is mapped with 1,111 and 111,111 nodes, every
+ * one of which is cached in (and then cleared from) the pooled MappingContext.
+ */
+@State(Scope.Benchmark)
+public class CyclicGraphBenchmark extends AbstractMappingBenchmark {
+
+    /**
+     * The depth of a tree in which each node has ten children
+     */
+    @Param({ "3", "5" })
+    public int depth;
+
+    private MapperFacade mapperFacade;
+    private BoundMapperFacade<Node, NodeDto> boundMapperFacade;
+    private Node node;
+
+    @Setup
+    public void setUp() {
+        MapperFactory factory = BenchmarkModel.newMapperFactory();
+        mapperFacade = factory.getMapperFacade();
+        boundMapperFacade = factory.getMapperFacade(Node.class, NodeDto.class, true);
+        node = BenchmarkModel.newNodeTree(depth, 10);
+    }
+
+    @Benchmark
+    public NodeDto mapperFacade() {
+        return mapperFacade.map(node, NodeDto.class);
+    }
+
+    @Benchmark
+    public NodeDto boundMapperFacade() {
+        return boundMapperFacade.map(node);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatDestination;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the copy of a flat bean (primitive, wrapper and String properties
+ * only), through both MapperFacade and BoundMapperFacade.
+ */
+@State(Scope.Benchmark)
+public class FlatBeanBenchmark extends AbstractMappingBenchmark {
+
+    private MapperFacade mapperFacade;
+    private BoundMapperFacade<FlatSource, FlatDestination> boundMapperFacade;
+    private FlatSource source;
+
+    @Setup
+    public void setUp() {
+        MapperFactory factory = BenchmarkModel.newMapperFactory();
+        mapperFacade = factory.getMapperFacade();
+        boundMapperFacade = factory.getMapperFacade(FlatSource.class, FlatDestination.class);
+        source = BenchmarkModel.newFlatSource(1);
+    }
+
+    @Benchmark
+    public FlatDestination mapperFacade() {
+        return mapperFacade.map(source, FlatDestination.class);
+    }
+
+    @Benchmark
+    public FlatDestination boundMapperFacade() {
+        return boundMapperFacade.map(source);
+    }
+}
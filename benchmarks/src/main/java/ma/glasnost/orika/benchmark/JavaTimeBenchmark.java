@@ -0,0 +1,76 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.benchmark.BenchmarkModel.CalendarSchedule;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Schedule;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ScheduleDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the java.time converters with the Calendar based
+ * DateAndTimeConverters: the same bean of Dates, Timestamps, XML calendars and
+ * epoch milliseconds is mapped to and from either java.time values or
+ * Calendars.
+ */
+@State(Scope.Benchmark)
+public class JavaTimeBenchmark extends AbstractMappingBenchmark {
+
+    private BoundMapperFacade<Schedule, ScheduleDto> javaTimeMapperFacade;
+    private BoundMapperFacade<CalendarSchedule, ScheduleDto> calendarMapperFacade;
+    private Schedule schedule;
+    private CalendarSchedule calendarSchedule;
+    private ScheduleDto scheduleDto;
+
+    @Setup
+    public void setUp() {
+        MapperFactory factory = BenchmarkModel.newMapperFactory();
+        javaTimeMapperFacade = factory.getMapperFacade(Schedule.class, ScheduleDto.class);
+        calendarMapperFacade = factory.getMapperFacade(CalendarSchedule.class, ScheduleDto.class);
+        schedule = BenchmarkModel.newSchedule();
+        calendarSchedule = BenchmarkModel.newCalendarSchedule();
+        scheduleDto = javaTimeMapperFacade.map(schedule);
+    }
+
+    @Benchmark
+    public ScheduleDto javaTime() {
+        return javaTimeMapperFacade.map(schedule);
+    }
+
+    @Benchmark
+    public ScheduleDto calendar() {
+        return calendarMapperFacade.map(calendarSchedule);
+    }
+
+    @Benchmark
+    public Schedule javaTimeReverse() {
+        return javaTimeMapperFacade.mapReverse(scheduleDto);
+    }
+
+    @Benchmark
+    public CalendarSchedule calendarReverse() {
+        return calendarMapperFacade.mapReverse(scheduleDto);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import ma.glasnost.orika.benchmark.BenchmarkModel.Order;
+import ma.glasnost.orika.benchmark.BenchmarkModel.OrderDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cold start cost of a new MapperFactory: building it, and
+ * generating (and compiling) the mappers required to map a nested object
+ * graph for the first time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class MapperGenerationBenchmark extends AbstractMappingBenchmark {
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkModel.newOrder(1);
+    }
+
+    @Benchmark
+    public OrderDto buildAndMapFirstObject() {
+        return BenchmarkModel.newMapperFactory().getMapperFacade().map(order, OrderDto.class);
+    }
+}
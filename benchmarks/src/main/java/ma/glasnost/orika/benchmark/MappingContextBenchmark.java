@@ -0,0 +1,72 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Node;
+import ma.glasnost.orika.benchmark.BenchmarkModel.NodeDto;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Tree;
+import ma.glasnost.orika.benchmark.BenchmarkModel.TreeDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the cost of cycle tracking: an acyclic tree is mapped both with a
+ * cycle-tracking and a non-cyclic MappingContext, and a tree with references
+ * back to each parent (which requires cycle tracking) is mapped for
+ * comparison.
+ */
+@State(Scope.Benchmark)
+public class MappingContextBenchmark extends AbstractMappingBenchmark {
+
+    private BoundMapperFacade<Tree, TreeDto> cyclicTreeMapper;
+    private BoundMapperFacade<Tree, TreeDto> nonCyclicTreeMapper;
+    private BoundMapperFacade<Node, NodeDto> nodeMapper;
+    private Tree tree;
+    private Node node;
+
+    @Setup
+    public void setUp() {
+        MapperFactory factory = BenchmarkModel.newMapperFactory();
+        cyclicTreeMapper = factory.getMapperFacade(Tree.class, TreeDto.class, true);
+        nonCyclicTreeMapper = factory.getMapperFacade(Tree.class, TreeDto.class, false);
+        nodeMapper = factory.getMapperFacade(Node.class, NodeDto.class, true);
+        tree = BenchmarkModel.newTree(4, 4);
+        node = BenchmarkModel.newNodeTree(4, 4);
+    }
+
+    @Benchmark
+    public TreeDto acyclicWithCycleTracking() {
+        return cyclicTreeMapper.map(tree);
+    }
+
+    @Benchmark
+    public TreeDto acyclicWithoutCycleTracking() {
+        return nonCyclicTreeMapper.map(tree);
+    }
+
+    @Benchmark
+    public NodeDto cyclic() {
+        return nodeMapper.map(node);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.concurrent.TimeUnit;
+
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.OrikaSystemProperties;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Customer;
+import ma.glasnost.orika.benchmark.BenchmarkModel.CustomerDto;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatDestination;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatSource;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the metaspace retained by applications which create and discard
+ * many MapperFactory instances, with and without isolating generated classes;
+ * each operation builds a batch of factories (each generating its own
+ * mappers), discards them, and forces a full collection. The growth of the
+ * metaspace used, and of the number of loaded classes, over each iteration is
+ * reported alongside the time per operation (as totals over all measured
+ * iterations).<br>
+ * <br>
+ * Without isolation, both grow with every operation, since generated classes
+ * can never be unloaded from the context class-loader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 10, time = 5)
+public class MetaspaceFootprintBenchmark extends AbstractMappingBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean isolateGeneratedClasses;
+
+    @Param({ "20" })
+    public int factories;
+
+    private FlatSource flatSource;
+    private Customer customer;
+
+    /**
+     * The growth of the footprint since the start of the iteration
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long metaspaceGrowthKilobytes;
+        public long loadedClassesGrowth;
+
+        private long initialMetaspaceUsed;
+        private long initialLoadedClasses;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            System.gc();
+            initialMetaspaceUsed = metaspaceUsed();
+            initialLoadedClasses = loadedClasses();
+            metaspaceGrowthKilobytes = 0;
+            loadedClassesGrowth = 0;
+        }
+
+        void update() {
+            System.gc();
+            metaspaceGrowthKilobytes = (metaspaceUsed() - initialMetaspaceUsed) / 1024;
+            loadedClassesGrowth = loadedClasses() - initialLoadedClasses;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        System.setProperty(OrikaSystemProperties.ISOLATE_GENERATED_CLASSES, String.valueOf(isolateGeneratedClasses));
+        flatSource = BenchmarkModel.newFlatSource(1);
+        customer = BenchmarkModel.newOrder(1).customer;
+    }
+
+    @Benchmark
+    public void createAndDiscardFactories(Footprint footprint) {
+        for (int i = 0; i < factories; ++i) {
+            MapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(new JavassistCompilerStrategy())
+                    .usePrecompiledMappers(false)
+                    .build();
+            factory.getMapperFacade().map(flatSource, FlatDestination.class);
+            factory.getMapperFacade().map(customer, CustomerDto.class);
+        }
+        footprint.update();
+    }
+
+    private static long loadedClasses() {
+        return ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+    }
+
+    private static long metaspaceUsed() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if ("Metaspace".equals(pool.getName())) {
+                return pool.getUsage().getUsed();
+            }
+        }
+        return -1;
+    }
+}
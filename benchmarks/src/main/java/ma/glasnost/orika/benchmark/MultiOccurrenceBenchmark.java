@@ -0,0 +1,79 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ConvertedSamplesDto;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ProductArray;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ProductArrayDto;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ProductList;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ProductListDto;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Samples;
+import ma.glasnost.orika.benchmark.BenchmarkModel.SamplesDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the generated code which maps multi-occurrence properties: a List
+ * of beans to a List, an array of beans to an array, and primitive arrays to
+ * primitive arrays of the same type, or of a wider or narrower type.
+ */
+@State(Scope.Benchmark)
+public class MultiOccurrenceBenchmark extends AbstractMappingBenchmark {
+
+    @Param({ "10", "1000" })
+    public int size;
+
+    private MapperFacade mapperFacade;
+    private ProductList productList;
+    private ProductArray productArray;
+    private Samples samples;
+
+    @Setup
+    public void setUp() {
+        mapperFacade = BenchmarkModel.newMapperFactory().getMapperFacade();
+        productList = BenchmarkModel.newProductList(size);
+        productArray = BenchmarkModel.newProductArray(size);
+        samples = BenchmarkModel.newSamples(size);
+    }
+
+    @Benchmark
+    public ProductListDto listToList() {
+        return mapperFacade.map(productList, ProductListDto.class);
+    }
+
+    @Benchmark
+    public ProductArrayDto arrayToArray() {
+        return mapperFacade.map(productArray, ProductArrayDto.class);
+    }
+
+    @Benchmark
+    public SamplesDto primitiveArrays() {
+        return mapperFacade.map(samples, SamplesDto.class);
+    }
+
+    @Benchmark
+    public ConvertedSamplesDto convertedPrimitiveArrays() {
+        return mapperFacade.map(samples, ConvertedSamplesDto.class);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Order;
+import ma.glasnost.orika.benchmark.BenchmarkModel.OrderDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the mapping of a nested object graph (an order with its customer,
+ * addresses, and lines referencing products), through both MapperFacade and
+ * BoundMapperFacade.
+ */
+@State(Scope.Benchmark)
+public class NestedGraphBenchmark extends AbstractMappingBenchmark {
+
+    @Param({ "1", "20" })
+    public int lines;
+
+    private MapperFacade mapperFacade;
+    private BoundMapperFacade<Order, OrderDto> boundMapperFacade;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        MapperFactory factory = BenchmarkModel.newMapperFactory();
+        mapperFacade = factory.getMapperFacade();
+        boundMapperFacade = factory.getMapperFacade(Order.class, OrderDto.class);
+        order = BenchmarkModel.newOrder(lines);
+    }
+
+    @Benchmark
+    public OrderDto mapperFacade() {
+        return mapperFacade.map(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto boundMapperFacade() {
+        return boundMapperFacade.map(order);
+    }
+}
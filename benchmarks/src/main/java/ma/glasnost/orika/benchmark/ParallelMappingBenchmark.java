@@ -0,0 +1,85 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatDestination;
+import ma.glasnost.orika.benchmark.BenchmarkModel.FlatSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares mapping a large List with <code>mapAsList</code> against
+ * <code>mapAsListParallel</code> (using a pool with one thread per available
+ * processor), for a range of chunk sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelMappingBenchmark extends AbstractMappingBenchmark {
+
+    @Param({ "100000" })
+    public int size;
+
+    @Param({ "1000", "10000" })
+    public int chunkSize;
+
+    private MapperFacade mapperFacade;
+    private ExecutorService executor;
+    private List<FlatSource> sources;
+
+    @Setup
+    public void setUp() {
+        mapperFacade = BenchmarkModel.newMapperFactory().getMapperFacade();
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        sources = new ArrayList<FlatSource>(size);
+        for (int i = 0; i < size; ++i) {
+            sources.add(BenchmarkModel.newFlatSource(i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<FlatDestination> mapAsList() {
+        return mapperFacade.mapAsList(sources, FlatDestination.class);
+    }
+
+    @Benchmark
+    public List<FlatDestination> mapAsListParallel() {
+        return mapperFacade.mapAsListParallel(sources, FlatDestination.class, executor, chunkSize);
+    }
+}
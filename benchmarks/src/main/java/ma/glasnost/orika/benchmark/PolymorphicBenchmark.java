@@ -0,0 +1,54 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import java.util.List;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Shape;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ShapeDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures polymorphic mapping to an abstract destination type, for which
+ * several class-maps are registered; these are dispatched through
+ * <code>MultipleMapperWrapper</code>, alternating between the concrete
+ * destination types.
+ */
+@State(Scope.Benchmark)
+public class PolymorphicBenchmark extends AbstractMappingBenchmark {
+
+    private MapperFacade mapperFacade;
+    private List<Shape> shapes;
+
+    @Setup
+    public void setUp() {
+        mapperFacade = BenchmarkModel.newMapperFactory().getMapperFacade();
+        shapes = BenchmarkModel.newShapes(100);
+    }
+
+    @Benchmark
+    public List<ShapeDto> multipleMapperWrapper() {
+        return mapperFacade.mapAsList(shapes, ShapeDto.class);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import ma.glasnost.orika.CustomMapper;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.metadata.Type;
+import ma.glasnost.orika.metadata.TypeFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the cost of resolving a registered mapper (as performed on every
+ * cache miss of <code>DefaultMapperFactory.lookupMapper</code>) as the number
+ * of registered mappers grows.<br>
+ * A set of unrelated source/destination types is generated for each registry
+ * size, along with a sub-type of each source type; the lookups are performed
+ * for the sub-types, so that every lookup must consider inherited mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegisteredMapperLookupBenchmark extends AbstractMappingBenchmark {
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    @Param({ "100", "500", "1000", "2500" })
+    public int registeredMappers;
+
+    private DefaultMapperFactory mapperFactory;
+    private Type<?>[] lookupTypes;
+    private Type<?>[] destinationTypes;
+    private int next;
+
+    @Setup
+    public void setUp() throws CannotCompileException {
+        ClassPool pool = ClassPool.getDefault();
+        ClassLoader loader = RegisteredMapperLookupBenchmark.class.getClassLoader();
+        String prefix = RegisteredMapperLookupBenchmark.class.getName() + "$Generated" + GENERATION.incrementAndGet() + "_";
+
+        mapperFactory = new DefaultMapperFactory.Builder().build();
+        lookupTypes = new Type<?>[registeredMappers];
+        destinationTypes = new Type<?>[registeredMappers];
+        for (int i = 0; i < registeredMappers; ++i) {
+            CtClass source = pool.makeClass(prefix + i + "Source");
+            CtClass sourceChild = pool.makeClass(prefix + i + "SourceChild", source);
+            CtClass destination = pool.makeClass(prefix + i + "Destination");
+
+            Type<?> sourceType = TypeFactory.valueOf(source.toClass(loader, null));
+            lookupTypes[i] = TypeFactory.valueOf(sourceChild.toClass(loader, null));
+            destinationTypes[i] = TypeFactory.valueOf(destination.toClass(loader, null));
+
+            mapperFactory.registerMapper(new FixedTypeMapper(sourceType, destinationTypes[i]));
+        }
+    }
+
+    @Benchmark
+    public boolean existsRegisteredMapper() {
+        int i = next;
+        next = i + 1 == registeredMappers ? 0 : i + 1;
+        return mapperFactory.existsRegisteredMapper(lookupTypes[i], destinationTypes[i], false);
+    }
+
+    private static class FixedTypeMapper extends CustomMapper<Object, Object> {
+
+        private final Type<Object> fixedAType;
+        private final Type<Object> fixedBType;
+
+        @SuppressWarnings("unchecked")
+        FixedTypeMapper(Type<?> aType, Type<?> bType) {
+            this.fixedAType = (Type<Object>) aType;
+            this.fixedBType = (Type<Object>) bType;
+        }
+
+        @Override
+        public Type<Object> getAType() {
+            return fixedAType;
+        }
+
+        @Override
+        public Type<Object> getBType() {
+            return fixedBType;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.benchmark;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.benchmark.BenchmarkModel.Receipt;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ReceiptRecord;
+import ma.glasnost.orika.benchmark.BenchmarkModel.ReceiptXml;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the conversions to and from XMLGregorianCalendar: a bean of Dates
+ * is mapped to XML calendars, and those to Timestamps, separately and as a
+ * round trip.
+ */
+@State(Scope.Benchmark)
+public class XmlCalendarBenchmark extends AbstractMappingBenchmark {
+
+    private BoundMapperFacade<Receipt, ReceiptXml> toXmlMapperFacade;
+    private BoundMapperFacade<ReceiptXml, ReceiptRecord> fromXmlMapperFacade;
+    private Receipt receipt;
+    private ReceiptXml receiptXml;
+
+    @Setup
+    public void setUp() {
+        MapperFactory factory = BenchmarkModel.newMapperFactory();
+        toXmlMapperFacade = factory.getMapperFacade(Receipt.class, ReceiptXml.class);
+        fromXmlMapperFacade = factory.getMapperFacade(ReceiptXml.class, ReceiptRecord.class);
+        receipt = BenchmarkModel.newReceipt();
+        receiptXml = toXmlMapperFacade.map(receipt);
+    }
+
+    @Benchmark
+    public ReceiptXml dateToXml() {
+        return toXmlMapperFacade.map(receipt);
+    }
+
+    @Benchmark
+    public ReceiptRecord xmlToTimestamp() {
+        return fromXmlMapperFacade.map(receiptXml);
+    }
+
+    @Benchmark
+    public ReceiptRecord roundTrip() {
+        return fromXmlMapperFacade.map(toXmlMapperFacade.map(receipt));
+    }
+}
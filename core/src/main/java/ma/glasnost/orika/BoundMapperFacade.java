@@ -17,6 +17,12 @@
  */
 package ma.glasnost.orika;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import ma.glasnost.orika.util.ParallelMapping;
+import ma.glasnost.orika.util.ParallelMapping.ChunkMapper;
 
 /**
  * BoundMapperFacade represents a caching mapper configuration
@@ -123,4 +129,76 @@ public interface BoundMapperFacade<A, B> extends MappedTypePair<A, B> {
      * @return
      */
     A newObjectReverse(B source, MappingContext context);
+    
+    /**
+     * Generates a new List of instances of the 'B' type based on the
+     * specified instances of 'A', mapping chunks of the source in parallel.
+     * <p>
+     * The source is split into chunks of at most <code>chunkSize</code>
+     * elements, which are mapped concurrently using the provided executor;
+     * the first chunk is mapped by the calling thread. Each chunk is mapped
+     * with its own MappingContext, and the order of the source is preserved
+     * in the returned List. As with
+     * {@link MapperFacade#mapAsList(Iterable, Class)}, <code>null</code>
+     * elements are skipped. Cycle tracking only applies within a chunk: an
+     * object referenced by elements of different chunks is mapped once per
+     * chunk.
+     * <p>
+     * This default implementation maps each element with {@link #map(Object)},
+     * and so with a MappingContext of its own.
+     * 
+     * @param source
+     *            the instances of 'A' to map
+     * @param executor
+     *            the executor used to map all but the first chunk
+     * @param chunkSize
+     *            the maximum number of elements mapped by a single task
+     * @return the mapped instances of 'B', in the order of <code>source</code>
+     */
+    default List<B> mapAsListParallel(Iterable<A> source, Executor executor, int chunkSize) {
+        if (source == null) {
+            return null;
+        }
+        return ParallelMapping.mapInChunks(ParallelMapping.asRandomAccessList(source), executor, chunkSize, new ChunkMapper<A, B>() {
+            public List<B> mapChunk(List<A> chunk) {
+                List<B> result = new ArrayList<B>(chunk.size());
+                for (A instanceA : chunk) {
+                    if (instanceA != null) {
+                        result.add(map(instanceA));
+                    }
+                }
+                return result;
+            }
+        });
+    }
+    
+    /**
+     * Generates a new List of instances of the 'A' type based on the
+     * specified instances of 'B', mapping chunks of the source in parallel.
+     * 
+     * @param source
+     *            the instances of 'B' to map
+     * @param executor
+     *            the executor used to map all but the first chunk
+     * @param chunkSize
+     *            the maximum number of elements mapped by a single task
+     * @return the mapped instances of 'A', in the order of <code>source</code>
+     * @see #mapAsListParallel(Iterable, Executor, int)
+     */
+    default List<A> mapReverseAsListParallel(Iterable<B> source, Executor executor, int chunkSize) {
+        if (source == null) {
+            return null;
+        }
+        return ParallelMapping.mapInChunks(ParallelMapping.asRandomAccessList(source), executor, chunkSize, new ChunkMapper<B, A>() {
+            public List<A> mapChunk(List<B> chunk) {
+                List<A> result = new ArrayList<A>(chunk.size());
+                for (B instanceB : chunk) {
+                    if (instanceB != null) {
+                        result.add(mapReverse(instanceB));
+                    }
+                }
+                return result;
+            }
+        });
+    }
 }
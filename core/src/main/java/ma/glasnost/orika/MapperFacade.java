@@ -22,8 +22,14 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import ma.glasnost.orika.metadata.Type;
+import ma.glasnost.orika.util.LazyMapping;
+import ma.glasnost.orika.util.ParallelMapping;
+import ma.glasnost.orika.util.ParallelMapping.ChunkMapper;
 
 /**
  * The main runtime interface between a Java application and Orika. This is the
@@ -265,6 +271,109 @@ public interface MapperFacade {
      */
     <S, D> List<D> mapAsList(S[] source, Class<D> destinationClass, MappingContext context);
     
+    /**
+     * Maps the source Iterable into a new List parameterized by
+     * <code>destinationClass</code>, mapping chunks of the source in parallel.
+     * <p>
+     * The source is split into chunks of at most <code>chunkSize</code>
+     * elements, which are mapped concurrently using the provided executor;
+     * the first chunk is mapped by the calling thread, which then waits for
+     * the others to complete. Each chunk is mapped with its own
+     * MappingContext, obtained from the configured MappingContextFactory, and
+     * the order of the source is preserved in the returned List. As with
+     * mapAsList, <code>null</code> elements are skipped.
+     * <p>
+     * Note that cycle tracking (and identity of mapped objects) only applies
+     * within a single chunk: an object referenced by elements of different
+     * chunks is mapped once per chunk, resulting in distinct destination
+     * instances, and must be safe to read from multiple threads.
+     * 
+     * @param source
+     *            the Iterable from which to map
+     * @param destinationClass
+     *            the type of elements to be contained in the returned List.
+     * @param executor
+     *            the executor used to map all but the first chunk
+     * @param chunkSize
+     *            the maximum number of elements mapped by a single task
+     * @return a new List containing elements of type
+     *         <code>destinationClass</code> mapped from the elements of
+     *         <code>source</code>.
+     */
+    default <S, D> List<D> mapAsListParallel(Iterable<S> source, final Class<D> destinationClass, Executor executor, int chunkSize) {
+        if (source == null) {
+            return null;
+        }
+        return ParallelMapping.mapInChunks(ParallelMapping.asRandomAccessList(source), executor, chunkSize, new ChunkMapper<S, D>() {
+            public List<D> mapChunk(List<S> chunk) {
+                return mapAsList(chunk, destinationClass);
+            }
+        });
+    }
+    
+    /**
+     * Maps the source Array into a new List parameterized by
+     * <code>destinationClass</code>, mapping chunks of the source in parallel.
+     * 
+     * @param source
+     *            the Array from which to map
+     * @param destinationClass
+     *            the type of elements to be contained in the returned List.
+     * @param executor
+     *            the executor used to map all but the first chunk
+     * @param chunkSize
+     *            the maximum number of elements mapped by a single task
+     * @return a new List containing elements of type
+     *         <code>destinationClass</code> mapped from the elements of
+     *         <code>source</code>.
+     * @see #mapAsListParallel(Iterable, Class, Executor, int)
+     */
+    default <S, D> List<D> mapAsListParallel(S[] source, final Class<D> destinationClass, Executor executor, int chunkSize) {
+        if (source == null) {
+            return null;
+        }
+        return ParallelMapping.mapInChunks(ParallelMapping.asRandomAccessList(source), executor, chunkSize, new ChunkMapper<S, D>() {
+            public List<D> mapChunk(List<S> chunk) {
+                return mapAsList(chunk, destinationClass);
+            }
+        });
+    }
+    
+    /**
+     * Returns a lazy view of the source Iterable, in which each element is
+     * mapped to <code>destinationClass</code> only as it is requested from
+     * the view's Iterator.
+     * <p>
+     * Unlike mapAsList, no destination collection is created; each element is
+     * mapped with its own MappingContext, obtained from the configured
+     * MappingContextFactory and released as soon as the element has been
+     * mapped, so that no state is retained between elements (objects shared
+     * by several elements are mapped once for each of them). As with
+     * mapAsList, <code>null</code> elements are skipped.
+     * <p>
+     * This default implementation maps each element with
+     * {@link #map(Object, Class)}, and so resolves the mapping strategy for
+     * each of them.
+     * 
+     * @param source
+     *            the Iterable from which to map
+     * @param destinationClass
+     *            the type of elements to be returned by the view
+     * @return an Iterable which maps the elements of <code>source</code> on
+     *         demand; it may be iterated multiple times (mapping the elements
+     *         each time) if <code>source</code> allows it
+     */
+    default <S, D> Iterable<D> mapAsIterable(Iterable<S> source, final Class<D> destinationClass) {
+        if (source == null) {
+            return null;
+        }
+        return LazyMapping.lazyIterable(source, new Function<S, D>() {
+            public D apply(S item) {
+                return map(item, destinationClass);
+            }
+        });
+    }
+    
     /**
      * Maps the source interable into a new Array of type<code>D</code>.
      * 
@@ -551,6 +660,152 @@ public interface MapperFacade {
      */
     <S, D> List<D> mapAsList(S[] source, Type<S> sourceType, Type<D> destinationType, MappingContext context);
     
+    /**
+     * Maps the source Iterable into a new List parameterized by
+     * <code>destinationType</code>, mapping chunks of the source in parallel.
+     * 
+     * @param source
+     *            the Iterable from which to map
+     * @param sourceType
+     *            the type of the source elements
+     * @param destinationType
+     *            the type of the new object to return
+     * @param executor
+     *            the executor used to map all but the first chunk
+     * @param chunkSize
+     *            the maximum number of elements mapped by a single task
+     * @return a new List containing elements of type
+     *         <code>destinationType</code> mapped from the elements of
+     *         <code>source</code>.
+     * @see #mapAsListParallel(Iterable, Class, Executor, int)
+     */
+    default <S, D> List<D> mapAsListParallel(Iterable<S> source, final Type<S> sourceType, final Type<D> destinationType,
+            Executor executor, int chunkSize) {
+        if (source == null) {
+            return null;
+        }
+        return ParallelMapping.mapInChunks(ParallelMapping.asRandomAccessList(source), executor, chunkSize, new ChunkMapper<S, D>() {
+            public List<D> mapChunk(List<S> chunk) {
+                return mapAsList(chunk, sourceType, destinationType);
+            }
+        });
+    }
+    
+    /**
+     * Maps the source Array into a new List parameterized by
+     * <code>destinationType</code>, mapping chunks of the source in parallel.
+     * 
+     * @param source
+     *            the Array from which to map
+     * @param sourceType
+     *            the type of the source elements
+     * @param destinationType
+     *            the type of the new object to return
+     * @param executor
+     *            the executor used to map all but the first chunk
+     * @param chunkSize
+     *            the maximum number of elements mapped by a single task
+     * @return a new List containing elements of type
+     *         <code>destinationType</code> mapped from the elements of
+     *         <code>source</code>.
+     * @see #mapAsListParallel(Iterable, Class, Executor, int)
+     */
+    default <S, D> List<D> mapAsListParallel(S[] source, final Type<S> sourceType, final Type<D> destinationType, Executor executor,
+            int chunkSize) {
+        if (source == null) {
+            return null;
+        }
+        return ParallelMapping.mapInChunks(ParallelMapping.asRandomAccessList(source), executor, chunkSize, new ChunkMapper<S, D>() {
+            public List<D> mapChunk(List<S> chunk) {
+                return mapAsList(chunk, sourceType, destinationType);
+            }
+        });
+    }
+    
+    /**
+     * Returns a lazy view of the source Iterable, in which each element is
+     * mapped to <code>destinationType</code> only as it is requested from the
+     * view's Iterator.
+     * 
+     * @param source
+     *            the Iterable from which to map
+     * @param sourceType
+     *            the type of the source elements
+     * @param destinationType
+     *            the type of elements to be returned by the view
+     * @return an Iterable which maps the elements of <code>source</code> on
+     *         demand
+     * @see #mapAsIterable(Iterable, Class)
+     */
+    default <S, D> Iterable<D> mapAsIterable(Iterable<S> source, final Type<S> sourceType, final Type<D> destinationType) {
+        if (source == null) {
+            return null;
+        }
+        return LazyMapping.lazyIterable(source, new Function<S, D>() {
+            public D apply(S item) {
+                return map(item, sourceType, destinationType);
+            }
+        });
+    }
+    
+    /**
+     * Returns a Stream in which each element of the source Stream is mapped to
+     * <code>destinationClass</code> when it is consumed; <code>null</code>
+     * elements are skipped.<br>
+     * Each element is mapped with its own MappingContext, as described for
+     * {@link #mapAsIterable(Iterable, Class)}, so the returned Stream may
+     * also be processed in parallel.
+     * <p>
+     * This default implementation maps each element with
+     * {@link #map(Object, Class)}, and so resolves the mapping strategy for
+     * each of them.
+     * 
+     * @param source
+     *            the Stream from which to map
+     * @param destinationClass
+     *            the type of elements of the returned Stream
+     * @return a Stream of elements of type <code>destinationClass</code>
+     *         mapped from the elements of <code>source</code>.
+     */
+    default <S, D> Stream<D> mapAsStream(Stream<S> source, final Class<D> destinationClass) {
+        if (source == null) {
+            return null;
+        }
+        return LazyMapping.lazyStream(source, new Function<S, D>() {
+            public D apply(S item) {
+                return map(item, destinationClass);
+            }
+        });
+    }
+    
+    /**
+     * Returns a Stream in which each element of the source Stream is mapped to
+     * <code>destinationType</code> when it is consumed; <code>null</code>
+     * elements are skipped.<br>
+     * Each element is mapped with its own MappingContext, as described for
+     * {@link #mapAsIterable(Iterable, Class)}, so the returned Stream may
+     * also be processed in parallel.
+     * 
+     * @param source
+     *            the Stream from which to map
+     * @param sourceType
+     *            the type of the source elements
+     * @param destinationType
+     *            the type of elements of the returned Stream
+     * @return a Stream of elements of type <code>destinationType</code>
+     *         mapped from the elements of <code>source</code>.
+     */
+    default <S, D> Stream<D> mapAsStream(Stream<S> source, final Type<S> sourceType, final Type<D> destinationType) {
+        if (source == null) {
+            return null;
+        }
+        return LazyMapping.lazyStream(source, new Function<S, D>() {
+            public D apply(S item) {
+                return map(item, sourceType, destinationType);
+            }
+        });
+    }
+    
     /**
      * Maps the source Array into a new List parameterized by
      * <code>destinationType</code>.
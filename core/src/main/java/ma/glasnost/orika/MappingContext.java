@@ -19,14 +19,15 @@
 package ma.glasnost.orika;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import ma.glasnost.orika.cern.colt.map.OpenIntObjectHashMap;
+import ma.glasnost.orika.impl.util.MappedObjectCache;
 import ma.glasnost.orika.metadata.ClassMap;
 import ma.glasnost.orika.metadata.MapperKey;
 import ma.glasnost.orika.metadata.Type;
@@ -39,7 +40,13 @@ import ma.glasnost.orika.metadata.Type;
 public class MappingContext {
     
     protected final Map<Type<?>, Type<?>> mapping;
+    /**
+     * @deprecated mapped objects are no longer cached in this map, which is
+     *             retained only for sub-classes which use it themselves
+     */
+    @Deprecated
     protected final OpenIntObjectHashMap typeCache;
+    private final MappedObjectCache mappedObjects;
     protected List<Map<MapperKey, ClassMap<?, ?>>> mappersSeen;
     protected Map<Object, Object> properties;
     protected Map<Object, Object> globalProperties;
@@ -49,8 +56,31 @@ public class MappingContext {
     protected Type<?> resolvedSourceType;
     protected Type<?> resolvedDestinationType;
     protected MappingStrategy resolvedStrategy;
+    /**
+     * @deprecated the fields being mapped are no longer held in this list,
+     *             which is retained only for sub-classes which use it
+     *             themselves
+     */
+    @Deprecated
     protected List<Object[]> fieldMappingStack;
     protected boolean capturesFieldContext;
+    /*
+     * The stack of fields being mapped, held in parallel arrays which are
+     * allocated on first use, grown as needed, and retained when this context
+     * is reset, so that capturing the field context does not allocate
+     */
+    private String[] fieldSourceNames;
+    private Type<?>[] fieldSourceTypes;
+    private Object[] fieldSources;
+    private String[] fieldDestNames;
+    private Type<?>[] fieldDestTypes;
+    private Object[] fieldDests;
+    private int fieldDepth;
+    /*
+     * The exception for which the field stack was rebuilt while it propagated
+     * through the generated mappers
+     */
+    private RuntimeException fieldFailure;
     
     public static enum StackElement {
         SOURCE_NAME, SOURCE_TYPE, SOURCE, DEST_NAME, DEST_TYPE, DEST;
@@ -96,10 +126,13 @@ public class MappingContext {
      */
     public MappingContext(Map<Object, Object> globalProperties) {
         this.mapping = new HashMap<Type<?>, Type<?>>();
-        this.typeCache = new OpenIntObjectHashMap();
+        this.typeCache = new OpenIntObjectHashMap(0);
+        this.mappedObjects = new MappedObjectCache();
         this.globalProperties = globalProperties;
         Boolean capture = globalProperties != null ? (Boolean)globalProperties.get(Properties.CAPTURE_FIELD_CONTEXT) : null;
-        this.capturesFieldContext = capture == null || capture;
+        Boolean captureOnException = globalProperties != null ? (Boolean) globalProperties.get(Properties.CAPTURE_FIELD_CONTEXT_ON_EXCEPTION)
+                : null;
+        this.capturesFieldContext = capture == null || capture || (captureOnException != null && captureOnException);
     }
     
     /**
@@ -170,17 +203,9 @@ public class MappingContext {
      * @param destinationType
      * @param destination
      */
-    @SuppressWarnings("unchecked")
     public <S, D> void cacheMappedObject(S source, Type<Object> destinationType, D destination) {
         if (containsCycle) {
-            Map<Object, Object> localCache = (Map<Object, Object>) typeCache.get(destinationType.getUniqueIndex());
-            if (localCache == null) {
-                localCache = new IdentityHashMap<Object, Object>(2);
-                typeCache.put(destinationType.getUniqueIndex(), localCache);
-                
-            }
-            localCache.put(source, destination);
-            
+            mappedObjects.put(source, destinationType.getUniqueIndex(), destination);
             isNew = false;
         }
     }
@@ -200,8 +225,7 @@ public class MappingContext {
         if (isNew || !containsCycle) {
             return null;
         }
-        Map<Object, Object> localCache = (Map<Object, Object>) typeCache.get(destinationType.getUniqueIndex());
-        return (D) (localCache == null ? null : localCache.get(source));
+        return (D) mappedObjects.get(source, destinationType.getUniqueIndex());
     }
     
     /**
@@ -286,21 +310,103 @@ public class MappingContext {
      *            the destination object being mapped into
      */
     public void beginMappingField(String sourceName, Type<?> sourceType, Object source, String destName, Type<?> destType, Object dest) {
-        if (fieldMappingStack == null) {
-            fieldMappingStack = new ArrayList<Object[]>();
+        if (fieldSourceNames == null || fieldDepth == fieldSourceNames.length) {
+            growFieldStack();
         }
-        Object[] stackElement = new Object[StackElement.values().length];
-        stackElement[StackElement.SOURCE_NAME.ordinal()] = sourceName;
-        stackElement[StackElement.SOURCE_TYPE.ordinal()] = sourceType;
-        stackElement[StackElement.SOURCE.ordinal()] = source;
-        stackElement[StackElement.DEST_NAME.ordinal()] = destName;
-        stackElement[StackElement.DEST_TYPE.ordinal()] = destType;
-        stackElement[StackElement.DEST.ordinal()] = dest;
-        fieldMappingStack.add(stackElement);
+        fieldSourceNames[fieldDepth] = sourceName;
+        fieldSourceTypes[fieldDepth] = sourceType;
+        fieldSources[fieldDepth] = source;
+        fieldDestNames[fieldDepth] = destName;
+        fieldDestTypes[fieldDepth] = destType;
+        fieldDests[fieldDepth] = dest;
+        ++fieldDepth;
     }
     
     public void endMappingField() {
-        fieldMappingStack.remove(fieldMappingStack.size() - 1);
+        --fieldDepth;
+        fieldSources[fieldDepth] = null;
+        fieldDests[fieldDepth] = null;
+    }
+    
+    /**
+     * Records that mapping a particular field failed; this is called by
+     * generated mappers (when the field context is only to be captured on
+     * exception) as the exception propagates, innermost field first, so that
+     * the stack of fields being mapped is rebuilt only when a mapping actually
+     * fails. A {@link MappingException} is given the fully-qualified paths of
+     * the source and destination fields.
+     * 
+     * @param sourceName
+     *            the name of the source field
+     * @param sourceType
+     *            the type of the source field
+     * @param destName
+     *            the name of the destination field
+     * @param destType
+     *            the type of the destination field
+     * @param e
+     *            the exception thrown while mapping the field
+     * @return the exception, to be rethrown
+     */
+    public RuntimeException mappingFieldFailed(String sourceName, Type<?> sourceType, String destName, Type<?> destType, RuntimeException e) {
+        if (e != fieldFailure && (fieldFailure == null || e.getCause() != fieldFailure)) {
+            clearFieldStack();
+        }
+        fieldFailure = e;
+        if (fieldSourceNames == null || fieldDepth == fieldSourceNames.length) {
+            growFieldStack();
+        }
+        System.arraycopy(fieldSourceNames, 0, fieldSourceNames, 1, fieldDepth);
+        System.arraycopy(fieldSourceTypes, 0, fieldSourceTypes, 1, fieldDepth);
+        System.arraycopy(fieldSources, 0, fieldSources, 1, fieldDepth);
+        System.arraycopy(fieldDestNames, 0, fieldDestNames, 1, fieldDepth);
+        System.arraycopy(fieldDestTypes, 0, fieldDestTypes, 1, fieldDepth);
+        System.arraycopy(fieldDests, 0, fieldDests, 1, fieldDepth);
+        fieldSourceNames[0] = sourceName;
+        fieldSourceTypes[0] = sourceType;
+        fieldSources[0] = null;
+        fieldDestNames[0] = destName;
+        fieldDestTypes[0] = destType;
+        fieldDests[0] = null;
+        ++fieldDepth;
+        if (e instanceof MappingException) {
+            describeMappingFieldFailure((MappingException) e);
+        }
+        return e;
+    }
+    
+    /**
+     * Sets the fully-qualified paths of the fields which were being mapped on
+     * the provided exception, if the field stack was rebuilt for it (or for
+     * its cause) by {@link #mappingFieldFailed}.
+     * 
+     * @param e
+     *            the exception to describe
+     */
+    public void describeMappingFieldFailure(MappingException e) {
+        if (fieldFailure != null && fieldDepth > 0 && (e == fieldFailure || e.getCause() == fieldFailure)) {
+            e.setSourcePath(getFullyQualifiedSourcePath());
+            e.setDestinationPath(getFullyQualifiedDestinationPath());
+        }
+    }
+    
+    private void growFieldStack() {
+        int length = fieldSourceNames == null ? 8 : fieldSourceNames.length * 2;
+        fieldSourceNames = fieldSourceNames == null ? new String[length] : Arrays.copyOf(fieldSourceNames, length);
+        fieldSourceTypes = fieldSourceTypes == null ? new Type<?>[length] : Arrays.copyOf(fieldSourceTypes, length);
+        fieldSources = fieldSources == null ? new Object[length] : Arrays.copyOf(fieldSources, length);
+        fieldDestNames = fieldDestNames == null ? new String[length] : Arrays.copyOf(fieldDestNames, length);
+        fieldDestTypes = fieldDestTypes == null ? new Type<?>[length] : Arrays.copyOf(fieldDestTypes, length);
+        fieldDests = fieldDests == null ? new Object[length] : Arrays.copyOf(fieldDests, length);
+    }
+    
+    private void clearFieldStack() {
+        if (fieldSourceNames != null) {
+            Arrays.fill(fieldSources, 0, fieldDepth, null);
+            Arrays.fill(fieldDests, 0, fieldDepth, null);
+        }
+        fieldDepth = 0;
+        fieldFailure = null;
     }
     
     /**
@@ -308,13 +414,13 @@ public class MappingContext {
      *         currently being mapped
      */
     public String getFullyQualifiedSourcePath() {
-        if (!capturesFieldContext || fieldMappingStack == null) {
+        if (!capturesFieldContext || fieldSourceNames == null) {
             return null;
         }
         StringBuilder path = new StringBuilder("source");
-        for (Object[] element : fieldMappingStack) {
+        for (int i = 0; i < fieldDepth; ++i) {
             path.append(".");
-            path.append(element[StackElement.SOURCE_NAME.ordinal()]);
+            path.append(fieldSourceNames[i]);
         }
         return path.toString();
     }
@@ -326,15 +432,10 @@ public class MappingContext {
      *         class-map.
      */
     public String[] getSourceExpressionPaths() {
-        if (!capturesFieldContext || fieldMappingStack == null) {
+        if (!capturesFieldContext || fieldSourceNames == null) {
             return null;
         }
-        String[] path = new String[fieldMappingStack.size()];
-        int idx = 0;
-        for (Object[] element : fieldMappingStack) {
-            path[idx++] = (String) element[StackElement.SOURCE_NAME.ordinal()];
-        }
-        return path;
+        return Arrays.copyOf(fieldSourceNames, fieldDepth);
     }
     
     /**
@@ -343,15 +444,10 @@ public class MappingContext {
      *         source field being currently mapped
      */
     public Object[] getSourceObjects() {
-        if (!capturesFieldContext || fieldMappingStack == null) {
+        if (!capturesFieldContext || fieldSourceNames == null) {
             return null;
         }
-        Object[] path = new Object[fieldMappingStack.size()];
-        int idx = 0;
-        for (Object[] element : fieldMappingStack) {
-            path[idx++] = element[StackElement.SOURCE.ordinal()];
-        }
-        return path;
+        return Arrays.copyOf(fieldSources, fieldDepth);
     }
     
     /**
@@ -361,15 +457,10 @@ public class MappingContext {
      * 
      */
     public java.lang.reflect.Type[] getSourceTypePaths() {
-        if (!capturesFieldContext || fieldMappingStack == null) {
+        if (!capturesFieldContext || fieldSourceNames == null) {
             return null;
         }
-        java.lang.reflect.Type[] path = new java.lang.reflect.Type[fieldMappingStack.size()];
-        int idx = 0;
-        for (Object[] element : fieldMappingStack) {
-            path[idx++] = (java.lang.reflect.Type) element[StackElement.SOURCE_TYPE.ordinal()];
-        }
-        return path;
+        return Arrays.copyOf(fieldSourceTypes, fieldDepth, java.lang.reflect.Type[].class);
     }
     
     /**
@@ -377,13 +468,13 @@ public class MappingContext {
      *         field currently being mapped
      */
     public String getFullyQualifiedDestinationPath() {
-        if (!capturesFieldContext || fieldMappingStack == null) {
+        if (!capturesFieldContext || fieldSourceNames == null) {
             return null;
         }
         StringBuilder path = new StringBuilder("destination");
-        for (Object[] element : fieldMappingStack) {
+        for (int i = 0; i < fieldDepth; ++i) {
             path.append(".");
-            path.append(element[StackElement.DEST_NAME.ordinal()]);
+            path.append(fieldDestNames[i]);
         }
         return path.toString();
     }
@@ -395,15 +486,10 @@ public class MappingContext {
      *         class-map.
      */
     public String[] getDestinationExpressionPaths() {
-        if (!capturesFieldContext || fieldMappingStack == null) {
+        if (!capturesFieldContext || fieldSourceNames == null) {
             return null;
         }
-        String[] path = new String[fieldMappingStack.size()];
-        int idx = 0;
-        for (Object[] element : fieldMappingStack) {
-            path[idx++] = (String) element[StackElement.DEST_NAME.ordinal()];
-        }
-        return path;
+        return Arrays.copyOf(fieldDestNames, fieldDepth);
     }
     
     /**
@@ -412,15 +498,10 @@ public class MappingContext {
      *         destination field being currently mapped
      */
     public Object[] getDestinationObjects() {
-        if (!capturesFieldContext || fieldMappingStack == null) {
+        if (!capturesFieldContext || fieldSourceNames == null) {
             return null;
         }
-        Object[] path = new Object[fieldMappingStack.size()];
-        int idx = 0;
-        for (Object[] element : fieldMappingStack) {
-            path[idx++] = element[StackElement.DEST.ordinal()];
-        }
-        return path;
+        return Arrays.copyOf(fieldDests, fieldDepth);
     }
     
     /**
@@ -429,15 +510,10 @@ public class MappingContext {
      *         type in the chain of mappers called to map the current field.
      */
     public java.lang.reflect.Type[] getDestinationTypePaths() {
-        if (!capturesFieldContext || fieldMappingStack == null) {
+        if (!capturesFieldContext || fieldSourceNames == null) {
             return null;
         }
-        java.lang.reflect.Type[] path = new java.lang.reflect.Type[fieldMappingStack.size()];
-        int idx = 0;
-        for (Object[] element : fieldMappingStack) {
-            path[idx++] = (java.lang.reflect.Type) element[StackElement.DEST_TYPE.ordinal()];
-        }
-        return path;
+        return Arrays.copyOf(fieldDestTypes, fieldDepth, java.lang.reflect.Type[].class);
     }
     
     /**
@@ -453,16 +529,17 @@ public class MappingContext {
      */
     public void reset() {
         mapping.clear();
-        typeCache.clear();
+        mappedObjects.clear();
+        if (typeCache.size() > 0) {
+            typeCache.clear();
+        }
         if (properties != null) {
             properties.clear();
         }
         if (mappersSeen != null) {
             mappersSeen.clear();
         }
-        if (fieldMappingStack != null) {
-            fieldMappingStack.clear();
-        }
+        clearFieldStack();
         resolvedSourceType = null;
         resolvedDestinationType = null;
         resolvedStrategy = null;
@@ -32,6 +32,8 @@ public class MappingException extends RuntimeException {
 	private Type<?> destinationType;
 	private MappingStrategy mappingStrategy;
 	private String stateReport;
+	private String sourcePath;
+	private String destinationPath;
 	
 	public MappingException(Throwable e) {
 		super(e);
@@ -57,12 +59,18 @@ public class MappingException extends RuntimeException {
 		if (sourceProperty != null) {
 			message.append("\nsourceProperty = " + sourceProperty);
 		}
+		if (sourcePath != null) {
+			message.append("\nsourcePath = " + sourcePath);
+		}
 		if (destinationType != null) {
 			message.append("\ndestinationType = " + destinationType.toFullyQualifiedString());
 		}
 		if (destinationProperty != null) {
 			message.append("\ndestinationProperty = " + destinationProperty);
 		}
+		if (destinationPath != null) {
+			message.append("\ndestinationPath = " + destinationPath);
+		}
 		if (mappingStrategy != null) {
 			message.append("\nresolvedStrategy = " + mappingStrategy);
 		}
@@ -128,6 +136,32 @@ public class MappingException extends RuntimeException {
 		this.mappingStrategy = mappingStrategy;
 	}
 
+	/**
+	 * @return the fully-qualified path of the source field which was being
+	 *         mapped when this exception occurred, if the field context was
+	 *         captured
+	 */
+	public String getSourcePath() {
+		return sourcePath;
+	}
+
+	public void setSourcePath(String sourcePath) {
+		this.sourcePath = sourcePath;
+	}
+
+	/**
+	 * @return the fully-qualified path of the destination field which was
+	 *         being mapped when this exception occurred, if the field context
+	 *         was captured
+	 */
+	public String getDestinationPath() {
+		return destinationPath;
+	}
+
+	public void setDestinationPath(String destinationPath) {
+		this.destinationPath = destinationPath;
+	}
+
 	public void setStateReport(String stateReport) {
 		this.stateReport = stateReport;
 	}
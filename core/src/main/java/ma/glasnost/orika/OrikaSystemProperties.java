@@ -65,12 +65,42 @@ public final class OrikaSystemProperties {
      */
     public static final String WRITE_CLASS_FILES_TO_PATH = "ma.glasnost.orika.writeClassFilesToPath";
     
+    /**
+     * Specifies a directory in which the bytecode of generated objects is cached, so that it may be
+     * reused, rather than compiled again, by subsequent JVMs generating the same source.<br>
+     * Entries are keyed by a fingerprint of the generated source, which reflects the mapping
+     * configuration and the Orika version; stale entries are never matched, but Orika makes
+     * no effort to delete them.<br><br>
+     * By default, no cache is used.
+     */
+    public static final String GENERATED_CLASS_CACHE_DIRECTORY = "ma.glasnost.orika.generatedClassCacheDirectory";
+    
+    /**
+     * Specifies whether the Javassist compiler strategy (and the strategies which extend it) should
+     * define generated objects in a class-loader of its own, rather than directly in the current
+     * thread's context class-loader; such classes (and the metaspace they occupy) can be unloaded
+     * as soon as the compiler strategy, and so the mapper factory using it, is no longer reachable.<br>
+     * This is useful for applications which create and discard many mapper factories.<br><br>
+     * Valid values are "true" and "false" (default).
+     */
+    public static final String ISOLATE_GENERATED_CLASSES = "ma.glasnost.orika.isolateGeneratedClasses";
+    
     /**
      * Specifies the fully-qualified class name of the compiler strategy to use when creating generated objects;
      * default value is determined by the MapperFactory implementation.
      */
     public static final String COMPILER_STRATEGY = "ma.glasnost.orika.compilerStrategy";
     
+    /**
+     * Specifies whether generated mappers and object factories which were compiled ahead of time by
+     * {@link ma.glasnost.orika.impl.generator.MapperPrecompiler} (and listed in a
+     * <code>META-INF/orika/precompiled-classes.properties</code> index on the class-path) should be loaded
+     * instead of compiling them at runtime; valid choices are "true" or "false".<br>
+     * Classes whose fingerprint no longer matches the configuration are still compiled at runtime.<br><br>
+     * Default value is <code>false</code>
+     */
+    public static final String USE_PRECOMPILED_MAPPERS = "ma.glasnost.orika.usePrecompiledMappers";
+    
     /**
      * Specifies the fully-qualified class name of the un-enhancement strategy to use when performing type lookup 
      * in order to map objects;  <br>
@@ -102,7 +132,9 @@ public final class OrikaSystemProperties {
     /**
      * Specifies the fully-qualified class name of the MappingContextFactory to be used by
      * the default mapper factory to generate new MappingContext instances. <br><br>
-     * default value is {@link ma.glasnost.orika.MappingContext.Factory}
+     * default value is {@link ma.glasnost.orika.MappingContext.Factory}; use
+     * {@link ma.glasnost.orika.impl.StripedMappingContextFactory} to avoid contention
+     * between threads on the pool of contexts.
      */
     public static final String MAPPING_CONTEXT_FACTORY = "ma.glasnost.orika.mappingContextFactory";
     
@@ -113,6 +145,14 @@ public final class OrikaSystemProperties {
      */
     public static final String CONVERTER_FACTORY = "ma.glasnost.orika.converterFactory";
     
+    /**
+     * Specifies the fully-qualified class name of the MappingMetrics to which the default mapper factory
+     * reports the time spent mapping each pair of types, resolving strategies and generating mappers,
+     * such as {@link ma.glasnost.orika.metrics.DefaultMappingMetrics};<br><br>
+     * by default, no metrics are recorded.
+     */
+    public static final String MAPPING_METRICS = "ma.glasnost.orika.mappingMetrics";
+    
     /**
      * Specifies that the new mapping strategy cache should be used to cache mapping strategies;<br><br>
      * default value is <code>false</code>
@@ -171,4 +211,27 @@ public final class OrikaSystemProperties {
      * Default value is <code>false</code>
      */
     public static final String CAPTURE_FIELD_CONTEXT = "ma.glasnost.orika.captureFieldContext";
+    
+    /**
+     * Specifies whether the context of the fields being mapped should be
+     * captured only when a mapping fails; when <code>true</code>, and
+     * {@link #CAPTURE_FIELD_CONTEXT} is <code>false</code>, the generated
+     * mappers record nothing while mapping succeeds, and the stack of fields
+     * being mapped is rebuilt as an exception propagates through them. The
+     * fully-qualified source and destination paths are then available from
+     * {@link MappingException#getSourcePath()} and
+     * {@link MappingException#getDestinationPath()}; the source and destination
+     * objects are not captured in this mode.<p>
+     * Default value is <code>false</code>
+     */
+    public static final String CAPTURE_FIELD_CONTEXT_ON_EXCEPTION = "ma.glasnost.orika.captureFieldContextOnException";
+    
+    /**
+     * Specifies whether the generated mappers should inline the conversions
+     * of the built-in converters which can be expressed as a simple Java
+     * expression (numeric narrowing and widening, long to/from Date, enum to
+     * enum and String to/from primitives), rather than calling the converter.<p>
+     * Default value is <code>true</code>
+     */
+    public static final String INLINE_BUILTIN_CONVERTERS = "ma.glasnost.orika.inlineBuiltinConverters";
 }
@@ -30,5 +30,8 @@ public enum Properties {
     COMPILER_STRATEGY,
     UNENHANCE_STRATEGY,
     FILTERS,
-    CAPTURE_FIELD_CONTEXT
+    CAPTURE_FIELD_CONTEXT,
+    CAPTURE_FIELD_CONTEXT_ON_EXCEPTION,
+    INLINE_BUILTIN_CONVERTERS,
+    MAPPING_METRICS
 }
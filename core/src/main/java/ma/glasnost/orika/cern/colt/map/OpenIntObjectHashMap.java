@@ -141,6 +141,15 @@ public class OpenIntObjectHashMap {
         setUp(initialCapacity, minLoadFactor, maxLoadFactor);
     }
     
+    /**
+     * Returns the number of (key,value) associations currently contained.
+     * 
+     * @return the number of (key,value) associations currently contained.
+     */
+    public int size() {
+        return distinct;
+    }
+    
     /**
      * Returns <tt>true</tt> if the receiver contains the specified key.
      * @param key the key to test for
@@ -38,12 +38,25 @@ import ma.glasnost.orika.metadata.TypeFactory;
 
 /**
  * DefaultConverterFactory is the base implementation of ConverterFactory
+ * <p>
+ * The result of resolving a converter for a given source and destination type
+ * (including the absence of any applicable converter) is cached, so that
+ * repeated lookups for the same pair of types are served without locking or
+ * allocation; only the first lookup of a given pair scans the registered
+ * converters.
  * 
  * @author mattdeboer
  * 
  */
 public class DefaultConverterFactory implements ConverterFactory, Reportable {
     
+    /**
+     * Placeholder cached to record that no converter exists for a given pair
+     * of types
+     */
+    private static final Object NO_CONVERTER = new Object();
+    
+    private final ConcurrentHashMap<Type<?>, ConcurrentHashMap<Type<?>, Object>> resolvedConverters;
     private final Map<ConverterKey, Converter<Object, Object>> converterCache;
     private Collection<Converter<Object, Object>> converters;
     private final Map<String, Converter<Object, Object>> convertersMap;
@@ -56,6 +69,7 @@ public class DefaultConverterFactory implements ConverterFactory, Reportable {
     public DefaultConverterFactory(Map<ConverterKey, Converter<Object, Object>> converterCache, Set<Converter<Object, Object>> converters) {
         super();
         this.converterCache = converterCache;
+        this.resolvedConverters = new ConcurrentHashMap<Type<?>, ConcurrentHashMap<Type<?>, Object>>();
         this.converters = new CopyOnWriteArrayList<Converter<Object, Object>>();
         this.convertersMap = new ConcurrentHashMap<String, Converter<Object, Object>>();
     }
@@ -112,7 +126,44 @@ public class DefaultConverterFactory implements ConverterFactory, Reportable {
      * ma.glasnost.orika.converter.ConverterFactory#getConverter(java.lang.Class
      * , java.lang.Class)
      */
-    public synchronized Converter<Object, Object> getConverter(Type<?> sourceClass, Type<?> destinationClass) {
+    @SuppressWarnings("unchecked")
+    public Converter<Object, Object> getConverter(Type<?> sourceClass, Type<?> destinationClass) {
+        
+        ConcurrentHashMap<Type<?>, Object> resolvedForSource = resolvedConverters.get(sourceClass);
+        if (resolvedForSource != null) {
+            Object resolved = resolvedForSource.get(destinationClass);
+            if (resolved != null) {
+                return resolved == NO_CONVERTER ? null : (Converter<Object, Object>) resolved;
+            }
+        }
+        return resolveConverter(sourceClass, destinationClass);
+    }
+    
+    /**
+     * Resolves the converter for the specified types by scanning the
+     * registered converters, and caches the result (whether or not a converter
+     * was found).
+     * 
+     * @param sourceClass
+     * @param destinationClass
+     * @return the converter which can convert between the specified types, or
+     *         <code>null</code> if none exists
+     */
+    private synchronized Converter<Object, Object> resolveConverter(Type<?> sourceClass, Type<?> destinationClass) {
+        
+        Converter<Object, Object> converter = lookupConverter(sourceClass, destinationClass);
+        
+        ConcurrentHashMap<Type<?>, Object> resolvedForSource = resolvedConverters.get(sourceClass);
+        if (resolvedForSource == null) {
+            resolvedForSource = new ConcurrentHashMap<Type<?>, Object>();
+            resolvedConverters.put(sourceClass, resolvedForSource);
+        }
+        resolvedForSource.put(destinationClass, converter == null ? NO_CONVERTER : converter);
+        
+        return converter;
+    }
+    
+    private Converter<Object, Object> lookupConverter(Type<?> sourceClass, Type<?> destinationClass) {
         
         // Step verify if converter exists for sourceClass and destination
         Converter<Object, Object> converter = _converter(sourceClass, destinationClass);
@@ -173,7 +224,7 @@ public class DefaultConverterFactory implements ConverterFactory, Reportable {
      * .orika.converter.Converter)
      */
     @SuppressWarnings({ "unchecked" })
-    public <S, D> void registerConverter(Converter<S, D> converter) {
+    public synchronized <S, D> void registerConverter(Converter<S, D> converter) {
         if (mapperFacade != null) {
             throw new IllegalStateException("Cannot register converters after MapperFacade has been initialized");
         }
@@ -181,6 +232,11 @@ public class DefaultConverterFactory implements ConverterFactory, Reportable {
         if (converter instanceof BidirectionalConverter && !converter.getAType().equals(converter.getBType())) {
             converters.add((Converter<Object, Object>) ((BidirectionalConverter<?, ?>) converter).reverse());
         }
+        /*
+         * Discard previously resolved results, since pairs for which no
+         * converter was found may now be convertible
+         */
+        resolvedConverters.clear();
     }
     
     /*
@@ -50,6 +50,16 @@ abstract class BuiltinBidirectionalConverter<C, D> extends BidirectionalConverte
 	    return reversed;
 	}
 
+	/**
+	 * @return true if this converter truncates values which the destination
+	 *         type cannot represent, rather than throwing an
+	 *         ArithmeticException as the converters registered by
+	 *         {@link BuiltinConverters} do
+	 */
+	boolean truncates() {
+	    return false;
+	}
+
 	public String toString() {
 		return description;
 	}
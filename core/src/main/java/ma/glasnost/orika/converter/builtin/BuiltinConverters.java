@@ -23,6 +23,8 @@ import java.util.Date;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
+import ma.glasnost.orika.Converter;
+import ma.glasnost.orika.converter.BidirectionalConverter;
 import ma.glasnost.orika.converter.ConverterFactory;
 
 /**
@@ -56,6 +58,14 @@ public abstract class BuiltinConverters {
      * <li>java.sql.Time
      * <li>java.sql.Timestamp
      * </ul>
+     * <li>JavaTimeConverters: convert between the java.time types and the
+     * above representations
+     * <ul>
+     * <li>java.time.Instant
+     * <li>java.time.LocalDate
+     * <li>java.time.OffsetDateTime
+     * <li>java.time.Duration
+     * </ul>
      * <li>CloneableConverter registered for the following cloneable types:
      * <ul>
      * <li>java.util.Date
@@ -109,6 +119,13 @@ public abstract class BuiltinConverters {
         
         converterFactory.registerConverter(new DateAndTimeConverters.LongToDateConverter());
         
+        converterFactory.registerConverter(new JavaTimeConverters.InstantToDateConverter());
+        converterFactory.registerConverter(new JavaTimeConverters.InstantToTimestampConverter());
+        converterFactory.registerConverter(new JavaTimeConverters.LongToInstantConverter());
+        converterFactory.registerConverter(new JavaTimeConverters.LocalDateToSqlDateConverter());
+        converterFactory.registerConverter(new JavaTimeConverters.XmlGregorianCalendarToOffsetDateTimeConverter());
+        converterFactory.registerConverter(new JavaTimeConverters.LongToDurationConverter());
+        
         /*
          * Register numeric type converter
          */
@@ -139,4 +156,24 @@ public abstract class BuiltinConverters {
          */
         converterFactory.registerConverter(new ConstructorConverter());
     }
+    
+    /**
+     * Tests whether the given converter converts exactly as the one registered
+     * for the same types by {@link #register(ConverterFactory)}; this is the
+     * case for the built-in converters, unless they were constructed to
+     * truncate numeric values, but not for sub-classes of them.
+     * 
+     * @param converter
+     *            the converter to test
+     * @return true if the converter behaves as the default one
+     */
+    public static boolean isDefault(Converter<?, ?> converter) {
+        if (converter instanceof BidirectionalConverter.Reversed) {
+            converter = ((BidirectionalConverter<?, ?>) converter).reverse();
+        }
+        if (converter.getClass().getPackage() != BuiltinConverters.class.getPackage()) {
+            return false;
+        }
+        return !(converter instanceof BuiltinBidirectionalConverter) || !((BuiltinBidirectionalConverter<?, ?>) converter).truncates();
+    }
 }
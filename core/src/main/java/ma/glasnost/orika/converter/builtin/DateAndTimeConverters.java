@@ -22,13 +22,12 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
 
-import javax.xml.datatype.DatatypeConfigurationException;
-import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 
 import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.converter.primitive.FromLongConverter;
+import ma.glasnost.orika.converter.primitive.ToLongConverter;
 import ma.glasnost.orika.metadata.Type;
 
 /**
@@ -168,19 +167,6 @@ public class DateAndTimeConverters {
      */
     public static class XmlGregorianCalendarToSqlDateConverter extends BuiltinBidirectionalConverter<XMLGregorianCalendar, java.sql.Date> {
         
-        /**
-         * To create XMLGregorianCalendar instances
-         */
-        private static DatatypeFactory factory;
-        
-        {
-            try {
-                factory = DatatypeFactory.newInstance();
-            } catch (DatatypeConfigurationException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-        
         @Override
         public java.sql.Date convertTo(XMLGregorianCalendar source, Type<java.sql.Date> destinationType, MappingContext context) {
             return new java.sql.Date(toLong(source));
@@ -188,7 +174,7 @@ public class DateAndTimeConverters {
         
         @Override
         public XMLGregorianCalendar convertFrom(java.sql.Date source, Type<XMLGregorianCalendar> destinationType, MappingContext context) {
-            return toXMLGregorianCalendar(source.getTime(), factory);
+            return toXMLGregorianCalendar(source.getTime());
         }
         
         @Override
@@ -203,19 +189,6 @@ public class DateAndTimeConverters {
      */
     public static class XmlGregorianCalendarToTimeConverter extends BuiltinBidirectionalConverter<XMLGregorianCalendar, Time> {
         
-        /**
-         * To create XMLGregorianCalendar instances
-         */
-        private static DatatypeFactory factory;
-        
-        {
-            try {
-                factory = DatatypeFactory.newInstance();
-            } catch (DatatypeConfigurationException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-        
         @Override
         public Time convertTo(XMLGregorianCalendar source, Type<Time> destinationType, MappingContext context) {
             return new Time(toLong(source));
@@ -223,7 +196,7 @@ public class DateAndTimeConverters {
         
         @Override
         public XMLGregorianCalendar convertFrom(Time source, Type<XMLGregorianCalendar> destinationType, MappingContext context) {
-            return toXMLGregorianCalendar(source.getTime(), factory);
+            return toXMLGregorianCalendar(source.getTime());
         }
         
         @Override
@@ -269,22 +242,9 @@ public class DateAndTimeConverters {
      */
     public static class DateToXmlGregorianCalendarConverter extends BuiltinBidirectionalConverter<Date, XMLGregorianCalendar> {
         
-        /**
-         * To create XMLGregorianCalendar instances
-         */
-        private static DatatypeFactory factory;
-        
-        {
-            try {
-                factory = DatatypeFactory.newInstance();
-            } catch (DatatypeConfigurationException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-        
         @Override
         public XMLGregorianCalendar convertTo(Date source, Type<XMLGregorianCalendar> destinationType, MappingContext context) {
-            return toXMLGregorianCalendar(source, factory);
+            return toXMLGregorianCalendar(source);
         }
         
         @Override
@@ -303,22 +263,9 @@ public class DateAndTimeConverters {
      */
     public static class CalendarToXmlGregorianCalendarConverter extends BuiltinBidirectionalConverter<Calendar, XMLGregorianCalendar> {
         
-        /**
-         * To create XMLGregorianCalendar instances
-         */
-        private static DatatypeFactory factory;
-        
-        {
-            try {
-                factory = DatatypeFactory.newInstance();
-            } catch (DatatypeConfigurationException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-        
         @Override
         public XMLGregorianCalendar convertTo(Calendar source, Type<XMLGregorianCalendar> destinationType, MappingContext context) {
-            return toXMLGregorianCalendar(source, factory);
+            return toXMLGregorianCalendar(source);
         }
         
         @Override
@@ -335,67 +282,112 @@ public class DateAndTimeConverters {
     /**
      * Provides conversion between Long and Date
      */
-    public static class LongToDateConverter extends BuiltinBidirectionalConverter<Long, Date> {
+    public static class LongToDateConverter extends BuiltinBidirectionalConverter<Long, Date> implements
+            ToLongConverter<Date>, FromLongConverter<Date>, IntrinsicConverter {
         
         @Override
         public Date convertTo(Long source, Type<Date> destinationType, MappingContext context) {
-            return toDate(source);
+            return convertFromLong(source, destinationType, context);
         }
         
         @Override
         public Long convertFrom(Date source, Type<Long> destinationType, MappingContext context) {
+            return convertToLong(source, context);
+        }
+        
+        public long convertToLong(Date source, MappingContext context) {
             return toLong(source);
         }
+        
+        public Date convertFromLong(long source, Type<? extends Date> destinationType, MappingContext context) {
+            return toDate(source);
+        }
+        
+        public String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source) {
+            if (Intrinsics.primitiveOf(sourceType) == Long.TYPE && Date.class == destinationType.getRawType()) {
+                return "new java.util.Date(" + Intrinsics.unbox(sourceType, source) + ")";
+            } else if (Date.class.isAssignableFrom(sourceType.getRawType()) && Intrinsics.primitiveOf(destinationType) == Long.TYPE) {
+                return Intrinsics.box(destinationType, source + ".getTime()");
+            }
+            return null;
+        }
     }
     
     /**
      * Provides conversion between Long and Date
      */
-    public static class LongToSqlDateConverter extends BuiltinBidirectionalConverter<Long, java.sql.Date> {
+    public static class LongToSqlDateConverter extends BuiltinBidirectionalConverter<Long, java.sql.Date> implements
+            ToLongConverter<java.sql.Date>, FromLongConverter<java.sql.Date> {
         
         @Override
         public java.sql.Date convertTo(Long source, Type<java.sql.Date> destinationType, MappingContext context) {
-            return new java.sql.Date(source);
+            return convertFromLong(source, destinationType, context);
         }
         
         @Override
         public Long convertFrom(java.sql.Date source, Type<Long> destinationType, MappingContext context) {
+            return convertToLong(source, context);
+        }
+        
+        public long convertToLong(java.sql.Date source, MappingContext context) {
             return toLong(source);
         }
+        
+        public java.sql.Date convertFromLong(long source, Type<? extends java.sql.Date> destinationType, MappingContext context) {
+            return new java.sql.Date(source);
+        }
     }
     
     /**
      * Provides conversion between Long and Date
      */
-    public static class LongToTimeConverter extends BuiltinBidirectionalConverter<Long, Time> {
+    public static class LongToTimeConverter extends BuiltinBidirectionalConverter<Long, Time> implements
+            ToLongConverter<Time>, FromLongConverter<Time> {
         
         @Override
         public Time convertTo(Long source, Type<Time> destinationType, MappingContext context) {
-            return new Time(source);
+            return convertFromLong(source, destinationType, context);
         }
         
         @Override
         public Long convertFrom(Time source, Type<Long> destinationType, MappingContext context) {
+            return convertToLong(source, context);
+        }
+        
+        public long convertToLong(Time source, MappingContext context) {
             return toLong(source);
         }
+        
+        public Time convertFromLong(long source, Type<? extends Time> destinationType, MappingContext context) {
+            return new Time(source);
+        }
     }
     
     /**
      * Provides conversion between Long and Calendar
      * 
      */
-    public static class LongToCalendarConverter extends BuiltinBidirectionalConverter<Long, Calendar> {
+    public static class LongToCalendarConverter extends BuiltinBidirectionalConverter<Long, Calendar> implements
+            ToLongConverter<Calendar>, FromLongConverter<Calendar> {
         
         @Override
         public Calendar convertTo(Long source, Type<Calendar> destinationType, MappingContext context) {
-            return toCalendar(source);
+            return convertFromLong(source, destinationType, context);
         }
         
         @Override
         public Long convertFrom(Calendar source, Type<Long> destinationType, MappingContext context) {
+            return convertToLong(source, context);
+        }
+        
+        public long convertToLong(Calendar source, MappingContext context) {
             return toLong(source);
         }
         
+        public Calendar convertFromLong(long source, Type<? extends Calendar> destinationType, MappingContext context) {
+            return toCalendar(source);
+        }
+        
         @Override
         public boolean canConvert(Type<?> sourceType, Type<?> destinationType) {
             return polyCanConvert(this.sourceType, this.destinationType, sourceType, destinationType);
@@ -405,31 +397,27 @@ public class DateAndTimeConverters {
     /**
      * Provides conversion between Long and Calendar
      */
-    public static class LongToXmlGregorianCalendarConverter extends BuiltinBidirectionalConverter<Long, XMLGregorianCalendar> {
-        
-        /**
-         * To create XMLGregorianCalendar instances
-         */
-        private static DatatypeFactory factory;
-        
-        {
-            try {
-                factory = DatatypeFactory.newInstance();
-            } catch (DatatypeConfigurationException e) {
-                throw new IllegalStateException(e);
-            }
-        }
+    public static class LongToXmlGregorianCalendarConverter extends BuiltinBidirectionalConverter<Long, XMLGregorianCalendar> implements
+            ToLongConverter<XMLGregorianCalendar>, FromLongConverter<XMLGregorianCalendar> {
         
         @Override
         public XMLGregorianCalendar convertTo(Long source, Type<XMLGregorianCalendar> destinationType, MappingContext context) {
-            return toXMLGregorianCalendar(source, factory);
+            return convertFromLong(source, destinationType, context);
         }
         
         @Override
         public Long convertFrom(XMLGregorianCalendar source, Type<Long> destinationType, MappingContext context) {
+            return convertToLong(source, context);
+        }
+        
+        public long convertToLong(XMLGregorianCalendar source, MappingContext context) {
             return toLong(source);
         }
         
+        public XMLGregorianCalendar convertFromLong(long source, Type<? extends XMLGregorianCalendar> destinationType, MappingContext context) {
+            return toXMLGregorianCalendar(source);
+        }
+        
         @Override
         public boolean canConvert(Type<?> sourceType, Type<?> destinationType) {
             return polyCanConvert(this.sourceType, this.destinationType, sourceType, destinationType);
@@ -440,18 +428,27 @@ public class DateAndTimeConverters {
      * Provides conversion between Long and Timestamp
      */
     
-    public static class LongToTimestampConverter extends BuiltinBidirectionalConverter<Long, Timestamp> {
+    public static class LongToTimestampConverter extends BuiltinBidirectionalConverter<Long, Timestamp> implements
+            ToLongConverter<Timestamp>, FromLongConverter<Timestamp> {
         
         @Override
         public Timestamp convertTo(Long source, Type<Timestamp> destinationType, MappingContext context) {
-            return new Timestamp(source);
+            return convertFromLong(source, destinationType, context);
         }
         
         @Override
         public Long convertFrom(Timestamp source, Type<Long> destinationType, MappingContext context) {
+            return convertToLong(source, context);
+        }
+        
+        public long convertToLong(Timestamp source, MappingContext context) {
             return source.getTime();
         }
         
+        public Timestamp convertFromLong(long source, Type<? extends Timestamp> destinationType, MappingContext context) {
+            return new Timestamp(source);
+        }
+        
     }
     
     /**
@@ -459,19 +456,6 @@ public class DateAndTimeConverters {
      */
     public static class XmlGregorianCalendarToTimestampConverter extends BuiltinBidirectionalConverter<XMLGregorianCalendar, Timestamp> {
         
-        /**
-         * To create XMLGregorianCalendar instances
-         */
-        private static DatatypeFactory factory;
-        
-        {
-            try {
-                factory = DatatypeFactory.newInstance();
-            } catch (DatatypeConfigurationException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-        
         @Override
         public Timestamp convertTo(XMLGregorianCalendar source, Type<Timestamp> destinationType, MappingContext context) {
             return new Timestamp(toLong(source));
@@ -479,7 +463,7 @@ public class DateAndTimeConverters {
         
         @Override
         public XMLGregorianCalendar convertFrom(Timestamp source, Type<XMLGregorianCalendar> destinationType, MappingContext context) {
-            return toXMLGregorianCalendar(source, factory);
+            return toXMLGregorianCalendar(source);
         }
         
         @Override
@@ -505,19 +489,19 @@ public class DateAndTimeConverters {
     }
     
     private static Date toDate(XMLGregorianCalendar source) {
-        return source.toGregorianCalendar().getTime();
+        return toDate(toLong(source));
     }
     
     private static Date toDate(Calendar source) {
         return source.getTime();
     }
     
-    private static Date toDate(Long source) {
+    private static Date toDate(long source) {
         return new Date(source);
     }
     
     private static Calendar toCalendar(XMLGregorianCalendar source) {
-        return toCalendar(source.toGregorianCalendar().getTime());
+        return toCalendar(toLong(source));
     }
     
     private static Calendar toCalendar(Date source) {
@@ -526,37 +510,32 @@ public class DateAndTimeConverters {
         return c;
     }
     
-    private static Calendar toCalendar(Long source) {
+    private static Calendar toCalendar(long source) {
         return toCalendar(new Date(source));
     }
     
-    private static XMLGregorianCalendar toXMLGregorianCalendar(Calendar source, DatatypeFactory factory) {
-        return toXMLGregorianCalendar(source.getTime(), factory);
+    private static XMLGregorianCalendar toXMLGregorianCalendar(Calendar source) {
+        return toXMLGregorianCalendar(source.getTimeInMillis());
     }
     
-    private static XMLGregorianCalendar toXMLGregorianCalendar(Date source, DatatypeFactory factory) {
-        
-        GregorianCalendar c = new GregorianCalendar();
-        c.setTime(source);
-        
-        return factory.newXMLGregorianCalendar(c);
-        
+    private static XMLGregorianCalendar toXMLGregorianCalendar(Date source) {
+        return toXMLGregorianCalendar(source.getTime());
     }
     
-    private static XMLGregorianCalendar toXMLGregorianCalendar(Long source, DatatypeFactory factory) {
-        return toXMLGregorianCalendar(new Date(source), factory);
+    private static XMLGregorianCalendar toXMLGregorianCalendar(long source) {
+        return XmlGregorianCalendars.fromEpochMilli(source);
     }
     
-    private static Long toLong(Date source) {
+    private static long toLong(Date source) {
         return source.getTime();
     }
     
-    private static Long toLong(Calendar source) {
+    private static long toLong(Calendar source) {
         return toLong(source.getTime());
     }
     
-    private static Long toLong(XMLGregorianCalendar source) {
-        return toLong(source.toGregorianCalendar().getTime());
+    private static long toLong(XMLGregorianCalendar source) {
+        return XmlGregorianCalendars.toEpochMilli(source);
     }
     
     public static boolean _polyCanConvert(Type<?> a, Type<?> b, Type<?> c, Type<?> d) {
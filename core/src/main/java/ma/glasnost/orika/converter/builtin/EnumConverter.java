@@ -17,17 +17,24 @@
  */
 package ma.glasnost.orika.converter.builtin;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.impl.util.EnumTranslationTable;
 import ma.glasnost.orika.metadata.Type;
 
 /**
  * EnumConverter is used to convert from one enum to another, based on exact
- * name match
+ * name match; the translation between each pair of enums is computed once,
+ * as an {@link EnumTranslationTable}
  * 
  * @author elaatifi@gmail.com
  */
 public class EnumConverter extends BuiltinCustomConverter<Object, Object> {
     
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Class<?>, EnumTranslationTable>> translations =
+            new ConcurrentHashMap<Class<?>, ConcurrentHashMap<Class<?>, EnumTranslationTable>>();
+    
     public boolean canConvert(Type<?> sourceType, Type<?> destinationType) {
         return sourceType.isEnum() && destinationType.isEnum();
     }
@@ -39,8 +46,24 @@ public class EnumConverter extends BuiltinCustomConverter<Object, Object> {
      * ma.glasnost.orika.metadata.Type)
      */
     public Object convert(Object source, Type<? extends Object> destinationType, MappingContext context) {
-        @SuppressWarnings({ "unchecked", "rawtypes" })
-        Enum<?> result = (Enum<?>) Enum.valueOf((Class<Enum>) destinationType.getRawType(), ((Enum) source).name());
-        return result;
+        Enum<?> sourceConstant = (Enum<?>) source;
+        return translationTable(sourceConstant.getDeclaringClass(), destinationType.getRawType()).translate(sourceConstant);
+    }
+    
+    private EnumTranslationTable translationTable(Class<?> sourceType, Class<?> destinationType) {
+        ConcurrentHashMap<Class<?>, EnumTranslationTable> forDestination = translations.get(destinationType);
+        if (forDestination == null) {
+            forDestination = new ConcurrentHashMap<Class<?>, EnumTranslationTable>();
+            ConcurrentHashMap<Class<?>, EnumTranslationTable> existing = translations.putIfAbsent(destinationType, forDestination);
+            if (existing != null) {
+                forDestination = existing;
+            }
+        }
+        EnumTranslationTable table = forDestination.get(sourceType);
+        if (table == null) {
+            table = EnumTranslationTable.valueOf(sourceType, destinationType);
+            forDestination.put(sourceType, table);
+        }
+        return table;
     }
 }
@@ -17,7 +17,10 @@
  */
 package ma.glasnost.orika.converter.builtin;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.impl.util.EnumTranslationTable;
 import ma.glasnost.orika.metadata.Type;
 
 /**
@@ -32,7 +35,9 @@ import ma.glasnost.orika.metadata.Type;
  * @author matt.deboer@gmail.com
  * @author elaatifi@gmail.com
  */
-public class FromStringConverter extends BuiltinCustomConverter<Object, Object> {
+public class FromStringConverter extends BuiltinCustomConverter<Object, Object> implements IntrinsicConverter {
+    
+    private final ConcurrentHashMap<Class<?>, EnumTranslationTable> enumTranslations = new ConcurrentHashMap<Class<?>, EnumTranslationTable>();
     
     public boolean canConvert(Type<?> sourceType, Type<?> destinationType) {
         return String.class == sourceType.getRawType() && destinationType.isConvertibleFromString();
@@ -48,9 +53,28 @@ public class FromStringConverter extends BuiltinCustomConverter<Object, Object>
         }
     }
     
-    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source) {
+        Class<?> primitive = Intrinsics.primitiveOf(destinationType);
+        if (primitive == null) {
+            return null;
+        } else if (Character.TYPE == primitive) {
+            return Intrinsics.box(destinationType, source + ".charAt(0)");
+        } else if (destinationType.isPrimitive()) {
+            String wrapper = destinationType.getWrapperType().getCanonicalName();
+            String name = primitive.getName();
+            return String.format("%s.parse%s(%s)", wrapper, Character.toUpperCase(name.charAt(0)) + name.substring(1), source);
+        } else {
+            return destinationType.getCanonicalName() + ".valueOf(" + source + ")";
+        }
+    }
+    
     private Object convertToEnum(String source, Type<? extends Object> destinationType) {
-        return Enum.valueOf((Class<Enum>) destinationType.getRawType(), source.toString());
+        EnumTranslationTable table = enumTranslations.get(destinationType.getRawType());
+        if (table == null) {
+            table = EnumTranslationTable.valueOf(String.class, destinationType.getRawType());
+            enumTranslations.put(destinationType.getRawType(), table);
+        }
+        return table.valueOf(source);
     }
     
     private Object convertToPrimitive(String source, Type<? extends Object> destinationType) {
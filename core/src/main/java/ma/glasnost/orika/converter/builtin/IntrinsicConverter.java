@@ -0,0 +1,51 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.converter.builtin;
+
+import ma.glasnost.orika.metadata.Type;
+
+/**
+ * IntrinsicConverter is implemented by converters whose conversion can be
+ * expressed as a simple Java expression; when the mapper factory is configured
+ * to inline built-in converters, the generated mappers evaluate that expression
+ * in place of calling the converter.<br>
+ * The expression is only used when {@link #intrinsicConversion} is declared by
+ * the class of the converter itself; a sub-class which overrides the
+ * conversion methods of a converter, but not this one, is always called.
+ * 
+ * @see ma.glasnost.orika.impl.DefaultMapperFactory.MapperFactoryBuilder#inlineBuiltinConverters(boolean)
+ */
+public interface IntrinsicConverter {
+    
+    /**
+     * Returns the Java expression which converts the given source expression
+     * to the destination type, in exactly the same way as the converter
+     * itself, including any overflow check.
+     * 
+     * @param sourceType
+     *            the type of the source expression
+     * @param destinationType
+     *            the type to which it is converted
+     * @param source
+     *            the source expression, which never evaluates to null
+     * @return an expression of the destination type, or null if this
+     *         conversion cannot be inlined
+     */
+    String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source);
+}
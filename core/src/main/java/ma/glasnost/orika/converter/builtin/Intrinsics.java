@@ -0,0 +1,101 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.converter.builtin;
+
+import ma.glasnost.orika.impl.GeneratedObjectBase;
+import ma.glasnost.orika.metadata.Type;
+
+import static java.lang.String.format;
+
+/**
+ * Intrinsics provides the code snippets shared by the intrinsic conversions of
+ * the built-in converters.
+ */
+final class Intrinsics {
+    
+    private Intrinsics() {
+        
+    }
+    
+    /**
+     * @param type
+     * @return the primitive class of the given primitive or wrapper type, or
+     *         null if it is neither
+     */
+    static Class<?> primitiveOf(Type<?> type) {
+        if (type.isPrimitive()) {
+            return type.getRawType();
+        } else if (type.isPrimitiveWrapper()) {
+            return type.getPrimitiveType().getRawType();
+        } else {
+            return null;
+        }
+    }
+    
+    /**
+     * @return the primitive value of the given primitive or wrapper expression
+     */
+    static String unbox(Type<?> type, String value) {
+        return type.isPrimitive() ? value : format("%s.%sValue()", value, primitiveOf(type).getName());
+    }
+    
+    /**
+     * @return the given primitive expression, boxed if the type is a wrapper
+     */
+    static String box(Type<?> type, String value) {
+        return type.isPrimitiveWrapper() ? format("%s.valueOf(%s)", type.getCanonicalName(), value) : value;
+    }
+    
+    /**
+     * Returns the expression converting between a wider and a narrower
+     * integral type, in either direction
+     * 
+     * @param sourceType
+     * @param destinationType
+     * @param source
+     * @param wider
+     *            the wider primitive type
+     * @param narrower
+     *            the narrower primitive type
+     * @param truncate
+     *            whether narrowing truncates rather than checks for overflow
+     * @return the conversion expression, or null if the types are not the
+     *         given ones
+     */
+    static String integral(Type<?> sourceType, Type<?> destinationType, String source, Class<?> wider, Class<?> narrower,
+            boolean truncate) {
+        Class<?> from = primitiveOf(sourceType);
+        Class<?> to = primitiveOf(destinationType);
+        if (from == wider && to == narrower) {
+            String value = unbox(sourceType, source);
+            String narrowed;
+            if (truncate) {
+                narrowed = format("(%s) %s", narrower, value);
+            } else {
+                String name = narrower.getName();
+                narrowed = format("%s.narrowTo%s(%s%s)", GeneratedObjectBase.class.getCanonicalName(),
+                        Character.toUpperCase(name.charAt(0)) + name.substring(1), wider == Long.TYPE ? "" : "(long) ", value);
+            }
+            return box(destinationType, narrowed);
+        } else if (from == narrower && to == wider) {
+            return box(destinationType, format("(%s) %s", wider, unbox(sourceType, source)));
+        }
+        return null;
+    }
+}
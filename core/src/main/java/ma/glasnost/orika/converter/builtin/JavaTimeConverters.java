@@ -0,0 +1,192 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.converter.builtin;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Date;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.converter.primitive.FromLongConverter;
+import ma.glasnost.orika.converter.primitive.ToLongConverter;
+import ma.glasnost.orika.metadata.Type;
+
+/**
+ * JavaTimeConverters provides a set of individual converters for conversion
+ * between the java.time types and the below listed enumeration of commonly
+ * used date/time representations:
+ * <ul>
+ * <li>java.time.Instant and java.util.Date, java.sql.Timestamp or
+ * java.lang.Long (epoch milliseconds)
+ * <li>java.time.LocalDate and java.sql.Date
+ * <li>java.time.OffsetDateTime and javax.xml.datatype.XMLGregorianCalendar
+ * <li>java.time.Duration and java.lang.Long (milliseconds)
+ * </ul>
+ * The conversions work from the epoch milliseconds or the individual fields of
+ * the values, without an intermediate Calendar; the java.time types themselves
+ * are immutable, and copied by reference.
+ */
+public class JavaTimeConverters {
+    
+    /**
+     * Provides conversion between Instant and Date
+     */
+    public static class InstantToDateConverter extends BuiltinBidirectionalConverter<Instant, Date> {
+        
+        @Override
+        public Date convertTo(Instant source, Type<Date> destinationType, MappingContext context) {
+            return Date.from(source);
+        }
+        
+        @Override
+        public Instant convertFrom(Date source, Type<Instant> destinationType, MappingContext context) {
+            return Instant.ofEpochMilli(source.getTime());
+        }
+    }
+    
+    /**
+     * Provides conversion between Instant and Timestamp, preserving the
+     * nanoseconds of either
+     */
+    public static class InstantToTimestampConverter extends BuiltinBidirectionalConverter<Instant, Timestamp> {
+        
+        @Override
+        public Timestamp convertTo(Instant source, Type<Timestamp> destinationType, MappingContext context) {
+            return Timestamp.from(source);
+        }
+        
+        @Override
+        public Instant convertFrom(Timestamp source, Type<Instant> destinationType, MappingContext context) {
+            return source.toInstant();
+        }
+    }
+    
+    /**
+     * Provides conversion between Long (epoch milliseconds) and Instant
+     */
+    public static class LongToInstantConverter extends BuiltinBidirectionalConverter<Long, Instant> implements
+            ToLongConverter<Instant>, FromLongConverter<Instant>, IntrinsicConverter {
+        
+        @Override
+        public Instant convertTo(Long source, Type<Instant> destinationType, MappingContext context) {
+            return convertFromLong(source, destinationType, context);
+        }
+        
+        @Override
+        public Long convertFrom(Instant source, Type<Long> destinationType, MappingContext context) {
+            return convertToLong(source, context);
+        }
+        
+        public long convertToLong(Instant source, MappingContext context) {
+            return source.toEpochMilli();
+        }
+        
+        public Instant convertFromLong(long source, Type<? extends Instant> destinationType, MappingContext context) {
+            return Instant.ofEpochMilli(source);
+        }
+        
+        public String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source) {
+            if (Intrinsics.primitiveOf(sourceType) == Long.TYPE && Instant.class == destinationType.getRawType()) {
+                return "java.time.Instant.ofEpochMilli(" + Intrinsics.unbox(sourceType, source) + ")";
+            } else if (Instant.class == sourceType.getRawType() && Intrinsics.primitiveOf(destinationType) == Long.TYPE) {
+                return Intrinsics.box(destinationType, source + ".toEpochMilli()");
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Provides conversion between LocalDate and java.sql.Date
+     */
+    public static class LocalDateToSqlDateConverter extends BuiltinBidirectionalConverter<LocalDate, java.sql.Date> {
+        
+        @Override
+        public java.sql.Date convertTo(LocalDate source, Type<java.sql.Date> destinationType, MappingContext context) {
+            return java.sql.Date.valueOf(source);
+        }
+        
+        @Override
+        public LocalDate convertFrom(java.sql.Date source, Type<LocalDate> destinationType, MappingContext context) {
+            return source.toLocalDate();
+        }
+    }
+    
+    /**
+     * Provides conversion between XMLGregorianCalendar and OffsetDateTime; a
+     * calendar without a timezone is taken to be in the default timezone, as
+     * by {@link XMLGregorianCalendar#toGregorianCalendar()}
+     */
+    public static class XmlGregorianCalendarToOffsetDateTimeConverter extends
+            BuiltinBidirectionalConverter<XMLGregorianCalendar, OffsetDateTime> {
+        
+        @Override
+        public OffsetDateTime convertTo(XMLGregorianCalendar source, Type<OffsetDateTime> destinationType, MappingContext context) {
+            return XmlGregorianCalendars.toOffsetDateTime(source);
+        }
+        
+        @Override
+        public XMLGregorianCalendar convertFrom(OffsetDateTime source, Type<XMLGregorianCalendar> destinationType, MappingContext context) {
+            return XmlGregorianCalendars.fromOffsetDateTime(source);
+        }
+        
+        @Override
+        public boolean canConvert(Type<?> sourceType, Type<?> destinationType) {
+            return DateAndTimeConverters.polyCanConvert(this.sourceType, this.destinationType, sourceType, destinationType);
+        }
+    }
+    
+    /**
+     * Provides conversion between Long (milliseconds) and Duration
+     */
+    public static class LongToDurationConverter extends BuiltinBidirectionalConverter<Long, Duration> implements
+            ToLongConverter<Duration>, FromLongConverter<Duration>, IntrinsicConverter {
+        
+        @Override
+        public Duration convertTo(Long source, Type<Duration> destinationType, MappingContext context) {
+            return convertFromLong(source, destinationType, context);
+        }
+        
+        @Override
+        public Long convertFrom(Duration source, Type<Long> destinationType, MappingContext context) {
+            return convertToLong(source, context);
+        }
+        
+        public long convertToLong(Duration source, MappingContext context) {
+            return source.toMillis();
+        }
+        
+        public Duration convertFromLong(long source, Type<? extends Duration> destinationType, MappingContext context) {
+            return Duration.ofMillis(source);
+        }
+        
+        public String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source) {
+            if (Intrinsics.primitiveOf(sourceType) == Long.TYPE && Duration.class == destinationType.getRawType()) {
+                return "java.time.Duration.ofMillis(" + Intrinsics.unbox(sourceType, source) + ")";
+            } else if (Duration.class == sourceType.getRawType() && Intrinsics.primitiveOf(destinationType) == Long.TYPE) {
+                return Intrinsics.box(destinationType, source + ".toMillis()");
+            }
+            return null;
+        }
+    }
+}
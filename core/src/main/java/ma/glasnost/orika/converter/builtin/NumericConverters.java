@@ -21,6 +21,17 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 
 import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.converter.primitive.DoubleToIntConverter;
+import ma.glasnost.orika.converter.primitive.FromDoubleConverter;
+import ma.glasnost.orika.converter.primitive.FromIntConverter;
+import ma.glasnost.orika.converter.primitive.FromLongConverter;
+import ma.glasnost.orika.converter.primitive.IntToDoubleConverter;
+import ma.glasnost.orika.converter.primitive.IntToLongConverter;
+import ma.glasnost.orika.converter.primitive.LongToDoubleConverter;
+import ma.glasnost.orika.converter.primitive.LongToIntConverter;
+import ma.glasnost.orika.converter.primitive.ToDoubleConverter;
+import ma.glasnost.orika.converter.primitive.ToIntConverter;
+import ma.glasnost.orika.converter.primitive.ToLongConverter;
 import ma.glasnost.orika.metadata.Type;
 
 /**
@@ -42,7 +53,8 @@ public class NumericConverters {
      * @see BigDecimal#doubleValue()
      * @author matt.deboer@gmail.com
      */
-    public static class BigDecimalToDoubleConverter extends BuiltinBidirectionalConverter<BigDecimal, Double> {
+    public static class BigDecimalToDoubleConverter extends BuiltinBidirectionalConverter<BigDecimal, Double> implements
+            ToDoubleConverter<BigDecimal>, FromDoubleConverter<BigDecimal> {
         
         /*
          * (non-Javadoc)
@@ -67,6 +79,14 @@ public class NumericConverters {
         public BigDecimal convertFrom(Double source, Type<BigDecimal> destinationType, MappingContext context) {
             return BigDecimal.valueOf(source.doubleValue());
         }
+        
+        public double convertToDouble(BigDecimal source, MappingContext context) {
+            return source.doubleValue();
+        }
+        
+        public BigDecimal convertFromDouble(double source, Type<? extends BigDecimal> destinationType, MappingContext context) {
+            return BigDecimal.valueOf(source);
+        }
     }
     
     /**
@@ -111,7 +131,8 @@ public class NumericConverters {
      * @see BigInteger
      * @author matt.deboer@gmail.com
      */
-    public static class BigIntegerToLongConverter extends BuiltinBidirectionalConverter<BigInteger, Long> {
+    public static class BigIntegerToLongConverter extends BuiltinBidirectionalConverter<BigInteger, Long> implements
+            ToLongConverter<BigInteger>, FromLongConverter<BigInteger> {
         
         private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
         private static final BigInteger MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
@@ -131,6 +152,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -140,10 +166,7 @@ public class NumericConverters {
          */
         @Override
         public Long convertTo(BigInteger source, Type<Long> destinationType, MappingContext context) {
-            if (!truncate && (source.compareTo(MAX_LONG) > 0 || source.compareTo(MIN_LONG) < 0)) {
-                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Long.class.getCanonicalName());
-            }
-            return source.longValue();
+            return convertToLong(source, context);
         }
         
         /*
@@ -157,6 +180,17 @@ public class NumericConverters {
         public BigInteger convertFrom(Long source, Type<BigInteger> destinationType, MappingContext context) {
             return BigInteger.valueOf(source.longValue());
         }
+        
+        public long convertToLong(BigInteger source, MappingContext context) {
+            if (!truncate && (source.compareTo(MAX_LONG) > 0 || source.compareTo(MIN_LONG) < 0)) {
+                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Long.class.getCanonicalName());
+            }
+            return source.longValue();
+        }
+        
+        public BigInteger convertFromLong(long source, Type<? extends BigInteger> destinationType, MappingContext context) {
+            return BigInteger.valueOf(source);
+        }
     }
     
     /**
@@ -164,7 +198,8 @@ public class NumericConverters {
      * 
      * @author matt.deboer@gmail.com
      */
-    public static class BigIntegerToIntegerConverter extends BuiltinBidirectionalConverter<BigInteger, Integer> {
+    public static class BigIntegerToIntegerConverter extends BuiltinBidirectionalConverter<BigInteger, Integer> implements
+            ToIntConverter<BigInteger>, FromIntConverter<BigInteger> {
         
         private static final BigInteger MAX_INT = BigInteger.valueOf(Integer.MAX_VALUE);
         private static final BigInteger MIN_INT = BigInteger.valueOf(Integer.MIN_VALUE);
@@ -185,6 +220,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -194,10 +234,7 @@ public class NumericConverters {
          */
         @Override
         public Integer convertTo(BigInteger source, Type<Integer> destinationType, MappingContext context) {
-            if (!truncate && (source.compareTo(MAX_INT) > 0 || source.compareTo(MIN_INT) < 0)) {
-                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Integer.class.getCanonicalName());
-            }
-            return source.intValue();
+            return convertToInt(source, context);
         }
         
         /*
@@ -211,6 +248,17 @@ public class NumericConverters {
         public BigInteger convertFrom(Integer source, Type<BigInteger> destinationType, MappingContext context) {
             return BigInteger.valueOf(source.longValue());
         }
+        
+        public int convertToInt(BigInteger source, MappingContext context) {
+            if (!truncate && (source.compareTo(MAX_INT) > 0 || source.compareTo(MIN_INT) < 0)) {
+                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Integer.class.getCanonicalName());
+            }
+            return source.intValue();
+        }
+        
+        public BigInteger convertFromInt(int source, Type<? extends BigInteger> destinationType, MappingContext context) {
+            return BigInteger.valueOf(source);
+        }
     }
     
     /**
@@ -218,7 +266,7 @@ public class NumericConverters {
      * 
      * @author matt.deboer@gmail.com
      */
-    public static class IntegerToShortConverter extends BuiltinBidirectionalConverter<Integer, Short> {
+    public static class IntegerToShortConverter extends BuiltinBidirectionalConverter<Integer, Short> implements IntrinsicConverter {
         
         private final boolean truncate;
         
@@ -236,6 +284,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -262,6 +315,10 @@ public class NumericConverters {
         public Integer convertFrom(Short source, Type<Integer> destinationType, MappingContext context) {
             return source.intValue();
         }
+        
+        public String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source) {
+            return Intrinsics.integral(sourceType, destinationType, source, Integer.TYPE, Short.TYPE, truncate);
+        }
     }
     
     /**
@@ -269,7 +326,7 @@ public class NumericConverters {
      * 
      * @author matt.deboer@gmail.com
      */
-    public static class LongToShortConverter extends BuiltinBidirectionalConverter<Long, Short> {
+    public static class LongToShortConverter extends BuiltinBidirectionalConverter<Long, Short> implements IntrinsicConverter {
         
         private final boolean truncate;
         
@@ -287,6 +344,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -313,6 +375,10 @@ public class NumericConverters {
         public Long convertFrom(Short source, Type<Long> destinationType, MappingContext context) {
             return source.longValue();
         }
+        
+        public String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source) {
+            return Intrinsics.integral(sourceType, destinationType, source, Long.TYPE, Short.TYPE, truncate);
+        }
     }
     
     /**
@@ -320,7 +386,8 @@ public class NumericConverters {
      * 
      * @author matt.deboer@gmail.com
      */
-    public static class LongToIntegerConverter extends BuiltinBidirectionalConverter<Long, Integer> {
+    public static class LongToIntegerConverter extends BuiltinBidirectionalConverter<Long, Integer> implements LongToIntConverter,
+            IntToLongConverter, IntrinsicConverter {
         
         private final boolean truncate;
         
@@ -338,6 +405,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -347,10 +419,7 @@ public class NumericConverters {
          */
         @Override
         public Integer convertTo(Long source, Type<Integer> destinationType, MappingContext context) {
-            if (!truncate && (source.compareTo((long) Integer.MAX_VALUE) > 0 || source.compareTo((long) Integer.MIN_VALUE) < 0)) {
-                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Integer.class.getCanonicalName());
-            }
-            return source.intValue();
+            return convertLongToInt(source, context);
         }
         
         /*
@@ -364,6 +433,21 @@ public class NumericConverters {
         public Long convertFrom(Integer source, Type<Long> destinationType, MappingContext context) {
             return source.longValue();
         }
+        
+        public int convertLongToInt(long source, MappingContext context) {
+            if (!truncate && (source > Integer.MAX_VALUE || source < Integer.MIN_VALUE)) {
+                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Integer.class.getCanonicalName());
+            }
+            return (int) source;
+        }
+        
+        public long convertIntToLong(int source, MappingContext context) {
+            return source;
+        }
+        
+        public String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source) {
+            return Intrinsics.integral(sourceType, destinationType, source, Long.TYPE, Integer.TYPE, truncate);
+        }
     }
     
     /**
@@ -371,7 +455,8 @@ public class NumericConverters {
      * 
      * @author matt.deboer@gmail.com
      */
-    public static class DoubleToLongConverter extends BuiltinBidirectionalConverter<Double, Long> {
+    public static class DoubleToLongConverter extends BuiltinBidirectionalConverter<Double, Long> implements
+            ma.glasnost.orika.converter.primitive.DoubleToLongConverter, LongToDoubleConverter {
         
         private final boolean truncate;
         
@@ -389,6 +474,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -398,10 +488,7 @@ public class NumericConverters {
          */
         @Override
         public Long convertTo(Double source, Type<Long> destinationType, MappingContext context) {
-            if (!truncate && (source.compareTo((double) Long.MAX_VALUE) > 0 || source.compareTo((double) Long.MIN_VALUE) < 0)) {
-                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Long.class.getCanonicalName());
-            }
-            return source.longValue();
+            return convertDoubleToLong(source, context);
         }
         
         /*
@@ -415,6 +502,17 @@ public class NumericConverters {
         public Double convertFrom(Long source, Type<Double> destinationType, MappingContext context) {
             return source.doubleValue();
         }
+        
+        public long convertDoubleToLong(double source, MappingContext context) {
+            if (!truncate && (Double.compare(source, Long.MAX_VALUE) > 0 || Double.compare(source, Long.MIN_VALUE) < 0)) {
+                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Long.class.getCanonicalName());
+            }
+            return (long) source;
+        }
+        
+        public double convertLongToDouble(long source, MappingContext context) {
+            return source;
+        }
     }
     
     /**
@@ -422,7 +520,8 @@ public class NumericConverters {
      * 
      * @author matt.deboer@gmail.com
      */
-    public static class DoubleToIntegerConverter extends BuiltinBidirectionalConverter<Double, Integer> {
+    public static class DoubleToIntegerConverter extends BuiltinBidirectionalConverter<Double, Integer> implements DoubleToIntConverter,
+            IntToDoubleConverter {
         
         private final boolean truncate;
         
@@ -440,6 +539,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -449,10 +553,7 @@ public class NumericConverters {
          */
         @Override
         public Integer convertTo(Double source, Type<Integer> destinationType, MappingContext context) {
-            if (!truncate && (source.compareTo((double) Integer.MAX_VALUE) > 0 || source.compareTo((double) Integer.MIN_VALUE) < 0)) {
-                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Integer.class.getCanonicalName());
-            }
-            return source.intValue();
+            return convertDoubleToInt(source, context);
         }
         
         /*
@@ -466,6 +567,17 @@ public class NumericConverters {
         public Double convertFrom(Integer source, Type<Double> destinationType, MappingContext context) {
             return source.doubleValue();
         }
+        
+        public int convertDoubleToInt(double source, MappingContext context) {
+            if (!truncate && (Double.compare(source, Integer.MAX_VALUE) > 0 || Double.compare(source, Integer.MIN_VALUE) < 0)) {
+                throw new ArithmeticException("Overflow: " + source + " cannot be represented by " + Integer.class.getCanonicalName());
+            }
+            return (int) source;
+        }
+        
+        public double convertIntToDouble(int source, MappingContext context) {
+            return source;
+        }
     }
     
     /**
@@ -491,6 +603,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -544,6 +661,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -595,6 +717,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
@@ -646,6 +773,11 @@ public class NumericConverters {
             this.truncate = truncate;
         }
         
+        @Override
+        boolean truncates() {
+            return truncate;
+        }
+        
         /*
          * (non-Javadoc)
          * 
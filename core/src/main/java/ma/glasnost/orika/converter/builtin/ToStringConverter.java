@@ -26,7 +26,7 @@ import ma.glasnost.orika.metadata.Type;
  * @author matt.deboer@gmail.com
  * @author elaatifi@gmail.com
  */
-public class ToStringConverter extends BuiltinCustomConverter<Object, Object> {
+public class ToStringConverter extends BuiltinCustomConverter<Object, Object> implements IntrinsicConverter {
     
     public boolean canConvert(Type<?> sourceType, Type<?> destinationType) {
         return destinationType.isString();
@@ -35,4 +35,13 @@ public class ToStringConverter extends BuiltinCustomConverter<Object, Object> {
     public Object convert(Object source, Type<? extends Object> destinationType, MappingContext context) {
         return "" + source;
     }
+    
+    public String intrinsicConversion(Type<?> sourceType, Type<?> destinationType, String source) {
+        if (sourceType.isPrimitive()) {
+            return "java.lang.String.valueOf(" + source + ")";
+        } else if (sourceType.isPrimitiveWrapper()) {
+            return source + ".toString()";
+        }
+        return null;
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.converter.builtin;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+/**
+ * XmlGregorianCalendars converts XMLGregorianCalendars to and from epoch
+ * milliseconds and OffsetDateTimes by reading or setting their fields
+ * directly, rather than through a GregorianCalendar; the results are the same
+ * as those of {@link XMLGregorianCalendar#toGregorianCalendar()} and
+ * {@link DatatypeFactory#newXMLGregorianCalendar(GregorianCalendar)} for a
+ * calendar in the default timezone, to which the conversions fall back for the
+ * values they do not handle (undefined fields, default timezone times outside
+ * of the years 1900 to 2037, or local times made ambiguous by a daylight
+ * saving transition).<br>
+ * <br>
+ * A single DatatypeFactory, created on first use, is shared by all of the
+ * conversions: the factory holds no mutable state, whereas creating one
+ * involves a service lookup.
+ */
+final class XmlGregorianCalendars {
+    
+    /**
+     * The years 1900 to 2037, outside of which the default TimeZone does not
+     * follow the transitions of the zone rules (and a GregorianCalendar may
+     * follow the Julian calendar)
+     */
+    private static final long ZONE_RULES_START = -2208988800000L;
+    private static final long ZONE_RULES_END = 2145916800000L;
+    
+    private static volatile DatatypeFactory datatypeFactory;
+    
+    private XmlGregorianCalendars() {
+        
+    }
+    
+    /**
+     * @return the shared DatatypeFactory
+     */
+    static DatatypeFactory datatypeFactory() {
+        DatatypeFactory factory = datatypeFactory;
+        if (factory == null) {
+            try {
+                factory = DatatypeFactory.newInstance();
+            } catch (DatatypeConfigurationException e) {
+                throw new IllegalStateException(e);
+            }
+            datatypeFactory = factory;
+        }
+        return factory;
+    }
+    
+    /**
+     * @param epochMilli
+     * @return the XMLGregorianCalendar for the given instant in the default
+     *         timezone
+     */
+    static XMLGregorianCalendar fromEpochMilli(long epochMilli) {
+        if (epochMilli >= ZONE_RULES_START && epochMilli < ZONE_RULES_END) {
+            Instant instant = Instant.ofEpochMilli(epochMilli);
+            ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(instant);
+            int offsetSeconds = offset.getTotalSeconds();
+            if (offsetSeconds % 60 == 0) {
+                LocalDateTime t = LocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), offset);
+                return datatypeFactory().newXMLGregorianCalendar(t.getYear(), t.getMonthValue(), t.getDayOfMonth(), t.getHour(),
+                        t.getMinute(), t.getSecond(), t.getNano() / 1000000, offsetSeconds / 60);
+            }
+        }
+        GregorianCalendar calendar = new GregorianCalendar();
+        calendar.setTimeInMillis(epochMilli);
+        return datatypeFactory().newXMLGregorianCalendar(calendar);
+    }
+    
+    /**
+     * @param source
+     * @return the epoch milliseconds of the given calendar, taken to be in the
+     *         default timezone if it has none
+     */
+    static long toEpochMilli(XMLGregorianCalendar source) {
+        if (hasDateTimeFields(source)) {
+            LocalDateTime t = toLocalDateTime(source);
+            ZoneOffset offset = offsetOf(source, t);
+            if (offset != null) {
+                return t.toEpochSecond(offset) * 1000 + t.getNano() / 1000000;
+            }
+        }
+        return source.toGregorianCalendar().getTimeInMillis();
+    }
+    
+    /**
+     * @param source
+     * @return the XMLGregorianCalendar with the date, time and offset of the
+     *         given OffsetDateTime
+     */
+    static XMLGregorianCalendar fromOffsetDateTime(OffsetDateTime source) {
+        /*
+         * XML schema timezones are whole minutes
+         */
+        if (source.getOffset().getTotalSeconds() % 60 != 0) {
+            source = source.withOffsetSameInstant(ZoneOffset.UTC);
+        }
+        int year = source.getYear();
+        if (year <= 0) {
+            return datatypeFactory().newXMLGregorianCalendar(GregorianCalendar.from(source.toZonedDateTime()));
+        }
+        int nanos = source.getNano();
+        int timezone = source.getOffset().getTotalSeconds() / 60;
+        if (nanos % 1000000 == 0) {
+            return datatypeFactory().newXMLGregorianCalendar(year, source.getMonthValue(), source.getDayOfMonth(),
+                    source.getHour(), source.getMinute(), source.getSecond(), nanos / 1000000, timezone);
+        }
+        return datatypeFactory().newXMLGregorianCalendar(BigInteger.valueOf(year), source.getMonthValue(),
+                source.getDayOfMonth(), source.getHour(), source.getMinute(), source.getSecond(),
+                BigDecimal.valueOf(nanos, 9).stripTrailingZeros(), timezone);
+    }
+    
+    /**
+     * @param source
+     * @return the OffsetDateTime with the date, time and timezone of the given
+     *         calendar, taken to be in the default timezone if it has none
+     */
+    static OffsetDateTime toOffsetDateTime(XMLGregorianCalendar source) {
+        if (hasDateTimeFields(source)) {
+            LocalDateTime t = toLocalDateTime(source);
+            ZoneOffset offset = offsetOf(source, t);
+            if (offset != null) {
+                return OffsetDateTime.of(t, offset);
+            }
+        }
+        return source.toGregorianCalendar().toZonedDateTime().toOffsetDateTime();
+    }
+    
+    /**
+     * @return whether every date and time field of the given calendar is
+     *         defined, within the range of a LocalDateTime, for a year of the
+     *         common era (which XML schema numbers differently)
+     */
+    private static boolean hasDateTimeFields(XMLGregorianCalendar source) {
+        int hour = source.getHour();
+        int second = source.getSecond();
+        return source.getEon() == null && source.getYear() > 0 && source.getMonth() != DatatypeConstants.FIELD_UNDEFINED
+                && source.getDay() != DatatypeConstants.FIELD_UNDEFINED && hour != DatatypeConstants.FIELD_UNDEFINED && hour < 24
+                && source.getMinute() != DatatypeConstants.FIELD_UNDEFINED && second != DatatypeConstants.FIELD_UNDEFINED
+                && second < 60;
+    }
+    
+    private static LocalDateTime toLocalDateTime(XMLGregorianCalendar source) {
+        BigDecimal fractionalSecond = source.getFractionalSecond();
+        int nanos = fractionalSecond == null ? 0 : fractionalSecond.movePointRight(9).intValue();
+        return LocalDateTime.of(source.getYear(), source.getMonth(), source.getDay(), source.getHour(), source.getMinute(),
+                source.getSecond(), nanos);
+    }
+    
+    /**
+     * @return the offset of the given calendar, or that of the default
+     *         timezone at its local date and time, or null if that local date
+     *         and time is skipped or repeated by the default timezone, or lies
+     *         outside of its rules
+     */
+    private static ZoneOffset offsetOf(XMLGregorianCalendar source, LocalDateTime localDateTime) {
+        int timezone = source.getTimezone();
+        if (timezone != DatatypeConstants.FIELD_UNDEFINED) {
+            return ZoneOffset.ofTotalSeconds(timezone * 60);
+        }
+        int year = localDateTime.getYear();
+        if (year <= 1900 || year >= 2037) {
+            return null;
+        }
+        List<ZoneOffset> offsets = ZoneId.systemDefault().getRules().getValidOffsets(localDateTime);
+        return offsets.size() == 1 ? offsets.get(0) : null;
+    }
+}
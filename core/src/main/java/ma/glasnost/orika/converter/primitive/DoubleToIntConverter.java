@@ -0,0 +1,41 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.converter.primitive;
+
+import ma.glasnost.orika.MappingContext;
+
+/**
+ * DoubleToIntConverter is implemented by a converter which can convert
+ * primitive double values to primitive int values without boxing either;
+ * generated mappers call it directly when mapping a double property to an int
+ * property.
+ */
+public interface DoubleToIntConverter {
+
+    /**
+     * Converts the primitive double to a primitive int
+     *
+     * @param source
+     *            the value to convert
+     * @param mappingContext
+     *            the current mapping context
+     * @return the converted value
+     */
+    int convertDoubleToInt(double source, MappingContext mappingContext);
+}
@@ -0,0 +1,46 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.converter.primitive;
+
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.metadata.Type;
+
+/**
+ * FromLongConverter is implemented by a converter which can convert primitive
+ * long values to objects of type D without boxing them; generated mappers
+ * call it directly when mapping from a long property.
+ *
+ * @param <D>
+ *            the type converted to
+ */
+public interface FromLongConverter<D> {
+
+    /**
+     * Converts the primitive long to an object of the destination type
+     *
+     * @param source
+     *            the value to convert
+     * @param destinationType
+     *            the type to convert to
+     * @param mappingContext
+     *            the current mapping context
+     * @return the converted object
+     */
+    D convertFromLong(long source, Type<? extends D> destinationType, MappingContext mappingContext);
+}
@@ -0,0 +1,43 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.converter.primitive;
+
+import ma.glasnost.orika.MappingContext;
+
+/**
+ * ToDoubleConverter is implemented by a converter which can convert objects of
+ * type S to primitive double values without boxing them; generated mappers
+ * call it directly when mapping to a double property.
+ *
+ * @param <S>
+ *            the type converted from
+ */
+public interface ToDoubleConverter<S> {
+
+    /**
+     * Converts the source object to a primitive double
+     *
+     * @param source
+     *            the (non-null) object to convert
+     * @param mappingContext
+     *            the current mapping context
+     * @return the converted value
+     */
+    double convertToDouble(S source, MappingContext mappingContext);
+}
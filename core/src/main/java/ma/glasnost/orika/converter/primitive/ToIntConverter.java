@@ -0,0 +1,43 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.converter.primitive;
+
+import ma.glasnost.orika.MappingContext;
+
+/**
+ * ToIntConverter is implemented by a converter which can convert objects of
+ * type S to primitive int values without boxing them; generated mappers
+ * call it directly when mapping to an int property.
+ *
+ * @param <S>
+ *            the type converted from
+ */
+public interface ToIntConverter<S> {
+
+    /**
+     * Converts the source object to a primitive int
+     *
+     * @param source
+     *            the (non-null) object to convert
+     * @param mappingContext
+     *            the current mapping context
+     * @return the converted value
+     */
+    int convertToInt(S source, MappingContext mappingContext);
+}
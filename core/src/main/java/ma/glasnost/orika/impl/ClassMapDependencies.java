@@ -0,0 +1,271 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ma.glasnost.orika.metadata.ClassMap;
+import ma.glasnost.orika.metadata.FieldMap;
+import ma.glasnost.orika.metadata.MapperKey;
+import ma.glasnost.orika.metadata.Type;
+
+/**
+ * ClassMapDependencies arranges a set of class-maps into levels, such that
+ * the mapper generated for a class-map may depend only upon the mappers of
+ * class-maps in earlier levels; the class-maps within a level may therefore be
+ * generated independently of each other.<br>
+ * <br>
+ * A class-map depends upon the class-maps it uses (see
+ * {@link ClassMap#getUsedMappers()}), and upon any class-map whose types are
+ * assignable from the types of its fields (or their elements), since the code
+ * generated for such fields depends upon whether a mapper is registered for
+ * them. Class-maps which depend upon each other are placed in the same level.
+ */
+final class ClassMapDependencies {
+
+    private final List<ClassMap<Object, Object>> classMaps;
+    private final Map<ClassMap<Object, Object>, Node> nodes = new IdentityHashMap<ClassMap<Object, Object>, Node>();
+    private final List<Node> stack = new ArrayList<Node>();
+    private int index;
+    private int levelCount;
+
+    private ClassMapDependencies(Collection<ClassMap<Object, Object>> classMaps) {
+        this.classMaps = new ArrayList<ClassMap<Object, Object>>(classMaps);
+        for (ClassMap<Object, Object> classMap : this.classMaps) {
+            nodes.put(classMap, new Node(classMap));
+        }
+    }
+
+    /**
+     * Arranges the provided class-maps into levels of class-maps which may be
+     * generated independently; each class-map follows all of the class-maps
+     * it depends upon, and the class-maps of each level keep the order in
+     * which they were provided.
+     *
+     * @param classMaps
+     *            the class-maps to arrange
+     * @return the class-maps, grouped by level
+     */
+    static List<List<ClassMap<Object, Object>>> levels(Collection<ClassMap<Object, Object>> classMaps) {
+        ClassMapDependencies dependencies = new ClassMapDependencies(classMaps);
+        for (Node node : dependencies.nodes.values()) {
+            node.dependencies = dependencies.findDependencies(node.classMap);
+        }
+        for (ClassMap<Object, Object> classMap : dependencies.classMaps) {
+            Node node = dependencies.nodes.get(classMap);
+            if (node.index < 0) {
+                dependencies.connect(node);
+            }
+        }
+
+        List<List<ClassMap<Object, Object>>> levels = new ArrayList<List<ClassMap<Object, Object>>>(dependencies.levelCount);
+        for (int i = 0; i < dependencies.levelCount; ++i) {
+            levels.add(new ArrayList<ClassMap<Object, Object>>());
+        }
+        for (ClassMap<Object, Object> classMap : dependencies.classMaps) {
+            levels.get(dependencies.nodes.get(classMap).level).add(classMap);
+        }
+        return levels;
+    }
+
+    /**
+     * Finds the class-maps which depend, directly or transitively, upon the
+     * mappers for any of the provided type pairs; these are the class-maps
+     * whose mappers must be generated again when the mappers for those type
+     * pairs are registered, replaced or removed.
+     *
+     * @param classMaps
+     *            the class-maps to search
+     * @param mapperKeys
+     *            the type pairs whose mappers have changed
+     * @return the dependent class-maps, in the order they were provided,
+     *         excluding any class-map for one of the provided type pairs
+     */
+    static List<ClassMap<Object, Object>> dependents(Collection<ClassMap<Object, Object>> classMaps, Collection<MapperKey> mapperKeys) {
+        List<MapperKey> changed = new ArrayList<MapperKey>(mapperKeys);
+        Set<ClassMap<Object, Object>> dependents = new LinkedHashSet<ClassMap<Object, Object>>();
+        boolean found = true;
+        while (found) {
+            found = false;
+            for (ClassMap<Object, Object> classMap : classMaps) {
+                if (!dependents.contains(classMap) && !isAny(classMap.getAType(), classMap.getBType(), mapperKeys)
+                        && dependsOnAny(classMap, changed)) {
+                    dependents.add(classMap);
+                    changed.add(classMap.getMapperKey());
+                    found = true;
+                }
+            }
+        }
+        return new ArrayList<ClassMap<Object, Object>>(dependents);
+    }
+
+    /**
+     * Determines whether the mapping between the provided types may be
+     * affected by a change to the mapper for any of the provided type pairs;
+     * that is, whether the types are related by assignment (in either
+     * direction) to the types of any of the pairs, in either orientation.
+     *
+     * @param aType
+     * @param bType
+     * @param mapperKeys
+     * @return true if the mapping between the types may be affected
+     */
+    static boolean relatesToAny(Type<?> aType, Type<?> bType, Collection<MapperKey> mapperKeys) {
+        for (MapperKey mapperKey : mapperKeys) {
+            if ((isRelated(mapperKey.getAType(), aType) && isRelated(mapperKey.getBType(), bType))
+                    || (isRelated(mapperKey.getAType(), bType) && isRelated(mapperKey.getBType(), aType))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRelated(Type<?> type, Type<?> other) {
+        return type.isAssignableFrom(other) || other.isAssignableFrom(type);
+    }
+
+    private List<Node> findDependencies(ClassMap<Object, Object> classMap) {
+        Set<Type<?>> fieldTypes = fieldTypes(classMap);
+        List<Node> dependencies = new ArrayList<Node>();
+        for (ClassMap<Object, Object> other : classMaps) {
+            if (other != classMap && dependsOn(classMap, other.getAType(), other.getBType(), fieldTypes)) {
+                dependencies.add(nodes.get(other));
+            }
+        }
+        return dependencies;
+    }
+
+    private static boolean dependsOnAny(ClassMap<?, ?> classMap, Collection<MapperKey> mapperKeys) {
+        Set<Type<?>> fieldTypes = fieldTypes(classMap);
+        for (MapperKey mapperKey : mapperKeys) {
+            if (dependsOn(classMap, mapperKey.getAType(), mapperKey.getBType(), fieldTypes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean dependsOn(ClassMap<?, ?> classMap, Type<?> aType, Type<?> bType, Set<Type<?>> fieldTypes) {
+        return isAny(aType, bType, classMap.getUsedMappers()) || appliesToAny(aType, bType, fieldTypes);
+    }
+
+    private static Set<Type<?>> fieldTypes(ClassMap<?, ?> classMap) {
+        Set<Type<?>> fieldTypes = new HashSet<Type<?>>();
+        for (FieldMap fieldMap : classMap.getFieldsMapping()) {
+            if (!fieldMap.isExcluded()) {
+                collectTypes(fieldMap.getAType(), fieldTypes);
+                collectTypes(fieldMap.getBType(), fieldTypes);
+            }
+        }
+        return fieldTypes;
+    }
+
+    private static boolean isAny(Type<?> aType, Type<?> bType, Collection<MapperKey> mapperKeys) {
+        for (MapperKey mapperKey : mapperKeys) {
+            if ((mapperKey.getAType().equals(aType) && mapperKey.getBType().equals(bType))
+                    || (mapperKey.getAType().equals(bType) && mapperKey.getBType().equals(aType))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean appliesToAny(Type<?> aType, Type<?> bType, Set<Type<?>> fieldTypes) {
+        for (Type<?> fieldType : fieldTypes) {
+            if (aType.isAssignableFrom(fieldType) || bType.isAssignableFrom(fieldType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectTypes(Type<?> type, Set<Type<?>> types) {
+        if (type != null && types.add(type)) {
+            if (type.isArray()) {
+                collectTypes(type.getComponentType(), types);
+            }
+            for (int i = 0, len = type.getActualTypeArguments().length; i < len; ++i) {
+                collectTypes(type.getNestedType(i), types);
+            }
+        }
+    }
+
+    /**
+     * Tarjan's strongly connected components algorithm; each component is
+     * completed after all of the components it depends upon, at which point
+     * its level is known.
+     */
+    private void connect(Node node) {
+        node.index = node.lowLink = index++;
+        stack.add(node);
+        node.onStack = true;
+
+        for (Node dependency : node.dependencies) {
+            if (dependency.index < 0) {
+                connect(dependency);
+                node.lowLink = Math.min(node.lowLink, dependency.lowLink);
+            } else if (dependency.onStack) {
+                node.lowLink = Math.min(node.lowLink, dependency.index);
+            }
+        }
+
+        if (node.lowLink == node.index) {
+            Set<Node> component = new LinkedHashSet<Node>();
+            Node member;
+            do {
+                member = stack.remove(stack.size() - 1);
+                member.onStack = false;
+                component.add(member);
+            } while (member != node);
+
+            int level = 0;
+            for (Node componentMember : component) {
+                for (Node dependency : componentMember.dependencies) {
+                    if (!component.contains(dependency)) {
+                        level = Math.max(level, dependency.level + 1);
+                    }
+                }
+            }
+            for (Node componentMember : component) {
+                componentMember.level = level;
+            }
+            levelCount = Math.max(levelCount, level + 1);
+        }
+    }
+
+    private static final class Node {
+        private final ClassMap<Object, Object> classMap;
+        private List<Node> dependencies;
+        private int index = -1;
+        private int lowLink;
+        private int level;
+        private boolean onStack;
+
+        private Node(ClassMap<Object, Object> classMap) {
+            this.classMap = classMap;
+        }
+    }
+}
@@ -22,6 +22,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import ma.glasnost.orika.BoundMapperFacade;
 import ma.glasnost.orika.MapperFacade;
@@ -210,6 +212,18 @@ public class ConfigurableMapper implements MapperFacade {
         return facade.mapAsList(source, destinationClass, context);
     }
     
+    public <S, D> List<D> mapAsListParallel(Iterable<S> source, Class<D> destinationClass, Executor executor, int chunkSize) {
+        return facade.mapAsListParallel(source, destinationClass, executor, chunkSize);
+    }
+    
+    public <S, D> List<D> mapAsListParallel(S[] source, Class<D> destinationClass, Executor executor, int chunkSize) {
+        return facade.mapAsListParallel(source, destinationClass, executor, chunkSize);
+    }
+    
+    public <S, D> Iterable<D> mapAsIterable(Iterable<S> source, Class<D> destinationClass) {
+        return facade.mapAsIterable(source, destinationClass);
+    }
+    
     public <S, D> D[] mapAsArray(D[] destination, Iterable<S> source, Class<D> destinationClass) {
         return facade.mapAsArray(destination, source, destinationClass);
     }
@@ -266,6 +280,27 @@ public class ConfigurableMapper implements MapperFacade {
         return facade.mapAsList(source, sourceType, destinationType, context);
     }
     
+    public <S, D> List<D> mapAsListParallel(Iterable<S> source, Type<S> sourceType, Type<D> destinationType, Executor executor,
+            int chunkSize) {
+        return facade.mapAsListParallel(source, sourceType, destinationType, executor, chunkSize);
+    }
+    
+    public <S, D> List<D> mapAsListParallel(S[] source, Type<S> sourceType, Type<D> destinationType, Executor executor, int chunkSize) {
+        return facade.mapAsListParallel(source, sourceType, destinationType, executor, chunkSize);
+    }
+    
+    public <S, D> Iterable<D> mapAsIterable(Iterable<S> source, Type<S> sourceType, Type<D> destinationType) {
+        return facade.mapAsIterable(source, sourceType, destinationType);
+    }
+    
+    public <S, D> Stream<D> mapAsStream(Stream<S> source, Type<S> sourceType, Type<D> destinationType) {
+        return facade.mapAsStream(source, sourceType, destinationType);
+    }
+    
+    public <S, D> Stream<D> mapAsStream(Stream<S> source, Class<D> destinationClass) {
+        return facade.mapAsStream(source, destinationClass);
+    }
+    
     public <S, D> D[] mapAsArray(D[] destination, Iterable<S> source, Type<S> sourceType, Type<D> destinationType) {
         return facade.mapAsArray(destination, source, sourceType, destinationType);
     }
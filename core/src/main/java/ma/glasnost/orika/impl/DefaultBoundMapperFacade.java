@@ -17,7 +17,10 @@
  */
 package ma.glasnost.orika.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import ma.glasnost.orika.BoundMapperFacade;
 import ma.glasnost.orika.MapperFacade;
@@ -28,7 +31,9 @@ import ma.glasnost.orika.MappingStrategy;
 import ma.glasnost.orika.ObjectFactory;
 import ma.glasnost.orika.metadata.Type;
 import ma.glasnost.orika.metadata.TypeFactory;
+import ma.glasnost.orika.metrics.MappingMetrics;
 import ma.glasnost.orika.unenhance.UnenhanceStrategy;
+import ma.glasnost.orika.util.ParallelMapping;
 
 /**
  * DefaultBoundMapperFacade is the base implementation of BoundMapperFacade
@@ -57,6 +62,7 @@ class DefaultBoundMapperFacade<A, B> implements BoundMapperFacade<A, B> {
     protected final Type<B> bType;
     protected final MapperFactory mapperFactory;
     protected final MappingContextFactory contextFactory;
+    protected final MappingMetrics metrics;
     
     
     /**
@@ -66,10 +72,13 @@ class DefaultBoundMapperFacade<A, B> implements BoundMapperFacade<A, B> {
      * @param contextFactory
      * @param typeOfA
      * @param typeOfB
+     * @param metrics the MappingMetrics to which mappings are reported; null to measure nothing
      */
-    DefaultBoundMapperFacade(MapperFactory mapperFactory, MappingContextFactory contextFactory,  java.lang.reflect.Type typeOfA, java.lang.reflect.Type typeOfB) {
+    DefaultBoundMapperFacade(MapperFactory mapperFactory, MappingContextFactory contextFactory,  java.lang.reflect.Type typeOfA, java.lang.reflect.Type typeOfB,
+            MappingMetrics metrics) {
         this.mapperFactory = mapperFactory;
         this.contextFactory = contextFactory;
+        this.metrics = metrics;
         this.rawAType = typeOfA;
         this.rawBType = typeOfB;
         this.aType = TypeFactory.valueOf(typeOfA);
@@ -134,7 +143,7 @@ class DefaultBoundMapperFacade<A, B> implements BoundMapperFacade<A, B> {
     public B map(A instanceA, MappingContext context) {
         B result = (B) context.getMappedObject(instanceA, bType);
         if (result == null && instanceA != null) {
-            result = (B) aToB.getStrategy(instanceA, context).map(instanceA, null, context);
+            result = (B) MapperFacadeImpl.applyStrategy(aToB.getStrategy(instanceA, context), instanceA, null, context, metrics);
         }
         return result;
     }
@@ -149,7 +158,7 @@ class DefaultBoundMapperFacade<A, B> implements BoundMapperFacade<A, B> {
     public A mapReverse(B instanceB, MappingContext context) {
         A result = (A) context.getMappedObject(instanceB, aType);
         if (result == null && instanceB != null) {
-            result = (A) bToA.getStrategy(instanceB, context).map(instanceB, null, context);
+            result = (A) MapperFacadeImpl.applyStrategy(bToA.getStrategy(instanceB, context), instanceB, null, context, metrics);
         }
         return result;
     }
@@ -164,7 +173,7 @@ class DefaultBoundMapperFacade<A, B> implements BoundMapperFacade<A, B> {
     public B map(A instanceA, B instanceB, MappingContext context) {
         B result = (B) context.getMappedObject(instanceA, bType);
         if (result == null && instanceA != null) {
-            result = (B) aToBInPlace.getStrategy(instanceA, context).map(instanceA, instanceB, context);
+            result = (B) MapperFacadeImpl.applyStrategy(aToBInPlace.getStrategy(instanceA, context), instanceA, instanceB, context, metrics);
         }
         return result;
     }
@@ -179,11 +188,57 @@ class DefaultBoundMapperFacade<A, B> implements BoundMapperFacade<A, B> {
     public A mapReverse(B instanceB, A instanceA, MappingContext context) {
         A result = (A) context.getMappedObject(instanceB, aType);
         if (result == null && instanceB != null) {
-            result = (A) bToAInPlace.getStrategy(instanceB, context).map(instanceB, instanceA, context);
+            result = (A) MapperFacadeImpl.applyStrategy(bToAInPlace.getStrategy(instanceB, context), instanceB, instanceA, context, metrics);
         }
         return result;
     }
     
+    public List<B> mapAsListParallel(Iterable<A> source, Executor executor, int chunkSize) {
+        if (source == null) {
+            return null;
+        }
+        return ParallelMapping.mapInChunks(ParallelMapping.asRandomAccessList(source), executor, chunkSize,
+                new ParallelMapping.ChunkMapper<A, B>() {
+                    public List<B> mapChunk(List<A> chunk) {
+                        List<B> result = new ArrayList<B>(chunk.size());
+                        MappingContext context = contextFactory.getContext();
+                        try {
+                            for (A instanceA : chunk) {
+                                if (instanceA != null) {
+                                    result.add(map(instanceA, context));
+                                }
+                            }
+                        } finally {
+                            contextFactory.release(context);
+                        }
+                        return result;
+                    }
+                });
+    }
+    
+    public List<A> mapReverseAsListParallel(Iterable<B> source, Executor executor, int chunkSize) {
+        if (source == null) {
+            return null;
+        }
+        return ParallelMapping.mapInChunks(ParallelMapping.asRandomAccessList(source), executor, chunkSize,
+                new ParallelMapping.ChunkMapper<B, A>() {
+                    public List<A> mapChunk(List<B> chunk) {
+                        List<A> result = new ArrayList<A>(chunk.size());
+                        MappingContext context = contextFactory.getContext();
+                        try {
+                            for (B instanceB : chunk) {
+                                if (instanceB != null) {
+                                    result.add(mapReverse(instanceB, context));
+                                }
+                            }
+                        } finally {
+                            contextFactory.release(context);
+                        }
+                        return result;
+                    }
+                });
+    }
+    
     public String toString() {
     	String srcName = TypeFactory.nameOf(aType, bType);
     	String dstName = TypeFactory.nameOf(bType, aType);
@@ -29,14 +29,17 @@ import ma.glasnost.orika.impl.generator.CompilerStrategy;
 import ma.glasnost.orika.impl.generator.CompilerStrategy.SourceCodeGenerationException;
 import ma.glasnost.orika.impl.generator.MapperGenerator;
 import ma.glasnost.orika.impl.generator.ObjectFactoryGenerator;
+import ma.glasnost.orika.impl.generator.PrecompiledCompilerStrategy;
 import ma.glasnost.orika.inheritance.DefaultSuperTypeResolverStrategy;
 import ma.glasnost.orika.inheritance.SuperTypeResolverStrategy;
 import ma.glasnost.orika.metadata.*;
+import ma.glasnost.orika.metrics.MappingMetrics;
 import ma.glasnost.orika.property.PropertyResolverStrategy;
 import ma.glasnost.orika.unenhance.BaseUnenhancer;
 import ma.glasnost.orika.unenhance.UnenhanceStrategy;
 import ma.glasnost.orika.util.Ordering;
 import ma.glasnost.orika.util.SortedCollection;
+import ma.glasnost.orika.util.TypeHierarchyIndex;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,8 +47,13 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Constructor;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import static java.lang.Boolean.valueOf;
 import static java.lang.System.getProperty;
@@ -89,14 +97,43 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
     protected final ClassMapBuilderFactory classMapBuilderFactory;
     protected ClassMapBuilderFactory chainClassMapBuilderFactory;
     protected final Map<MapperKey, Set<ClassMap<Object, Object>>> usedMapperMetadataRegistry;
+    private volatile TypeHierarchyIndex<Mapper<Object, Object>> mappersIndex;
 
     protected final boolean useAutoMapping;
     protected final boolean useBuiltinConverters;
     protected final boolean favorExtension;
     protected volatile boolean isBuilt = false;
     protected volatile boolean isBuilding = false;
+    protected final Executor buildExecutor;
+    /**
+     * Marks the threads which are generating mappers on the buildExecutor
+     */
+    private final ThreadLocal<Boolean> buildWorker = new ThreadLocal<Boolean>();
+    /**
+     * The mappers currently being generated on demand, by type pair
+     */
+    private final ConcurrentHashMap<MapperKey, FutureTask<Mapper<Object, Object>>> mappersInFlight = new ConcurrentHashMap<MapperKey, FutureTask<Mapper<Object, Object>>>();
+    /**
+     * Marks the threads which are generating a mapper on demand
+     */
+    private final ThreadLocal<Boolean> generatingMapper = new ThreadLocal<Boolean>();
+    /**
+     * Marks the thread which is reloading class-maps, whose modifications to
+     * this factory are reported to the MapperFacade once complete
+     */
+    private final ThreadLocal<Boolean> reloadingClassMaps = new ThreadLocal<Boolean>();
+    /**
+     * The mappers registry as it will be once the class-maps being reloaded
+     * by the current thread are published; consulted by that thread in place
+     * of the mappers registry until then
+     */
+    private final ThreadLocal<SortedCollection<Mapper<Object, Object>>> stagedMappers = new ThreadLocal<SortedCollection<Mapper<Object, Object>>>();
 
     protected final ExceptionUtility exceptionUtil;
+    /**
+     * The MappingMetrics to which mappings are reported; null if disabled
+     */
+    protected final MappingMetrics mappingMetrics;
     
     /**
      * Constructs a new instance of DefaultMapperFactory
@@ -106,7 +143,8 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
     protected DefaultMapperFactory(MapperFactoryBuilder<?, ?> builder) {
         
         this.converterFactory = new ConverterFactoryFacade(builder.converterFactory);
-        this.compilerStrategy = builder.compilerStrategy;
+        this.compilerStrategy = builder.usePrecompiledMappers ? PrecompiledCompilerStrategy.wrap(builder.compilerStrategy)
+                : builder.compilerStrategy;
         this.classMapRegistry = new ConcurrentHashMap<>();
         this.mappersRegistry = new SortedCollection<Mapper<Object, Object>>(Ordering.MAPPER);
         this.filtersRegistry = new SortedCollection<Filter<Object, Object>>(Ordering.FILTER);
@@ -118,8 +156,10 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         this.userUnenahanceStrategy = builder.unenhanceStrategy;
         this.unenhanceStrategy = buildUnenhanceStrategy(builder.unenhanceStrategy, builder.superTypeStrategy);
         this.contextFactory = builder.mappingContextFactory;
-        this.nonCyclicContextFactory = new NonCyclicMappingContext.Factory(this.contextFactory.getGlobalProperties());
+        this.nonCyclicContextFactory = contextFactory instanceof StripedMappingContextFactory ? ((StripedMappingContextFactory) contextFactory).nonCyclic()
+                : new NonCyclicMappingContext.Factory(this.contextFactory.getGlobalProperties());
         this.exceptionUtil = new ExceptionUtility(this, builder.dumpStateOnException);
+        this.mappingMetrics = builder.mappingMetrics;
         this.mapperFacade = buildMapperFacade(contextFactory, unenhanceStrategy);
         this.concreteTypeRegistry = new ConcurrentHashMap<java.lang.reflect.Type, Type<?>>();
         this.alwaysCreateMultipleMapperWrapper = builder.alwaysCreateMultipleMapperWrapper;
@@ -138,23 +178,29 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         addClassMapBuilderFactory(new ClassMapBuilderForLists.Factory());
         addClassMapBuilderFactory(new ClassMapBuilderForMaps.Factory());
         
-        this.mapperGenerator = new MapperGenerator(this, builder.compilerStrategy);
-        this.objectFactoryGenerator = new ObjectFactoryGenerator(this, builder.constructorResolverStrategy, builder.compilerStrategy);
+        this.mapperGenerator = new MapperGenerator(this, this.compilerStrategy);
+        this.objectFactoryGenerator = new ObjectFactoryGenerator(this, builder.constructorResolverStrategy, this.compilerStrategy);
         this.useAutoMapping = builder.useAutoMapping;
         this.favorExtension = builder.favorExtension;
         this.useBuiltinConverters = builder.useBuiltinConverters;
+        this.buildExecutor = builder.buildExecutor;
         
         builder.codeGenerationStrategy.setMapperFactory(this);
         
         Map<Object, Object> props = this.contextFactory.getGlobalProperties();
         props.put(Properties.SHOULD_MAP_NULLS, builder.mapNulls);
         props.put(Properties.CODE_GENERATION_STRATEGY, builder.codeGenerationStrategy);
-        props.put(Properties.COMPILER_STRATEGY, builder.compilerStrategy);
+        props.put(Properties.COMPILER_STRATEGY, this.compilerStrategy);
         props.put(Properties.PROPERTY_RESOLVER_STRATEGY, builder.propertyResolverStrategy);
         props.put(Properties.UNENHANCE_STRATEGY, unenhanceStrategy);
         props.put(Properties.MAPPER_FACTORY, this);
         props.put(Properties.FILTERS, this.filtersRegistry);
         props.put(Properties.CAPTURE_FIELD_CONTEXT, builder.captureFieldContext);
+        props.put(Properties.CAPTURE_FIELD_CONTEXT_ON_EXCEPTION, builder.captureFieldContextOnException);
+        props.put(Properties.INLINE_BUILTIN_CONVERTERS, builder.inlineBuiltinConverters);
+        if (mappingMetrics != null) {
+            props.put(Properties.MAPPING_METRICS, mappingMetrics);
+        }
         
         /*
          * Register default concrete types for common collection types; these
@@ -263,6 +309,30 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
          * upon mapping of every field.
          */
         protected Boolean captureFieldContext;
+        /**
+         * Whether the field context is captured only when mapping fails
+         */
+        protected Boolean captureFieldContextOnException;
+        /**
+         * Whether the intrinsic conversions of built-in converters are inlined
+         * in the generated mappers
+         */
+        protected Boolean inlineBuiltinConverters;
+        /**
+         * The configured value of whether classes precompiled by the
+         * {@link ma.glasnost.orika.impl.generator.MapperPrecompiler} should be
+         * loaded instead of compiling them at runtime.
+         */
+        protected Boolean usePrecompiledMappers;
+        /**
+         * The configured Executor on which mappers are generated concurrently
+         * when the factory is built; null to generate them sequentially.
+         */
+        protected Executor buildExecutor;
+        /**
+         * The MappingMetrics to which mappings are reported, if any
+         */
+        protected MappingMetrics mappingMetrics;
         /**
          * Internal Property to always use {@link MultipleMapperWrapper} even if there are no custom ObjectFactory and only one Mapper
          * found.
@@ -284,6 +354,7 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
             propertyResolverStrategy = UtilityResolver.getDefaultPropertyResolverStrategy();
             classMapBuilderFactory = UtilityResolver.getDefaultClassMapBuilderFactory();
             mappingContextFactory = UtilityResolver.getDefaultMappingContextFactory();
+            mappingMetrics = UtilityResolver.getDefaultMappingMetrics();
             
             useBuiltinConverters = valueOf(getProperty(USE_BUILTIN_CONVERTERS, "true"));
             useAutoMapping = valueOf(getProperty(USE_AUTO_MAPPING, "true"));
@@ -291,6 +362,9 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
             dumpStateOnException = valueOf(getProperty(DUMP_STATE_ON_EXCEPTION, "false"));
             favorExtension = valueOf(getProperty(FAVOR_EXTENSION, "false"));
             captureFieldContext = valueOf(getProperty(CAPTURE_FIELD_CONTEXT, "false"));
+            captureFieldContextOnException = valueOf(getProperty(CAPTURE_FIELD_CONTEXT_ON_EXCEPTION, "false"));
+            inlineBuiltinConverters = valueOf(getProperty(INLINE_BUILTIN_CONVERTERS, "true"));
+            usePrecompiledMappers = valueOf(getProperty(USE_PRECOMPILED_MAPPERS, "false"));
             alwaysCreateMultipleMapperWrapper = valueOf(
                     getProperty("ma.glasnost.orika.alwaysCreateMultipleMapperWrapper", "false"));
             codeGenerationStrategy = new DefaultCodeGenerationStrategy();
@@ -399,7 +473,8 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         
         /**
          * Configure the MappingContextFactory to use with the generated
-         * MapperFactory
+         * MapperFactory; see {@link StripedMappingContextFactory} for a
+         * factory which avoids contention between threads.
          * 
          * @param mappingContextFactory
          * @return a reference to <code>this</code> MapperFactoryBuilder
@@ -506,6 +581,97 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
             return self();
         }
         
+        /**
+         * Configure whether the context of the fields being mapped is captured
+         * only when a mapping fails, rather than for every field mapped; the
+         * fully-qualified paths of the failing source and destination fields
+         * are then set on the resulting {@link MappingException}, at no cost
+         * while mapping succeeds.<br>
+         * This has no effect if {@link #captureFieldContext(boolean)} is
+         * <code>true</code>.<p>
+         * Default value is <code>false</code>
+         * 
+         * @param captureFieldContextOnException
+         * @return a reference to <code>this</code> MapperFactoryBuilder
+         */
+        public B captureFieldContextOnException(boolean captureFieldContextOnException) {
+            this.captureFieldContextOnException = captureFieldContextOnException;
+            return self();
+        }
+        
+        /**
+         * Configure whether the generated mappers should evaluate the
+         * conversions of the built-in converters which implement
+         * {@link ma.glasnost.orika.converter.builtin.IntrinsicConverter} as
+         * inline Java expressions, rather than calling the converter.<p>
+         * Default value is <code>true</code>
+         * 
+         * @param inlineBuiltinConverters
+         * @return a reference to <code>this</code> MapperFactoryBuilder
+         */
+        public B inlineBuiltinConverters(boolean inlineBuiltinConverters) {
+            this.inlineBuiltinConverters = inlineBuiltinConverters;
+            return self();
+        }
+        
+        /**
+         * Specifies whether mappers and object factories precompiled by the
+         * {@link ma.glasnost.orika.impl.generator.MapperPrecompiler} should be
+         * loaded (when listed in a precompiled-classes index visible to the
+         * current thread's context class-loader) instead of being compiled at
+         * runtime. Classes whose generated source no longer matches the
+         * precompiled fingerprint are compiled at runtime as usual.
+         * <p>
+         * Default value is <code>false</code>
+         * 
+         * @param usePrecompiledMappers
+         * @return a reference to <code>this</code> MapperFactoryBuilder
+         */
+        public B usePrecompiledMappers(boolean usePrecompiledMappers) {
+            this.usePrecompiledMappers = usePrecompiledMappers;
+            return self();
+        }
+        
+        /**
+         * Configures an Executor on which the mappers for the registered
+         * class-maps are generated and compiled concurrently when the factory
+         * is built. Class-maps are ordered by their dependencies (used mappers,
+         * and registered mappers which may apply to their fields), and those
+         * which are independent of each other are generated together; the
+         * resulting mappers are registered on the building thread in a fixed
+         * order, so the outcome does not depend on thread scheduling.
+         * <p>
+         * Default value is <code>null</code>, meaning that mappers are
+         * generated sequentially on the building thread
+         * 
+         * @param buildExecutor
+         *            the Executor on which to generate mappers
+         * @return a reference to <code>this</code> MapperFactoryBuilder
+         */
+        public B buildExecutor(Executor buildExecutor) {
+            this.buildExecutor = buildExecutor;
+            return self();
+        }
+        
+        /**
+         * Configures the MappingMetrics to which the MapperFacade (and the
+         * BoundMapperFacade instances obtained from the factory) report the
+         * number of objects mapped, and the time taken to map them, per
+         * resolved strategy, along with the time taken to resolve strategies
+         * and to generate mappers; see
+         * {@link ma.glasnost.orika.metrics.DefaultMappingMetrics}.
+         * <p>
+         * Default value is <code>null</code>, meaning that nothing is measured
+         * 
+         * @param mappingMetrics
+         *            the MappingMetrics to which mappings are reported
+         * @return a reference to <code>this</code> MapperFactoryBuilder
+         */
+        public B mappingMetrics(MappingMetrics mappingMetrics) {
+            this.mappingMetrics = mappingMetrics;
+            return self();
+        }
+        
         /**
          * Get a reference to the CodeGenerationStrategy associated with this
          * MapperFactory, which may be used to configure/customize the
@@ -665,7 +831,7 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
      * @return the MapperFacade to use
      */
     protected MapperFacade buildMapperFacade(MappingContextFactory contextFactory, UnenhanceStrategy unenhanceStrategy) {
-        return new MapperFacadeImpl(this, contextFactory, unenhanceStrategy, exceptionUtil);
+        return new MapperFacadeImpl(this, contextFactory, unenhanceStrategy, exceptionUtil, mappingMetrics);
     }
     
     /*
@@ -702,53 +868,136 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
             mapper = null;
         }
         if (mapper == null && useAutoMapping) {
-            synchronized (this) {
-                mapper = getRegisteredMapper(mapperKey.getAType(), mapperKey.getBType(), false);
-                boolean internalMapperMustBeGenerated = internalMapperMustBeGenerated(mapper, mapperKey);
-                if (internalMapperMustBeGenerated) {
-                    mapper = null;
+            assertNotBuildWorker();
+            mapper = generateMapperOnce(mapperKey, context);
+        }
+        return (Mapper<Object, Object>) mapper;
+    }
+    
+    /**
+     * Generates the mapper for the specified types, unless it is already being
+     * generated by another thread, in which case that generation is awaited
+     * instead; mappers for different type pairs are generated concurrently.
+     * 
+     * @param mapperKey
+     * @param context
+     * @return the generated mapper
+     */
+    private Mapper<Object, Object> generateMapperOnce(final MapperKey mapperKey, final MappingContext context) {
+        FutureTask<Mapper<Object, Object>> generation = new FutureTask<Mapper<Object, Object>>(new Callable<Mapper<Object, Object>>() {
+            public Mapper<Object, Object> call() {
+                return generateMapper(mapperKey, context);
+            }
+        });
+        FutureTask<Mapper<Object, Object>> inFlight = mappersInFlight.putIfAbsent(mapperKey, generation);
+        if (inFlight == null) {
+            inFlight = generation;
+            boolean outermost = generatingMapper.get() == null;
+            if (outermost) {
+                generatingMapper.set(Boolean.TRUE);
+            }
+            try {
+                generation.run();
+            } finally {
+                if (outermost) {
+                    generatingMapper.remove();
                 }
-                if (mapper == null) {
-                    try {
-                        /*
-                         * We shouldn't create a mapper for an immutable type;
-                         * although it will succeed in generating an empty
-                         * mapper, it won't actually result in a valid mapping,
-                         * so it's better to throw an exception to indicate more
-                         * clearly that something went wrong. However, there is
-                         * a possibility that a custom ObjectFactory was
-                         * registered for the immutable type, which would be
-                         * valid.
-                         */
-                        if (mapperKey.getBType().isImmutable() && !objectFactoryRegistry.containsKey(mapperKey.getBType())) {
-                            throw new MappingException("No converter registered for conversion from " + mapperKey.getAType() + " to "
-                                    + mapperKey.getBType() + ", nor any ObjectFactory which can generate " + mapperKey.getBType()
-                                    + " from " + mapperKey.getAType());
-                        }
-                        
-                        LOGGER.debug("No mapper registered for {}: attempting to generate", mapperKey);
-                        
-                        ClassMapBuilder<?, ?> builder = classMap(mapperKey.getAType(), mapperKey.getBType()).byDefault();
-                        for (MapperKey key : discoverUsedMappers(builder)) {
-                            builder.use(key.getAType(), key.getBType());
-                        }
-                        final ClassMap<?, ?> classMap = builder.toClassMap();
-                        
-                        buildObjectFactories(classMap, context);
-                        mapper = buildMapper(classMap, true, context);
-                        initializeUsedMappers(mapper, classMap, context);
-                        if (internalMapperMustBeGenerated || alwaysCreateMultipleMapperWrapper) {
-                            // regenerate MultipleMapperWrapper.
-                            mapper = getRegisteredMapper(mapperKey.getAType(), mapperKey.getBType(), false);
-                        }
-                    } catch (MappingException e) {
-                        e.setSourceType(mapperKey.getAType());
-                        e.setDestinationType(mapperKey.getBType());
-                        throw exceptionUtil.decorate(e);
+                mappersInFlight.remove(mapperKey, generation);
+            }
+        } else if (generatingMapper.get() != null || Thread.holdsLock(this)) {
+            /*
+             * A thread which is already generating a mapper, or which holds
+             * the lock needed to register one, may not wait for another
+             * generation; the mapper is generated again, and whichever of the
+             * two is registered first is used by both
+             */
+            return generateMapper(mapperKey, context);
+        }
+        
+        try {
+            return inFlight.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new MappingException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MappingException(e);
+        }
+    }
+    
+    /**
+     * Generates and registers a mapper for the specified types, if one has not
+     * been registered already; only the registration (and that of any object
+     * factories needed) is performed while holding the lock of this factory,
+     * so that the (much more expensive) generation and compilation of mappers
+     * for different type pairs may proceed concurrently. Should another thread
+     * register a mapper for the same types in the meantime, that mapper is
+     * returned instead.
+     * 
+     * @param mapperKey
+     * @param context
+     * @return the registered mapper
+     */
+    @SuppressWarnings("unchecked")
+    private Mapper<Object, Object> generateMapper(MapperKey mapperKey, MappingContext context) {
+        Mapper<?, ?> mapper = getRegisteredMapper(mapperKey.getAType(), mapperKey.getBType(), false);
+        boolean internalMapperMustBeGenerated = internalMapperMustBeGenerated(mapper, mapperKey);
+        if (internalMapperMustBeGenerated) {
+            mapper = null;
+        }
+        if (mapper == null) {
+            try {
+                /*
+                 * We shouldn't create a mapper for an immutable type;
+                 * although it will succeed in generating an empty
+                 * mapper, it won't actually result in a valid mapping,
+                 * so it's better to throw an exception to indicate more
+                 * clearly that something went wrong. However, there is
+                 * a possibility that a custom ObjectFactory was
+                 * registered for the immutable type, which would be
+                 * valid.
+                 */
+                if (mapperKey.getBType().isImmutable() && !objectFactoryRegistry.containsKey(mapperKey.getBType())) {
+                    throw new MappingException("No converter registered for conversion from " + mapperKey.getAType() + " to "
+                            + mapperKey.getBType() + ", nor any ObjectFactory which can generate " + mapperKey.getBType()
+                            + " from " + mapperKey.getAType());
+                }
+                
+                LOGGER.debug("No mapper registered for {}: attempting to generate", mapperKey);
+                
+                ClassMapBuilder<?, ?> builder = classMap(mapperKey.getAType(), mapperKey.getBType()).byDefault();
+                for (MapperKey key : discoverUsedMappers(builder)) {
+                    builder.use(key.getAType(), key.getBType());
+                }
+                final ClassMap<?, ?> classMap = builder.toClassMap();
+                
+                synchronized (this) {
+                    buildObjectFactories(classMap, context);
+                }
+                register(classMap.getAType(), classMap.getBType(), true);
+                register(classMap.getBType(), classMap.getAType(), true);
+                GeneratedMapperBase generatedMapper = mapperGenerator.build(classMap, context);
+                synchronized (this) {
+                    Mapper<?, ?> registered = getRegisteredMapper(mapperKey.getAType(), mapperKey.getBType(), false);
+                    if (registered != null && !internalMapperMustBeGenerated(registered, mapperKey)) {
+                        return (Mapper<Object, Object>) registered;
                     }
+                    mapper = registerGeneratedMapper(generatedMapper, classMap, true);
+                    initializeUsedMappers(mapper, classMap, context);
+                }
+                if (internalMapperMustBeGenerated || alwaysCreateMultipleMapperWrapper) {
+                    // regenerate MultipleMapperWrapper.
+                    mapper = getRegisteredMapper(mapperKey.getAType(), mapperKey.getBType(), false);
                 }
+            } catch (MappingException e) {
+                e.setSourceType(mapperKey.getAType());
+                e.setDestinationType(mapperKey.getBType());
+                throw exceptionUtil.decorate(e);
             }
-            
         }
         return (Mapper<Object, Object>) mapper;
     }
@@ -800,7 +1049,7 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         boolean objFactoryBExists = customObjectFactoryForDestinationExists(typeA, typeB);
         boolean objFactoryAExists = customObjectFactoryForDestinationExists(typeB, typeA);
         
-        for (Mapper<?, ?> mapper : mappersRegistry) {
+        for (Mapper<?, ?> mapper : getMappersIndex().candidatesFor(typeA.getRawType())) {
             if ((mapper.getAType().equals(typeA) && mapper.getBType().equals(typeB))
                     || (mapper.getAType().equals(typeB) && mapper.getBType().equals(typeA))) {
                 foundMappers.add((Mapper<A, B>) mapper);
@@ -841,6 +1090,27 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         return null;
     }
     
+    /**
+     * Returns an index over the current contents of the mappers registry; the
+     * index is rebuilt lazily whenever the registry has been modified. While
+     * reloading class-maps, the staged mappers are indexed instead.
+     * 
+     * @return the index of registered mappers by raw type
+     */
+    private TypeHierarchyIndex<Mapper<Object, Object>> getMappersIndex() {
+        SortedCollection<Mapper<Object, Object>> staged = stagedMappers.get();
+        if (staged != null) {
+            return new TypeHierarchyIndex<Mapper<Object, Object>>(staged.sortedView());
+        }
+        List<Mapper<Object, Object>> registeredMappers = mappersRegistry.sortedView();
+        TypeHierarchyIndex<Mapper<Object, Object>> index = mappersIndex;
+        if (index == null || index.getSource() != registeredMappers) {
+            index = new TypeHierarchyIndex<Mapper<Object, Object>>(registeredMappers);
+            mappersIndex = index;
+        }
+        return index;
+    }
+    
     private boolean favorsExtension(Mapper<?, ?> mapper) {
         return mapper.favorsExtension() == null ? favorExtension : mapper.favorsExtension();
     }
@@ -875,7 +1145,7 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
      * getMapperFacade() again.
      */
     public MapperFacade getMapperFacade() {
-        if (!isBuilt) {
+        if (!isBuilt && buildWorker.get() == null) {
             synchronized (mapperFacade) {
                 if (!isBuilt) {
                     build();
@@ -900,7 +1170,7 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
             }
         }
         localCache.put(sourceType, objectFactory);
-        if (isBuilding || isBuilt) {
+        if ((isBuilding || isBuilt) && reloadingClassMaps.get() == null) {
             mapperFacade.factoryModified(this);
         }
     }
@@ -1040,6 +1310,7 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         ObjectFactory<T> result = lookupExistingObjectFactory(targetType, sourceType, context);
         
         if (result == null) {
+            assertNotBuildWorker();
             // Check if we can use default constructor...
             synchronized (this) {
                 if (!targetType.isConcrete()) {
@@ -1242,29 +1513,276 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         return concreteType;
     }
 
+    /**
+     * Registers the provided class-map; once this factory has been built, the
+     * class-map is registered as by {@link #reloadClassMaps(Collection, Collection)},
+     * replacing any class-map already registered for the same types.
+     */
     @SuppressWarnings("unchecked")
-    public synchronized <A, B> void registerClassMap(ClassMap<A, B> classMap) {
-        classMapRegistry.put(new MapperKey(classMap.getAType(), classMap.getBType()), (ClassMap<Object, Object>) classMap);
-        if (isBuilding || isBuilt) {
+    public <A, B> void registerClassMap(ClassMap<A, B> classMap) {
+        assertNotBuildWorker();
+        synchronized (this) {
+            if (isBuilt) {
+                reloadClassMaps(Collections.<ClassMap<?, ?>> singleton(classMap), Collections.<MapperKey> emptySet());
+                return;
+            }
+            classMapRegistry.put(new MapperKey(classMap.getAType(), classMap.getBType()), (ClassMap<Object, Object>) classMap);
+            if (isBuilding || isBuilt) {
+                MappingContext context = contextFactory.getContext();
+                try {
+                    if (classMap.getUsedMappers().isEmpty()) {
+                        classMap = classMap.copyWithUsedMappers(discoverUsedMappers(classMap));
+                    }
+                    GeneratedMapperBase generatedMapper = buildMapper(classMap, /** isAutoGenerated == **/
+                    isBuilding, context);
+                
+                    buildObjectFactories(classMap, context);
+                    initializeUsedMappers(generatedMapper, classMap, context);
+                    mapperFacade.factoryModified(this);
+                } finally {
+                    contextFactory.release(context);
+                }
+            }
+        }
+    }
+    
+    public <A, B> void registerClassMap(ClassMapBuilder<A, B> builder) {
+        registerClassMap(builder.toClassMap());
+    }
+    
+    /**
+     * Removes the class-map registered for the specified types (in either
+     * order), as by {@link #reloadClassMaps(Collection, Collection)}.
+     * 
+     * @param mapperKey
+     *            the types of the class-map to remove
+     */
+    public void unregisterClassMap(MapperKey mapperKey) {
+        reloadClassMaps(Collections.<ClassMap<?, ?>> emptySet(), Collections.singleton(mapperKey));
+    }
+    
+    /**
+     * Registers (or replaces) and removes a set of class-maps as a single
+     * change; this may be used to reload a group of class-maps while the
+     * factory is in use.<br>
+     * <br>
+     * Once this factory has been built, only the mappers for the changed
+     * class-maps, and for the class-maps which depend upon them (by using
+     * them, or by mapping fields to which they apply), are generated again.
+     * The new mappers and object factories are generated and initialized
+     * completely before any of them is registered; the object factories are
+     * then registered, followed by all of the new mappers, which replace the
+     * previous ones in the registry in a single step. Only the cached mapping
+     * strategies for the affected types are discarded afterwards, so mappings
+     * already in progress complete with the mappers they have resolved, as do
+     * BoundMapperFacades obtained from this factory beforehand.<br>
+     * <br>
+     * The class-maps themselves are replaced before generation begins, and
+     * the object factories are registered one type at a time; a mapper
+     * generated on demand by another thread meanwhile may therefore observe
+     * some of the changes but not others.
+     * 
+     * @param classMaps
+     *            the class-maps to register, replacing any registered for the
+     *            same types (in either order)
+     * @param removedMapperKeys
+     *            the types of the class-maps to remove
+     */
+    @SuppressWarnings("unchecked")
+    public void reloadClassMaps(Collection<? extends ClassMap<?, ?>> classMaps, Collection<MapperKey> removedMapperKeys) {
+        assertNotBuildWorker();
+        synchronized (this) {
+            for (MapperKey mapperKey : removedMapperKeys) {
+                removeClassMap(mapperKey);
+            }
+            if (!isBuilt) {
+                for (ClassMap<?, ?> classMap : classMaps) {
+                    registerClassMap(classMap);
+                }
+                return;
+            }
+            
+            Set<MapperKey> changedKeys = new LinkedHashSet<MapperKey>(removedMapperKeys);
+            Map<MapperKey, ClassMap<Object, Object>> regenerated = new LinkedHashMap<MapperKey, ClassMap<Object, Object>>();
+            for (ClassMap<?, ?> classMap : classMaps) {
+                removeClassMap(classMap.getMapperKey());
+                changedKeys.add(classMap.getMapperKey());
+                classMapRegistry.put(classMap.getMapperKey(), (ClassMap<Object, Object>) classMap);
+            }
+            for (ClassMap<?, ?> classMap : classMaps) {
+                ClassMap<Object, Object> registered = (ClassMap<Object, Object>) classMap;
+                if (registered.getUsedMappers().isEmpty()) {
+                    registered = registered.copyWithUsedMappers(discoverUsedMappers(registered));
+                    classMapRegistry.put(registered.getMapperKey(), registered);
+                }
+                regenerated.put(registered.getMapperKey(), registered);
+            }
+            for (ClassMap<Object, Object> dependent : ClassMapDependencies.dependents(classMapRegistry.values(), changedKeys)) {
+                Set<MapperKey> usedMappers = new LinkedHashSet<MapperKey>();
+                for (MapperKey usedMapper : dependent.getUsedMappers()) {
+                    if (classMapRegistry.containsKey(usedMapper)) {
+                        usedMappers.add(usedMapper);
+                    }
+                }
+                if (usedMappers.size() < dependent.getUsedMappers().size()) {
+                    dependent = dependent.copyWithUsedMappers(usedMappers);
+                    classMapRegistry.put(dependent.getMapperKey(), dependent);
+                }
+                regenerated.put(dependent.getMapperKey(), dependent);
+            }
+            
+            Set<MapperKey> affectedKeys = new LinkedHashSet<MapperKey>(changedKeys);
+            affectedKeys.addAll(regenerated.keySet());
+            for (ClassMap<Object, Object> classMap : regenerated.values()) {
+                registerUsedClassMaps(classMap);
+            }
+            
+            reloadingClassMaps.set(Boolean.TRUE);
+            SortedCollection<Mapper<Object, Object>> staged = new SortedCollection<Mapper<Object, Object>>(mappersRegistry, Ordering.MAPPER);
+            stagedMappers.set(staged);
             MappingContext context = contextFactory.getContext();
             try {
-                if (classMap.getUsedMappers().isEmpty()) {
-                    classMap = classMap.copyWithUsedMappers(discoverUsedMappers(classMap));
+                List<Mapper<Object, Object>> obsoleteMappers = new ArrayList<Mapper<Object, Object>>();
+                List<Mapper<Object, Object>> levelObsoleteMappers = registeredMappersFor(changedKeys);
+                List<GeneratedMapperBase> generatedMappers = new ArrayList<GeneratedMapperBase>(regenerated.size());
+                for (List<ClassMap<Object, Object>> level : ClassMapDependencies.levels(regenerated.values())) {
+                    List<GeneratedMapperBase> levelMappers = new ArrayList<GeneratedMapperBase>(level.size());
+                    List<MapperKey> levelKeys = new ArrayList<MapperKey>(level.size());
+                    for (ClassMap<Object, Object> classMap : level) {
+                        register(classMap.getAType(), classMap.getBType(), false);
+                        register(classMap.getBType(), classMap.getAType(), false);
+                        levelMappers.add(prepareGeneratedMapper(mapperGenerator.build(classMap, context), classMap, false));
+                        levelKeys.add(classMap.getMapperKey());
+                    }
+                    levelObsoleteMappers.addAll(registeredMappersFor(levelKeys));
+                    staged.replace(levelObsoleteMappers, levelMappers);
+                    obsoleteMappers.addAll(levelObsoleteMappers);
+                    levelObsoleteMappers.clear();
+                    generatedMappers.addAll(levelMappers);
                 }
-                GeneratedMapperBase generatedMapper = buildMapper(classMap, /** isAutoGenerated == **/
-                isBuilding, context);
+                obsoleteMappers.addAll(levelObsoleteMappers);
                 
-                buildObjectFactories(classMap, context);
-                initializeUsedMappers(generatedMapper, classMap, context);
-                mapperFacade.factoryModified(this);
+                Map<Type<?>, GeneratedObjectFactory> objectFactories = new LinkedHashMap<Type<?>, GeneratedObjectFactory>();
+                for (ClassMap<Object, Object> classMap : regenerated.values()) {
+                    if (classMap.getConstructorA() != null) {
+                        stageObjectFactory(objectFactories, classMap.getAType(), classMap.getBType(), context);
+                    }
+                    if (classMap.getConstructorB() != null) {
+                        stageObjectFactory(objectFactories, classMap.getBType(), classMap.getAType(), context);
+                    }
+                }
+                for (GeneratedMapperBase mapper : generatedMappers) {
+                    initializeUsedMappers(mapper, regenerated.get(new MapperKey(mapper.getAType(), mapper.getBType())), context);
+                }
+                
+                /*
+                 * Everything has been generated; publish the new object
+                 * factories, then all of the new mappers at once
+                 */
+                for (ClassMap<Object, Object> classMap : regenerated.values()) {
+                    replaceGeneratedObjectFactories(classMap.getAType(), objectFactories.get(classMap.getAType()));
+                    replaceGeneratedObjectFactories(classMap.getBType(), objectFactories.get(classMap.getBType()));
+                }
+                mappersRegistry.replace(obsoleteMappers, generatedMappers);
             } finally {
                 contextFactory.release(context);
+                stagedMappers.remove();
+                reloadingClassMaps.remove();
+            }
+            
+            if (mapperFacade instanceof MapperFacadeImpl) {
+                ((MapperFacadeImpl) mapperFacade).mappersModified(affectedKeys);
+            } else {
+                mapperFacade.factoryModified(this);
             }
         }
     }
     
-    public <A, B> void registerClassMap(ClassMapBuilder<A, B> builder) {
-        registerClassMap(builder.toClassMap());
+    /**
+     * Removes the class-map for the specified types (in either order), and
+     * the record of the mapping between them, if one is registered
+     * 
+     * @param mapperKey
+     */
+    private void removeClassMap(MapperKey mapperKey) {
+        MapperKey reversedKey = new MapperKey(mapperKey.getBType(), mapperKey.getAType());
+        for (MapperKey key : Arrays.asList(mapperKey, reversedKey)) {
+            if (classMapRegistry.remove(key) != null) {
+                usedMapperMetadataRegistry.remove(key);
+                unregister(key.getAType(), key.getBType());
+                unregister(key.getBType(), key.getAType());
+            }
+        }
+    }
+    
+    /**
+     * @param mapperKeys
+     * @return the generated mappers registered for any of the specified type
+     *         pairs (in either order)
+     */
+    private List<Mapper<Object, Object>> registeredMappersFor(Collection<MapperKey> mapperKeys) {
+        List<Mapper<Object, Object>> mappers = new ArrayList<Mapper<Object, Object>>();
+        for (Mapper<Object, Object> mapper : mappersRegistry) {
+            if (mapper instanceof GeneratedMapperBase) {
+                for (MapperKey mapperKey : mapperKeys) {
+                    if ((mapper.getAType().equals(mapperKey.getAType()) && mapper.getBType().equals(mapperKey.getBType()))
+                            || (mapper.getAType().equals(mapperKey.getBType()) && mapper.getBType().equals(mapperKey.getAType()))) {
+                        mappers.add(mapper);
+                        break;
+                    }
+                }
+            }
+        }
+        return mappers;
+    }
+    
+    /**
+     * Generates an object factory for the specified type, to replace the
+     * generated object factory registered for it, unless an object factory
+     * other than a generated one would be used for the type
+     * 
+     * @param objectFactories
+     *            the object factories generated so far, by type
+     * @param type
+     * @param sourceType
+     * @param context
+     */
+    private void stageObjectFactory(Map<Type<?>, GeneratedObjectFactory> objectFactories, Type<?> type, Type<?> sourceType,
+            MappingContext context) {
+        if (objectFactories.containsKey(type)) {
+            return;
+        }
+        ObjectFactory<?> existing = lookupExistingObjectFactory(type, TypeFactory.TYPE_OF_OBJECT, context);
+        if (existing == null
+                || (existing instanceof GeneratedObjectFactory && !customObjectFactoryForDestinationExists(TypeFactory.TYPE_OF_OBJECT, type))) {
+            objectFactories.put(type, objectFactoryGenerator.build(type, sourceType, context));
+        }
+    }
+    
+    /**
+     * Replaces the generated object factories registered for the specified
+     * type with the provided one; if none is provided, they are removed, so
+     * that they are generated again from the current class-maps
+     * 
+     * @param type
+     * @param replacement
+     *            the object factory to register for the type, or null
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceGeneratedObjectFactories(Type<?> type, GeneratedObjectFactory replacement) {
+        if (replacement != null) {
+            registerObjectFactory(replacement, (Type<Object>) type);
+        }
+        ConcurrentHashMap<Type<? extends Object>, ObjectFactory<? extends Object>> localCache = objectFactoryRegistry.get(type);
+        if (localCache != null) {
+            Iterator<ObjectFactory<? extends Object>> objectFactories = localCache.values().iterator();
+            while (objectFactories.hasNext()) {
+                ObjectFactory<? extends Object> objectFactory = objectFactories.next();
+                if (objectFactory instanceof GeneratedObjectFactory && objectFactory != replacement) {
+                    objectFactories.remove();
+                }
+            }
+        }
     }
     
     public synchronized void build() {
@@ -1288,9 +1806,14 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
 
                 buildClassMapRegistry();
 
-                Map<ClassMap<?, ?>, GeneratedMapperBase> generatedMappers = new HashMap<ClassMap<?, ?>, GeneratedMapperBase>();
-                for (ClassMap<?, ?> classMap : classMapRegistry.values()) {
-                    generatedMappers.put(classMap, buildMapper(classMap, false, context));
+                Map<ClassMap<?, ?>, GeneratedMapperBase> generatedMappers;
+                if (buildExecutor != null) {
+                    generatedMappers = buildMappersConcurrently(context);
+                } else {
+                    generatedMappers = new HashMap<ClassMap<?, ?>, GeneratedMapperBase>();
+                    for (ClassMap<?, ?> classMap : classMapRegistry.values()) {
+                        generatedMappers.put(classMap, buildMapper(classMap, false, context));
+                    }
                 }
                 
                 Set<Entry<ClassMap<?, ?>, GeneratedMapperBase>> generatedMapperEntries = generatedMappers.entrySet();
@@ -1299,6 +1822,8 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
                     initializeUsedMappers(generatedMapperEntry.getValue(), generatedMapperEntry.getKey(), context);
                 }
                 
+                preResolveConverters();
+                
             } finally {
                 contextFactory.release(context);
             }
@@ -1308,6 +1833,123 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         }
     }
     
+    /**
+     * Generates the mappers for the registered class-maps on the buildExecutor,
+     * one level of {@link ClassMapDependencies} at a time. The mappers of a
+     * level are registered, in order, only once all of them have been
+     * generated, so that each level is generated against the same set of
+     * registered mappers regardless of thread scheduling.<br>
+     * A class-map whose generation fails on the executor (including one which
+     * needs to modify this factory while being generated) is generated again
+     * on the building thread, in its turn.
+     * 
+     * @param context
+     *            the MappingContext of the building thread
+     * @return the generated mappers, in the order they were registered
+     */
+    private Map<ClassMap<?, ?>, GeneratedMapperBase> buildMappersConcurrently(MappingContext context) {
+        Map<ClassMap<?, ?>, GeneratedMapperBase> generatedMappers = new LinkedHashMap<ClassMap<?, ?>, GeneratedMapperBase>();
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        
+        for (List<ClassMap<Object, Object>> level : ClassMapDependencies.levels(classMapRegistry.values())) {
+            for (ClassMap<Object, Object> classMap : level) {
+                register(classMap.getAType(), classMap.getBType(), false);
+                register(classMap.getBType(), classMap.getAType(), false);
+            }
+            
+            List<FutureTask<GeneratedMapperBase>> tasks = new ArrayList<FutureTask<GeneratedMapperBase>>(level.size());
+            for (final ClassMap<Object, Object> classMap : level) {
+                FutureTask<GeneratedMapperBase> task = new FutureTask<GeneratedMapperBase>(new Callable<GeneratedMapperBase>() {
+                    public GeneratedMapperBase call() {
+                        return generateOnBuildWorker(classMap, contextClassLoader);
+                    }
+                });
+                tasks.add(task);
+                buildExecutor.execute(task);
+            }
+            
+            GeneratedMapperBase[] mappers = new GeneratedMapperBase[level.size()];
+            for (int i = 0; i < mappers.length; ++i) {
+                try {
+                    mappers[i] = tasks.get(i).get();
+                } catch (ExecutionException e) {
+                    LOGGER.debug("Generation of mapper for " + level.get(i).getMapperKey()
+                            + " failed on the build executor; generating on the building thread", e.getCause());
+                } catch (InterruptedException e) {
+                    for (FutureTask<GeneratedMapperBase> task : tasks) {
+                        task.cancel(true);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new MappingException(e);
+                }
+            }
+            
+            for (int i = 0; i < mappers.length; ++i) {
+                ClassMap<Object, Object> classMap = level.get(i);
+                if (mappers[i] != null) {
+                    generatedMappers.put(classMap, registerGeneratedMapper(mappers[i], classMap, false));
+                } else {
+                    generatedMappers.put(classMap, buildMapper(classMap, false, context));
+                }
+            }
+        }
+        return generatedMappers;
+    }
+    
+    /**
+     * Generates the mapper for a class-map on a thread of the buildExecutor,
+     * with the context class-loader of the building thread, since that is the
+     * class-loader against which the mapper would otherwise be compiled
+     * 
+     * @param classMap
+     * @param contextClassLoader
+     *            the context class-loader of the building thread
+     * @return the generated mapper, which has not yet been registered
+     */
+    private GeneratedMapperBase generateOnBuildWorker(ClassMap<?, ?> classMap, ClassLoader contextClassLoader) {
+        Thread worker = Thread.currentThread();
+        ClassLoader workerClassLoader = worker.getContextClassLoader();
+        worker.setContextClassLoader(contextClassLoader);
+        buildWorker.set(Boolean.TRUE);
+        MappingContext context = contextFactory.getContext();
+        try {
+            return mapperGenerator.build(classMap, context);
+        } finally {
+            contextFactory.release(context);
+            buildWorker.remove();
+            worker.setContextClassLoader(workerClassLoader);
+        }
+    }
+    
+    /**
+     * Mappers generated on the buildExecutor may not wait for the lock held by
+     * the building thread; those which need it are generated again on the
+     * building thread instead.
+     */
+    private void assertNotBuildWorker() {
+        if (buildWorker.get() != null) {
+            throw new IllegalStateException("This operation may only be performed by the thread building the mapper factory");
+        }
+    }
+    
+    /**
+     * Resolves (and thereby caches) the converters for each of the type pairs
+     * reachable from the registered class-maps, so that these lookups need not
+     * be performed for the first time while mapping.
+     */
+    private void preResolveConverters() {
+        for (ClassMap<Object, Object> classMap : classMapRegistry.values()) {
+            converterFactory.canConvert(classMap.getAType(), classMap.getBType());
+            converterFactory.canConvert(classMap.getBType(), classMap.getAType());
+            for (FieldMap fieldMap : classMap.getFieldsMapping()) {
+                if (!fieldMap.isExcluded() && fieldMap.getConverterId() == null) {
+                    converterFactory.canConvert(fieldMap.getAType(), fieldMap.getBType());
+                    converterFactory.canConvert(fieldMap.getBType(), fieldMap.getAType());
+                }
+            }
+        }
+    }
+    
     public Set<ClassMap<Object, Object>> lookupUsedClassMap(MapperKey mapperKey) {
         Set<ClassMap<Object, Object>> usedClassMapSet = usedMapperMetadataRegistry.get(mapperKey);
         if (usedClassMapSet == null) {
@@ -1329,19 +1971,33 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         }
         
         for (final ClassMap<?, ?> classMap : classMapRegistry.values()) {
-            MapperKey key = new MapperKey(classMap.getAType(), classMap.getBType());
-            
-            Set<ClassMap<Object, Object>> usedClassMapSet = new LinkedHashSet<ClassMap<Object, Object>>();
-            
-            for (final MapperKey parentMapperKey : classMap.getUsedMappers()) {
-                ClassMap<Object, Object> usedClassMap = classMapsDictionary.get(parentMapperKey);
-                if (usedClassMap == null) {
-                    throw exceptionUtil.newMappingException("Cannot find class mapping using mapper : " + classMap.getMapperClassName());
-                }
-                usedClassMapSet.add(usedClassMap);
+            registerUsedClassMaps(classMap, classMapsDictionary);
+        }
+    }
+    
+    /**
+     * Records which of the registered class-maps are used by the provided
+     * class-map
+     * 
+     * @param classMap
+     */
+    private void registerUsedClassMaps(ClassMap<?, ?> classMap) {
+        registerUsedClassMaps(classMap, classMapRegistry);
+    }
+    
+    private void registerUsedClassMaps(ClassMap<?, ?> classMap, Map<MapperKey, ClassMap<Object, Object>> classMapsDictionary) {
+        MapperKey key = new MapperKey(classMap.getAType(), classMap.getBType());
+        
+        Set<ClassMap<Object, Object>> usedClassMapSet = new LinkedHashSet<ClassMap<Object, Object>>();
+        
+        for (final MapperKey parentMapperKey : classMap.getUsedMappers()) {
+            ClassMap<Object, Object> usedClassMap = classMapsDictionary.get(parentMapperKey);
+            if (usedClassMap == null) {
+                throw exceptionUtil.newMappingException("Cannot find class mapping using mapper : " + classMap.getMapperClassName());
             }
-            usedMapperMetadataRegistry.put(key, usedClassMapSet);
+            usedClassMapSet.add(usedClassMap);
         }
+        usedMapperMetadataRegistry.put(key, usedClassMapSet);
     }
     
     @SuppressWarnings({ "unchecked" })
@@ -1468,24 +2124,39 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         }
     }
     
-    @SuppressWarnings("unchecked")
     private GeneratedMapperBase buildMapper(ClassMap<?, ?> classMap, boolean isAutoGenerated, MappingContext context) {
         
         register(classMap.getAType(), classMap.getBType(), isAutoGenerated);
         register(classMap.getBType(), classMap.getAType(), isAutoGenerated);
         
+        return registerGeneratedMapper(mapperGenerator.build(classMap, context), classMap, isAutoGenerated);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private GeneratedMapperBase registerGeneratedMapper(GeneratedMapperBase mapper, ClassMap<?, ?> classMap, boolean isAutoGenerated) {
+        
         final MapperKey mapperKey = new MapperKey(classMap.getAType(), classMap.getBType());
-        final GeneratedMapperBase mapper = mapperGenerator.build(classMap, context);
+        prepareGeneratedMapper(mapper, classMap, isAutoGenerated);
+        mappersRegistry.remove(mapper);
+        mappersRegistry.add(mapper);
+        SortedCollection<Mapper<Object, Object>> staged = stagedMappers.get();
+        if (staged != null) {
+            staged.remove(mapper);
+            staged.add(mapper);
+        }
+        classMapRegistry.put(mapperKey, (ClassMap<Object, Object>) classMap);
+        
+        return mapper;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private GeneratedMapperBase prepareGeneratedMapper(GeneratedMapperBase mapper, ClassMap<?, ?> classMap, boolean isAutoGenerated) {
         mapper.setMapperFacade(mapperFacade);
         mapper.setFromAutoMapping(isAutoGenerated);
         if (classMap.getCustomizedMapper() != null) {
             final Mapper<Object, Object> customizedMapper = (Mapper<Object, Object>) classMap.getCustomizedMapper();
             mapper.setCustomMapper(customizedMapper);
         }
-        mappersRegistry.remove(mapper);
-        mappersRegistry.add(mapper);
-        classMapRegistry.put(mapperKey, (ClassMap<Object, Object>) classMap);
-        
         return mapper;
     }
     
@@ -1502,7 +2173,7 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         
         Set<Type<?>> destinationSet = registry.get(sourceType);
         if (destinationSet == null) {
-            destinationSet = new TreeSet<Type<?>>();
+            destinationSet = new ConcurrentSkipListSet<Type<?>>();
             Set<Type<?>> existing = registry.putIfAbsent(sourceType, destinationSet);
             if (existing != null) {
                 destinationSet = existing;
@@ -1511,6 +2182,20 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         destinationSet.add(destinationType);
     }
     
+    /**
+     * Removes the record that an explicit mapping exists from the specified
+     * source type to the specified destination type
+     * 
+     * @param sourceType
+     * @param destinationType
+     */
+    private void unregister(Type<?> sourceType, Type<?> destinationType) {
+        Set<Type<?>> destinationSet = explicitAToBRegistry.get(sourceType);
+        if (destinationSet != null) {
+            destinationSet.remove(destinationType);
+        }
+    }
+    
     @SuppressWarnings("unchecked")
     public <A, B> ClassMap<A, B> getClassMap(MapperKey mapperKey) {
         return (ClassMap<A, B>) classMapRegistry.get(mapperKey);
@@ -1606,7 +2291,7 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
     public <S, D> BoundMapperFacade<S, D> getMapperFacade(Type<S> sourceType, Type<D> destinationType, boolean containsCycles) {
         getMapperFacade();
         MappingContextFactory ctxFactory = containsCycles ? contextFactory : nonCyclicContextFactory;
-        return new DefaultBoundMapperFacade<S, D>(this, ctxFactory, sourceType, destinationType);
+        return new DefaultBoundMapperFacade<S, D>(this, ctxFactory, sourceType, destinationType, mappingMetrics);
     }
     
     /*
@@ -1639,6 +2324,14 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         return userUnenahanceStrategy;
     }
     
+    /**
+     * @return the MappingMetrics to which mappings are reported, or null if
+     *         none was configured
+     */
+    public MappingMetrics getMappingMetrics() {
+        return mappingMetrics;
+    }
+    
     /*
      * (non-Javadoc)
      * 
@@ -1686,6 +2379,9 @@ public class DefaultMapperFactory implements MapperFactory, Reportable {
         for (Entry<java.lang.reflect.Type, Type<?>> entry : concreteTypeRegistry.entrySet()) {
             out.append("\n  [").append(entry.getKey()).append("] : ").append(entry.getValue());
         }
+        if (contextFactory instanceof Reportable) {
+            ((Reportable) contextFactory).reportCurrentState(out);
+        }
     }
     
     /**
@@ -82,6 +82,9 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static <T> List<T> asList(Iterable<T> iterable) {
+        if (iterable instanceof Collection) {
+            return new ArrayList<T>((Collection<T>) iterable);
+        }
         ArrayList<T> ts = new ArrayList<T>();
         for (T i : iterable) {
             ts.add(i);
@@ -90,7 +93,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(Object[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -98,7 +101,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(byte[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -106,7 +109,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(int[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -114,7 +117,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(char[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -122,7 +125,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(long[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -130,7 +133,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(float[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -138,7 +141,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(double[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -146,7 +149,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(boolean[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -154,7 +157,7 @@ public abstract class GeneratedObjectBase {
     }
     
     protected static List<Object> asList(short[] iterable) {
-        ArrayList<Object> ts = new ArrayList<Object>();
+        ArrayList<Object> ts = new ArrayList<Object>(iterable.length);
         for (Object i : iterable) {
             ts.add(i);
         }
@@ -303,6 +306,99 @@ public abstract class GeneratedObjectBase {
         }
     }
     
+    /**
+     * Function to help with presizing hashed collections and maps, such that
+     * they can receive the given number of elements without being resized
+     * 
+     * @param size the number of elements expected
+     * @return the initial capacity to use
+     */
+    public static int hashCapacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+    }
+
+    /*
+     * The following functions perform the narrowing conversions used when
+     * mapping between arrays of different primitive types; like the built-in
+     * numeric converters, they throw an ArithmeticException for a value which
+     * cannot be represented by the narrower type, rather than truncating it.
+     */
+
+    public static byte narrowToByte(long value) {
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw overflow(value, byte.class);
+        }
+        return (byte) value;
+    }
+
+    public static byte narrowToByte(double value) {
+        if (!(value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE)) {
+            throw overflow(value, byte.class);
+        }
+        return (byte) value;
+    }
+
+    public static char narrowToChar(long value) {
+        if (value < Character.MIN_VALUE || value > Character.MAX_VALUE) {
+            throw overflow(value, char.class);
+        }
+        return (char) value;
+    }
+
+    public static char narrowToChar(double value) {
+        if (!(value >= Character.MIN_VALUE && value <= Character.MAX_VALUE)) {
+            throw overflow(value, char.class);
+        }
+        return (char) value;
+    }
+
+    public static short narrowToShort(long value) {
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw overflow(value, short.class);
+        }
+        return (short) value;
+    }
+
+    public static short narrowToShort(double value) {
+        if (!(value >= Short.MIN_VALUE && value <= Short.MAX_VALUE)) {
+            throw overflow(value, short.class);
+        }
+        return (short) value;
+    }
+
+    public static int narrowToInt(long value) {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw overflow(value, int.class);
+        }
+        return (int) value;
+    }
+
+    public static int narrowToInt(double value) {
+        if (!(value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE)) {
+            throw overflow(value, int.class);
+        }
+        return (int) value;
+    }
+
+    public static long narrowToLong(double value) {
+        if (!(value >= Long.MIN_VALUE && value <= Long.MAX_VALUE)) {
+            throw overflow(value, long.class);
+        }
+        return (long) value;
+    }
+
+    public static float narrowToFloat(double value) {
+        float narrowed = (float) value;
+        if (Float.isInfinite(narrowed) && !Double.isInfinite(value)) {
+            throw overflow(value, float.class);
+        }
+        return narrowed;
+    }
+
+    private static ArithmeticException overflow(Object value, Class<?> type) {
+        return new ArithmeticException("Overflow: " + value + " cannot be represented by " + type.getName());
+    }
+
     public static boolean[] booleanArray(Collection<Boolean> collection) {
         boolean[] primitives = new boolean[collection.size()];
         int index = -1;
@@ -27,7 +27,9 @@ import ma.glasnost.orika.impl.util.ClassUtil;
 import ma.glasnost.orika.metadata.MapperKey;
 import ma.glasnost.orika.metadata.Type;
 import ma.glasnost.orika.metadata.TypeFactory;
+import ma.glasnost.orika.metrics.MappingMetrics;
 import ma.glasnost.orika.unenhance.UnenhanceStrategy;
+import ma.glasnost.orika.util.LazyMapping;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +37,8 @@ import java.lang.reflect.Method;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static ma.glasnost.orika.StateReporter.DIVIDER;
 import static ma.glasnost.orika.StateReporter.humanReadableSizeInMemory;
@@ -49,8 +53,10 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
     protected final UnenhanceStrategy unenhanceStrategy;
     private final UnenhanceStrategy userUnenhanceStrategy;
     private final ConcurrentHashMap<Key, MappingStrategy> strategyCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, SourceClassStrategies> strategiesBySourceClass = new ConcurrentHashMap<>();
     private final Logger log = LoggerFactory.getLogger(getClass());
     private final ExceptionUtility exceptionUtil;
+    private final MappingMetrics metrics;
     
     /**
      * Constructs a new MapperFacadeImpl
@@ -61,11 +67,45 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
      */
     public MapperFacadeImpl(final MapperFactory mapperFactory, final MappingContextFactory contextFactory,
             final UnenhanceStrategy unenhanceStrategy, final ExceptionUtility exceptionUtil) {
+        this(mapperFactory, contextFactory, unenhanceStrategy, exceptionUtil, null);
+    }
+    
+    /**
+     * Constructs a new MapperFacadeImpl which reports to the given metrics
+     * 
+     * @param mapperFactory
+     * @param contextFactory
+     * @param unenhanceStrategy
+     * @param exceptionUtil
+     * @param metrics
+     *            the MappingMetrics to which mappings are reported; null to
+     *            measure nothing
+     */
+    public MapperFacadeImpl(final MapperFactory mapperFactory, final MappingContextFactory contextFactory,
+            final UnenhanceStrategy unenhanceStrategy, final ExceptionUtility exceptionUtil, final MappingMetrics metrics) {
         this.mapperFactory = mapperFactory;
         this.exceptionUtil = exceptionUtil;
         this.unenhanceStrategy = unenhanceStrategy;
         this.userUnenhanceStrategy = mapperFactory.getUserUnenhanceStrategy();
         this.contextFactory = contextFactory;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Maps the source object using the given strategy, reporting the time
+     * taken to the given metrics (if any).
+     */
+    static Object applyStrategy(final MappingStrategy strategy, final Object sourceObject, final Object destinationObject,
+            final MappingContext context, final MappingMetrics metrics) {
+        if (metrics == null) {
+            return strategy.map(sourceObject, destinationObject, context);
+        }
+        long start = System.nanoTime();
+        try {
+            return strategy.map(sourceObject, destinationObject, context);
+        } finally {
+            metrics.recordMapping(strategy, System.nanoTime() - start);
+        }
     }
 
     /**
@@ -143,10 +183,48 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
     public <S, D> MappingStrategy resolveMappingStrategy(final S sourceObject, final java.lang.reflect.Type initialSourceType,
             final java.lang.reflect.Type initialDestinationType, final boolean mapInPlace, final MappingContext context) {
         
-        Key key = new Key(getClass(sourceObject), initialSourceType, initialDestinationType, mapInPlace);
+        Class<?> rawSourceType = getClass(sourceObject);
+        SourceClassStrategies strategiesForSource = strategiesBySourceClass.get(rawSourceType);
+        MappingStrategy strategy = strategiesForSource != null ? strategiesForSource.get(initialSourceType, initialDestinationType,
+                mapInPlace) : null;
+        
+        if (strategy == null) {
+            Key key = new Key(rawSourceType, initialSourceType, initialDestinationType, mapInPlace);
+            strategy = resolveMappingStrategy(key, sourceObject, initialSourceType, initialDestinationType, mapInPlace, context);
+            
+            if (strategiesForSource == null) {
+                strategiesForSource = new SourceClassStrategies();
+                SourceClassStrategies existing = strategiesBySourceClass.putIfAbsent(rawSourceType, strategiesForSource);
+                if (existing != null) {
+                    strategiesForSource = existing;
+                }
+            }
+            strategiesForSource.add(key, strategy);
+        }
+        
+        /*
+         * Set the resolved types on the current mapping context; this can be
+         * used by downstream Mappers to determine the originally resolved types
+         */
+        context.setResolvedSourceType(strategy.getAType());
+        context.setResolvedDestinationType(strategy.getBType());
+        context.setResolvedStrategy(strategy);
+        
+        return strategy;
+    }
+    
+    /**
+     * Resolves the MappingStrategy for the given key from the strategy cache,
+     * or creates (and caches) a new one if none exists.
+     */
+    private <S, D> MappingStrategy resolveMappingStrategy(final Key key, final S sourceObject,
+            final java.lang.reflect.Type initialSourceType, final java.lang.reflect.Type initialDestinationType,
+            final boolean mapInPlace, final MappingContext context) {
+        
         MappingStrategy strategy = strategyCache.get(key);
         
         if (strategy == null) {
+            long start = metrics != null ? System.nanoTime() : 0L;
             
             @SuppressWarnings("unchecked")
             Type<S> sourceType = (Type<S>) (initialSourceType != null ? TypeFactory.valueOf(initialSourceType)
@@ -189,16 +267,10 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
             if (existing != null) {
             	strategy = existing;
             }
+            if (metrics != null) {
+                metrics.recordCacheMiss(strategy, System.nanoTime() - start);
+            }
         }
-        
-        /*
-         * Set the resolved types on the current mapping context; this can be
-         * used by downstream Mappers to determine the originally resolved types
-         */
-        context.setResolvedSourceType(strategy.getAType());
-        context.setResolvedDestinationType(strategy.getBType());
-        context.setResolvedStrategy(strategy);
-        
         return strategy;
     }
 
@@ -247,10 +319,10 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
                 if (strategy.getBType() != null && !strategy.getBType().equals(destinationType)) {
                     existingResult = context.getMappedObject(sourceObject, strategy.getBType());
                     if (existingResult == null) {
-                        existingResult = (D) strategy.map(sourceObject, null, context);
+                        existingResult = (D) applyStrategy(strategy, sourceObject, null, context, metrics);
                     }
                 } else {
-                    existingResult = (D) strategy.map(sourceObject, null, context);
+                    existingResult = (D) applyStrategy(strategy, sourceObject, null, context, metrics);
                 }
             }
             return existingResult;
@@ -262,6 +334,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
                 throw e;
             }
             MappingException me = exceptionUtil.newMappingException(e);
+            context.describeMappingFieldFailure(me);
             me.setSourceClass(sourceObject.getClass());
             me.setSourceType(sourceType);
             me.setDestinationType(destinationType);
@@ -312,7 +385,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
                 if (strategy == null) {
                     strategy = resolveMappingStrategy(sourceObject, sourceType, destinationType, true, context);
                 }
-                strategy.map(sourceObject, destinationObject, context);
+                applyStrategy(strategy, sourceObject, destinationObject, context, metrics);
             }
             
         } catch (MappingException e) {
@@ -335,6 +408,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
                 throw e;
             }
             MappingException me = exceptionUtil.newMappingException(e);
+            context.describeMappingFieldFailure(me);
             me.setSourceClass(sourceObject.getClass());
             me.setSourceType(sourceType);
             me.setDestinationType(destinationType);
@@ -365,7 +439,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
             if (strategy == null) {
                 strategy = resolveMappingStrategy(sourceObject, null, destinationObject.getClass(), true, context);
             }
-            strategy.map(sourceObject, destinationObject, context);
+            applyStrategy(strategy, sourceObject, destinationObject, context, metrics);
             
         } catch (MappingException e) {
             /* don't wrap our own exceptions */
@@ -384,6 +458,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
                 throw e;
             }
             MappingException me = exceptionUtil.newMappingException(e);
+            context.describeMappingFieldFailure(me);
             me.setSourceClass(sourceObject.getClass());
             me.setDestinationType(TypeFactory.valueOf(destinationObject.getClass()));
             me.setMappingStrategy(strategy);
@@ -411,13 +486,13 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
     
     public final <S, D> Set<D> mapAsSet(final Iterable<S> source, final Type<S> sourceType, final Type<D> destinationType,
             final MappingContext context) {
-        return (Set<D>) mapAsCollection(source, sourceType, destinationType, new HashSet<D>(), context);
+        return (Set<D>) mapAsCollection(source, sourceType, destinationType, MapperFacadeImpl.<D> newSet(source), context);
     }
     
     public final <S, D> List<D> mapAsList(final Iterable<S> source, final Type<S> sourceType, final Type<D> destinationType) {
         MappingContext context = contextFactory.getContext();
         try {
-            return (List<D>) mapAsCollection(source, sourceType, destinationType, new ArrayList<D>(), context);
+            return (List<D>) mapAsCollection(source, sourceType, destinationType, MapperFacadeImpl.<D> newList(source), context);
         } finally {
             contextFactory.release(context);
         }
@@ -425,7 +500,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
     
     public final <S, D> List<D> mapAsList(final Iterable<S> source, final Type<S> sourceType, final Type<D> destinationType,
             final MappingContext context) {
-        return (List<D>) mapAsCollection(source, sourceType, destinationType, new ArrayList<D>(), context);
+        return (List<D>) mapAsCollection(source, sourceType, destinationType, MapperFacadeImpl.<D> newList(source), context);
     }
     
     public <S, D> D[] mapAsArray(final D[] destination, final Iterable<S> source, final Type<S> sourceType, final Type<D> destinationType) {
@@ -499,6 +574,32 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
         return destination;
     }
     
+    /**
+     * Returns a lazy view of the source Iterable, as described for
+     * {@link MapperFacade#mapAsIterable(Iterable, Class)}; the mapping strategy
+     * is only resolved again when an element of a different source class is
+     * encountered.
+     */
+    public <S, D> Iterable<D> mapAsIterable(final Iterable<S> source, final Type<S> sourceType, final Type<D> destinationType) {
+        if (source == null) {
+            return null;
+        }
+        return LazyMapping.lazyIterable(source, new LazyElementMapper<S, D>(sourceType, destinationType));
+    }
+    
+    /**
+     * Returns a lazily mapped Stream, as described for
+     * {@link MapperFacade#mapAsStream(Stream, Class)}; the mapping strategy is
+     * only resolved again when an element of a different source class is
+     * encountered.
+     */
+    public <S, D> Stream<D> mapAsStream(final Stream<S> source, final Type<S> sourceType, final Type<D> destinationType) {
+        if (source == null) {
+            return null;
+        }
+        return LazyMapping.lazyStream(source, new LazyElementMapper<S, D>(sourceType, destinationType));
+    }
+    
     public <S, D> Set<D> mapAsSet(final S[] source, final Type<S> sourceType, final Type<D> destinationType) {
         MappingContext context = contextFactory.getContext();
         try {
@@ -509,7 +610,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
     }
     
     public <S, D> Set<D> mapAsSet(final S[] source, final Type<S> sourceType, final Type<D> destinationType, final MappingContext context) {
-        final Set<D> destination = new HashSet<D>(source.length);
+        final Set<D> destination = new HashSet<D>(GeneratedObjectBase.hashCapacity(source.length));
         for (final S s : source) {
             destination.add(map(s, sourceType, destinationType, context));
         }
@@ -600,6 +701,21 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
         return newObject(sourceObject, destinationType, context, null);
     }
     
+    /**
+     * @return a new List, presized for the elements of the source if known
+     */
+    private static <D> List<D> newList(final Iterable<?> source) {
+        return source instanceof Collection ? new ArrayList<D>(((Collection<?>) source).size()) : new ArrayList<D>();
+    }
+    
+    /**
+     * @return a new Set, presized for the elements of the source if known
+     */
+    private static <D> Set<D> newSet(final Iterable<?> source) {
+        return source instanceof Collection ? new HashSet<D>(GeneratedObjectBase.hashCapacity(((Collection<?>) source).size()))
+                : new HashSet<D>();
+    }
+    
     /**
      * Map the iterable into the provided destination collection and return it
      * 
@@ -669,7 +785,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
             D result = context.getMappedObject(sourceObject, TypeFactory.valueOf(destinationClass));
             if (result == null) {
                 strategy = resolveMappingStrategy(sourceObject, null, destinationClass, false, context);
-                result = (D) strategy.map(sourceObject, null, context);
+                result = (D) applyStrategy(strategy, sourceObject, null, context, metrics);
             }
             return result;
             
@@ -680,6 +796,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
                 throw e;
             }
             MappingException me = exceptionUtil.newMappingException(e);
+            context.describeMappingFieldFailure(me);
             me.setSourceClass(sourceObject.getClass());
             me.setDestinationType(TypeFactory.valueOf(destinationClass));
             me.setMappingStrategy(strategy);
@@ -719,6 +836,21 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
         return mapAsList(source, componentTypeOf(source), TypeFactory.valueOf(destinationClass), context);
     }
     
+    public <S, D> Iterable<D> mapAsIterable(final Iterable<S> source, final Class<D> destinationClass) {
+        return mapAsIterable(source, elementTypeOf(source), TypeFactory.valueOf(destinationClass));
+    }
+    
+    public <S, D> Stream<D> mapAsStream(final Stream<S> source, final Class<D> destinationClass) {
+        if (source == null) {
+            return null;
+        }
+        /*
+         * The element type of a Stream is unknown, so the source type is
+         * resolved from each element, as by map(Object, Class)
+         */
+        return LazyMapping.lazyStream(source, new LazyElementMapper<S, D>(null, TypeFactory.valueOf(destinationClass)));
+    }
+    
     public <S, D> D[] mapAsArray(final D[] destination, final Iterable<S> source, final Class<D> destinationClass) {
         return mapAsArray(destination, source, elementTypeOf(source), TypeFactory.valueOf(destinationClass));
     }
@@ -796,9 +928,67 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
             context.mappingContext.setResolvedDestinationType(context.destinationType);
             context.mappingContext.setResolvedStrategy(context.strategy);
         }
+        if (metrics != null) {
+            metrics.recordElements(context.strategy, 1);
+        }
         return map(source, context.sourceType, context.destinationType, context.mappingContext, context.strategy);
     }
     
+    /**
+     * LazyElementMapper maps individual elements on demand, each with its own
+     * MappingContext (obtained from, and released to, the context factory) so
+     * that no state is retained between elements.<br>
+     * As with ElementStrategyContext, the strategy is only re-resolved when an
+     * element of a different source class is encountered; the last resolved
+     * strategy is held in an immutable pair, so that the mapper can be used by
+     * multiple threads (as in the case of a parallel Stream).
+     */
+    private final class LazyElementMapper<S, D> implements Function<S, D> {
+        
+        private final Type<S> sourceType;
+        private final Type<D> destinationType;
+        private volatile ResolvedStrategy resolved;
+        
+        private LazyElementMapper(Type<S> sourceType, Type<D> destinationType) {
+            this.sourceType = sourceType;
+            this.destinationType = destinationType;
+        }
+        
+        public D apply(S source) {
+            MappingContext context = contextFactory.getContext();
+            try {
+                Class<?> sourceClass = MapperFacadeImpl.this.getClass(source);
+                ResolvedStrategy current = resolved;
+                MappingStrategy strategy;
+                if (current != null && current.sourceClass == sourceClass) {
+                    strategy = current.strategy;
+                    context.setResolvedSourceType(strategy.getAType());
+                    context.setResolvedDestinationType(strategy.getBType());
+                    context.setResolvedStrategy(strategy);
+                } else {
+                    strategy = resolveMappingStrategy(source, sourceType, destinationType, false, context);
+                    resolved = new ResolvedStrategy(sourceClass, strategy);
+                }
+                if (metrics != null) {
+                    metrics.recordElements(strategy, 1);
+                }
+                return map(source, sourceType, destinationType, context, strategy);
+            } finally {
+                contextFactory.release(context);
+            }
+        }
+    }
+    
+    private static final class ResolvedStrategy {
+        private final Class<?> sourceClass;
+        private final MappingStrategy strategy;
+        
+        private ResolvedStrategy(Class<?> sourceClass, MappingStrategy strategy) {
+            this.sourceClass = sourceClass;
+            this.strategy = strategy;
+        }
+    }
+    
     public <Sk, Sv, Dk, Dv> Map<Dk, Dv> mapAsMap(final Map<Sk, Sv> source, final Type<? extends Map<Sk, Sv>> sourceType,
             final Type<? extends Map<Dk, Dv>> destinationType, final MappingContext context) {
         
@@ -807,7 +997,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
         // mapperFactory.lookupConcreteDestinationType(sourceType,
         // destinationType, context);
         
-        Map<Dk, Dv> destination = new LinkedHashMap<Dk, Dv>(source.size());
+        Map<Dk, Dv> destination = new LinkedHashMap<Dk, Dv>(GeneratedObjectBase.hashCapacity(source.size()));
         
         /*
          * Resolve the strategy used for the key and value; only re-resolve a
@@ -854,7 +1044,8 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
     public <S, Dk, Dv> Map<Dk, Dv> mapAsMap(final Iterable<S> source, final Type<S> sourceType,
             final Type<? extends Map<Dk, Dv>> destinationType, final MappingContext context) {
         
-        Map<Dk, Dv> destination = new HashMap<Dk, Dv>();
+        Map<Dk, Dv> destination = source instanceof Collection ? new HashMap<Dk, Dv>(
+                GeneratedObjectBase.hashCapacity(((Collection<S>) source).size())) : new HashMap<Dk, Dv>();
         
         Type<?> entryType = TypeFactory.valueOf(Entry.class, destinationType.getNestedType(0), destinationType.getNestedType(1));
         ElementStrategyContext<S, Entry<Dk, Dv>> elementContext = new ElementStrategyContext<S, Entry<Dk, Dv>>(context, sourceType,
@@ -881,7 +1072,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
     public <S, Dk, Dv> Map<Dk, Dv> mapAsMap(final S[] source, final Type<S> sourceType, final Type<? extends Map<Dk, Dv>> destinationType,
             final MappingContext context) {
         
-        Map<Dk, Dv> destination = new HashMap<Dk, Dv>();
+        Map<Dk, Dv> destination = new HashMap<Dk, Dv>(GeneratedObjectBase.hashCapacity(source.length));
         Type<MapEntry<Dk, Dv>> entryType = MapEntry.concreteEntryType(destinationType);
         ElementStrategyContext<S, MapEntry<Dk, Dv>> elementContext = new ElementStrategyContext<S, MapEntry<Dk, Dv>>(context, sourceType,
                 entryType);
@@ -934,7 +1125,7 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
          * Use map as collection to map the entry set to a list; requires an
          * existing mapping for Map.Entry to to type D.
          */
-        Set<D> destination = new HashSet<D>(source.size());
+        Set<D> destination = new HashSet<D>(GeneratedObjectBase.hashCapacity(source.size()));
         Type<Entry<Sk, Sv>> entryType = resolveTypeOf(source.entrySet(), sourceType).getNestedType(0);
         return (Set<D>) mapAsCollection(source.entrySet(), entryType, destinationType, destination, context);
     }
@@ -1008,8 +1199,30 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
     }
     
     public void factoryModified(MapperFactory factory) {
+        strategiesBySourceClass.clear();
         strategyCache.clear();
     }
+
+    /**
+     * Notifies this MapperFacade that the mappers for the provided type pairs
+     * have been registered, replaced or removed; only the cached strategies
+     * which map between types related to those of the pairs (and so may have
+     * resolved a different mapper) are discarded.
+     *
+     * @param mapperKeys
+     *            the type pairs whose mappers have changed
+     */
+    public void mappersModified(Collection<MapperKey> mapperKeys) {
+        Iterator<Entry<Key, MappingStrategy>> entries = strategyCache.entrySet().iterator();
+        while (entries.hasNext()) {
+            Entry<Key, MappingStrategy> entry = entries.next();
+            MappingStrategy strategy = entry.getValue();
+            if (ClassMapDependencies.relatesToAny(strategy.getAType(), strategy.getBType(), mapperKeys)) {
+                entries.remove();
+                strategiesBySourceClass.remove(entry.getKey().getRawSourceType());
+            }
+        }
+    }
     
     /**
      * Prints the current state of this MapperFacade to the supplied
@@ -1084,4 +1297,61 @@ public class MapperFacadeImpl implements MapperFacade, Reportable {
         }
     }
     
+    /**
+     * SourceClassStrategies holds the strategies resolved for a single raw
+     * source class; it allows the strategy for the common case to be found
+     * without allocating a {@link Key}, by comparing the requested types
+     * against those of a small (copy-on-write) array of previously resolved
+     * keys.
+     */
+    private static final class SourceClassStrategies {
+        
+        /**
+         * The maximum number of strategies held per source class; lookups for
+         * any others are served from the strategy cache.
+         */
+        private static final int MAX_ENTRIES = 16;
+        
+        private volatile Entry[] entries = new Entry[0];
+        
+        MappingStrategy get(java.lang.reflect.Type sourceType, java.lang.reflect.Type destinationType, boolean destinationProvided) {
+            for (Entry entry : entries) {
+                Key key = entry.key;
+                if (key.isDestinationProvided() == destinationProvided && sameType(key.getDestinationType(), destinationType)
+                        && sameType(key.getSourceType(), sourceType)) {
+                    return entry.strategy;
+                }
+            }
+            return null;
+        }
+        
+        synchronized void add(Key key, MappingStrategy strategy) {
+            final Entry[] currentEntries = entries;
+            if (currentEntries.length >= MAX_ENTRIES) {
+                return;
+            }
+            for (Entry entry : currentEntries) {
+                if (entry.key.equals(key)) {
+                    return;
+                }
+            }
+            Entry[] newEntries = Arrays.copyOf(currentEntries, currentEntries.length + 1);
+            newEntries[currentEntries.length] = new Entry(key, strategy);
+            entries = newEntries;
+        }
+        
+        private static boolean sameType(java.lang.reflect.Type cached, java.lang.reflect.Type requested) {
+            return cached == requested || (cached != null && cached.equals(requested));
+        }
+        
+        private static final class Entry {
+            final Key key;
+            final MappingStrategy strategy;
+            
+            Entry(Key key, MappingStrategy strategy) {
+                this.key = key;
+                this.strategy = strategy;
+            }
+        }
+    }
 }
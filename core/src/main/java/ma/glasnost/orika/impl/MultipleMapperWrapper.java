@@ -24,7 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ma.glasnost.orika.Mapper;
 import ma.glasnost.orika.MappingContext;
@@ -43,14 +43,27 @@ import ma.glasnost.orika.util.SortedCollection;
  */
 public final class MultipleMapperWrapper extends GeneratedMapperBase {
     private Collection<Mapper<Object, Object>> mappersRegistry;
-    private Map<MapperKey, Mapper<Object, Object>> mappersCache;
+    
+    /**
+     * The mappers resolved so far, keyed by the class of the A object, and
+     * then by the class of the B object; held by this wrapper alone (unlike
+     * a ClassValue, whose values would be retained by the mapped classes)
+     */
+    private final ConcurrentHashMap<Class<?>, Map<Class<?>, Dispatch>> mappersCache = new ConcurrentHashMap<Class<?>, Map<Class<?>, Dispatch>>();
+    
+    /*
+     * The two most recently resolved dispatches, checked before consulting
+     * mappersCache; in the common case (one or two pairs of concrete classes)
+     * the mapper is found by comparing class identities alone.
+     */
+    private volatile Dispatch primaryDispatch;
+    private volatile Dispatch secondaryDispatch;
     
     public MultipleMapperWrapper(Type<Object> typeA, Type<Object> typeB, List<Mapper<Object, Object>> mappers) {
         super();
         setAType(typeA);
         setBType(typeB);
         mappersRegistry = new SortedCollection<Mapper<Object, Object>>(mappers, Ordering.MAPPER);
-        mappersCache = new WeakHashMap<MapperKey, Mapper<Object, Object>>();
     }
     
     @Override
@@ -76,12 +89,39 @@ public final class MultipleMapperWrapper extends GeneratedMapperBase {
     }
     
     private Mapper<Object, Object> getMapperFor(Object a, Object b) {
-        MapperKey mapperKey = createMapperKey(a, b);
-        Mapper<Object, Object> mapper = mappersCache.get(mapperKey);
-        if (mapper != null) {
-            return mapper;
+        final Class<?> aClass = a.getClass();
+        final Class<?> bClass = b.getClass();
+        
+        Dispatch dispatch = primaryDispatch;
+        if (dispatch != null && dispatch.aClass == aClass && dispatch.bClass == bClass) {
+            return dispatch.mapper;
+        }
+        dispatch = secondaryDispatch;
+        if (dispatch != null && dispatch.aClass == aClass && dispatch.bClass == bClass) {
+            return dispatch.mapper;
+        }
+        
+        Map<Class<?>, Dispatch> dispatchesForA = mappersCache.get(aClass);
+        if (dispatchesForA == null) {
+            Map<Class<?>, Dispatch> newDispatches = new ConcurrentHashMap<Class<?>, Dispatch>(4);
+            dispatchesForA = mappersCache.putIfAbsent(aClass, newDispatches);
+            if (dispatchesForA == null) {
+                dispatchesForA = newDispatches;
+            }
         }
-        mapper = findMapperFor(mapperKey);
+        dispatch = dispatchesForA.get(bClass);
+        if (dispatch == null) {
+            dispatch = new Dispatch(aClass, bClass, resolveMapperFor(a, b));
+            dispatchesForA.put(bClass, dispatch);
+        }
+        secondaryDispatch = primaryDispatch;
+        primaryDispatch = dispatch;
+        return dispatch.mapper;
+    }
+    
+    private Mapper<Object, Object> resolveMapperFor(Object a, Object b) {
+        MapperKey mapperKey = createMapperKey(a, b);
+        Mapper<Object, Object> mapper = findMapperFor(mapperKey);
         if (mapper == null) {
             StringBuilder sb = new StringBuilder();
             sb.append(String.format("No matching Mapper found for %s <-> %s", mapperKey.getAType(), mapperKey.getBType()));
@@ -98,7 +138,6 @@ public final class MultipleMapperWrapper extends GeneratedMapperBase {
             }
             throw new IllegalStateException(sb.toString());
         }
-        mappersCache.put(mapperKey, mapper);
         return mapper;
     }
     
@@ -146,4 +185,18 @@ public final class MultipleMapperWrapper extends GeneratedMapperBase {
         return Collections.unmodifiableCollection(mappersRegistry);
     }
     
+    /**
+     * Dispatch records the mapper resolved for a pair of concrete classes
+     */
+    private static final class Dispatch {
+        final Class<?> aClass;
+        final Class<?> bClass;
+        final Mapper<Object, Object> mapper;
+        
+        Dispatch(Class<?> aClass, Class<?> bClass, Mapper<Object, Object> mapper) {
+            this.aClass = aClass;
+            this.bClass = bClass;
+            this.mapper = mapper;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl;
+
+import static ma.glasnost.orika.StateReporter.DIVIDER;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.MappingContextFactory;
+import ma.glasnost.orika.StateReporter.Reportable;
+
+/**
+ * StripedMappingContextFactory pools MappingContext instances in a fixed set of
+ * slots (stripes) selected by the id of the calling thread, backed by a bounded
+ * overflow queue.<br>
+ * In the common case a context is taken from, and returned to, a slot which no
+ * other thread is using, at the cost of a single uncontended atomic operation;
+ * unlike the shared queue used by {@link MappingContext.Factory}, this avoids
+ * contention between threads and allocates no queue nodes.
+ * <p>
+ * Since contexts are not bound to threads (as they would be with a
+ * ThreadLocal), the pool stays bounded regardless of how many threads are
+ * created; this makes it suitable for use with large numbers of short-lived
+ * (or virtual) threads.
+ * <p>
+ * This factory may be selected using the system property
+ * {@link ma.glasnost.orika.OrikaSystemProperties#MAPPING_CONTEXT_FACTORY}, or
+ * by passing an instance to
+ * {@link DefaultMapperFactory.MapperFactoryBuilder#mappingContextFactory(MappingContextFactory)}.
+ *
+ */
+public class StripedMappingContextFactory implements MappingContextFactory, Reportable {
+
+    /**
+     * Distance (in array elements) between two consecutive slots, to keep slots
+     * used by different threads on separate cache lines
+     */
+    private static final int SLOT_SPACING = 16;
+
+    private final Map<Object, Object> globalProperties;
+    private final AtomicReferenceArray<MappingContext> slots;
+    private final int slotMask;
+    private final ConcurrentLinkedQueue<MappingContext> overflow = new ConcurrentLinkedQueue<MappingContext>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final int maxOverflow;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    /**
+     * Whether the contexts track the objects already mapped, to preserve
+     * cycles in the mapped graph
+     */
+    private final boolean cyclic;
+
+    /**
+     * Constructs a new StripedMappingContextFactory with a number of slots
+     * based on the available processors, and an overflow of the same size.
+     */
+    public StripedMappingContextFactory() {
+        this(Runtime.getRuntime().availableProcessors() * 2, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Constructs a new StripedMappingContextFactory
+     *
+     * @param stripes
+     *            the number of slots in which to keep contexts; this is rounded
+     *            up to the next power of 2
+     * @param maxOverflow
+     *            the maximum number of released contexts to retain once all of
+     *            the slots are occupied
+     */
+    public StripedMappingContextFactory(int stripes, int maxOverflow) {
+        if (stripes < 1 || maxOverflow < 0) {
+            throw new IllegalArgumentException("stripes must be positive, and maxOverflow must not be negative");
+        }
+        int slotCount = Integer.highestOneBit(stripes);
+        if (slotCount < stripes) {
+            slotCount <<= 1;
+        }
+        this.slotMask = slotCount - 1;
+        this.slots = new AtomicReferenceArray<MappingContext>(slotCount * SLOT_SPACING);
+        this.maxOverflow = maxOverflow;
+        this.globalProperties = new ConcurrentHashMap<Object, Object>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.cyclic = true;
+    }
+
+    private StripedMappingContextFactory(StripedMappingContextFactory cyclicFactory) {
+        this.slotMask = cyclicFactory.slotMask;
+        this.slots = new AtomicReferenceArray<MappingContext>(cyclicFactory.slots.length());
+        this.maxOverflow = cyclicFactory.maxOverflow;
+        this.globalProperties = cyclicFactory.globalProperties;
+        this.hits = cyclicFactory.hits;
+        this.misses = cyclicFactory.misses;
+        this.cyclic = false;
+    }
+
+    /**
+     * Returns a factory of the contexts used for graphs known to contain no
+     * cycles, pooled in the same way as (but separately from) the contexts of
+     * this factory, with which it shares its global properties and counts.
+     *
+     * @return the factory of non-cyclic contexts
+     */
+    public StripedMappingContextFactory nonCyclic() {
+        return new StripedMappingContextFactory(this);
+    }
+
+    private int slotIndex() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+        return (hash & slotMask) * SLOT_SPACING;
+    }
+
+    public MappingContext getContext() {
+        MappingContext context = slots.getAndSet(slotIndex(), null);
+        if (context == null) {
+            context = overflow.poll();
+            if (context != null) {
+                overflowSize.decrementAndGet();
+            }
+        }
+        if (context != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            context = cyclic ? new MappingContext(globalProperties) : new NonCyclicMappingContext(globalProperties);
+        }
+        context.containsCycle(cyclic);
+        return context;
+    }
+
+    public void release(MappingContext context) {
+        context.reset();
+        if (!slots.compareAndSet(slotIndex(), null, context)) {
+            if (overflowSize.incrementAndGet() <= maxOverflow) {
+                overflow.offer(context);
+            } else {
+                overflowSize.decrementAndGet();
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see ma.glasnost.orika.MappingContextFactory#getGlobalProperties()
+     */
+    public Map<Object, Object> getGlobalProperties() {
+        return globalProperties;
+    }
+
+    /**
+     * @return the number of requests for a context which were served from the
+     *         pool
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of requests for a context which required a new
+     *         context to be created
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * ma.glasnost.orika.StateReporter.Reportable#reportCurrentState(java.lang
+     * .StringBuilder)
+     */
+    public void reportCurrentState(StringBuilder out) {
+        out.append(DIVIDER);
+        out.append("\nMapping context pool: ")
+                .append((slotMask + 1))
+                .append(" slots, ")
+                .append(overflowSize.get())
+                .append(" in overflow (max ")
+                .append(maxOverflow)
+                .append("), ")
+                .append(getHitCount())
+                .append(" hits, ")
+                .append(getMissCount())
+                .append(" misses");
+    }
+}
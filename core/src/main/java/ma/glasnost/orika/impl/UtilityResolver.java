@@ -29,6 +29,8 @@ import ma.glasnost.orika.impl.generator.CompilerStrategy;
 import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
 import ma.glasnost.orika.metadata.ClassMapBuilder;
 import ma.glasnost.orika.metadata.ClassMapBuilderFactory;
+import ma.glasnost.orika.metrics.DefaultMappingMetrics;
+import ma.glasnost.orika.metrics.MappingMetrics;
 import ma.glasnost.orika.property.IntrospectorPropertyResolver;
 import ma.glasnost.orika.property.PropertyResolverStrategy;
 
@@ -102,6 +104,20 @@ public abstract class UtilityResolver {
         return resolveUtility(OrikaSystemProperties.MAPPING_CONTEXT_FACTORY, MappingContext.Factory.class);
     }
     
+    /**
+     * Provides the default mapping metrics, as the type specified in the
+     * appropriate system property if found.
+     * 
+     * @return the default instance of MappingMetrics, or null if no metrics
+     *         should be recorded
+     */
+    public static MappingMetrics getDefaultMappingMetrics() {
+        if (System.getProperty(OrikaSystemProperties.MAPPING_METRICS) == null) {
+            return null;
+        }
+        return resolveUtility(OrikaSystemProperties.MAPPING_METRICS, DefaultMappingMetrics.class);
+    }
+    
     /**
      * Resolves a utility implementation, given a system property for customized
      * instance, and a default implementation class.
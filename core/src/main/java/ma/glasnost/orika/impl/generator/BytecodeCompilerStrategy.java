@@ -0,0 +1,156 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl.generator;
+
+import java.util.List;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.DuplicateMemberException;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import ma.glasnost.orika.Mapper;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.impl.GeneratedMapperBase;
+
+/**
+ * BytecodeCompilerStrategy emits the bytecode of generated mappers directly,
+ * rather than generating their source code and compiling it, wherever every
+ * field of the class-map is copied by reference (immutable types mapped to the
+ * same type) through the public methods or fields of public types; this avoids
+ * the cost of building and parsing the source, which dominates the generation
+ * of such mappers.<br>
+ * <br>
+ * Any other mapper, as well as every object factory, is generated from source
+ * and compiled by Javassist, as by {@link JavassistCompilerStrategy}. Emitted
+ * mappers behave exactly as those compiled from source, but are not written
+ * as source files, nor stored in the generated class cache.
+ *
+ * @see MapperGenerator
+ */
+public class BytecodeCompilerStrategy extends JavassistCompilerStrategy {
+
+    private static final String MAPPER_BASE = GeneratedMapperBase.class.getName();
+    private static final String MAP_METHOD_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/Object;"
+            + FieldCopy.descriptor(MappingContext.class) + ")V";
+    private static final int SOURCE = 4;
+    private static final int DESTINATION = 5;
+
+    /**
+     * Emits and defines a mapper class.
+     *
+     * @param className
+     *            the name of the mapper class
+     * @param aType
+     *            the raw type of the mapper's A type
+     * @param bType
+     *            the raw type of the mapper's B type
+     * @param aToB
+     *            the fields copied by <code>mapAtoB</code>
+     * @param bToA
+     *            the fields copied by <code>mapBtoA</code>
+     * @return the mapper class
+     * @throws SourceCodeGenerationException
+     */
+    Class<?> compileMapper(String className, Class<?> aType, Class<?> bType, List<FieldCopy> aToB, List<FieldCopy> bToA)
+            throws SourceCodeGenerationException {
+
+        ClassFile classFile = new ClassFile(false, className, MAPPER_BASE);
+        classFile.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.SUPER);
+        ConstPool constPool = classFile.getConstPool();
+        try {
+            classFile.addMethod(constructor(constPool));
+            classFile.addMethod(mapMethod(constPool, "mapAtoB", aType, bType, aToB));
+            classFile.addMethod(mapMethod(constPool, "mapBtoA", bType, aType, bToA));
+        } catch (DuplicateMemberException e) {
+            throw new SourceCodeGenerationException("Error emitting " + className, e);
+        } catch (BadBytecode e) {
+            throw new SourceCodeGenerationException("Error emitting " + className, e);
+        }
+        return defineClass(classFile);
+    }
+
+    private static MethodInfo constructor(ConstPool constPool) {
+        MethodInfo constructor = new MethodInfo(constPool, MethodInfo.nameInit, "()V");
+        constructor.setAccessFlags(AccessFlag.PUBLIC);
+        Bytecode code = new Bytecode(constPool, 1, 1);
+        code.addAload(0);
+        code.addInvokespecial(MAPPER_BASE, MethodInfo.nameInit, "()V");
+        code.addOpcode(Opcode.RETURN);
+        constructor.setCodeAttribute(code.toCodeAttribute());
+        return constructor;
+    }
+
+    /*
+     * Equivalent to the method generated by MapperGenerator:
+     *
+     * super.mapAtoB(a, b, mappingContext);
+     * A source = (A) a;
+     * B destination = (B) b;
+     * ...field copies...
+     * if (customMapper != null) {
+     *     customMapper.mapAtoB(source, destination, mappingContext);
+     * }
+     */
+    private static MethodInfo mapMethod(ConstPool constPool, String name, Class<?> sourceType, Class<?> destinationType,
+            List<FieldCopy> fieldCopies) throws BadBytecode {
+
+        MethodInfo method = new MethodInfo(constPool, name, MAP_METHOD_DESCRIPTOR);
+        method.setAccessFlags(AccessFlag.PUBLIC);
+
+        Bytecode code = new Bytecode(constPool, 0, DESTINATION + 1);
+        code.addAload(0);
+        code.addAload(1);
+        code.addAload(2);
+        code.addAload(3);
+        code.addInvokespecial(MAPPER_BASE, name, MAP_METHOD_DESCRIPTOR);
+        code.addAload(1);
+        code.addCheckcast(sourceType.getName());
+        code.addAstore(SOURCE);
+        code.addAload(2);
+        code.addCheckcast(destinationType.getName());
+        code.addAstore(DESTINATION);
+
+        for (FieldCopy fieldCopy : fieldCopies) {
+            fieldCopy.emit(code, SOURCE, DESTINATION);
+        }
+
+        String mapperDescriptor = FieldCopy.descriptor(Mapper.class);
+        code.addAload(0);
+        code.addGetfield(MAPPER_BASE, "customMapper", mapperDescriptor);
+        int end = FieldCopy.branch(code, Opcode.IFNULL);
+        code.addAload(0);
+        code.addGetfield(MAPPER_BASE, "customMapper", mapperDescriptor);
+        code.addAload(SOURCE);
+        code.addAload(DESTINATION);
+        code.addAload(3);
+        code.addInvokeinterface(Mapper.class.getName(), name, MAP_METHOD_DESCRIPTOR, 4);
+        FieldCopy.target(code, end);
+        code.addOpcode(Opcode.RETURN);
+
+        CodeAttribute codeAttribute = code.toCodeAttribute();
+        codeAttribute.computeMaxStack();
+        method.setCodeAttribute(codeAttribute);
+        return method;
+    }
+}
@@ -54,10 +54,25 @@ public abstract class CompilerStrategy {
     protected final boolean writeClassFiles;
     protected final String pathToWriteSourceFiles;
     protected final String pathToWriteClassFiles;
+    /**
+     * The cache of previously compiled classes, or null if none is configured
+     */
+    protected final GeneratedClassCache generatedClassCache;
     
     protected static final String WRITE_RELATIVE_TO_CLASSPATH = "classpath:";
     
     protected CompilerStrategy(String writeSourceByDefault, String writeClassByDefault) {
+        this(writeSourceByDefault, writeClassByDefault, true);
+    }
+    
+    /**
+     * @param writeSourceByDefault
+     * @param writeClassByDefault
+     * @param useGeneratedClassCache
+     *            whether the generated class cache configured by the system
+     *            properties (if any) is used
+     */
+    protected CompilerStrategy(String writeSourceByDefault, String writeClassByDefault, boolean useGeneratedClassCache) {
 	
     	this.writeSourceFiles = Boolean.valueOf(System.getProperty(
     		OrikaSystemProperties.WRITE_SOURCE_FILES,
@@ -76,6 +91,8 @@ public abstract class CompilerStrategy {
     	this.pathToWriteClassFiles = 
     			(String)System.getProperty(OrikaSystemProperties.WRITE_CLASS_FILES_TO_PATH, 
     					WRITE_RELATIVE_TO_CLASSPATH + "/");
+    	
+    	this.generatedClassCache = useGeneratedClassCache ? GeneratedClassCache.fromSystemProperties() : null;
     }
     
     /**
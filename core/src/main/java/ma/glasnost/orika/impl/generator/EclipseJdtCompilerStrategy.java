@@ -26,6 +26,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import ma.glasnost.orika.impl.generator.Analysis.Visibility;
+import ma.glasnost.orika.impl.generator.GeneratedClassCache.CachedClass;
 
 /**
  * Uses Eclipse JDT to format and compile the source for the specified
@@ -43,6 +44,10 @@ public class EclipseJdtCompilerStrategy extends CompilerStrategy {
     private static final String WRITE_CLASS_FILES_BY_DEFAULT = "false";
     private static final String COMPILER_CLASS_NAME = "ma.glasnost.orika.impl.generator.EclipseJdtCompiler";
     
+    /*
+     * The compiler is not thread-safe; it is only invoked while holding the
+     * lock of this strategy
+     */
     private final Object compiler;
     private final Method formatSource;
     private final Method compile;
@@ -67,7 +72,7 @@ public class EclipseJdtCompilerStrategy extends CompilerStrategy {
         }
     }
     
-    private String formatSource(String rawSource) {
+    private synchronized String formatSource(String rawSource) {
         try {
             return (String) formatSource.invoke(compiler, rawSource);
         } catch (IllegalAccessException e) {
@@ -122,7 +127,7 @@ public class EclipseJdtCompilerStrategy extends CompilerStrategy {
         fout.close();
     }
     
-    public void assureTypeIsAccessible(Class<?> type) throws SourceCodeGenerationException {
+    public synchronized void assureTypeIsAccessible(Class<?> type) throws SourceCodeGenerationException {
         try {
             Visibility visibility = Analysis.getMostRestrictiveVisibility(type);
             if (visibility == Visibility.PRIVATE) {
@@ -139,7 +144,7 @@ public class EclipseJdtCompilerStrategy extends CompilerStrategy {
         }
     }
     
-    private byte[] compile(String source, String packageName, String classSimpleName) throws SourceCodeGenerationException {
+    private synchronized byte[] compile(String source, String packageName, String classSimpleName) throws SourceCodeGenerationException {
         try {
             return (byte[]) compile.invoke(compiler, source, packageName, classSimpleName);
         } catch (IllegalAccessException e) {
@@ -151,7 +156,7 @@ public class EclipseJdtCompilerStrategy extends CompilerStrategy {
         }
     }
     
-    private Class<?> load(String className, byte[] data) throws ClassNotFoundException {
+    private synchronized Class<?> load(String className, byte[] data) throws ClassNotFoundException {
         try {
             return (Class<?>) load.invoke(compiler, className, data);
         } catch (IllegalAccessException e) {
@@ -181,6 +186,19 @@ public class EclipseJdtCompilerStrategy extends CompilerStrategy {
      */
     public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
         
+        if (generatedClassCache != null) {
+            CachedClass cached = generatedClassCache.get(sourceCode);
+            if (cached != null) {
+                try {
+                    return load(cached.getClassName(), cached.getBytecode());
+                } catch (ClassNotFoundException e) {
+                    // fall through to compilation
+                } catch (RuntimeException e) {
+                    // fall through to compilation
+                }
+            }
+        }
+        
         Class<?> compiledClass = null;
         String sourceText = sourceCode.toSourceFile();
         try {
@@ -209,6 +227,10 @@ public class EclipseJdtCompilerStrategy extends CompilerStrategy {
                 writeClassFile(packageName, classSimpleName, data);
             }
             
+            if (generatedClassCache != null) {
+                generatedClassCache.put(sourceCode, className, data);
+            }
+            
         } catch (IOException e) {
             throw new RuntimeException("Failed to write files for " + className, e);
         }
@@ -0,0 +1,367 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl.generator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.Descriptor;
+import javassist.bytecode.Opcode;
+import ma.glasnost.orika.Converter;
+import ma.glasnost.orika.converter.ConverterFactory;
+import ma.glasnost.orika.converter.builtin.CopyByReferenceConverter;
+import ma.glasnost.orika.impl.generator.Analysis.Visibility;
+import ma.glasnost.orika.impl.generator.specification.Convert;
+import ma.glasnost.orika.impl.generator.specification.CopyByReference;
+import ma.glasnost.orika.metadata.FieldMap;
+import ma.glasnost.orika.metadata.Property;
+
+/**
+ * FieldCopy describes the copying of a property by reference from a source
+ * object to a destination object, resolved to the public methods or fields
+ * which read and write it, and emits the bytecode to perform it.<br>
+ * <br>
+ * Only the field maps which would be generated by the {@link Convert}
+ * specification (using a {@link CopyByReferenceConverter}) or by the
+ * {@link CopyByReference} specification, between properties of the same type,
+ * are resolved; the emitted bytecode matches the source generated by those
+ * specifications, including the handling of null values.
+ */
+final class FieldCopy {
+
+    private static final Pattern GETTER_METHOD = Pattern.compile("([\\w$]+)\\(\\)");
+    private static final Pattern SETTER_METHOD = Pattern.compile("([\\w$]+)\\(%s\\)");
+    private static final Pattern GETTER_FIELD = Pattern.compile("[\\w$]+");
+    private static final Pattern SETTER_FIELD = Pattern.compile("([\\w$]+) = %s");
+
+    /**
+     * The ways in which a null source value may be handled
+     */
+    enum NullHandling {
+        /**
+         * the value is always assigned
+         */
+        ASSIGN,
+        /**
+         * the value is assigned only if it is not null
+         */
+        ASSIGN_IF_NOT_NULL,
+        /**
+         * the value is assigned if it is not null, otherwise null is assigned
+         */
+        ASSIGN_OR_SET_NULL
+    }
+
+    private final Class<?> sourceClass;
+    private final Class<?> destinationClass;
+    private final Class<?> type;
+    private final Member getter;
+    private final Member setter;
+    private final NullHandling nullHandling;
+
+    private FieldCopy(Class<?> sourceClass, Class<?> destinationClass, Class<?> type, Member getter, Member setter, NullHandling nullHandling) {
+        this.sourceClass = sourceClass;
+        this.destinationClass = destinationClass;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+        this.nullHandling = nullHandling;
+    }
+
+    /**
+     * Resolves the copying of the provided field map.
+     *
+     * @param fieldMap
+     *            the field map, oriented in the direction of the mapping
+     * @param sourceClass
+     *            the raw type of the source object
+     * @param destinationClass
+     *            the raw type of the destination object
+     * @param codeGenerationStrategy
+     *            the strategy whose specifications would generate the source
+     *            for the field map
+     * @param converterFactory
+     *            the converter factory of the mapper factory
+     * @param mapNulls
+     *            whether nulls are mapped by default
+     * @return the resolved FieldCopy, or null if the field map is not copied
+     *         by reference, or cannot be accessed directly
+     */
+    static FieldCopy resolve(FieldMap fieldMap, Class<?> sourceClass, Class<?> destinationClass, CodeGenerationStrategy codeGenerationStrategy,
+            ConverterFactory converterFactory, boolean mapNulls) {
+
+        Property source = fieldMap.getSource();
+        Property destination = fieldMap.getDestination();
+        Class<?> type = source.getRawType();
+        if (source.hasPath() || destination.hasPath() || !type.equals(destination.getRawType())) {
+            return null;
+        }
+
+        Specification specification = null;
+        for (Specification spec : codeGenerationStrategy.getSpecifications()) {
+            if (spec.appliesTo(fieldMap)) {
+                specification = spec;
+                break;
+            }
+        }
+
+        boolean setNull = !type.isPrimitive()
+                && (fieldMap.isDestinationMappedOnNull() != null ? fieldMap.isDestinationMappedOnNull() : mapNulls);
+        NullHandling nullHandling;
+        if (specification != null && specification.getClass() == Convert.class) {
+            Converter<Object, Object> converter = fieldMap.getConverterId() != null ? converterFactory.getConverter(fieldMap.getConverterId())
+                    : converterFactory.getConverter(source.getType(), destination.getType());
+            if (!(converter instanceof CopyByReferenceConverter)) {
+                return null;
+            }
+            nullHandling = type.isPrimitive() || setNull ? NullHandling.ASSIGN : NullHandling.ASSIGN_IF_NOT_NULL;
+        } else if (specification != null && specification.getClass() == CopyByReference.class) {
+            nullHandling = type.isPrimitive() ? NullHandling.ASSIGN : setNull ? NullHandling.ASSIGN_OR_SET_NULL
+                    : NullHandling.ASSIGN_IF_NOT_NULL;
+        } else {
+            return null;
+        }
+
+        Member getter = getter(sourceClass, source.getGetter(), type);
+        Member setter = getter != null ? setter(destinationClass, destination.getSetter(), type) : null;
+        if (setter == null) {
+            return null;
+        }
+        return new FieldCopy(sourceClass, destinationClass, type, getter, setter, nullHandling);
+    }
+
+    /**
+     * @param type
+     * @return true if the provided type may be referenced by the emitted
+     *         bytecode
+     */
+    static boolean isAccessible(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && Analysis.getMostRestrictiveVisibility(type) == Visibility.PUBLIC;
+    }
+
+    private static Member getter(Class<?> owner, String expression, Class<?> type) {
+        Class<?> valueType;
+        Member getter;
+        Matcher method = GETTER_METHOD.matcher(expression);
+        try {
+            if (method.matches()) {
+                Method getterMethod = owner.getMethod(method.group(1));
+                valueType = getterMethod.getReturnType();
+                getter = getterMethod;
+            } else if (GETTER_FIELD.matcher(expression).matches()) {
+                Field getterField = owner.getField(expression);
+                valueType = getterField.getType();
+                getter = getterField;
+            } else {
+                return null;
+            }
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+
+        if (Modifier.isStatic(getter.getModifiers())) {
+            return null;
+        } else if (valueType.equals(type)) {
+            return getter;
+        } else if (!type.isPrimitive() && valueType.isAssignableFrom(type) && isAccessible(type)) {
+            /*
+             * The value is cast to the type of the property, as by the
+             * generated source
+             */
+            return getter;
+        }
+        return null;
+    }
+
+    private static Member setter(Class<?> owner, String expression, Class<?> type) {
+        if (expression == null) {
+            return null;
+        }
+        Matcher method = SETTER_METHOD.matcher(expression);
+        if (method.matches()) {
+            Method setter = null;
+            for (Method candidate : owner.getMethods()) {
+                if (candidate.getName().equals(method.group(1)) && candidate.getParameterTypes().length == 1 && !candidate.isBridge()
+                        && !Modifier.isStatic(candidate.getModifiers())) {
+                    Class<?> parameterType = candidate.getParameterTypes()[0];
+                    if (parameterType.equals(type)) {
+                        return candidate;
+                    } else if (!type.isPrimitive() && parameterType.isAssignableFrom(type)) {
+                        if (setter != null) {
+                            /*
+                             * Overloaded; left to the compiler to resolve
+                             */
+                            return null;
+                        }
+                        setter = candidate;
+                    }
+                }
+            }
+            return setter;
+        }
+
+        Matcher field = SETTER_FIELD.matcher(expression);
+        if (field.matches()) {
+            try {
+                Field setter = owner.getField(field.group(1));
+                if (!Modifier.isStatic(setter.getModifiers()) && !Modifier.isFinal(setter.getModifiers())
+                        && (setter.getType().equals(type) || (!type.isPrimitive() && setter.getType().isAssignableFrom(type)))) {
+                    return setter;
+                }
+            } catch (NoSuchFieldException e) {
+                // not accessible
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Emits the bytecode which copies the property.
+     *
+     * @param code
+     *            the bytecode of the mapping method
+     * @param source
+     *            the index of the local variable holding the source object
+     * @param destination
+     *            the index of the local variable holding the destination
+     *            object
+     */
+    void emit(Bytecode code, int source, int destination) {
+        switch (nullHandling) {
+        case ASSIGN:
+            code.addAload(destination);
+            loadValue(code, source);
+            storeValue(code);
+            break;
+        case ASSIGN_IF_NOT_NULL:
+            loadValue(code, source);
+            int skip = branch(code, Opcode.IFNULL);
+            code.addAload(destination);
+            loadValue(code, source);
+            storeValue(code);
+            target(code, skip);
+            break;
+        case ASSIGN_OR_SET_NULL:
+            loadValue(code, source);
+            int setNull = branch(code, Opcode.IFNULL);
+            code.addAload(destination);
+            loadValue(code, source);
+            storeValue(code);
+            int end = branch(code, Opcode.GOTO);
+            target(code, setNull);
+            code.addAload(destination);
+            code.addOpcode(Opcode.ACONST_NULL);
+            storeValue(code);
+            target(code, end);
+            break;
+        }
+    }
+
+    private void loadValue(Bytecode code, int source) {
+        Class<?> valueType;
+        code.addAload(source);
+        if (getter instanceof Method) {
+            Method method = (Method) getter;
+            invoke(code, sourceClass, method);
+            valueType = method.getReturnType();
+        } else {
+            Field field = (Field) getter;
+            code.addGetfield(sourceClass.getName(), field.getName(), descriptor(field.getType()));
+            valueType = field.getType();
+        }
+        if (!valueType.equals(type)) {
+            code.addCheckcast(type.getName());
+        }
+    }
+
+    private void storeValue(Bytecode code) {
+        if (setter instanceof Method) {
+            Method method = (Method) setter;
+            invoke(code, destinationClass, method);
+            /*
+             * The value returned by a fluent setter is discarded
+             */
+            Class<?> returnType = method.getReturnType();
+            if (returnType == long.class || returnType == double.class) {
+                code.addOpcode(Opcode.POP2);
+            } else if (returnType != void.class) {
+                code.addOpcode(Opcode.POP);
+            }
+        } else {
+            Field field = (Field) setter;
+            code.addPutfield(destinationClass.getName(), field.getName(), descriptor(field.getType()));
+        }
+    }
+
+    private static void invoke(Bytecode code, Class<?> owner, Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        int argumentSlots = 1;
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            descriptor.append(descriptor(parameterType));
+            argumentSlots += parameterType == long.class || parameterType == double.class ? 2 : 1;
+        }
+        descriptor.append(")").append(descriptor(method.getReturnType()));
+        if (owner.isInterface()) {
+            code.addInvokeinterface(owner.getName(), method.getName(), descriptor.toString(), argumentSlots);
+        } else {
+            code.addInvokevirtual(owner.getName(), method.getName(), descriptor.toString());
+        }
+    }
+
+    /**
+     * @param type
+     * @return the descriptor of the provided type
+     */
+    static String descriptor(Class<?> type) {
+        return type.isArray() ? type.getName().replace('.', '/') : Descriptor.of(type.getName());
+    }
+
+    /**
+     * Adds a branch instruction whose target is not yet known.
+     *
+     * @param code
+     * @param opcode
+     * @return the position of the branch offset, to be set by
+     *         {@link #target(Bytecode, int)}
+     */
+    static int branch(Bytecode code, int opcode) {
+        code.addOpcode(opcode);
+        int offset = code.currentPc();
+        code.addIndex(0);
+        return offset;
+    }
+
+    /**
+     * Sets the target of a branch added by {@link #branch(Bytecode, int)} to
+     * the current position.
+     *
+     * @param code
+     * @param offset
+     */
+    static void target(Bytecode code, int offset) {
+        code.write16bit(offset, code.currentPc() - (offset - 1));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl.generator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import ma.glasnost.orika.OrikaSystemProperties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * GeneratedClassCache persists the bytecode of generated classes in a
+ * directory, so that a compiler strategy may define a class from the cached
+ * bytes, rather than compiling it again, when the same source is generated by
+ * a later JVM.<br>
+ * <br>
+ * Entries are keyed by the fingerprint of the generated source (which
+ * reflects the complete mapping configuration, and the Orika version), so
+ * stale entries are never matched; they may be removed by deleting the
+ * directory. Reads and writes are best-effort: any failure is logged and
+ * treated as a cache miss.<br>
+ * <br>
+ * The key does not cover the bytecode of the mapped classes themselves, only
+ * their properties as they are reflected in the generated source; a change to
+ * a mapped class which leaves the generated source unchanged (such as to the
+ * body of a method) does not invalidate its entries.
+ *
+ * @see OrikaSystemProperties#GENERATED_CLASS_CACHE_DIRECTORY
+ */
+public class GeneratedClassCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GeneratedClassCache.class);
+    private static final String ENTRY_SUFFIX = ".orikaclass";
+
+    private final File directory;
+
+    /**
+     * Constructs a new GeneratedClassCache stored in the provided directory,
+     * which is created when the first entry is written.
+     *
+     * @param directory
+     */
+    public GeneratedClassCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns a GeneratedClassCache for the directory given by the
+     * {@link OrikaSystemProperties#GENERATED_CLASS_CACHE_DIRECTORY} system
+     * property, or null if it has not been specified.
+     *
+     * @return the configured GeneratedClassCache, or null
+     */
+    public static GeneratedClassCache fromSystemProperties() {
+        String path = System.getProperty(OrikaSystemProperties.GENERATED_CLASS_CACHE_DIRECTORY);
+        return path != null && path.length() > 0 ? new GeneratedClassCache(new File(path)) : null;
+    }
+
+    /**
+     * @return the directory in which the entries are stored
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Looks up the class previously compiled from the same source.
+     *
+     * @param sourceCode
+     *            the generated source code
+     * @return the cached class, or null if none was found
+     */
+    public CachedClass get(SourceCodeContext sourceCode) {
+        File entry = entryFile(sourceCode);
+        if (!entry.isFile()) {
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new FileInputStream(entry));
+            try {
+                String className = in.readUTF();
+                byte[] bytecode = new byte[in.readInt()];
+                in.readFully(bytecode);
+                return new CachedClass(className, bytecode);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read cached class " + entry + "; compiling " + sourceCode.getClassName() + " instead", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the bytecode compiled from the provided source.
+     *
+     * @param sourceCode
+     *            the generated source code
+     * @param className
+     *            the name of the compiled class
+     * @param bytecode
+     *            the class file contents
+     */
+    public void put(SourceCodeContext sourceCode, String className, byte[] bytecode) {
+        File entry = entryFile(sourceCode);
+        try {
+            if (!directory.exists() && !directory.mkdirs() && !directory.isDirectory()) {
+                throw new IOException("Could not create directory " + directory);
+            }
+            /*
+             * Write to a temporary file and rename it, so that other JVMs
+             * sharing the directory never read a partially written entry
+             */
+            File temp = File.createTempFile(entry.getName(), ".tmp", directory);
+            DataOutputStream out = new DataOutputStream(new FileOutputStream(temp));
+            try {
+                out.writeUTF(className);
+                out.writeInt(bytecode.length);
+                out.write(bytecode);
+            } finally {
+                out.close();
+            }
+            if (!temp.renameTo(entry) && !entry.isFile()) {
+                temp.delete();
+                throw new IOException("Could not rename " + temp + " to " + entry);
+            }
+            temp.delete();
+        } catch (IOException e) {
+            LOG.warn("Could not cache the class compiled for " + sourceCode.getClassName(), e);
+        }
+    }
+
+    private File entryFile(SourceCodeContext sourceCode) {
+        return new File(directory, PrecompiledCompilerStrategy.fingerprint(sourceCode) + ENTRY_SUFFIX);
+    }
+
+    /**
+     * CachedClass holds the name and bytecode of a previously compiled class.
+     */
+    public static final class CachedClass {
+
+        private final String className;
+        private final byte[] bytecode;
+
+        CachedClass(String className, byte[] bytecode) {
+            this.className = className;
+            this.bytecode = bytecode;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public byte[] getBytecode() {
+            return bytecode;
+        }
+    }
+}
@@ -21,6 +21,7 @@ package ma.glasnost.orika.impl.generator;
 import java.io.StringReader;
 
 import ma.glasnost.orika.MappingException;
+import ma.glasnost.orika.impl.generator.GeneratedClassCache.CachedClass;
 
 import org.codehaus.janino.ClassLoaderIClassLoader;
 import org.codehaus.janino.IClassLoader;
@@ -53,13 +54,36 @@ public class JaninoCompilerStrategy extends CompilerStrategy {
     @Override
     public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
         
+        if (generatedClassCache != null) {
+            CachedClass cached = generatedClassCache.get(sourceCode);
+            if (cached != null) {
+                try {
+                    classLoader.putClassData(cached.getClassName(), cached.getBytecode());
+                    return classLoader.loadClass(cached.getClassName());
+                } catch (ClassNotFoundException e) {
+                    // fall through to compilation
+                } catch (LinkageError e) {
+                    // fall through to compilation
+                }
+            }
+        }
+        
         Scanner scanner;
         try {
             scanner = new Scanner(sourceCode.getClassName(), new StringReader(sourceCode.toSourceFile()));
             Java.CompilationUnit localCompilationUnit = new Parser(scanner).parseCompilationUnit();
             UnitCompiler unitCompile = new UnitCompiler(localCompilationUnit, iClassLoader);
             ClassFile[] classes = unitCompile.compileUnit(false, false, false);
-            return classLoader.findClass(classes[0].getThisClassName());
+            for (ClassFile classFile : classes) {
+                classLoader.putClassData(classFile.getThisClassName(), classFile.toByteArray());
+            }
+            /*
+             * Only a single class may be defined from a cache entry
+             */
+            if (generatedClassCache != null && classes.length == 1) {
+                generatedClassCache.put(sourceCode, classes[0].getThisClassName(), classes[0].toByteArray());
+            }
+            return classLoader.loadClass(classes[0].getThisClassName());
         } catch (Exception e) {
             LOG.error("Can not compile {0}", sourceCode.getClassName(), e);
             throw new MappingException("Can not compile the generated mapper", e);
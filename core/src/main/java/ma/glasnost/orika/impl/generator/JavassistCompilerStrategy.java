@@ -18,9 +18,11 @@
 
 package ma.glasnost.orika.impl.generator;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.util.Map;
 import java.util.Random;
 import java.util.WeakHashMap;
@@ -34,7 +36,12 @@ import javassist.CtField;
 import javassist.CtNewMethod;
 import javassist.LoaderClassPath;
 import javassist.NotFoundException;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.MethodInfo;
+import ma.glasnost.orika.OrikaSystemProperties;
 import ma.glasnost.orika.impl.generator.Analysis.Visibility;
+import ma.glasnost.orika.impl.generator.GeneratedClassCache.CachedClass;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,7 +51,15 @@ import org.slf4j.LoggerFactory;
  * object.<br>
  * <br>
  * 
- * By default this compiler strategy writes no source or class files.
+ * By default this compiler strategy writes no source or class files.<br>
+ * <br>
+ * 
+ * Generated classes are defined in the current thread's context class-loader,
+ * unless the {@link OrikaSystemProperties#ISOLATE_GENERATED_CLASSES} system
+ * property is set to "true" when the strategy is created, in which case they
+ * are defined in a class-loader owned by this strategy (one for each context
+ * class-loader, of which it is a child) so that they may be unloaded as soon as
+ * this strategy is no longer reachable.
  * 
  * @author matt.deboer@gmail.com
  */
@@ -53,6 +68,8 @@ public class JavassistCompilerStrategy extends CompilerStrategy {
     private static final Random RANDOM = new Random();
     private static final String WRITE_SOURCE_FILES_BY_DEFAULT = "false";
     private static final String WRITE_CLASS_FILES_BY_DEFAULT = "false";
+    private static final String ISOLATE_GENERATED_CLASSES_BY_DEFAULT = "false";
+    private static final String GENERATED_PACKAGE_PREFIX = "ma.glasnost.orika.generated.";
     
     private final static Logger LOG = LoggerFactory.getLogger(JavassistCompilerStrategy.class);
     private final static Map<Class<?>, Boolean> superClasses = new ConcurrentHashMap<Class<?>, Boolean>(3);
@@ -64,12 +81,35 @@ public class JavassistCompilerStrategy extends CompilerStrategy {
      * class-pool Use a WeakHashMap to avoid retaining references to child
      * class-loaders
      */
-    private WeakHashMap<ClassLoader, Boolean> referencedLoaders = new WeakHashMap<ClassLoader, Boolean>(8);
+    private final WeakHashMap<ClassLoader, Boolean> referencedLoaders = new WeakHashMap<ClassLoader, Boolean>(8);
+    
+    /**
+     * The class-loaders in which generated classes are defined, keyed (weakly)
+     * by the context class-loader of which they are a child; null unless
+     * generated classes are isolated. The isolated class-loaders are only
+     * weakly referenced as well, since each refers to its parent.
+     */
+    private final WeakHashMap<ClassLoader, WeakReference<ByteArrayClassLoader>> isolatedLoaders;
     
     /**
      */
     public JavassistCompilerStrategy() {
-        super(WRITE_SOURCE_FILES_BY_DEFAULT, WRITE_CLASS_FILES_BY_DEFAULT);
+        this(true);
+    }
+    
+    /**
+     * @param useGeneratedClassCache
+     *            whether the generated class cache configured by the system
+     *            properties (if any) is used
+     */
+    protected JavassistCompilerStrategy(boolean useGeneratedClassCache) {
+        super(WRITE_SOURCE_FILES_BY_DEFAULT, WRITE_CLASS_FILES_BY_DEFAULT, useGeneratedClassCache);
+        
+        if (Boolean.valueOf(System.getProperty(OrikaSystemProperties.ISOLATE_GENERATED_CLASSES, ISOLATE_GENERATED_CLASSES_BY_DEFAULT))) {
+            this.isolatedLoaders = new WeakHashMap<ClassLoader, WeakReference<ByteArrayClassLoader>>(2);
+        } else {
+            this.isolatedLoaders = null;
+        }
         
         this.classPool = new ClassPool();
         this.classPool.appendSystemPath();
@@ -129,17 +169,18 @@ public class JavassistCompilerStrategy extends CompilerStrategy {
      *         false if the class-loader was already registered
      */
     private boolean registerClassLoader(ClassLoader cl) {
-        Boolean found = referencedLoaders.get(cl);
-        if (found == null) {
-            synchronized (cl) {
-                found = referencedLoaders.get(cl);
-                if (found == null) {
-                    referencedLoaders.put(cl, Boolean.TRUE);
-                    classPool.insertClassPath(new LoaderClassPath(cl));
-                }
+        /*
+         * The WeakHashMap must not be read while it is being modified, since
+         * mappers may be generated concurrently
+         */
+        synchronized (referencedLoaders) {
+            Boolean found = referencedLoaders.get(cl);
+            if (found == null) {
+                referencedLoaders.put(cl, Boolean.TRUE);
+                classPool.insertClassPath(new LoaderClassPath(cl));
             }
+            return found == null || !found;
         }
-        return found == null || !found;
     }
     
     /*
@@ -188,6 +229,16 @@ public class JavassistCompilerStrategy extends CompilerStrategy {
      */
     public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
         
+        if (generatedClassCache != null) {
+            CachedClass cached = generatedClassCache.get(sourceCode);
+            if (cached != null) {
+                Class<?> cachedClass = defineCachedClass(cached);
+                if (cachedClass != null) {
+                    return cachedClass;
+                }
+            }
+        }
+        
         StringBuilder className = new StringBuilder(sourceCode.getClassName());
         CtClass byteCodeClass = null;
         int attempts = 0;
@@ -247,10 +298,14 @@ public class JavassistCompilerStrategy extends CompilerStrategy {
                 }
                 
             }
-            compiledClass = byteCodeClass.toClass(Thread.currentThread().getContextClassLoader(), this.getClass().getProtectionDomain());
+            compiledClass = toClass(byteCodeClass);
             
             writeClassFile(sourceCode, byteCodeClass);
             
+            if (generatedClassCache != null) {
+                generatedClassCache.put(sourceCode, byteCodeClass.getName(), byteCodeClass.toBytecode());
+            }
+            
         } catch (NotFoundException e) {
             throw new SourceCodeGenerationException(e);
         } catch (CannotCompileException e) {
@@ -262,4 +317,108 @@ public class JavassistCompilerStrategy extends CompilerStrategy {
         return compiledClass;
     }
     
+    /**
+     * Defines the cached class in the defining class-loader of the current
+     * thread (where it would have been defined if compiled), unless a class of the
+     * same name was already defined there by another mapper factory.
+     * 
+     * @param cached
+     * @return the cached class, or null if it could not be defined
+     */
+    private Class<?> defineCachedClass(CachedClass cached) {
+        try {
+            return Class.forName(cached.getClassName(), true, getDefiningClassLoader(cached.getClassName()));
+        } catch (ClassNotFoundException e) {
+            // not yet defined
+        }
+        try {
+            CtClass byteCodeClass = classPool.makeClass(new ByteArrayInputStream(cached.getBytecode()));
+            return toClass(byteCodeClass);
+        } catch (IOException e) {
+            LOG.warn("Could not define cached class " + cached.getClassName(), e);
+        } catch (CannotCompileException e) {
+            LOG.warn("Could not define cached class " + cached.getClassName(), e);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not define cached class " + cached.getClassName(), e);
+        }
+        return null;
+    }
+    
+    /**
+     * Classes generated in the package of a mapped type (as they are when that
+     * type, or another type they access, is not public) must be defined in the
+     * class-loader of that type to share its runtime package, and so are never
+     * isolated.
+     * 
+     * @param className
+     *            the name of the class to define
+     * @return the class-loader in which the class is defined for the current
+     *         thread: its context class-loader, or the isolated class-loader
+     *         which is its child, if generated classes are isolated
+     */
+    private ClassLoader getDefiningClassLoader(String className) {
+        ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        if (isolatedLoaders == null || !className.startsWith(GENERATED_PACKAGE_PREFIX)) {
+            return contextLoader;
+        }
+        synchronized (isolatedLoaders) {
+            WeakReference<ByteArrayClassLoader> loaderRef = isolatedLoaders.get(contextLoader);
+            ByteArrayClassLoader loader = loaderRef != null ? loaderRef.get() : null;
+            if (loader == null) {
+                loader = new ByteArrayClassLoader(contextLoader);
+                isolatedLoaders.put(contextLoader, new WeakReference<ByteArrayClassLoader>(loader));
+            }
+            return loader;
+        }
+    }
+    
+    /**
+     * Defines the provided class in the defining class-loader of the current
+     * thread.
+     * 
+     * @param byteCodeClass
+     * @return the defined class
+     * @throws CannotCompileException
+     * @throws IOException
+     */
+    private Class<?> toClass(CtClass byteCodeClass) throws CannotCompileException, IOException {
+        ClassLoader loader = getDefiningClassLoader(byteCodeClass.getName());
+        if (loader instanceof ByteArrayClassLoader) {
+            return ((ByteArrayClassLoader) loader).defineClass(byteCodeClass.getName(), byteCodeClass.toBytecode());
+        }
+        return byteCodeClass.toClass(loader, this.getClass().getProtectionDomain());
+    }
+    
+    /**
+     * Defines the class described by the provided class file in the same
+     * class-loader as the classes compiled from source;
+     * the stack maps of its methods are computed from their bytecode.
+     * 
+     * @param classFile
+     *            the class file of the class to define
+     * @return the defined class
+     * @throws SourceCodeGenerationException
+     */
+    protected Class<?> defineClass(ClassFile classFile) throws SourceCodeGenerationException {
+        try {
+            registerClassLoader(Thread.currentThread().getContextClassLoader());
+            for (Object method : classFile.getMethods()) {
+                ((MethodInfo) method).rebuildStackMapIf6(classPool, classFile);
+            }
+            CtClass byteCodeClass = classPool.makeClass(classFile);
+            Class<?> definedClass = toClass(byteCodeClass);
+            /*
+             * No source code is involved in this case
+             */
+            writeClassFile(null, byteCodeClass);
+            return definedClass;
+        } catch (BadBytecode e) {
+            throw new SourceCodeGenerationException("Invalid bytecode for " + classFile.getName(), e);
+        } catch (CannotCompileException e) {
+            throw new SourceCodeGenerationException("Error defining " + classFile.getName(), e);
+        } catch (IOException e) {
+            throw new SourceCodeGenerationException("Could not write files for " + classFile.getName(), e);
+        }
+    }
+    
 }
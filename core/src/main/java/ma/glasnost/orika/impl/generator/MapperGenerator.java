@@ -21,18 +21,28 @@ package ma.glasnost.orika.impl.generator;
 import static java.lang.String.format;
 import static ma.glasnost.orika.impl.generator.SourceCodeContext.append;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.Converter;
+import ma.glasnost.orika.Filter;
 import ma.glasnost.orika.MapperFactory;
 import ma.glasnost.orika.MappingContext;
 import ma.glasnost.orika.MappingException;
+import ma.glasnost.orika.Properties;
 import ma.glasnost.orika.impl.GeneratedMapperBase;
+import ma.glasnost.orika.impl.generator.CompilerStrategy.SourceCodeGenerationException;
 import ma.glasnost.orika.metadata.ClassMap;
 import ma.glasnost.orika.metadata.FieldMap;
 import ma.glasnost.orika.metadata.MapperKey;
+import ma.glasnost.orika.metadata.Property;
 import ma.glasnost.orika.metadata.Type;
 import ma.glasnost.orika.metadata.TypeFactory;
+import ma.glasnost.orika.metrics.MappingMetrics;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +62,9 @@ public final class MapperGenerator {
     public GeneratedMapperBase build(ClassMap<?, ?> classMap, MappingContext context) {
         
         StringBuilder logDetails = null;
+        MappingMetrics metrics = (MappingMetrics) context.getProperty(Properties.MAPPING_METRICS);
+        long start = metrics != null ? System.nanoTime() : 0L;
+        long compileNanos = 0L;
         try {
             compilerStrategy.assureTypeIsAccessible(classMap.getAType().getRawType());
             compilerStrategy.assureTypeIsAccessible(classMap.getBType().getRawType());
@@ -63,14 +76,35 @@ public final class MapperGenerator {
                 logDetails.append("Generating new mapper for (" + srcName + ", " + dstName + ")");
             }
             
-            final SourceCodeContext mapperCode = new SourceCodeContext(classMap.getMapperClassName(), GeneratedMapperBase.class, context,
-                    logDetails);
-            
             Set<FieldMap> mappedFields = new LinkedHashSet<FieldMap>();
-            mappedFields.addAll(addMapMethod(mapperCode, true, classMap, logDetails));
-            mappedFields.addAll(addMapMethod(mapperCode, false, classMap, logDetails));
+            GeneratedMapperBase instance = null;
+            CompilerStrategy emittingStrategy = compilerStrategy instanceof PrecompiledCompilerStrategy
+                    ? ((PrecompiledCompilerStrategy) compilerStrategy).getDelegate() : compilerStrategy;
+            if (emittingStrategy instanceof BytecodeCompilerStrategy) {
+                /*
+                 * Emitting the bytecode is what compiles an emitted mapper
+                 */
+                long emitStart = metrics != null ? System.nanoTime() : 0L;
+                instance = emitMapper((BytecodeCompilerStrategy) emittingStrategy, classMap, context, mappedFields, logDetails);
+                if (metrics != null) {
+                    compileNanos = System.nanoTime() - emitStart;
+                }
+            }
             
-            GeneratedMapperBase instance = mapperCode.getInstance();
+            if (instance == null) {
+                final SourceCodeContext mapperCode = new SourceCodeContext(classMap.getMapperClassName(), GeneratedMapperBase.class,
+                        context, logDetails);
+                
+                mappedFields.clear();
+                mappedFields.addAll(addMapMethod(mapperCode, true, classMap, logDetails));
+                mappedFields.addAll(addMapMethod(mapperCode, false, classMap, logDetails));
+                
+                long compileStart = metrics != null ? System.nanoTime() : 0L;
+                instance = mapperCode.getInstance();
+                if (metrics != null) {
+                    compileNanos += System.nanoTime() - compileStart;
+                }
+            }
             instance.setAType(classMap.getAType());
             instance.setBType(classMap.getBType());
             instance.setFavorsExtension(classMap.favorsExtension());
@@ -90,6 +124,9 @@ public final class MapperGenerator {
             classMap = classMap.copy(mappedFields);
             context.registerMapperGeneration(classMap);
             
+            if (metrics != null) {
+                metrics.recordMapperGeneration(classMap, System.nanoTime() - start, compileNanos);
+            }
             return instance;
             
         } catch (final Exception e) {
@@ -105,6 +142,100 @@ public final class MapperGenerator {
         }
     }
     
+    /**
+     * Emits the bytecode of the mapper for the provided class-map directly,
+     * if each of its fields is copied by reference; otherwise, null is
+     * returned, and the mapper is generated from source.
+     */
+    @SuppressWarnings("unchecked")
+    private GeneratedMapperBase emitMapper(BytecodeCompilerStrategy bytecodeStrategy, ClassMap<?, ?> classMap, MappingContext context,
+            Set<FieldMap> mappedFields, StringBuilder logDetails) throws Exception {
+        
+        Collection<?> filters = (Collection<?>) context.getProperty(Properties.FILTERS);
+        if ((filters != null && !filters.isEmpty()) || Boolean.TRUE.equals(context.getProperty(Properties.CAPTURE_FIELD_CONTEXT))
+                || Boolean.TRUE.equals(context.getProperty(Properties.CAPTURE_FIELD_CONTEXT_ON_EXCEPTION))) {
+            return null;
+        }
+        Class<?> aType = classMap.getAType().getRawType();
+        Class<?> bType = classMap.getBType().getRawType();
+        if (!FieldCopy.isAccessible(aType) || !FieldCopy.isAccessible(bType)) {
+            return null;
+        }
+        
+        List<FieldCopy> aToB = resolveFieldCopies(true, classMap, context, mappedFields);
+        List<FieldCopy> bToA = aToB != null ? resolveFieldCopies(false, classMap, context, mappedFields) : null;
+        if (bToA == null) {
+            return null;
+        }
+        
+        String className = SourceCodeContext.uniqueClassName(classMap.getMapperClassName());
+        GeneratedMapperBase instance = (GeneratedMapperBase) bytecodeStrategy.compileMapper(className, aType, bType, aToB, bToA)
+                .newInstance();
+        instance.setUsedTypes(new Type[0]);
+        instance.setUsedConverters(new Converter[0]);
+        instance.setUsedMapperFacades(new BoundMapperFacade[0]);
+        instance.setUsedFilters(new Filter[0]);
+        
+        if (logDetails != null) {
+            logDetails.append("\n\t" + className + ": emitted the bytecode for " + aToB.size() + " (A to B) and " + bToA.size()
+                    + " (B to A) fields copied by reference");
+        }
+        return instance;
+    }
+    
+    /**
+     * Resolves each of the fields mapped in the given direction as a
+     * FieldCopy; returns null if any of them is not copied by reference.
+     */
+    private List<FieldCopy> resolveFieldCopies(boolean aToB, ClassMap<?, ?> classMap, MappingContext context, Set<FieldMap> mappedFields) {
+        
+        CodeGenerationStrategy codeGenerationStrategy = (CodeGenerationStrategy) context.getProperty(Properties.CODE_GENERATION_STRATEGY);
+        boolean mapNulls = (Boolean) context.getProperty(Properties.SHOULD_MAP_NULLS);
+        Class<?> sourceType = (aToB ? classMap.getAType() : classMap.getBType()).getRawType();
+        Class<?> destinationType = (aToB ? classMap.getBType() : classMap.getAType()).getRawType();
+        
+        List<FieldCopy> fieldCopies = new ArrayList<FieldCopy>();
+        for (FieldMap currentFieldMap : classMap.getFieldsMapping()) {
+            
+            if (currentFieldMap.isExcluded() || isAlreadyExistsInUsedMappers(currentFieldMap, classMap)) {
+                continue;
+            }
+            FieldMap fieldMap = aToB ? currentFieldMap : currentFieldMap.flip();
+            if (fieldMap.isIgnored()) {
+                continue;
+            }
+            for (AggregateSpecification spec : codeGenerationStrategy.getAggregateSpecifications()) {
+                if (spec.appliesTo(fieldMap)) {
+                    return null;
+                }
+            }
+            mappedFields.add(currentFieldMap);
+            
+            /*
+             * As for generateFieldMapCode
+             */
+            Property source = fieldMap.getSource();
+            Property destination = fieldMap.getDestination();
+            if (source.getGetter() == null || (destination.getSetter() == null && destination.getType().isImmutable())) {
+                continue;
+            }
+            try {
+                compilerStrategy.assureTypeIsAccessible(source.getRawType());
+                compilerStrategy.assureTypeIsAccessible(destination.getRawType());
+            } catch (SourceCodeGenerationException e) {
+                return null;
+            }
+            
+            FieldCopy fieldCopy = FieldCopy.resolve(fieldMap, sourceType, destinationType, codeGenerationStrategy,
+                    mapperFactory.getConverterFactory(), mapNulls);
+            if (fieldCopy == null) {
+                return null;
+            }
+            fieldCopies.add(fieldCopy);
+        }
+        return fieldCopies;
+    }
+    
     private Set<FieldMap> addMapMethod(SourceCodeContext code, boolean aToB, ClassMap<?, ?> classMap, StringBuilder logDetails) {
         
         Set<FieldMap> mappedFields = new LinkedHashSet<FieldMap>();
@@ -0,0 +1,190 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl.generator;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import ma.glasnost.orika.OrikaSystemProperties;
+import ma.glasnost.orika.impl.ConfigurableMapper;
+
+/**
+ * MapperPrecompiler is a CompilerStrategy for use at build time, which
+ * compiles the generated mappers and object factories with Javassist, and
+ * writes their class files, along with an index of the fingerprints of their
+ * source, to an output directory; when that directory is packaged with the
+ * application, {@link PrecompiledCompilerStrategy} loads these classes instead
+ * of compiling them again at runtime.<br>
+ * <br>
+ * It may be configured on the factory builder directly:
+ *
+ * <pre>
+ * MapperPrecompiler precompiler = new MapperPrecompiler(new File(&quot;target/classes&quot;));
+ * MapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(precompiler).build();
+ * // register class-maps as usual...
+ * factory.getMapperFacade();
+ * </pre>
+ *
+ * or run as a main class (e.g., from the exec-maven-plugin in the
+ * <code>process-classes</code> phase), passing the output directory followed
+ * by the names of one or more {@link ConfigurableMapper} sub-classes:
+ *
+ * <pre>
+ * java ma.glasnost.orika.impl.generator.MapperPrecompiler target/classes com.example.MyMapper
+ * </pre>
+ *
+ * The generated class cache is not used while precompiling, since the classes
+ * it would provide must be compiled in order to be written and indexed.
+ */
+public class MapperPrecompiler extends JavassistCompilerStrategy {
+
+    private final File outputDirectory;
+    private final File indexFile;
+    private final Properties index;
+
+    /**
+     * Constructs a new MapperPrecompiler which writes to the location given
+     * by the {@link OrikaSystemProperties#WRITE_CLASS_FILES_TO_PATH} system
+     * property.
+     */
+    public MapperPrecompiler() {
+        super(false);
+        try {
+            this.outputDirectory = preparePackageOutputPath(this.pathToWriteClassFiles, "");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not prepare output directory " + this.pathToWriteClassFiles, e);
+        }
+        this.indexFile = new File(outputDirectory, PrecompiledCompilerStrategy.INDEX_RESOURCE);
+        this.index = readIndex(indexFile);
+    }
+
+    /**
+     * Constructs a new MapperPrecompiler which writes to the provided
+     * directory.
+     *
+     * @param outputDirectory
+     *            the root directory to which class files and the index are
+     *            written
+     */
+    public MapperPrecompiler(File outputDirectory) {
+        super(false);
+        this.outputDirectory = outputDirectory;
+        this.indexFile = new File(outputDirectory, PrecompiledCompilerStrategy.INDEX_RESOURCE);
+        this.index = readIndex(indexFile);
+    }
+
+    /**
+     * @return the number of classes listed in the index
+     */
+    public synchronized int getPrecompiledClassCount() {
+        return index.size();
+    }
+
+    @Override
+    protected void writeClassFile(SourceCodeContext sourceCode, CtClass byteCodeClass) throws IOException {
+        if (sourceCode == null) {
+            /*
+             * Precompiled classes are found by the fingerprint of their source
+             */
+            throw new IllegalArgumentException("Cannot precompile " + byteCodeClass.getName()
+                    + ", which was not compiled from generated source");
+        }
+        try {
+            byteCodeClass.writeFile(outputDirectory.getAbsolutePath());
+        } catch (CannotCompileException e) {
+            throw new IllegalArgumentException(e);
+        }
+        record(PrecompiledCompilerStrategy.fingerprint(sourceCode), byteCodeClass.getName());
+    }
+
+    private synchronized void record(String fingerprint, String className) throws IOException {
+        index.setProperty(fingerprint, className);
+        File indexDir = indexFile.getParentFile();
+        if (!indexDir.exists() && !indexDir.mkdirs()) {
+            throw new IOException("Could not create directory " + indexDir);
+        }
+        OutputStream out = new FileOutputStream(indexFile);
+        try {
+            index.store(out, "Orika precompiled classes: fingerprint of the generated source = class name");
+        } finally {
+            out.close();
+        }
+    }
+
+    private static Properties readIndex(File indexFile) {
+        Properties index = new Properties();
+        if (indexFile.isFile()) {
+            try {
+                InputStream in = new FileInputStream(indexFile);
+                try {
+                    index.load(in);
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read existing index " + indexFile, e);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Precompiles the mappers and object factories of one or more
+     * ConfigurableMapper sub-classes.
+     *
+     * @param args
+     *            the output directory, followed by the fully-qualified names
+     *            of the ConfigurableMapper sub-classes to precompile
+     * @throws Exception
+     *             if a ConfigurableMapper could not be instantiated
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: " + MapperPrecompiler.class.getName()
+                    + " <outputDirectory> <configurableMapperClass> [<configurableMapperClass>...]");
+        }
+        System.setProperty(OrikaSystemProperties.COMPILER_STRATEGY, MapperPrecompiler.class.getName());
+        System.setProperty(OrikaSystemProperties.WRITE_CLASS_FILES_TO_PATH, new File(args[0]).getAbsolutePath());
+        System.setProperty(OrikaSystemProperties.USE_PRECOMPILED_MAPPERS, "false");
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = MapperPrecompiler.class.getClassLoader();
+        }
+        for (int i = 1; i < args.length; ++i) {
+            Class<?> configurationClass = Class.forName(args[i], true, classLoader);
+            if (!ConfigurableMapper.class.isAssignableFrom(configurationClass)) {
+                throw new IllegalArgumentException(args[i] + " is not a sub-class of " + ConfigurableMapper.class.getName());
+            }
+            /*
+             * Instantiating the ConfigurableMapper builds its MapperFactory,
+             * which generates (and thereby precompiles) its mappers and object
+             * factories
+             */
+            configurationClass.newInstance();
+        }
+    }
+}
@@ -23,9 +23,17 @@ import ma.glasnost.orika.metadata.Property;
 import ma.glasnost.orika.metadata.Type;
 import ma.glasnost.orika.metadata.TypeFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.Vector;
 
 /**
  * VariableRef represents a reference to a given variable or property; it
@@ -206,24 +214,47 @@ public class MultiOccurrenceVariableRef extends VariableRef {
         return newInstance("");
     }
 
+    /**
+     * Generates java code for a new instance of this VariableRef's type;
+     * collections and maps of the common JDK types are presized to hold the
+     * number of elements given by <code>sizeExpr</code>, if not empty.
+     *
+     * @param sizeExpr the expression of the number of elements expected
+     * @return
+     */
     public String newInstance(String sizeExpr) {
         if (isArray()) {
             return "new " + rawType().getComponentType().getCanonicalName() + "[" + sizeExpr + "]";
         } else {
-            if (type().isConcrete()) {
-                return newInstance(type().getRawType());
-            }
-            else {
-                return newInstance(DefaultConcreteTypeMap.get(type().getRawType()));
+            Class<?> concreteType = type().isConcrete() ? type().getRawType() : DefaultConcreteTypeMap.get(type().getRawType());
+            if (!"".equals(sizeExpr)) {
+                if (PRESIZED_TYPES.contains(concreteType)) {
+                    return "new " + concreteType.getCanonicalName() + "(" + sizeExpr + ")";
+                } else if (PRESIZED_HASHED_TYPES.contains(concreteType)) {
+                    return "new " + concreteType.getCanonicalName() + "(hashCapacity(" + sizeExpr + "))";
+                }
             }
+            return newInstance(concreteType);
         }
     }
 
     public String newMap() {
+        return newMap("");
+    }
+
+    /**
+     * Generates java code for a new Map suitable for this VariableRef,
+     * presized to hold the number of entries given by <code>sizeExpr</code>,
+     * if not empty.
+     *
+     * @param sizeExpr the expression of the number of entries expected
+     * @return
+     */
+    public String newMap(String sizeExpr) {
         if (SortedMap.class.isAssignableFrom(rawType())) {
             return "new java.util.TreeMap()";
         }
-        return "new java.util.LinkedHashMap(" + "" + ")";
+        return "new java.util.LinkedHashMap(" + ("".equals(sizeExpr) ? "" : "hashCapacity(" + sizeExpr + ")") + ")";
     }
 
     /**
@@ -267,6 +298,19 @@ public class MultiOccurrenceVariableRef extends VariableRef {
         return iteratorName;
     }
 
+    /**
+     * The collection types whose int constructor specifies the initial
+     * capacity, in number of elements
+     */
+    private static final Set<Class<?>> PRESIZED_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(ArrayList.class,
+            Vector.class, ArrayDeque.class));
+    /**
+     * The hashed collection and map types whose int constructor specifies the
+     * initial capacity, in number of buckets
+     */
+    private static final Set<Class<?>> PRESIZED_HASHED_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(HashSet.class,
+            LinkedHashSet.class, HashMap.class, LinkedHashMap.class));
+
     private String newInstance(Class<?> type) {
         try {
             if (type.getConstructor() != null) {
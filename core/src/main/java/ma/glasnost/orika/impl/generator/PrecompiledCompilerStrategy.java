@@ -0,0 +1,233 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import ma.glasnost.orika.impl.GeneratedMapperBase;
+import ma.glasnost.orika.impl.GeneratedObjectBase;
+import ma.glasnost.orika.impl.GeneratedObjectFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PrecompiledCompilerStrategy loads generated mappers and object factories
+ * which were compiled ahead of time by {@link MapperPrecompiler}, falling back
+ * to the wrapped CompilerStrategy for any class which was not precompiled.<br>
+ * <br>
+ * Precompiled classes are listed in index resources named
+ * {@value #INDEX_RESOURCE}, which map the fingerprint of the generated source
+ * to the name of the class compiled from it. Since the generated source is
+ * derived from the complete mapping configuration (class-maps, converters,
+ * filters, code generation strategy, etc.), any change to that configuration
+ * changes the fingerprint, and the class is compiled at runtime instead.
+ *
+ */
+public class PrecompiledCompilerStrategy extends CompilerStrategy {
+
+    /**
+     * The name of the index resource(s) listing the precompiled classes
+     */
+    public static final String INDEX_RESOURCE = "META-INF/orika/precompiled-classes.properties";
+
+    private static final Logger LOG = LoggerFactory.getLogger(PrecompiledCompilerStrategy.class);
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String CLASS_NAME_PLACEHOLDER = "$Precompiled$";
+    private static final String ORIKA_VERSION = orikaVersion();
+
+    private final CompilerStrategy delegate;
+    private final ClassLoader classLoader;
+    private final Map<String, String> precompiledClasses;
+
+    /**
+     * Constructs a new PrecompiledCompilerStrategy which loads the classes
+     * listed in the index resources visible to the provided class-loader.
+     *
+     * @param delegate
+     *            the CompilerStrategy used for classes which were not
+     *            precompiled
+     * @param classLoader
+     *            the class-loader from which to load the index and the
+     *            precompiled classes
+     */
+    public PrecompiledCompilerStrategy(CompilerStrategy delegate, ClassLoader classLoader) {
+        super("false", "false");
+        this.delegate = delegate;
+        this.classLoader = classLoader;
+        this.precompiledClasses = readIndex(classLoader);
+    }
+
+    /**
+     * Wraps the provided CompilerStrategy with one which loads precompiled
+     * classes, if any are listed in an index visible to the current thread's
+     * context class-loader; otherwise, the provided strategy is returned
+     * unchanged.
+     *
+     * @param compilerStrategy
+     *            the CompilerStrategy to wrap
+     * @return a CompilerStrategy which loads the available precompiled classes
+     */
+    public static CompilerStrategy wrap(CompilerStrategy compilerStrategy) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = PrecompiledCompilerStrategy.class.getClassLoader();
+        }
+        PrecompiledCompilerStrategy precompiled = new PrecompiledCompilerStrategy(compilerStrategy, classLoader);
+        return precompiled.precompiledClasses.isEmpty() ? compilerStrategy : precompiled;
+    }
+
+    /**
+     * @return the CompilerStrategy used for classes which were not
+     *         precompiled
+     */
+    public CompilerStrategy getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return the number of precompiled classes available to this strategy
+     */
+    public int getPrecompiledClassCount() {
+        return precompiledClasses.size();
+    }
+
+    public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
+        String className = precompiledClasses.get(fingerprint(sourceCode));
+        if (className != null) {
+            try {
+                Class<?> precompiledClass = Class.forName(className, true, classLoader);
+                if (sourceCode.getSuperClass().isAssignableFrom(precompiledClass)) {
+                    return precompiledClass;
+                }
+                LOG.warn("Precompiled class " + className + " does not extend " + sourceCode.getSuperClass().getName()
+                        + "; compiling " + sourceCode.getClassName() + " instead");
+            } catch (ClassNotFoundException e) {
+                LOG.warn("Precompiled class " + className + " could not be found; compiling " + sourceCode.getClassName() + " instead");
+            } catch (LinkageError e) {
+                LOG.warn("Precompiled class " + className + " could not be loaded; compiling " + sourceCode.getClassName() + " instead", e);
+            }
+        }
+        return delegate.compileClass(sourceCode);
+    }
+
+    public void assureTypeIsAccessible(Class<?> type) throws SourceCodeGenerationException {
+        delegate.assureTypeIsAccessible(type);
+    }
+
+    /**
+     * Computes the fingerprint of the generated source code; the (unique)
+     * name of the generated class is excluded, so that the fingerprint
+     * depends only on the mapping configuration from which it was generated.
+     *
+     * @param sourceCode
+     *            the generated source code
+     * @return the hex-encoded fingerprint of the source code
+     */
+    static String fingerprint(SourceCodeContext sourceCode) {
+        String source = sourceCode.toSourceFile().replace(sourceCode.getClassSimpleName(), CLASS_NAME_PLACEHOLDER);
+        MessageDigest digest = newDigest();
+        digest.update(ORIKA_VERSION.getBytes(UTF8));
+        return hex(digest.digest(source.getBytes(UTF8)));
+    }
+
+    /**
+     * Identifies the version of Orika with which classes are generated: its
+     * implementation version when it is loaded from a jar, and otherwise (as
+     * when it is loaded from a directory of classes) the digest of the class
+     * files of the base classes which the generated classes extend.
+     */
+    private static String orikaVersion() {
+        String implementationVersion = GeneratedObjectBase.class.getPackage().getImplementationVersion();
+        if (implementationVersion != null) {
+            return implementationVersion;
+        }
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[4096];
+        for (Class<?> baseClass : new Class<?>[] { GeneratedObjectBase.class, GeneratedMapperBase.class, GeneratedObjectFactory.class }) {
+            InputStream in = baseClass.getResourceAsStream(baseClass.getSimpleName() + ".class");
+            if (in == null) {
+                throw new IllegalStateException("Could not find the class file of " + baseClass.getName());
+            }
+            try {
+                try {
+                    for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                        digest.update(buffer, 0, read);
+                    }
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read the class file of " + baseClass.getName(), e);
+            }
+        }
+        return "classes:" + hex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] hash) {
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; ++i) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static Map<String, String> readIndex(ClassLoader classLoader) {
+        Map<String, String> index = new HashMap<String, String>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                Properties entries = new Properties();
+                InputStream in = resource.openStream();
+                try {
+                    entries.load(in);
+                } finally {
+                    in.close();
+                }
+                for (String fingerprint : entries.stringPropertyNames()) {
+                    index.put(fingerprint, entries.getProperty(fingerprint));
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read the index of precompiled classes; all classes will be compiled at runtime", e);
+            index.clear();
+        }
+        return index;
+    }
+}
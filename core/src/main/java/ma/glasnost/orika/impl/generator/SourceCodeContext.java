@@ -28,6 +28,7 @@ import ma.glasnost.orika.impl.generator.Node.NodeList;
 import ma.glasnost.orika.impl.generator.UsedMapperFacadesContext.UsedMapperFacadesIndex;
 import ma.glasnost.orika.impl.generator.specification.AbstractSpecification;
 import ma.glasnost.orika.impl.util.ClassUtil;
+import ma.glasnost.orika.impl.util.EnumTranslationTable;
 import ma.glasnost.orika.metadata.*;
 import ma.glasnost.orika.property.PropertyResolverStrategy;
 
@@ -69,6 +70,9 @@ public class SourceCodeContext {
     private final MappingContext mappingContext;
     private final Collection<Filter<Object, Object>> filters;
     private final boolean shouldCaptureFieldContext;
+    private final boolean shouldCaptureFieldContextOnException;
+    private final boolean shouldInlineBuiltinConverters;
+    private final Map<String, String> usedEnumTranslations;
     
     /**
      * Constructs a new instance of SourceCodeContext
@@ -87,6 +91,9 @@ public class SourceCodeContext {
         this.propertyResolver = (PropertyResolverStrategy) mappingContext.getProperty(Properties.PROPERTY_RESOLVER_STRATEGY);
         this.filters = (Collection<Filter<Object, Object>>) mappingContext.getProperty(Properties.FILTERS);
         this.shouldCaptureFieldContext = (Boolean) mappingContext.getProperty(Properties.CAPTURE_FIELD_CONTEXT);
+        this.shouldCaptureFieldContextOnException = !shouldCaptureFieldContext
+                && Boolean.TRUE.equals(mappingContext.getProperty(Properties.CAPTURE_FIELD_CONTEXT_ON_EXCEPTION));
+        this.shouldInlineBuiltinConverters = !Boolean.FALSE.equals(mappingContext.getProperty(Properties.INLINE_BUILTIN_CONVERTERS));
         
         String safeBaseClassName = baseClassName.replace("[]", "$Array");
         this.sourceBuilder = new StringBuilder();
@@ -118,12 +125,31 @@ public class SourceCodeContext {
         this.logDetails = logDetails;
         
         this.aggregateFieldMaps = new LinkedHashMap<AggregateSpecification, List<FieldMap>>();
+        this.usedEnumTranslations = new HashMap<String, String>();
     }
     
-    private String makeUniqueClassName(String name) {
+    private static String makeUniqueClassName(String name) {
         return name + System.nanoTime() + "$" + UNIQUE_CLASS_INDEX.getAndIncrement();
     }
     
+    /**
+     * Generates a unique name for a class generated without source code, as
+     * it would be named if generated by a SourceCodeContext.
+     * 
+     * @param baseClassName
+     *            the base name of the class
+     * @return the unique, fully-qualified class name
+     */
+    static String uniqueClassName(String baseClassName) {
+        String safeBaseClassName = baseClassName.replace("[]", "$Array");
+        int namePos = safeBaseClassName.lastIndexOf(".");
+        if (namePos > 0) {
+            return safeBaseClassName.substring(0, namePos) + "." + makeUniqueClassName(safeBaseClassName.substring(namePos + 1));
+        } else {
+            return "ma.glasnost.orika.generated." + makeUniqueClassName(safeBaseClassName);
+        }
+    }
+    
     /**
      * @return true if debug logging is enabled for this context
      */
@@ -183,6 +209,14 @@ public class SourceCodeContext {
         return (Boolean) mappingContext.getProperty(Properties.SHOULD_MAP_NULLS);
     }
     
+    /**
+     * @return true if the intrinsic conversions of built-in converters should
+     *         be inlined in the generated code
+     */
+    public boolean shouldInlineBuiltinConverters() {
+        return shouldInlineBuiltinConverters;
+    }
+    
     public MappingContext getMappingContext() {
         return mappingContext;
     }
@@ -363,6 +397,29 @@ public class SourceCodeContext {
         return usedType(r.type());
     }
     
+    /**
+     * Returns a reference to the EnumTranslationTable between the specified
+     * types, which is computed once by a static field of the generated class
+     * 
+     * @param sourceType
+     *            the source enum type, or String
+     * @param destinationType
+     *            the destination enum type
+     * @return the name of the field holding the translation table
+     */
+    public String usedEnumTranslation(Type<?> sourceType, Type<?> destinationType) {
+        String key = sourceType.getCanonicalName() + ":" + destinationType.getCanonicalName();
+        String field = usedEnumTranslations.get(key);
+        if (field == null) {
+            field = "enumTranslation" + usedEnumTranslations.size();
+            String table = EnumTranslationTable.class.getCanonicalName();
+            addField(format("private static final %s %s = %s.valueOf(%s.class, %s.class);", table, field, table,
+                    sourceType.getCanonicalName(), destinationType.getCanonicalName()));
+            usedEnumTranslations.put(key, field);
+        }
+        return field;
+    }
+    
     /**
      * @param source
      * @param destinationType
@@ -748,6 +805,8 @@ public class SourceCodeContext {
             
             if (shouldCaptureFieldContext) {
                 beginCaptureFieldContext(out, fieldMap, source, destination);
+            } else if (shouldCaptureFieldContextOnException) {
+                out.append("try{\n");
             }
             StringBuilder filterClosing = new StringBuilder();
             VariableRef[] filteredProperties = applyFilters(source, destination, out, filterClosing);
@@ -769,6 +828,8 @@ public class SourceCodeContext {
             out.append(filterClosing);
             if (shouldCaptureFieldContext) {
                 endCaptureFieldContext(out);
+            } else if (shouldCaptureFieldContextOnException) {
+                captureFieldContextOnException(out, fieldMap);
             }
             out.append(closing.toString());
         }
@@ -785,6 +846,13 @@ public class SourceCodeContext {
         out.append("} finally {\n" + "\tmappingContext.endMappingField();\n" + "}\n");
     }
     
+    private void captureFieldContextOnException(StringBuilder out, FieldMap fieldMap) {
+        out.append(format("} catch (java.lang.RuntimeException mappingFieldException) {\n"
+                + "\tthrow mappingContext.mappingFieldFailed(\"%s\", %s, \"%s\", %s, mappingFieldException);\n" + "}\n",
+                escapeQuotes(fieldMap.getSource().getExpression()), usedType(fieldMap.getAType()),
+                escapeQuotes(fieldMap.getDestination().getExpression()), usedType(fieldMap.getBType())));
+    }
+    
     private String escapeQuotes(String string) {
         return string.replaceAll("(?<!\\\\)\"", "\\\\\"");
     }
@@ -18,9 +18,15 @@
 
 package ma.glasnost.orika.impl.generator.specification;
 
+import java.util.Arrays;
+import java.util.List;
+
+import ma.glasnost.orika.Converter;
+import ma.glasnost.orika.converter.builtin.BuiltinConverters;
 import ma.glasnost.orika.impl.generator.SourceCodeContext;
 import ma.glasnost.orika.impl.generator.VariableRef;
 import ma.glasnost.orika.metadata.FieldMap;
+import ma.glasnost.orika.metadata.Type;
 
 import static java.lang.String.format;
 
@@ -30,6 +36,13 @@ import static java.lang.String.format;
  */
 public class ArrayOrCollectionToArray extends AbstractSpecification {
 
+    /**
+     * The numeric primitive types, in the order in which the widening
+     * conversions between them apply; char is only widened to int and beyond
+     */
+    private static final List<Class<?>> WIDENING_ORDER = Arrays.<Class<?>> asList(byte.class, short.class, int.class, long.class,
+            float.class, double.class);
+
     public boolean appliesTo(FieldMap fieldMap) {
         return fieldMap.getDestination().isArray() && (fieldMap.getSource().isArray() || fieldMap.getSource().isCollection());
     }
@@ -41,7 +54,17 @@ public class ArrayOrCollectionToArray extends AbstractSpecification {
         String newArray = format("%s[] %s = new %s[%s]", destination.elementTypeName(), arrayVar.validVariableName(), destination.elementTypeName(), source.size());
         
         String mapArray;
-        if (destination.elementType().isPrimitive()) {
+        if (source.isArray() && destination.elementType().isPrimitive() && source.elementType().equals(destination.elementType())) {
+            if (code.isDebugEnabled()) {
+                code.debugField(fieldMap, "copying primitive array");
+            }
+            mapArray = format("System.arraycopy(%s, 0, %s, 0, %s)", source, arrayVar.validVariableName(), source.size());
+        } else if (isConvertedDirectly(source.elementType(), destination.elementType())) {
+            if (code.isDebugEnabled()) {
+                code.debugField(fieldMap, "converting elements to primitive array");
+            }
+            mapArray = convertElements(source, destination.elementType(), arrayVar.validVariableName());
+        } else if (destination.elementType().isPrimitive()) {
             if (code.isDebugEnabled()) {
                 code.debugField(fieldMap, "mapping to primitive array");
             }
@@ -50,11 +73,81 @@ public class ArrayOrCollectionToArray extends AbstractSpecification {
             if (code.isDebugEnabled()) {
                 code.debugField(fieldMap, "mapping to array");
             }
-            mapArray = format("mapperFacade.mapAsArray(%s, asList(%s), %s, %s, mappingContext)", arrayVar.validVariableName(), source, code.usedType(source.elementType()),
+            /*
+             * Arrays of objects are mapped directly, rather than copied into a List first
+             */
+            String sourceElements = source.isArray() && !source.elementType().isPrimitive() ? source.toString() : format("asList(%s)", source);
+            mapArray = format("mapperFacade.mapAsArray(%s, %s, %s, %s, mappingContext)", arrayVar.validVariableName(), sourceElements, code.usedType(source.elementType()),
                     code.usedType(destination.elementType()));
         }
         String mapNull = shouldMapNulls(fieldMap, code) ? format(" else { %s; }", destination.assignIfPossible("null")) : "";
         return format(" %s { %s; %s; %s; } %s", source.ifNotNull(), newArray, mapArray, destination.assign(arrayVar), mapNull);
     }
-    
+
+    /**
+     * Tests whether the elements of the source can be converted to the
+     * destination's primitive elements in place, without boxing or resolving a
+     * mapping strategy per element; this is the case when both element types
+     * are (or wrap) primitive types with a widening or narrowing conversion
+     * between them, for which no converter other than the default built-in one
+     * is resolved.
+     */
+    private boolean isConvertedDirectly(Type<?> sourceElementType, Type<?> destinationElementType) {
+        if (!destinationElementType.isPrimitive() || !(sourceElementType.isPrimitive() || sourceElementType.isPrimitiveWrapper())) {
+            return false;
+        }
+        Class<?> sourcePrimitive = sourceElementType.isPrimitive() ? sourceElementType.getRawType() : sourceElementType.getPrimitiveType()
+                .getRawType();
+        Class<?> destinationPrimitive = destinationElementType.getRawType();
+        if (sourcePrimitive != destinationPrimitive && (sourcePrimitive == boolean.class || destinationPrimitive == boolean.class)) {
+            return false;
+        }
+        Type<?> sourceWrapper = sourceElementType.isPrimitive() ? sourceElementType.getWrapperType() : sourceElementType;
+        Converter<Object, Object> converter = mapperFactory.getConverterFactory().getConverter(sourceWrapper, destinationElementType);
+        return converter == null || BuiltinConverters.isDefault(converter);
+    }
+
+    private String convertElements(VariableRef source, Type<?> destinationElementType, String array) {
+        String index = array + "Index";
+        String declareIterator = source.isArray() ? "" : format("java.util.Iterator %sElements = %s.iterator(); ", array, source);
+        String element = source.isArray() ? format("%s[%s]", source, index) : array + "Elements.next()";
+        Class<?> destinationPrimitive = destinationElementType.getRawType();
+
+        String conversion;
+        if (source.elementType().isPrimitive()) {
+            conversion = format("%s[%s] = %s;", array, index, convert(element, source.elementType().getRawType(), destinationPrimitive));
+        } else {
+            /*
+             * Null elements are skipped, leaving the default value in place
+             */
+            Class<?> sourcePrimitive = source.elementType().getPrimitiveType().getRawType();
+            String wrapper = source.elementType().getCanonicalName();
+            String unboxed = format("%sElement.%sValue()", array, sourcePrimitive.getName());
+            conversion = format("%s %sElement = (%s) %s; if (%sElement != null) { %s[%s] = %s; }", wrapper, array, wrapper, element, array,
+                    array, index, convert(unboxed, sourcePrimitive, destinationPrimitive));
+        }
+        return format("%sfor (int %s = 0; %s < %s.length; ++%s) { %s }", declareIterator, index, index, array, index, conversion);
+    }
+
+    private static String convert(String value, Class<?> sourcePrimitive, Class<?> destinationPrimitive) {
+        if (sourcePrimitive == destinationPrimitive) {
+            return value;
+        } else if (isWidening(sourcePrimitive, destinationPrimitive)) {
+            return format("(%s) %s", destinationPrimitive.getName(), value);
+        } else {
+            String name = destinationPrimitive.getName();
+            Class<?> widest = sourcePrimitive == float.class || sourcePrimitive == double.class ? double.class : long.class;
+            String argument = sourcePrimitive == widest ? value : format("(%s) %s", widest.getName(), value);
+            return format("narrowTo%s%s(%s)", Character.toUpperCase(name.charAt(0)), name.substring(1), argument);
+        }
+    }
+
+    private static boolean isWidening(Class<?> sourcePrimitive, Class<?> destinationPrimitive) {
+        if (destinationPrimitive == char.class) {
+            return false;
+        }
+        int sourceOrder = WIDENING_ORDER.indexOf(sourcePrimitive == char.class ? short.class : sourcePrimitive);
+        int destinationOrder = WIDENING_ORDER.indexOf(destinationPrimitive);
+        return sourcePrimitive == char.class ? destinationOrder > sourceOrder : destinationOrder >= sourceOrder;
+    }
 }
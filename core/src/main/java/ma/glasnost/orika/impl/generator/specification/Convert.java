@@ -18,10 +18,33 @@
 
 package ma.glasnost.orika.impl.generator.specification;
 
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import ma.glasnost.orika.Converter;
+import ma.glasnost.orika.converter.BidirectionalConverter;
 import ma.glasnost.orika.converter.builtin.CopyByReferenceConverter;
+import ma.glasnost.orika.converter.builtin.EnumConverter;
+import ma.glasnost.orika.converter.builtin.FromStringConverter;
+import ma.glasnost.orika.converter.builtin.IntrinsicConverter;
+import ma.glasnost.orika.converter.primitive.DoubleToIntConverter;
+import ma.glasnost.orika.converter.primitive.DoubleToLongConverter;
+import ma.glasnost.orika.converter.primitive.FromDoubleConverter;
+import ma.glasnost.orika.converter.primitive.FromIntConverter;
+import ma.glasnost.orika.converter.primitive.FromLongConverter;
+import ma.glasnost.orika.converter.primitive.IntToDoubleConverter;
+import ma.glasnost.orika.converter.primitive.IntToLongConverter;
+import ma.glasnost.orika.converter.primitive.LongToDoubleConverter;
+import ma.glasnost.orika.converter.primitive.LongToIntConverter;
+import ma.glasnost.orika.converter.primitive.ToDoubleConverter;
+import ma.glasnost.orika.converter.primitive.ToIntConverter;
+import ma.glasnost.orika.converter.primitive.ToLongConverter;
 import ma.glasnost.orika.impl.generator.SourceCodeContext;
 import ma.glasnost.orika.impl.generator.VariableRef;
 import ma.glasnost.orika.metadata.FieldMap;
+import ma.glasnost.orika.metadata.Type;
+import ma.glasnost.orika.metadata.TypeFactory;
 
 import static java.lang.String.format;
 import static ma.glasnost.orika.impl.generator.SourceCodeContext.statement;
@@ -30,7 +53,14 @@ import static ma.glasnost.orika.impl.generator.SourceCodeContext.statement;
  * Convert applies the conversion operation between two properties. There is a
  * special shortcut case applied when the converter is a
  * CopyByReferenceConverter -- we applied the code to assign the reference
- * directly rather than making an extra method call.
+ * directly rather than making an extra method call.<br>
+ * <br>
+ * When either property is an int, long or double (or its wrapper) and the
+ * converter implements the matching interface from the
+ * <code>ma.glasnost.orika.converter.primitive</code> package, the conversion
+ * is invoked through that interface, without boxing the primitive value.
+ * Converters implementing IntrinsicConverter are not called at all (unless
+ * disabled on the mapper factory): the expression they provide is inlined.
  * 
  * @author elaatifi@gmail.com
  * @author matt.deboer@gmail.com
@@ -38,6 +68,22 @@ import static ma.glasnost.orika.impl.generator.SourceCodeContext.statement;
  */
 public class Convert extends AbstractSpecification {
     
+    private static final Map<String, Class<?>> PRIMITIVE_CONVERTERS = new HashMap<String, Class<?>>();
+    static {
+        PRIMITIVE_CONVERTERS.put("ToInt", ToIntConverter.class);
+        PRIMITIVE_CONVERTERS.put("ToLong", ToLongConverter.class);
+        PRIMITIVE_CONVERTERS.put("ToDouble", ToDoubleConverter.class);
+        PRIMITIVE_CONVERTERS.put("FromInt", FromIntConverter.class);
+        PRIMITIVE_CONVERTERS.put("FromLong", FromLongConverter.class);
+        PRIMITIVE_CONVERTERS.put("FromDouble", FromDoubleConverter.class);
+        PRIMITIVE_CONVERTERS.put("IntToLong", IntToLongConverter.class);
+        PRIMITIVE_CONVERTERS.put("IntToDouble", IntToDoubleConverter.class);
+        PRIMITIVE_CONVERTERS.put("LongToInt", LongToIntConverter.class);
+        PRIMITIVE_CONVERTERS.put("LongToDouble", LongToDoubleConverter.class);
+        PRIMITIVE_CONVERTERS.put("DoubleToInt", DoubleToIntConverter.class);
+        PRIMITIVE_CONVERTERS.put("DoubleToLong", DoubleToLongConverter.class);
+    }
+    
     public boolean appliesTo(FieldMap fieldMap) {
         return fieldMap.getConverterId() != null
                 || mapperFactory.getConverterFactory().canConvert(fieldMap.getAType(), fieldMap.getBType());
@@ -92,11 +138,25 @@ public class Convert extends AbstractSpecification {
             statement = destination.assignIfPossible(source);
             canHandleNulls = true;
         } else {
-            if (code.isDebugEnabled()) {
-                code.debugField(fieldMap, "converting using " + source.getConverter());
+            String intrinsicConversion = intrinsicConversion(source, destination, code);
+            VariableRef primitiveConversion = intrinsicConversion == null ? primitiveConversion(source, destination, code) : null;
+            if (intrinsicConversion != null) {
+                if (code.isDebugEnabled()) {
+                    code.debugField(fieldMap, "converting inline as " + source.getConverter());
+                }
+                statement = destination.assignIfPossible(new VariableRef(destination.type(), intrinsicConversion));
+            } else if (primitiveConversion != null) {
+                if (code.isDebugEnabled()) {
+                    code.debugField(fieldMap, "converting without boxing using " + source.getConverter());
+                }
+                statement = destination.assignIfPossible(primitiveConversion);
+            } else {
+                if (code.isDebugEnabled()) {
+                    code.debugField(fieldMap, "converting using " + source.getConverter());
+                }
+                statement = destination.assignIfPossible("%s.convert(%s, %s, mappingContext)", code.usedConverter(source.getConverter()),
+                        source.asWrapper(), code.usedType(destination));
             }
-            statement = destination.assignIfPossible("%s.convert(%s, %s, mappingContext)", code.usedConverter(source.getConverter()),
-                    source.asWrapper(), code.usedType(destination));
             canHandleNulls = false;
         }
         
@@ -111,4 +171,143 @@ public class Convert extends AbstractSpecification {
             return statement(source.ifNotNull() + "{ \n" + statement) + "\n}" + elseSetNull;
         }
     }
+    
+    /**
+     * Generates the inline expression of an intrinsic conversion, if the
+     * converter of the source property provides one.
+     * 
+     * @param source
+     *            the source property
+     * @param destination
+     *            the destination property
+     * @param code
+     *            the current source code context
+     * @return the expression of the converted value, or null if the converter
+     *         must be called
+     */
+    private String intrinsicConversion(VariableRef source, VariableRef destination, SourceCodeContext code) {
+        Converter<?, ?> converter = unwrap(source.getConverter());
+        if (!code.shouldInlineBuiltinConverters()) {
+            return null;
+        } else if (destination.type().isEnum() && (converter.getClass() == EnumConverter.class && source.type().isEnum()
+                || converter.getClass() == FromStringConverter.class && source.type().isString())) {
+            /*
+             * Enums are translated through a table held by the generated class
+             */
+            return format("%s.%s(%s)", code.usedEnumTranslation(source.type(), destination.type()), source.type().isEnum() ? "translate"
+                    : "valueOf", source);
+        } else if (!(converter instanceof IntrinsicConverter) || !declaredByConverterClass(converter, IntrinsicConverter.class)) {
+            return null;
+        }
+        return ((IntrinsicConverter) converter).intrinsicConversion(source.type(), destination.type(), source.toString());
+    }
+    
+    /**
+     * Generates a call to the primitive conversion method implemented by the
+     * converter of the source property, if any applies.
+     * 
+     * @param source
+     *            the source property
+     * @param destination
+     *            the destination property
+     * @param code
+     *            the current source code context
+     * @return a reference to the converted value, or null if the conversion
+     *         must be invoked through {@link Converter#convert}
+     */
+    private VariableRef primitiveConversion(VariableRef source, VariableRef destination, SourceCodeContext code) {
+        Converter<?, ?> converter = unwrap(source.getConverter());
+        String sourceCarrier = carrierOf(source.type());
+        String destinationCarrier = carrierOf(destination.type());
+        if (sourceCarrier == null && destinationCarrier == null) {
+            return null;
+        }
+        String converterRef = code.usedConverter(converter);
+        String sourceValue = null;
+        if (sourceCarrier != null) {
+            sourceValue = source.type().isPrimitive() ? source.toString() : format("%s.%sValue()", source, sourceCarrier.toLowerCase());
+        }
+        
+        if (sourceCarrier != null && destinationCarrier != null) {
+            Class<?> spi = primitiveInterface(converter, sourceCarrier + "To" + destinationCarrier);
+            if (spi != null) {
+                return new VariableRef(carrierType(destinationCarrier), format("((%s)%s).convert%sTo%s(%s, mappingContext)",
+                        spi.getCanonicalName(), converterRef, sourceCarrier, destinationCarrier, sourceValue));
+            }
+        }
+        if (sourceCarrier != null) {
+            Class<?> spi = primitiveInterface(converter, "From" + sourceCarrier);
+            if (spi != null) {
+                return new VariableRef(destination.type(), format("((%s)%s).convertFrom%s(%s, %s, mappingContext)",
+                        spi.getCanonicalName(), converterRef, sourceCarrier, sourceValue, code.usedType(destination)));
+            }
+        }
+        if (destinationCarrier != null) {
+            Class<?> spi = primitiveInterface(converter, "To" + destinationCarrier);
+            if (spi != null) {
+                return new VariableRef(carrierType(destinationCarrier), format("((%s)%s).convertTo%s(%s, mappingContext)",
+                        spi.getCanonicalName(), converterRef, destinationCarrier, source.asWrapper()));
+            }
+        }
+        return null;
+    }
+    
+    /*
+     * A reversed converter delegates to the primitive methods and intrinsic
+     * conversions of the converter it reverses, which handle both directions
+     */
+    private static Converter<?, ?> unwrap(Converter<?, ?> converter) {
+        if (converter instanceof BidirectionalConverter.Reversed) {
+            return ((BidirectionalConverter<?, ?>) converter).reverse();
+        }
+        return converter;
+    }
+    
+    /*
+     * A sub-class of a converter may override its conversion without also
+     * overriding the inline or primitive form of that conversion, which would
+     * then bypass the override; these forms are therefore only used when they
+     * are declared by the class of the converter itself
+     */
+    private static boolean declaredByConverterClass(Converter<?, ?> converter, Class<?> spi) {
+        Class<?> converterClass = converter.getClass();
+        for (Method method : spi.getMethods()) {
+            try {
+                if (converterClass.getMethod(method.getName(), method.getParameterTypes()).getDeclaringClass() != converterClass) {
+                    return false;
+                }
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static String carrierOf(Type<?> type) {
+        Class<?> rawType = type.isPrimitiveWrapper() ? type.getPrimitiveType().getRawType() : type.getRawType();
+        if (rawType == Integer.TYPE) {
+            return "Int";
+        } else if (rawType == Long.TYPE) {
+            return "Long";
+        } else if (rawType == Double.TYPE) {
+            return "Double";
+        } else {
+            return null;
+        }
+    }
+    
+    private static Type<?> carrierType(String carrier) {
+        if ("Int".equals(carrier)) {
+            return TypeFactory.valueOf(Integer.TYPE);
+        } else if ("Long".equals(carrier)) {
+            return TypeFactory.valueOf(Long.TYPE);
+        } else {
+            return TypeFactory.valueOf(Double.TYPE);
+        }
+    }
+    
+    private static Class<?> primitiveInterface(Converter<?, ?> converter, String name) {
+        Class<?> spi = PRIMITIVE_CONVERTERS.get(name);
+        return spi != null && spi.isInstance(converter) && declaredByConverterClass(converter, spi) ? spi : null;
+    }
 }
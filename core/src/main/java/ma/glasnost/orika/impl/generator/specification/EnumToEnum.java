@@ -25,7 +25,8 @@ import ma.glasnost.orika.impl.generator.VariableRef;
 import ma.glasnost.orika.metadata.FieldMap;
 
 /**
- * EnumToEnum handles conversion of one enumeration to another
+ * EnumToEnum handles conversion of one enumeration to another, through an
+ * ordinal-indexed translation table computed once by the generated mapper
  */
 public class EnumToEnum extends AbstractSpecification {
     
@@ -43,7 +44,7 @@ public class EnumToEnum extends AbstractSpecification {
             code.debugField(fieldMap, "converting enum " + source.typeName() + " to enum " + destination.typeName());
         }
         
-        String assignEnum = destination.assign("Enum.valueOf(%s.class, %s.name())", destination.typeName(), source);
+        String assignEnum = destination.assign("%s.translate(%s)", code.usedEnumTranslation(source.type(), destination.type()), source);
         String mapNull = shouldMapNulls(fieldMap, code) ? format(" else {\n %s;\n}", destination.assignIfPossible("null")): "";
         return statement("%s { %s; } %s", source.ifNotNull(), assignEnum, mapNull);
     }
@@ -62,7 +62,7 @@ public class MapToMap extends AbstractSpecification {
         
         MultiOccurrenceVariableRef newDest = new MultiOccurrenceVariableRef(destination.type(), "new_" + destination.name());
         if (d.isAssignable()) {
-            out.append(statement(newDest.declare(d.newMap())));
+            out.append(statement(newDest.declare(d.newMap(s.size()))));
         } else {
             out.append(statement(newDest.declare(d)));
             out.append(statement("%s.clear()", newDest));
@@ -0,0 +1,110 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * EnumTranslationTable translates the constants of a source enum, or their
+ * names, to the constants of a destination enum with the same names.<br>
+ * <br>
+ * The translation is computed once for each pair of types: the constants of an
+ * enum source are translated through an array indexed by their ordinal, rather
+ * than resolving each one by name with <code>Enum.valueOf</code>. A constant
+ * which has no counterpart in the destination fails with the same
+ * IllegalArgumentException as <code>Enum.valueOf</code>.
+ */
+public final class EnumTranslationTable {
+    
+    private final Class<?> sourceType;
+    private final Class<?> destinationType;
+    private final Object[] constantsByOrdinal;
+    private final Map<String, Object> constantsByName;
+    
+    private EnumTranslationTable(Class<?> sourceType, Class<?> destinationType) {
+        this.sourceType = sourceType;
+        this.destinationType = destinationType;
+        this.constantsByName = new HashMap<String, Object>();
+        for (Object constant : destinationType.getEnumConstants()) {
+            constantsByName.put(((Enum<?>) constant).name(), constant);
+        }
+        if (sourceType.isEnum()) {
+            Object[] sourceConstants = sourceType.getEnumConstants();
+            this.constantsByOrdinal = new Object[sourceConstants.length];
+            for (Object constant : sourceConstants) {
+                Enum<?> sourceConstant = (Enum<?>) constant;
+                constantsByOrdinal[sourceConstant.ordinal()] = constantsByName.get(sourceConstant.name());
+            }
+        } else {
+            this.constantsByOrdinal = new Object[0];
+        }
+    }
+    
+    /**
+     * Computes the translation table between the given types
+     * 
+     * @param sourceType
+     *            the source enum type, or String if the table is used only to
+     *            resolve constants by name
+     * @param destinationType
+     *            the destination enum type
+     * @return a new translation table
+     */
+    public static EnumTranslationTable valueOf(Class<?> sourceType, Class<?> destinationType) {
+        if (!destinationType.isEnum()) {
+            throw new IllegalArgumentException(destinationType + " is not an enum type");
+        }
+        return new EnumTranslationTable(sourceType, destinationType);
+    }
+    
+    /**
+     * @param source
+     *            the (non-null) constant to translate
+     * @return the destination constant with the same name as the source
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Object translate(Enum<?> source) {
+        if (source.getDeclaringClass() != sourceType) {
+            return Enum.valueOf((Class<Enum>) destinationType, source.name());
+        }
+        Object result = constantsByOrdinal[source.ordinal()];
+        if (result == null) {
+            throw noConstant(source.name());
+        }
+        return result;
+    }
+    
+    /**
+     * @param name
+     *            the (non-null) name of the constant
+     * @return the destination constant with the given name
+     */
+    public Object valueOf(String name) {
+        Object result = constantsByName.get(name);
+        if (result == null) {
+            throw noConstant(name);
+        }
+        return result;
+    }
+    
+    private IllegalArgumentException noConstant(String name) {
+        return new IllegalArgumentException("No enum constant " + destinationType.getCanonicalName() + "." + name);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.impl.util;
+
+/**
+ * MappedObjectCache holds the objects mapped within a mapping context, keyed
+ * by the identity of their source object together with the unique index of
+ * their destination type.<br>
+ * <br>
+ * The entries are held in a single open-addressing (linear probing) table of
+ * parallel arrays, rather than in one identity map per destination type; the
+ * slots used are tracked, so that the cache can be cleared in proportion to
+ * the number of entries, and reused by the next mapping request without
+ * reallocating its table.<br>
+ * <br>
+ * This class is not thread-safe.
+ */
+public final class MappedObjectCache {
+
+    private static final int INITIAL_CAPACITY = 16;
+    /*
+     * A table grown beyond this capacity for an exceptionally large object
+     * graph is not retained once cleared
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 18;
+
+    private Object[] sources;
+    private int[] typeIndexes;
+    private Object[] destinations;
+    private int[] usedSlots;
+    private int size;
+
+    /**
+     * Returns the object mapped from the given source to the given destination
+     * type
+     *
+     * @param source
+     *            the source object
+     * @param typeIndex
+     *            the unique index of the destination type
+     * @return the mapped object, or null if none has been cached
+     */
+    public Object get(Object source, int typeIndex) {
+        if (size == 0) {
+            return null;
+        }
+        int mask = sources.length - 1;
+        for (int slot = hash(source, typeIndex) & mask;; slot = (slot + 1) & mask) {
+            Object candidate = sources[slot];
+            if (candidate == null) {
+                return null;
+            } else if (candidate == source && typeIndexes[slot] == typeIndex) {
+                return destinations[slot];
+            }
+        }
+    }
+
+    /**
+     * Caches the object mapped from the given source to the given destination
+     * type, replacing any object previously cached for them
+     *
+     * @param source
+     *            the source object
+     * @param typeIndex
+     *            the unique index of the destination type
+     * @param destination
+     *            the mapped object
+     */
+    public void put(Object source, int typeIndex, Object destination) {
+        if (sources == null) {
+            allocate(INITIAL_CAPACITY);
+        } else if ((size + 1) * 2 > sources.length) {
+            resize(sources.length * 2);
+        }
+        int mask = sources.length - 1;
+        int slot = hash(source, typeIndex) & mask;
+        for (Object candidate = sources[slot]; candidate != null; candidate = sources[slot]) {
+            if (candidate == source && typeIndexes[slot] == typeIndex) {
+                destinations[slot] = destination;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        sources[slot] = source;
+        typeIndexes[slot] = typeIndex;
+        destinations[slot] = destination;
+        usedSlots[size++] = slot;
+    }
+
+    /**
+     * @return the number of objects cached
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all the cached objects, visiting only the slots which were used
+     */
+    public void clear() {
+        if (sources == null) {
+            return;
+        }
+        if (sources.length > MAX_RETAINED_CAPACITY) {
+            sources = null;
+            typeIndexes = null;
+            destinations = null;
+            usedSlots = null;
+        } else {
+            for (int i = 0; i < size; ++i) {
+                int slot = usedSlots[i];
+                sources[slot] = null;
+                destinations[slot] = null;
+            }
+        }
+        size = 0;
+    }
+
+    private static int hash(Object source, int typeIndex) {
+        int h = System.identityHashCode(source) * 31 + typeIndex;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        sources = new Object[capacity];
+        typeIndexes = new int[capacity];
+        destinations = new Object[capacity];
+        /*
+         * The table is never more than half full
+         */
+        usedSlots = new int[capacity / 2];
+    }
+
+    private void resize(int capacity) {
+        Object[] oldSources = sources;
+        int[] oldTypeIndexes = typeIndexes;
+        Object[] oldDestinations = destinations;
+        int[] oldUsedSlots = usedSlots;
+        int oldSize = size;
+
+        allocate(capacity);
+        size = 0;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldSize; ++i) {
+            int oldSlot = oldUsedSlots[i];
+            int slot = hash(oldSources[oldSlot], oldTypeIndexes[oldSlot]) & mask;
+            while (sources[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            sources[slot] = oldSources[oldSlot];
+            typeIndexes[slot] = oldTypeIndexes[oldSlot];
+            destinations[slot] = oldDestinations[oldSlot];
+            usedSlots[size++] = slot;
+        }
+    }
+}
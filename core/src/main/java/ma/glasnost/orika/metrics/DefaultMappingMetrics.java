@@ -0,0 +1,214 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import ma.glasnost.orika.MappingStrategy;
+import ma.glasnost.orika.metadata.ClassMap;
+import ma.glasnost.orika.metadata.MapperKey;
+
+/**
+ * DefaultMappingMetrics accumulates the recorded measurements in striped
+ * counters (LongAdder) held per pair of mapped types, so that concurrent
+ * mappings do not contend on them; the counters are only totalled when a
+ * snapshot is requested. They are not held per MappingStrategy, so that
+ * strategies discarded when the mappers are modified (and their generated
+ * mappers) are not retained by the metrics.<br>
+ * <br>
+ * The snapshots may be obtained directly, or through JMX once this instance
+ * has been registered using {@link #registerMBean(String)}.
+ */
+public class DefaultMappingMetrics implements MappingMetrics, MappingMetricsMXBean {
+
+    /*
+     * Counters indexed by source type, then destination type, so that they are
+     * found without allocating a key; a strategy which maps no particular
+     * type (such as copying by reference) is indexed by NO_TYPE
+     */
+    private static final Object NO_TYPE = new Object();
+    private final ConcurrentHashMap<Object, ConcurrentHashMap<Object, StrategyCounters>> strategyCounters = new ConcurrentHashMap<Object, ConcurrentHashMap<Object, StrategyCounters>>();
+    private final ConcurrentHashMap<MapperKey, GenerationCounters> generationCounters = new ConcurrentHashMap<MapperKey, GenerationCounters>();
+
+    public void recordMapping(MappingStrategy strategy, long nanos) {
+        StrategyCounters counters = countersFor(strategy);
+        counters.calls.increment();
+        counters.nanos.add(nanos);
+    }
+
+    public void recordElements(MappingStrategy strategy, int elements) {
+        countersFor(strategy).elements.add(elements);
+    }
+
+    public void recordCacheMiss(MappingStrategy strategy, long nanos) {
+        StrategyCounters counters = countersFor(strategy);
+        counters.cacheMisses.increment();
+        counters.cacheMissNanos.add(nanos);
+    }
+
+    public void recordMapperGeneration(ClassMap<?, ?> classMap, long generationNanos, long compileNanos) {
+        MapperKey key = new MapperKey(classMap.getAType(), classMap.getBType());
+        GenerationCounters counters = generationCounters.get(key);
+        if (counters == null) {
+            counters = new GenerationCounters(key);
+            GenerationCounters existing = generationCounters.putIfAbsent(key, counters);
+            if (existing != null) {
+                counters = existing;
+            }
+        }
+        counters.generations.increment();
+        counters.generationNanos.add(generationNanos);
+        counters.compileNanos.add(compileNanos);
+    }
+
+    private StrategyCounters countersFor(MappingStrategy strategy) {
+        Object aType = strategy.getAType() != null ? strategy.getAType() : NO_TYPE;
+        Object bType = strategy.getBType() != null ? strategy.getBType() : NO_TYPE;
+        ConcurrentHashMap<Object, StrategyCounters> countersByBType = strategyCounters.get(aType);
+        if (countersByBType == null) {
+            countersByBType = new ConcurrentHashMap<Object, StrategyCounters>();
+            ConcurrentHashMap<Object, StrategyCounters> existing = strategyCounters.putIfAbsent(aType, countersByBType);
+            if (existing != null) {
+                countersByBType = existing;
+            }
+        }
+        StrategyCounters counters = countersByBType.get(bType);
+        if (counters == null) {
+            counters = new StrategyCounters(strategy);
+            StrategyCounters existing = countersByBType.putIfAbsent(bType, counters);
+            if (existing != null) {
+                counters = existing;
+            }
+        }
+        return counters;
+    }
+
+    public List<MappingStatistics> getMappingStatistics() {
+        /*
+         * Distinct types may share the same name, such as classes loaded by
+         * different class-loaders
+         */
+        Map<List<String>, long[]> totals = new LinkedHashMap<List<String>, long[]>();
+        for (ConcurrentHashMap<Object, StrategyCounters> countersByBType : strategyCounters.values()) {
+            for (StrategyCounters counters : countersByBType.values()) {
+                List<String> types = Arrays.asList(counters.aTypeName, counters.bTypeName);
+                long[] total = totals.get(types);
+                if (total == null) {
+                    total = new long[5];
+                    totals.put(types, total);
+                }
+                total[0] += counters.calls.sum();
+                total[1] += counters.nanos.sum();
+                total[2] += counters.elements.sum();
+                total[3] += counters.cacheMisses.sum();
+                total[4] += counters.cacheMissNanos.sum();
+            }
+        }
+
+        List<MappingStatistics> statistics = new ArrayList<MappingStatistics>(totals.size());
+        for (Entry<List<String>, long[]> entry : totals.entrySet()) {
+            long[] total = entry.getValue();
+            statistics.add(new MappingStatistics(entry.getKey().get(0), entry.getKey().get(1), total[0], total[1], total[2], total[3],
+                    total[4]));
+        }
+        Collections.sort(statistics, new Comparator<MappingStatistics>() {
+            public int compare(MappingStatistics s1, MappingStatistics s2) {
+                return Long.compare(s2.getTotalNanos(), s1.getTotalNanos());
+            }
+        });
+        return statistics;
+    }
+
+    public List<GenerationStatistics> getGenerationStatistics() {
+        List<GenerationStatistics> statistics = new ArrayList<GenerationStatistics>(generationCounters.size());
+        for (GenerationCounters counters : generationCounters.values()) {
+            statistics.add(new GenerationStatistics(String.valueOf(counters.key.getAType()), String.valueOf(counters.key.getBType()),
+                    counters.generations.sum(), counters.generationNanos.sum(), counters.compileNanos.sum()));
+        }
+        Collections.sort(statistics, new Comparator<GenerationStatistics>() {
+            public int compare(GenerationStatistics s1, GenerationStatistics s2) {
+                return Long.compare(s2.getGenerationNanos(), s1.getGenerationNanos());
+            }
+        });
+        return statistics;
+    }
+
+    public void reset() {
+        strategyCounters.clear();
+        generationCounters.clear();
+    }
+
+    /**
+     * Registers this instance with the platform MBeanServer, under the name
+     * <code>ma.glasnost.orika:type=MappingMetrics,name=&lt;name&gt;</code>
+     *
+     * @param name
+     *            the name distinguishing this instance from any others
+     *            registered
+     * @return the ObjectName under which this instance was registered
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("ma.glasnost.orika:type=MappingMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the mapping metrics named " + name, e);
+        }
+    }
+
+    private static final class StrategyCounters {
+        private final String aTypeName;
+        private final String bTypeName;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder elements = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+        private final LongAdder cacheMissNanos = new LongAdder();
+
+        private StrategyCounters(MappingStrategy strategy) {
+            this.aTypeName = String.valueOf(strategy.getAType());
+            this.bTypeName = String.valueOf(strategy.getBType());
+        }
+    }
+
+    private static final class GenerationCounters {
+        private final MapperKey key;
+        private final LongAdder generations = new LongAdder();
+        private final LongAdder generationNanos = new LongAdder();
+        private final LongAdder compileNanos = new LongAdder();
+
+        private GenerationCounters(MapperKey key) {
+            this.key = key;
+        }
+    }
+}
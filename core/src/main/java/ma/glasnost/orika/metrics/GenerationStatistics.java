@@ -0,0 +1,93 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * GenerationStatistics is a snapshot of the statistics recorded for generating
+ * the mapper between two types.
+ */
+public final class GenerationStatistics {
+
+    private final String aType;
+    private final String bType;
+    private final long generations;
+    private final long generationNanos;
+    private final long compileNanos;
+
+    /**
+     * Constructs a new GenerationStatistics
+     *
+     * @param aType
+     * @param bType
+     * @param generations
+     * @param generationNanos
+     * @param compileNanos
+     */
+    @ConstructorProperties({ "AType", "BType", "generations", "generationNanos", "compileNanos" })
+    public GenerationStatistics(String aType, String bType, long generations, long generationNanos, long compileNanos) {
+        this.aType = aType;
+        this.bType = bType;
+        this.generations = generations;
+        this.generationNanos = generationNanos;
+        this.compileNanos = compileNanos;
+    }
+
+    /**
+     * @return the name of the 'A' type of the class-map
+     */
+    public String getAType() {
+        return aType;
+    }
+
+    /**
+     * @return the name of the 'B' type of the class-map
+     */
+    public String getBType() {
+        return bType;
+    }
+
+    /**
+     * @return the number of times a mapper was generated for these types
+     */
+    public long getGenerations() {
+        return generations;
+    }
+
+    /**
+     * @return the total time spent generating the mappers, in nanoseconds
+     */
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+
+    /**
+     * @return the part of the generation time spent compiling the mappers, in
+     *         nanoseconds
+     */
+    public long getCompileNanos() {
+        return compileNanos;
+    }
+
+    public String toString() {
+        return aType + " <-> " + bType + " {generations: " + generations + ", generationNanos: " + generationNanos + ", compileNanos: "
+                + compileNanos + "}";
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.metrics;
+
+import ma.glasnost.orika.MappingStrategy;
+import ma.glasnost.orika.metadata.ClassMap;
+
+/**
+ * MappingMetrics receives the measurements taken by the MapperFacade (and the
+ * BoundMapperFacade instances it provides) and by the mapper generator, when
+ * configured on the MapperFactory.<br>
+ * When no MappingMetrics is configured (the default), no measurements are
+ * taken at all.<br>
+ * <br>
+ * Implementations are called concurrently, on the mapping threads, and so
+ * should be thread-safe and cheap; see {@link DefaultMappingMetrics}.
+ *
+ * @see ma.glasnost.orika.impl.DefaultMapperFactory.MapperFactoryBuilder#mappingMetrics(MappingMetrics)
+ */
+public interface MappingMetrics {
+
+    /**
+     * Records a single mapping performed by the given strategy; the time taken
+     * includes the time taken by any nested mappings.
+     *
+     * @param strategy
+     *            the strategy which performed the mapping
+     * @param nanos
+     *            the time taken, in nanoseconds
+     */
+    void recordMapping(MappingStrategy strategy, long nanos);
+
+    /**
+     * Records the mapping of the given number of elements of an array,
+     * collection or map by the given strategy; each of them is also recorded
+     * as a mapping.
+     *
+     * @param strategy
+     *            the strategy used to map the elements
+     * @param elements
+     *            the number of elements mapped
+     */
+    void recordElements(MappingStrategy strategy, int elements);
+
+    /**
+     * Records the resolution of a strategy which was not yet cached; the time
+     * taken includes that of generating any mappers or object factories it
+     * required.
+     *
+     * @param strategy
+     *            the strategy resolved
+     * @param nanos
+     *            the time taken, in nanoseconds
+     */
+    void recordCacheMiss(MappingStrategy strategy, long nanos);
+
+    /**
+     * Records the generation of the mapper for the given class-map.
+     *
+     * @param classMap
+     *            the class-map for which the mapper was generated
+     * @param generationNanos
+     *            the total time taken to generate the mapper, in nanoseconds
+     * @param compileNanos
+     *            the part of that time taken to compile it, in nanoseconds
+     */
+    void recordMapperGeneration(ClassMap<?, ?> classMap, long generationNanos, long compileNanos);
+}
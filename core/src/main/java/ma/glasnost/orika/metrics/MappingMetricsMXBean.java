@@ -0,0 +1,44 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.metrics;
+
+import java.util.List;
+
+/**
+ * The management interface of {@link DefaultMappingMetrics}.
+ */
+public interface MappingMetricsMXBean {
+
+    /**
+     * @return a snapshot of the statistics recorded for each pair of types
+     *         mapped, in decreasing order of the total time spent mapping them
+     */
+    List<MappingStatistics> getMappingStatistics();
+
+    /**
+     * @return a snapshot of the statistics recorded for each mapper generated,
+     *         in decreasing order of the total time spent generating it
+     */
+    List<GenerationStatistics> getGenerationStatistics();
+
+    /**
+     * Discards all the statistics recorded so far.
+     */
+    void reset();
+}
@@ -0,0 +1,116 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * MappingStatistics is a snapshot of the statistics recorded for mapping one
+ * (resolved) source type to one (resolved) destination type, totalled over
+ * each of the strategies used to do so.
+ */
+public final class MappingStatistics {
+
+    private final String sourceType;
+    private final String destinationType;
+    private final long calls;
+    private final long totalNanos;
+    private final long elements;
+    private final long cacheMisses;
+    private final long cacheMissNanos;
+
+    /**
+     * Constructs a new MappingStatistics
+     *
+     * @param sourceType
+     * @param destinationType
+     * @param calls
+     * @param totalNanos
+     * @param elements
+     * @param cacheMisses
+     * @param cacheMissNanos
+     */
+    @ConstructorProperties({ "sourceType", "destinationType", "calls", "totalNanos", "elements", "cacheMisses", "cacheMissNanos" })
+    public MappingStatistics(String sourceType, String destinationType, long calls, long totalNanos, long elements, long cacheMisses,
+            long cacheMissNanos) {
+        this.sourceType = sourceType;
+        this.destinationType = destinationType;
+        this.calls = calls;
+        this.totalNanos = totalNanos;
+        this.elements = elements;
+        this.cacheMisses = cacheMisses;
+        this.cacheMissNanos = cacheMissNanos;
+    }
+
+    /**
+     * @return the name of the source type
+     */
+    public String getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * @return the name of the destination type
+     */
+    public String getDestinationType() {
+        return destinationType;
+    }
+
+    /**
+     * @return the number of objects mapped
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * @return the total time spent mapping, in nanoseconds; this includes the
+     *         time spent on any nested mappings
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the number of objects mapped as elements of an array, collection
+     *         or map (which are also counted as calls)
+     */
+    public long getElements() {
+        return elements;
+    }
+
+    /**
+     * @return the number of times a strategy had to be resolved
+     */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * @return the total time spent resolving strategies, in nanoseconds
+     */
+    public long getCacheMissNanos() {
+        return cacheMissNanos;
+    }
+
+    public String toString() {
+        return sourceType + " -> " + destinationType + " {calls: " + calls + ", totalNanos: " + totalNanos + ", elements: " + elements
+                + ", cacheMisses: " + cacheMisses + ", cacheMissNanos: " + cacheMissNanos + "}";
+    }
+}
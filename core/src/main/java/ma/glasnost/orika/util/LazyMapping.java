@@ -0,0 +1,98 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ma.glasnost.orika.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * LazyMapping provides views of a source Iterable or Stream in which each
+ * element is passed to an element mapping function only as it is requested;
+ * <code>null</code> source elements are skipped.
+ */
+public final class LazyMapping {
+
+    private LazyMapping() {
+
+    }
+
+    /**
+     * Returns an Iterable whose Iterators apply <code>elementMapper</code> to
+     * the non-null elements of <code>source</code> on demand
+     */
+    public static <S, D> Iterable<D> lazyIterable(final Iterable<S> source, final Function<S, D> elementMapper) {
+        return new Iterable<D>() {
+            public Iterator<D> iterator() {
+                return new LazyMappingIterator<S, D>(source.iterator(), elementMapper);
+            }
+        };
+    }
+
+    /**
+     * Returns a Stream which applies <code>elementMapper</code> to the
+     * non-null elements of <code>source</code> as they are consumed
+     */
+    public static <S, D> Stream<D> lazyStream(Stream<S> source, Function<S, D> elementMapper) {
+        return source.filter(new Predicate<S>() {
+            public boolean test(S item) {
+                return item != null;
+            }
+        }).map(elementMapper);
+    }
+
+    /**
+     * LazyMappingIterator maps the elements of the source iterator only as
+     * they are requested, skipping any <code>null</code> elements
+     */
+    private static final class LazyMappingIterator<S, D> implements Iterator<D> {
+
+        private final Iterator<S> source;
+        private final Function<S, D> elementMapper;
+        private S nextSource;
+
+        private LazyMappingIterator(Iterator<S> source, Function<S, D> elementMapper) {
+            this.source = source;
+            this.elementMapper = elementMapper;
+        }
+
+        public boolean hasNext() {
+            while (nextSource == null && source.hasNext()) {
+                nextSource = source.next();
+            }
+            return nextSource != null;
+        }
+
+        public D next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            S item = nextSource;
+            nextSource = null;
+            return elementMapper.apply(item);
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import ma.glasnost.orika.MappingException;
+
+/**
+ * ParallelMapping splits a list of source elements into chunks which are
+ * mapped concurrently using a provided Executor, and combines the results in
+ * the order of the source.<br>
+ * The first chunk is always mapped by the calling thread, which then waits
+ * for the remaining chunks to complete.
+ */
+public final class ParallelMapping {
+
+    private ParallelMapping() {
+
+    }
+
+    /**
+     * ChunkMapper maps a contiguous range of the source elements
+     *
+     * @param <S>
+     *            the type of the source elements
+     * @param <D>
+     *            the type of the destination elements
+     */
+    public interface ChunkMapper<S, D> {
+
+        /**
+         * Maps the provided chunk of source elements, typically within a
+         * single MappingContext
+         *
+         * @param chunk
+         *            the source elements to map
+         * @return the mapped elements, in the order of <code>chunk</code>
+         */
+        List<D> mapChunk(List<S> chunk);
+    }
+
+    /**
+     * Collects the elements of the provided Iterable into a List supporting
+     * fast random access
+     */
+    public static <S> List<S> asRandomAccessList(Iterable<S> source) {
+        if (source instanceof List && source instanceof RandomAccess) {
+            return (List<S>) source;
+        } else if (source instanceof Collection) {
+            return new ArrayList<S>((Collection<S>) source);
+        }
+        List<S> elements = new ArrayList<S>();
+        for (S element : source) {
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    /**
+     * Collects the elements of the provided array into a List
+     */
+    public static <S> List<S> asRandomAccessList(S[] source) {
+        return Arrays.asList(source);
+    }
+
+    /**
+     * Maps the source elements in chunks of at most <code>chunkSize</code>
+     * elements, using the provided executor.
+     *
+     * @param source
+     *            the source elements
+     * @param executor
+     *            the executor on which to map all but the first chunk
+     * @param chunkSize
+     *            the maximum number of elements mapped by a single task
+     * @param chunkMapper
+     *            maps the elements of a single chunk
+     * @return the mapped elements, in the order of <code>source</code>
+     */
+    public static <S, D> List<D> mapInChunks(final List<S> source, final Executor executor, final int chunkSize,
+            final ChunkMapper<S, D> chunkMapper) {
+
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive, but was " + chunkSize);
+        }
+
+        final int size = source.size();
+        final int chunkCount = (size + chunkSize - 1) / chunkSize;
+        if (chunkCount <= 1) {
+            return chunkMapper.mapChunk(source);
+        }
+
+        List<FutureTask<List<D>>> tasks = new ArrayList<FutureTask<List<D>>>(chunkCount - 1);
+        try {
+            for (int from = chunkSize; from < size; from += chunkSize) {
+                final List<S> chunk = source.subList(from, Math.min(from + chunkSize, size));
+                FutureTask<List<D>> task = new FutureTask<List<D>>(new Callable<List<D>>() {
+                    public List<D> call() {
+                        return chunkMapper.mapChunk(chunk);
+                    }
+                });
+                tasks.add(task);
+                executor.execute(task);
+            }
+
+            List<D> destination = new ArrayList<D>(size);
+            destination.addAll(chunkMapper.mapChunk(source.subList(0, chunkSize)));
+            for (FutureTask<List<D>> task : tasks) {
+                destination.addAll(task.get());
+            }
+            return destination;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MappingException("Interrupted while waiting for mapping of chunks to complete", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MappingException(cause);
+        } finally {
+            for (FutureTask<List<D>> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package ma.glasnost.orika.util;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -117,7 +118,7 @@ public class SortedCollection<V> implements Collection<V> {
 	    if (contains(o)) {
     	    try {
                 rwl.writeLock().lock();
-                List<V> sorted = getSortedItems();
+                List<V> sorted = new ArrayList<V>(getSortedItems());
                 nodes.clear();
                 items.clear();
                 sortedItems = null;
@@ -130,6 +131,30 @@ public class SortedCollection<V> implements Collection<V> {
 	    return result;
 	}
 
+	/**
+	 * Removes the provided items and adds the others as a single
+	 * modification; readers observe either none or all of the changes.
+	 * 
+	 * @param removed
+	 *            the items to remove
+	 * @param added
+	 *            the items to add
+	 */
+	public void replace(Collection<?> removed, Collection<? extends V> added) {
+		try {
+			rwl.writeLock().lock();
+			List<V> sorted = new ArrayList<V>(getSortedItems());
+			sorted.removeAll(removed);
+			nodes.clear();
+			items.clear();
+			sortedItems = null;
+			addAll(sorted);
+			addAll(added);
+		} finally {
+			rwl.writeLock().unlock();
+		}
+	}
+
 	public void clear() {
 		try {
 			rwl.writeLock().lock();
@@ -146,7 +171,7 @@ public class SortedCollection<V> implements Collection<V> {
 			try {
 				sortLock.writeLock().lock();
 				if (sortedItems == null)
-					sortedItems = TopologicalSorter.sort(nodes);
+					sortedItems = Collections.unmodifiableList(TopologicalSorter.sort(nodes));
 			} finally {
 				sortLock.writeLock().unlock();
 			}
@@ -247,6 +272,22 @@ public class SortedCollection<V> implements Collection<V> {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Returns a read-only snapshot of the items in sorted order; the same
+	 * instance is returned until this collection is next modified, so callers
+	 * may use reference equality on the result to detect changes.
+	 * 
+	 * @return the sorted items currently contained in this collection
+	 */
+	public List<V> sortedView() {
+		try {
+			rwl.readLock().lock();
+			return getSortedItems();
+		} finally {
+			rwl.readLock().unlock();
+		}
+	}
+
 	/**
 	 * @return the first item in this collection
 	 */
@@ -0,0 +1,157 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.util;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ma.glasnost.orika.MappedTypePair;
+
+/**
+ * TypeHierarchyIndex is a read-only index over an ordered list of
+ * {@link MappedTypePair}s, keyed by the raw classes of their A and B types.<br>
+ * It is used to find the elements which could possibly apply to a given type by
+ * walking the class hierarchy of that type (superclasses and interfaces),
+ * rather than by testing every element of the list; the cost of a lookup is
+ * therefore proportional to the depth of the hierarchy, and the number of
+ * actual candidates, instead of the size of the list.
+ * <p>
+ * Candidates are always returned in the same relative order in which they
+ * appear in the source list, so that any precedence defined by that list is
+ * retained. A new index should be created whenever the source list changes.
+ *
+ * @param <V>
+ *            the element type contained in the index
+ */
+public final class TypeHierarchyIndex<V extends MappedTypePair<?, ?>> {
+
+    private final List<V> source;
+    private final Map<Class<?>, BitSet> positionsByRawType;
+
+    /**
+     * Constructs a new index over the provided list
+     *
+     * @param source
+     *            the (ordered) elements to index; the list should not be
+     *            modified after the index has been created
+     */
+    public TypeHierarchyIndex(List<V> source) {
+        this.source = source;
+        this.positionsByRawType = new HashMap<Class<?>, BitSet>();
+        for (int i = 0, len = source.size(); i < len; ++i) {
+            V element = source.get(i);
+            positionOf(element.getAType().getRawType()).set(i);
+            positionOf(element.getBType().getRawType()).set(i);
+        }
+    }
+
+    private BitSet positionOf(Class<?> rawType) {
+        BitSet positions = positionsByRawType.get(rawType);
+        if (positions == null) {
+            positions = new BitSet(source.size());
+            positionsByRawType.put(rawType, positions);
+        }
+        return positions;
+    }
+
+    /**
+     * @return the list from which this index was created
+     */
+    public List<V> getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the elements for which either the A or B raw type is assignable
+     * from the provided raw type; this is a necessary (but not sufficient)
+     * condition for either of the element's types to be assignable from any
+     * {@link ma.glasnost.orika.metadata.Type} having that raw type.
+     *
+     * @param rawType
+     *            the raw type for which to find candidates
+     * @return the candidate elements, in the order of the source list
+     */
+    public List<V> candidatesFor(Class<?> rawType) {
+        BitSet matches = null;
+        for (Class<?> ancestor : hierarchyOf(rawType)) {
+            BitSet positions = positionsByRawType.get(ancestor);
+            if (positions != null) {
+                if (matches == null) {
+                    matches = (BitSet) positions.clone();
+                } else {
+                    matches.or(positions);
+                }
+            }
+        }
+        if (matches == null) {
+            return Collections.emptyList();
+        }
+        List<V> candidates = new ArrayList<V>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            candidates.add(source.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * Collects the set of classes which are assignable from the provided class,
+     * following the same rules as {@link Class#isAssignableFrom(Class)}.
+     *
+     * @param rawType
+     * @return the provided class along with all of its ancestors
+     */
+    static Set<Class<?>> hierarchyOf(Class<?> rawType) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<Class<?>>();
+        collectHierarchy(rawType, hierarchy);
+        return hierarchy;
+    }
+
+    private static void collectHierarchy(Class<?> type, Set<Class<?>> hierarchy) {
+        if (type == null || !hierarchy.add(type) || type.isPrimitive()) {
+            return;
+        }
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            if (!componentType.isPrimitive()) {
+                for (Class<?> componentAncestor : hierarchyOf(componentType)) {
+                    hierarchy.add(Array.newInstance(componentAncestor, 0).getClass());
+                }
+            }
+            hierarchy.add(Cloneable.class);
+            hierarchy.add(Serializable.class);
+            hierarchy.add(Object.class);
+            return;
+        }
+        collectHierarchy(type.getSuperclass(), hierarchy);
+        for (Class<?> superInterface : type.getInterfaces()) {
+            collectHierarchy(superInterface, hierarchy);
+        }
+        if (type.isInterface()) {
+            hierarchy.add(Object.class);
+        }
+    }
+}
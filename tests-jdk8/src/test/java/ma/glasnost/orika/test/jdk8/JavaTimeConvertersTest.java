@@ -0,0 +1,116 @@
+package ma.glasnost.orika.test.jdk8;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.junit.Test;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+
+/**
+ * Built-in converters between the java.time types and the legacy date/time
+ * representations.
+ */
+public class JavaTimeConvertersTest {
+    
+    private static MapperFacade mapperFacade(boolean inlineBuiltinConverters) {
+        DefaultMapperFactory mapperFactory = new DefaultMapperFactory.Builder().inlineBuiltinConverters(inlineBuiltinConverters)
+                .build();
+        mapperFactory.classMap(Event.class, EventDto.class).byDefault().register();
+        return mapperFactory.getMapperFacade();
+    }
+    
+    private static Event newEvent() {
+        Event event = new Event();
+        event.created = Instant.parse("2007-12-03T10:15:30.123Z");
+        event.modified = Instant.parse("2007-12-03T10:15:30.123456789Z");
+        event.expires = Instant.parse("2008-01-01T00:00:00Z");
+        event.day = LocalDate.parse("2007-12-03");
+        event.scheduled = OffsetDateTime.parse("2007-12-03T10:15:30.123456+02:00");
+        event.timeout = Duration.parse("PT6H3M0.5S");
+        return event;
+    }
+    
+    @Test
+    public void testJavaTimeConversions() {
+        for (boolean inline : new boolean[] { true, false }) {
+            MapperFacade mapper = mapperFacade(inline);
+            Event event = newEvent();
+            
+            EventDto dto = mapper.map(event, EventDto.class);
+            assertThat(dto.created, is(new Date(event.created.toEpochMilli())));
+            assertThat(dto.modified.getNanos(), is(123456789));
+            assertThat(dto.expires, is(event.expires.toEpochMilli()));
+            assertThat(dto.day.toString(), is("2007-12-03"));
+            assertThat(dto.scheduled.toXMLFormat(), is("2007-12-03T10:15:30.123456+02:00"));
+            assertThat(dto.timeout, is(21780500L));
+            
+            Event mapped = mapper.map(dto, Event.class);
+            assertThat(mapped.created, is(event.created));
+            assertThat(mapped.modified, is(event.modified));
+            assertThat(mapped.expires, is(event.expires));
+            assertThat(mapped.day, is(event.day));
+            assertThat(mapped.scheduled, is(event.scheduled));
+            assertThat(mapped.timeout, is(event.timeout));
+        }
+    }
+    
+    @Test
+    public void testXmlGregorianCalendarWithoutTimezone() throws Exception {
+        MapperFacade mapper = mapperFacade(true);
+        DatatypeFactory factory = DatatypeFactory.newInstance();
+        
+        EventDto dto = new EventDto();
+        dto.scheduled = factory.newXMLGregorianCalendar("2007-12-03T10:15:30.5");
+        Event event = mapper.map(dto, Event.class);
+        assertThat(event.scheduled,
+                is(LocalDateTime.parse("2007-12-03T10:15:30.5").atZone(ZoneId.systemDefault()).toOffsetDateTime()));
+        
+        dto.scheduled = factory.newXMLGregorianCalendar("2007-12-03Z");
+        event = mapper.map(dto, Event.class);
+        assertThat(event.scheduled, is(OffsetDateTime.parse("2007-12-03T00:00:00Z")));
+    }
+    
+    @Test
+    public void testJavaTimeTypesAreCopiedByReference() {
+        Event event = newEvent();
+        Event copy = mapperFacade(true).map(event, Event.class);
+        
+        assertThat(copy.created, sameInstance(event.created));
+        assertThat(copy.day, sameInstance(event.day));
+        assertThat(copy.scheduled, sameInstance(event.scheduled));
+        assertThat(copy.timeout, sameInstance(event.timeout));
+    }
+    
+    public static class Event {
+        public Instant created;
+        public Instant modified;
+        public Instant expires;
+        public LocalDate day;
+        public OffsetDateTime scheduled;
+        public Duration timeout;
+    }
+    
+    public static class EventDto {
+        public Date created;
+        public Timestamp modified;
+        public long expires;
+        public java.sql.Date day;
+        public XMLGregorianCalendar scheduled;
+        public long timeout;
+    }
+}
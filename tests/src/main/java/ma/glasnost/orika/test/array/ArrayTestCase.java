@@ -19,8 +19,15 @@
 package ma.glasnost.orika.test.array;
 
 import java.util.Arrays;
+import java.util.List;
 
+import ma.glasnost.orika.CustomConverter;
 import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.MappingException;
+import ma.glasnost.orika.converter.builtin.NumericConverters;
+import ma.glasnost.orika.metadata.Type;
 import ma.glasnost.orika.test.MappingUtil;
 
 import org.junit.Assert;
@@ -110,6 +117,138 @@ public class ArrayTestCase {
         Assert.assertArrayEquals(p.getTags(), productDTO.getTags());
     }
 
+    @Test
+    public void testPrimitiveArrayIsCopied() {
+        Samples source = new Samples();
+        source.values = new int[] { 3, 1, 4, 1, 5 };
+
+        Samples destination = MappingUtil.getMapperFactory().getMapperFacade().map(source, Samples.class);
+
+        Assert.assertArrayEquals(source.values, destination.values);
+        Assert.assertNotSame(source.values, destination.values);
+    }
+
+    @Test
+    public void testArrayOfObjectsWithNulls() {
+        Samples source = new Samples();
+        source.names = new String[] { "pi", null, "e" };
+
+        Samples destination = MappingUtil.getMapperFactory().getMapperFacade().map(source, Samples.class);
+
+        Assert.assertArrayEquals(new String[] { "pi", "e", null }, destination.names);
+    }
+
+    @Test
+    public void testPrimitiveArrayWidening() {
+        Measurements source = new Measurements();
+        source.counts = new int[] { 1, -2, Integer.MAX_VALUE };
+        source.readings = new float[] { 0.5f, -1.25f };
+        source.codes = new char[] { 'A', '\uffff' };
+
+        MeasurementsDto destination = MappingUtil.getMapperFactory().getMapperFacade().map(source, MeasurementsDto.class);
+
+        Assert.assertArrayEquals(new long[] { 1, -2, Integer.MAX_VALUE }, destination.counts);
+        Assert.assertArrayEquals(new double[] { 0.5, -1.25 }, destination.readings, 0.0);
+        Assert.assertArrayEquals(new int[] { 65, 65535 }, destination.codes);
+    }
+
+    @Test
+    public void testPrimitiveArrayNarrowing() {
+        MeasurementsDto source = new MeasurementsDto();
+        source.counts = new long[] { 1, -2, Integer.MIN_VALUE };
+        source.readings = new double[] { 0.5, -1.25, 1e-50 };
+        source.codes = new int[] { 65, 97 };
+
+        MapperFacade mapperFacade = MappingUtil.getMapperFactory().getMapperFacade();
+        Measurements destination = mapperFacade.map(source, Measurements.class);
+
+        Assert.assertArrayEquals(new int[] { 1, -2, Integer.MIN_VALUE }, destination.counts);
+        Assert.assertArrayEquals(new float[] { 0.5f, -1.25f, 0f }, destination.readings, 0f);
+        Assert.assertArrayEquals(new char[] { 'A', 'a' }, destination.codes);
+
+        source.counts = new long[] { 1, Integer.MAX_VALUE + 1L };
+        try {
+            mapperFacade.map(source, Measurements.class);
+            Assert.fail("narrowing a value which cannot be represented should fail");
+        } catch (MappingException e) {
+            Assert.assertTrue(e.getCause() instanceof ArithmeticException);
+        }
+    }
+
+    @Test
+    public void testWrappersToPrimitiveArray() {
+        Wrappers source = new Wrappers();
+        source.counts = Arrays.asList(3, null, 5);
+        source.readings = new Double[] { 0.5, null, 2.0 };
+
+        MeasurementsDto destination = MappingUtil.getMapperFactory().getMapperFacade().map(source, MeasurementsDto.class);
+
+        Assert.assertArrayEquals(new long[] { 3, 0, 5 }, destination.counts);
+        Assert.assertArrayEquals(new double[] { 0.5, 0.0, 2.0 }, destination.readings, 0.0);
+    }
+
+    @Test
+    public void testCustomElementConverterIsApplied() {
+        MapperFactory factory = MappingUtil.getMapperFactory();
+        factory.getConverterFactory().registerConverter(new CustomConverter<Integer, Long>() {
+            public Long convert(Integer source, Type<? extends Long> destinationType, MappingContext context) {
+                return source * 10L;
+            }
+        });
+        Measurements source = new Measurements();
+        source.counts = new int[] { 1, 2 };
+
+        MeasurementsDto destination = factory.getMapperFacade().map(source, MeasurementsDto.class);
+
+        Assert.assertArrayEquals(new long[] { 10, 20 }, destination.counts);
+    }
+
+    @Test
+    public void testTruncatingElementConverterIsApplied() {
+        MapperFactory factory = MappingUtil.getMapperFactory();
+        factory.getConverterFactory().registerConverter(new NumericConverters.DoubleToIntegerConverter(true));
+        Totals source = new Totals();
+        source.total = 1e10;
+        source.totals = new double[] { 1e10, -1e10, 2.5 };
+
+        TotalsDto destination = factory.getMapperFacade().map(source, TotalsDto.class);
+
+        Assert.assertEquals(Integer.MAX_VALUE, destination.total);
+        Assert.assertArrayEquals(new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE, 2 }, destination.totals);
+    }
+
+    public static class Samples {
+        public int[] values;
+        public String[] names;
+    }
+
+    public static class Measurements {
+        public int[] counts;
+        public float[] readings;
+        public char[] codes;
+    }
+
+    public static class MeasurementsDto {
+        public long[] counts;
+        public double[] readings;
+        public int[] codes;
+    }
+
+    public static class Totals {
+        public double total;
+        public double[] totals;
+    }
+
+    public static class TotalsDto {
+        public int total;
+        public int[] totals;
+    }
+
+    public static class Wrappers {
+        public List<Integer> counts;
+        public Double[] readings;
+    }
+
     public static class Product {
 
         private String[] tags;
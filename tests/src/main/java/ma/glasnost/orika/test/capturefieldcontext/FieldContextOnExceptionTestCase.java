@@ -0,0 +1,129 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.capturefieldcontext;
+
+import ma.glasnost.orika.CustomConverter;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.MappingException;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.metadata.Type;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FieldContextOnExceptionTestCase {
+
+    public static class Person {
+        public String name;
+        public Address address;
+    }
+
+    public static class PersonDto {
+        public String name;
+        public AddressDto address;
+    }
+
+    public static class Address {
+        public String street;
+        public String city;
+    }
+
+    public static class AddressDto {
+        public String street;
+        public String town;
+    }
+
+    /**
+     * Fails to convert the city "Nowhere"
+     */
+    public static class CityConverter extends CustomConverter<String, String> {
+
+        private final boolean throwMappingException;
+
+        public CityConverter(boolean throwMappingException) {
+            this.throwMappingException = throwMappingException;
+        }
+
+        public String convert(String source, Type<? extends String> destinationType, MappingContext context) {
+            if ("Nowhere".equals(source)) {
+                if (throwMappingException) {
+                    throw new MappingException("unknown city: " + source);
+                }
+                throw new IllegalArgumentException("unknown city: " + source);
+            }
+            return source.toUpperCase();
+        }
+    }
+
+    private static MapperFacade getMapperFacade(boolean throwMappingException) {
+        MapperFactory factory = new DefaultMapperFactory.Builder().captureFieldContextOnException(true).build();
+        factory.getConverterFactory().registerConverter("city", new CityConverter(throwMappingException));
+        factory.classMap(Person.class, PersonDto.class).byDefault().register();
+        factory.classMap(Address.class, AddressDto.class).fieldMap("city", "town").converter("city").add().byDefault().register();
+        return factory.getMapperFacade();
+    }
+
+    private static Person newPerson(String city) {
+        Person person = new Person();
+        person.name = "Jim";
+        person.address = new Address();
+        person.address.street = "1 Main St";
+        person.address.city = city;
+        return person;
+    }
+
+    @Test
+    public void testMappingSucceeds() {
+        PersonDto result = getMapperFacade(true).map(newPerson("Springfield"), PersonDto.class);
+
+        Assert.assertEquals("Jim", result.name);
+        Assert.assertEquals("1 Main St", result.address.street);
+        Assert.assertEquals("SPRINGFIELD", result.address.town);
+    }
+
+    @Test
+    public void testFieldContextIsCapturedOnException() {
+        MapperFacade mapper = getMapperFacade(true);
+        /*
+         * The field stack rebuilt for one failure does not leak into the next
+         */
+        for (int i = 0; i < 2; ++i) {
+            try {
+                mapper.map(newPerson("Nowhere"), PersonDto.class);
+                Assert.fail("MappingException expected");
+            } catch (MappingException e) {
+                Assert.assertEquals("source.address.city", e.getSourcePath());
+                Assert.assertEquals("destination.address.town", e.getDestinationPath());
+                Assert.assertTrue(e.getLocalizedMessage().contains("sourcePath = source.address.city"));
+            }
+        }
+    }
+
+    @Test
+    public void testOtherExceptionsAreNotWrapped() {
+        try {
+            getMapperFacade(false).map(newPerson("Nowhere"), PersonDto.class);
+            Assert.fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("unknown city: Nowhere", e.getMessage());
+        }
+    }
+}
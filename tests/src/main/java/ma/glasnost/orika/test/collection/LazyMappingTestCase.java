@@ -0,0 +1,187 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import ma.glasnost.orika.CustomMapper;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.metadata.Type;
+import ma.glasnost.orika.metadata.TypeFactory;
+import ma.glasnost.orika.test.MappingUtil;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyMappingTestCase {
+
+    public static class Source {
+        public int id;
+        public Source shared;
+    }
+
+    public static class Destination {
+        public int id;
+        public Destination shared;
+    }
+
+    public static class SpecialSource extends Source {
+        public String label;
+    }
+
+    public static class SpecialDestination extends Destination {
+        public String label;
+    }
+
+    private final AtomicInteger mapped = new AtomicInteger();
+    private MapperFacade mapper;
+
+    @Before
+    public void setUp() {
+        MapperFactory factory = MappingUtil.getMapperFactory();
+        factory.classMap(Source.class, Destination.class).byDefault().customize(new CustomMapper<Source, Destination>() {
+            @Override
+            public void mapAtoB(Source a, Destination b, MappingContext context) {
+                mapped.incrementAndGet();
+            }
+        }).register();
+        factory.classMap(SpecialSource.class, SpecialDestination.class).byDefault().use(Source.class, Destination.class).register();
+        mapper = factory.getMapperFacade();
+    }
+
+    private static List<Source> sources(int count) {
+        List<Source> sources = new ArrayList<Source>(count);
+        for (int i = 0; i < count; ++i) {
+            Source source = new Source();
+            source.id = i;
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    @Test
+    public void testElementsAreMappedOnDemand() {
+        List<Source> sources = sources(5);
+        sources.add(2, null);
+
+        Iterable<Destination> destinations = mapper.mapAsIterable(sources, Destination.class);
+        Assert.assertEquals(0, mapped.get());
+
+        Iterator<Destination> iterator = destinations.iterator();
+        Assert.assertEquals(0, iterator.next().id);
+        Assert.assertEquals(1, mapped.get());
+
+        List<Integer> ids = new ArrayList<Integer>();
+        ids.add(0);
+        while (iterator.hasNext()) {
+            ids.add(iterator.next().id);
+        }
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), ids);
+        Assert.assertEquals(5, mapped.get());
+
+        try {
+            iterator.next();
+            Assert.fail("expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+
+        Assert.assertEquals(0, destinations.iterator().next().id);
+        Assert.assertEquals(6, mapped.get());
+    }
+
+    @Test
+    public void testNoStateIsRetainedBetweenElements() {
+        List<Source> sources = sources(2);
+        Source shared = new Source();
+        sources.get(0).shared = shared;
+        sources.get(1).shared = shared;
+
+        Iterator<Destination> iterator = mapper.mapAsIterable(sources, Destination.class).iterator();
+
+        Assert.assertNotSame(iterator.next().shared, iterator.next().shared);
+    }
+
+    @Test
+    public void testMapAsStream() {
+        Type<Source> sourceType = TypeFactory.valueOf(Source.class);
+        Type<Destination> destinationType = TypeFactory.valueOf(Destination.class);
+        List<Source> sources = sources(1000);
+
+        Stream<Destination> stream = mapper.mapAsStream(sources.stream(), sourceType, destinationType);
+        Assert.assertEquals(0, mapped.get());
+
+        List<Destination> sequential = stream.limit(10).collect(Collectors.<Destination> toList());
+        Assert.assertEquals(10, sequential.size());
+        Assert.assertEquals(9, sequential.get(9).id);
+        Assert.assertEquals(10, mapped.get());
+
+        sources.add(500, null);
+        List<Destination> parallel = mapper.mapAsStream(sources.parallelStream(), sourceType, destinationType)
+                .collect(Collectors.<Destination> toList());
+        Assert.assertEquals(1000, parallel.size());
+        for (int i = 0; i < parallel.size(); ++i) {
+            Assert.assertEquals(i, parallel.get(i).id);
+        }
+    }
+
+    @Test
+    public void testMapAsStreamByClass() {
+        List<Source> sources = sources(3);
+        sources.add(1, null);
+
+        Stream<Destination> stream = mapper.mapAsStream(sources.stream(), Destination.class);
+        Assert.assertEquals(0, mapped.get());
+
+        List<Destination> destinations = stream.collect(Collectors.<Destination> toList());
+        Assert.assertEquals(3, destinations.size());
+        Assert.assertEquals(2, destinations.get(2).id);
+        Assert.assertEquals(3, mapped.get());
+    }
+
+    @Test
+    public void testMapAsStreamByClassWithMixedSourceClasses() {
+        List<Source> sources = sources(4);
+        SpecialSource special = new SpecialSource();
+        special.id = 4;
+        special.label = "special";
+        sources.add(2, special);
+
+        List<Destination> destinations = mapper.mapAsStream(sources.stream(), Destination.class).collect(
+                Collectors.<Destination> toList());
+
+        Assert.assertEquals(5, destinations.size());
+        for (int i = 0; i < destinations.size(); ++i) {
+            Assert.assertEquals(i == 2 ? SpecialDestination.class : Destination.class, destinations.get(i).getClass());
+        }
+        Assert.assertEquals(4, destinations.get(2).id);
+        Assert.assertEquals("special", ((SpecialDestination) destinations.get(2)).label);
+        Assert.assertEquals(3, destinations.get(4).id);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.collection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.metadata.TypeFactory;
+import ma.glasnost.orika.test.MappingUtil;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelMappingTestCase {
+
+    public static class Source {
+        public int id;
+        public Source shared;
+    }
+
+    public static class Destination {
+        public int id;
+        public Destination shared;
+    }
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static List<Source> sources(int count) {
+        List<Source> sources = new ArrayList<Source>(count);
+        for (int i = 0; i < count; ++i) {
+            Source source = new Source();
+            source.id = i;
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    @Test
+    public void testOrderIsPreserved() {
+        MapperFacade mapper = MappingUtil.getMapperFactory().getMapperFacade();
+        List<Source> sources = sources(1000);
+
+        List<Destination> fromList = mapper.mapAsListParallel(sources, Destination.class, executor, 7);
+        List<Destination> fromIterable = mapper.mapAsListParallel(new LinkedHashSet<Source>(sources), Destination.class, executor, 64);
+        List<Destination> fromArray = mapper.mapAsListParallel(sources.toArray(new Source[0]), Destination.class, executor, 1000);
+
+        for (List<Destination> result : new List[] { fromList, fromIterable, fromArray }) {
+            Assert.assertEquals(sources.size(), result.size());
+            for (int i = 0; i < sources.size(); ++i) {
+                Assert.assertEquals(i, result.get(i).id);
+            }
+        }
+    }
+
+    @Test
+    public void testNullElementsAreSkipped() {
+        MapperFacade mapper = MappingUtil.getMapperFactory().getMapperFacade();
+        List<Source> sources = sources(10);
+        sources.add(3, null);
+        sources.add(null);
+
+        List<Destination> result = mapper.mapAsListParallel(sources, Destination.class, executor, 4);
+
+        Assert.assertEquals(10, result.size());
+        Assert.assertEquals(9, result.get(9).id);
+        Assert.assertNull(mapper.mapAsListParallel((List<Source>) null, TypeFactory.valueOf(Source.class),
+                TypeFactory.valueOf(Destination.class), executor, 4));
+    }
+
+    @Test
+    public void testSharedReferencesAreTrackedWithinChunks() {
+        MapperFacade mapper = MappingUtil.getMapperFactory().getMapperFacade();
+        List<Source> sources = sources(4);
+        Source shared = new Source();
+        for (Source source : sources) {
+            source.shared = shared;
+        }
+
+        List<Destination> result = mapper.mapAsListParallel(sources, Destination.class, executor, 2);
+
+        Assert.assertSame(result.get(0).shared, result.get(1).shared);
+        Assert.assertSame(result.get(2).shared, result.get(3).shared);
+        Assert.assertNotSame(result.get(1).shared, result.get(2).shared);
+    }
+
+    @Test
+    public void testBoundMapperFacade() {
+        MapperFactory factory = MappingUtil.getMapperFactory();
+        BoundMapperFacade<Source, Destination> mapper = factory.getMapperFacade(Source.class, Destination.class);
+        List<Source> sources = sources(100);
+
+        List<Destination> destinations = mapper.mapAsListParallel(sources, executor, 9);
+        List<Source> reversed = mapper.mapReverseAsListParallel(destinations, executor, 9);
+
+        Assert.assertEquals(100, reversed.size());
+        for (int i = 0; i < sources.size(); ++i) {
+            Assert.assertEquals(i, destinations.get(i).id);
+            Assert.assertEquals(i, reversed.get(i).id);
+        }
+    }
+
+    @Test
+    public void testBoundMapperFacadeSkipsNullElements() {
+        BoundMapperFacade<Source, Destination> mapper = MappingUtil.getMapperFactory().getMapperFacade(Source.class, Destination.class);
+        List<Source> sources = sources(10);
+        sources.add(3, null);
+        sources.add(null);
+
+        List<Destination> destinations = mapper.mapAsListParallel(sources, executor, 4);
+        Assert.assertEquals(10, destinations.size());
+        Assert.assertEquals(9, destinations.get(9).id);
+
+        destinations.add(0, null);
+        List<Source> reversed = mapper.mapReverseAsListParallel(destinations, executor, 4);
+        Assert.assertEquals(10, reversed.size());
+        Assert.assertEquals(9, reversed.get(9).id);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkSize() {
+        MappingUtil.getMapperFactory().getMapperFacade().mapAsListParallel(sources(10), Destination.class, executor, 0);
+    }
+}
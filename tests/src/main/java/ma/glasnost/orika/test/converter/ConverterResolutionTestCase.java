@@ -122,6 +122,24 @@ public class ConverterResolutionTestCase {
         }
     }
     
+    @Test
+    public void testResolveConverterRegisteredAfterFailedLookup() {
+        MapperFactory factory = MappingUtil.getMapperFactory();
+        
+        ConverterFactory converterFactory = factory.getConverterFactory();
+        Type<Name> nameType = TypeFactory.valueOf(Name.class);
+        Type<String> stringType = TypeFactory.valueOf(String.class);
+        
+        Assert.assertNull(converterFactory.getConverter(nameType, stringType));
+        Assert.assertFalse(converterFactory.canConvert(nameType, stringType));
+        
+        converterFactory.registerConverter(new NameToStringConverter());
+        
+        Converter<?, ?> converter = converterFactory.getConverter(nameType, stringType);
+        Assert.assertEquals(NameToStringConverter.class, converter.getClass());
+        Assert.assertSame(converter, converterFactory.getConverter(nameType, stringType));
+    }
+    
     @Test
     public void testResolveOverriddenConverter() {
         PassThroughConverter cc = new PassThroughConverter(Date.class, Calendar.class);
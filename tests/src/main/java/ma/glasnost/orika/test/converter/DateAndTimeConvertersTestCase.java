@@ -22,7 +22,10 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
 
+import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 
 import org.junit.Assert;
@@ -200,6 +203,46 @@ public class DateAndTimeConvertersTestCase {
 		Assert.assertEquals(now, reverse);
 	}
 	
+	@Test
+	public void testXmlGregorianCalendarConversionsMatchGregorianCalendar() throws Exception {
+		MapperFacade mapper = MappingUtil.getMapperFactory().getMapperFacade();
+		DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+		
+		/*
+		 * Daylight saving transitions, local mean time offsets of seconds,
+		 * and dates of the Julian calendar
+		 */
+		long[] instants = { 0L, -1L, 1490489999999L, 1490490000000L, 1509238800000L, 1509242400123L, -2240524800000L,
+				-30610224000000L, -62135769600001L, System.currentTimeMillis() };
+		String[] calendars = { "2017-03-26T02:30:00", "2017-10-29T02:30:00.25", "2017-10-29T02:30:00.25+01:00",
+				"2017-07-14", "2017-07-14T10:15:30.123456789-05:30", "1000-01-01T00:00:00Z", "1900-01-01T00:00:00" };
+		TimeZone defaultTimeZone = TimeZone.getDefault();
+		try {
+			for (String timeZone : new String[] { "UTC", "Europe/Paris", "Europe/Amsterdam", "America/New_York" }) {
+				TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+				for (long instant : instants) {
+					GregorianCalendar calendar = new GregorianCalendar();
+					calendar.setTimeInMillis(instant);
+					XMLGregorianCalendar expected = datatypeFactory.newXMLGregorianCalendar(calendar);
+					
+					XMLGregorianCalendar xml = mapper.map(instant, XMLGregorianCalendar.class);
+					Assert.assertEquals(expected.toXMLFormat(), xml.toXMLFormat());
+					Assert.assertEquals(expected.toXMLFormat(), mapper.map(new Date(instant), XMLGregorianCalendar.class).toXMLFormat());
+					Assert.assertEquals(expected.toGregorianCalendar().getTimeInMillis(), (long) mapper.map(xml, Long.class));
+				}
+				for (String lexicalRepresentation : calendars) {
+					XMLGregorianCalendar xml = datatypeFactory.newXMLGregorianCalendar(lexicalRepresentation);
+					long expected = xml.toGregorianCalendar().getTimeInMillis();
+					
+					Assert.assertEquals(expected, (long) mapper.map(xml, Long.class));
+					Assert.assertEquals(expected, mapper.map(xml, Timestamp.class).getTime());
+				}
+			}
+		} finally {
+			TimeZone.setDefault(defaultTimeZone);
+		}
+	}
+	
 	@Test
 	public void testLongToDateConverter() {
 		MapperFactory factory = MappingUtil.getMapperFactory();
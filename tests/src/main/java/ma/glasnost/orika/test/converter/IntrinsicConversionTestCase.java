@@ -0,0 +1,214 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.converter;
+
+import java.util.Date;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.MappingException;
+import ma.glasnost.orika.converter.builtin.EnumConverter;
+import ma.glasnost.orika.converter.builtin.NumericConverters.IntegerToShortConverter;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.metadata.Type;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntrinsicConversionTestCase {
+    
+    public enum Color {
+        RED, GREEN
+    }
+    
+    public enum Colour {
+        RED, GREEN
+    }
+    
+    public static class Reading {
+        public int level;
+        public Integer peak;
+        public long count;
+        public Date taken;
+        public Color color;
+        public int code;
+        public Double ratio;
+        public String total;
+        public String colour;
+    }
+    
+    public static class ReadingDto {
+        public short level;
+        public Short peak;
+        public int count;
+        public Long taken;
+        public Colour color;
+        public String code;
+        public String ratio;
+        public Integer total;
+        public Colour colour;
+    }
+    
+    private static MapperFacade newMapper(boolean inline) {
+        MapperFactory factory = new DefaultMapperFactory.Builder().inlineBuiltinConverters(inline).build();
+        factory.classMap(Reading.class, ReadingDto.class).byDefault().register();
+        return factory.getMapperFacade();
+    }
+    
+    private static Reading newReading() {
+        Reading reading = new Reading();
+        reading.level = 12;
+        reading.peak = -300;
+        reading.count = 4000000L;
+        reading.taken = new Date(1234567890L);
+        reading.color = Color.GREEN;
+        reading.code = 42;
+        reading.ratio = 0.25;
+        reading.total = "77";
+        reading.colour = "RED";
+        return reading;
+    }
+    
+    @Test
+    public void testInlineConversionsMatchConverters() {
+        for (boolean inline : new boolean[] { true, false }) {
+            MapperFacade mapper = newMapper(inline);
+            ReadingDto dto = mapper.map(newReading(), ReadingDto.class);
+            
+            Assert.assertEquals(12, dto.level);
+            Assert.assertEquals(Short.valueOf((short) -300), dto.peak);
+            Assert.assertEquals(4000000, dto.count);
+            Assert.assertEquals(Long.valueOf(1234567890L), dto.taken);
+            Assert.assertEquals(Colour.GREEN, dto.color);
+            Assert.assertEquals("42", dto.code);
+            Assert.assertEquals("0.25", dto.ratio);
+            Assert.assertEquals(Integer.valueOf(77), dto.total);
+            Assert.assertEquals(Colour.RED, dto.colour);
+            
+            Reading reverse = mapper.map(dto, Reading.class);
+            Assert.assertEquals(-300, reverse.peak.intValue());
+            Assert.assertEquals(1234567890L, reverse.taken.getTime());
+            Assert.assertEquals(Color.GREEN, reverse.color);
+            Assert.assertEquals(42, reverse.code);
+            Assert.assertEquals("77", reverse.total);
+        }
+    }
+    
+    @Test
+    public void testNullsAreNotConverted() {
+        Reading reading = newReading();
+        reading.peak = null;
+        reading.taken = null;
+        reading.color = null;
+        reading.ratio = null;
+        reading.total = null;
+        
+        ReadingDto dto = newMapper(true).map(reading, ReadingDto.class);
+        Assert.assertNull(dto.peak);
+        Assert.assertNull(dto.taken);
+        Assert.assertNull(dto.color);
+        Assert.assertNull(dto.ratio);
+        Assert.assertNull(dto.total);
+    }
+    
+    @Test
+    public void testInlineConversionsReportOverflow() {
+        Reading reading = newReading();
+        reading.level = Short.MAX_VALUE + 1;
+        try {
+            newMapper(true).map(reading, ReadingDto.class);
+            Assert.fail("overflow should have been reported");
+        } catch (MappingException e) {
+            Assert.assertTrue(e.getCause() instanceof ArithmeticException);
+        }
+    }
+    
+    @Test
+    public void testInlineConversionsTruncateWhenConfigured() {
+        MapperFactory factory = new DefaultMapperFactory.Builder().useBuiltinConverters(false).build();
+        factory.getConverterFactory().registerConverter(new IntegerToShortConverter(true));
+        factory.classMap(Reading.class, ReadingDto.class).field("level", "level").field("peak", "peak").register();
+        
+        Reading reading = new Reading();
+        reading.level = Short.MAX_VALUE + 1;
+        reading.peak = 70000;
+        ReadingDto dto = factory.getMapperFacade(Reading.class, ReadingDto.class).map(reading);
+        
+        Assert.assertEquals(Short.MIN_VALUE, dto.level);
+        Assert.assertEquals(Short.valueOf((short) 70000), dto.peak);
+    }
+    
+    /**
+     * Clamps values out of range, rather than reporting an overflow
+     */
+    public static class ClampingIntegerToShortConverter extends IntegerToShortConverter {
+        
+        public ClampingIntegerToShortConverter() {
+            super(false);
+        }
+        
+        @Override
+        public Short convertTo(Integer source, Type<Short> destinationType, MappingContext context) {
+            return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, source));
+        }
+    }
+    
+    /**
+     * Maps each constant to the constant of the opposite ordinal
+     */
+    public static class ReversingEnumConverter extends EnumConverter {
+        
+        @Override
+        public Object convert(Object source, Type<? extends Object> destinationType, MappingContext context) {
+            Object[] constants = destinationType.getRawType().getEnumConstants();
+            return constants[constants.length - 1 - ((Enum<?>) source).ordinal()];
+        }
+    }
+    
+    @Test
+    public void testOverriddenBuiltinConvertersAreCalled() {
+        MapperFactory factory = new DefaultMapperFactory.Builder().useBuiltinConverters(false).inlineBuiltinConverters(true).build();
+        factory.getConverterFactory().registerConverter(new ClampingIntegerToShortConverter());
+        factory.getConverterFactory().registerConverter(new ReversingEnumConverter());
+        factory.classMap(Reading.class, ReadingDto.class).field("level", "level").field("color", "color").register();
+        
+        Reading reading = new Reading();
+        reading.level = Short.MAX_VALUE + 1;
+        reading.color = Color.GREEN;
+        ReadingDto dto = factory.getMapperFacade(Reading.class, ReadingDto.class).map(reading);
+        
+        Assert.assertEquals(Short.MAX_VALUE, dto.level);
+        Assert.assertEquals(Colour.RED, dto.color);
+    }
+    
+    @Test
+    public void testInvalidEnumNameIsReported() {
+        Reading reading = newReading();
+        reading.colour = "BLUE";
+        for (boolean inline : new boolean[] { true, false }) {
+            try {
+                newMapper(inline).map(reading, ReadingDto.class);
+                Assert.fail("invalid name should have been reported");
+            } catch (MappingException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+            }
+        }
+    }
+}
@@ -21,8 +21,13 @@ package ma.glasnost.orika.test.converter;
 import java.math.BigDecimal;
 
 import ma.glasnost.orika.CustomConverter;
+import ma.glasnost.orika.MapperFacade;
 import ma.glasnost.orika.MapperFactory;
 import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.MappingException;
+import ma.glasnost.orika.converter.BidirectionalConverter;
+import ma.glasnost.orika.converter.primitive.FromLongConverter;
+import ma.glasnost.orika.converter.primitive.ToLongConverter;
 import ma.glasnost.orika.metadata.Type;
 import ma.glasnost.orika.test.MappingUtil;
 
@@ -58,6 +63,142 @@ public class PrimitiveConversionTestCase {
         Assert.assertTrue(target.getValue() == 10.0);
     }
     
+    @Test
+    public void testPrimitiveConverterInterfacesAreUsed() {
+        MapperFactory factory = MappingUtil.getMapperFactory();
+        factory.getConverterFactory().registerConverter(new CentsConverter());
+        factory.classMap(Order.class, OrderDto.class).byDefault().register();
+        MapperFacade mapper = factory.getMapperFacade();
+        
+        Order order = new Order();
+        order.price = 1999L;
+        order.discount = Long.valueOf(250L);
+        
+        OrderDto dto = mapper.map(order, OrderDto.class);
+        Assert.assertEquals("19.99", dto.price.amount.toString());
+        Assert.assertEquals("2.50", dto.discount.amount.toString());
+        
+        Order reverse = mapper.map(dto, Order.class);
+        Assert.assertEquals(1999L, reverse.price);
+        Assert.assertEquals(Long.valueOf(250L), reverse.discount);
+        
+        order.discount = null;
+        Assert.assertNull(mapper.map(order, OrderDto.class).discount);
+    }
+    
+    @Test
+    public void testOverriddenBoxedConversionIsCalled() {
+        MapperFactory factory = MappingUtil.getMapperFactory();
+        factory.getConverterFactory().registerConverter(new DollarsConverter());
+        factory.classMap(Order.class, OrderDto.class).byDefault().register();
+        MapperFacade mapper = factory.getMapperFacade();
+        
+        Order order = new Order();
+        order.price = 19L;
+        order.discount = Long.valueOf(2L);
+        
+        OrderDto dto = mapper.map(order, OrderDto.class);
+        Assert.assertEquals("19", dto.price.amount.toString());
+        Assert.assertEquals("2", dto.discount.amount.toString());
+        
+        Order reverse = mapper.map(dto, Order.class);
+        Assert.assertEquals(19L, reverse.price);
+        Assert.assertEquals(Long.valueOf(2L), reverse.discount);
+    }
+    
+    @Test
+    public void testPrimitiveConversionOverflowIsReported() {
+        MapperFactory factory = MappingUtil.getMapperFactory();
+        factory.classMap(Quantity.class, QuantityDto.class).byDefault().register();
+        MapperFacade mapper = factory.getMapperFacade();
+        
+        Quantity quantity = new Quantity();
+        quantity.value = Integer.MAX_VALUE;
+        Assert.assertEquals(Integer.MAX_VALUE, mapper.map(quantity, QuantityDto.class).value);
+        Assert.assertEquals(Integer.MAX_VALUE, mapper.map(mapper.map(quantity, QuantityDto.class), Quantity.class).value);
+        
+        quantity.value = Integer.MAX_VALUE + 1L;
+        try {
+            mapper.map(quantity, QuantityDto.class);
+            Assert.fail("overflow should have been reported");
+        } catch (MappingException e) {
+            Assert.assertTrue(e.getCause() instanceof ArithmeticException);
+        }
+    }
+    
+    /**
+     * Converts an amount of cents to a Money; the boxed conversion methods are
+     * not supported, so that only the primitive ones can be used
+     */
+    public static class CentsConverter extends BidirectionalConverter<Long, Money> implements ToLongConverter<Money>,
+            FromLongConverter<Money> {
+        
+        @Override
+        public Money convertTo(Long source, Type<Money> destinationType, MappingContext mappingContext) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public Long convertFrom(Money source, Type<Long> destinationType, MappingContext mappingContext) {
+            throw new UnsupportedOperationException();
+        }
+        
+        public long convertToLong(Money source, MappingContext mappingContext) {
+            return source.amount.movePointRight(2).longValueExact();
+        }
+        
+        public Money convertFromLong(long source, Type<? extends Money> destinationType, MappingContext mappingContext) {
+            return Money.of(BigDecimal.valueOf(source, 2));
+        }
+    }
+    
+    /**
+     * Converts an amount of whole dollars to a Money, overriding only the boxed
+     * conversion methods of CentsConverter
+     */
+    public static class DollarsConverter extends CentsConverter {
+        
+        @Override
+        public Money convertTo(Long source, Type<Money> destinationType, MappingContext mappingContext) {
+            return Money.of(BigDecimal.valueOf(source));
+        }
+        
+        @Override
+        public Long convertFrom(Money source, Type<Long> destinationType, MappingContext mappingContext) {
+            return source.amount.longValueExact();
+        }
+    }
+    
+    public static class Money {
+        private final BigDecimal amount;
+        
+        private Money(BigDecimal amount) {
+            this.amount = amount;
+        }
+        
+        public static Money of(BigDecimal amount) {
+            return new Money(amount);
+        }
+    }
+    
+    public static class Order {
+        public long price;
+        public Long discount;
+    }
+    
+    public static class OrderDto {
+        public Money price;
+        public Money discount;
+    }
+    
+    public static class Quantity {
+        public long value;
+    }
+    
+    public static class QuantityDto {
+        public int value;
+    }
+    
     public static class A {
         private BigDecimal value;
         
@@ -22,15 +22,20 @@ import ma.glasnost.orika.CustomConverter;
 import ma.glasnost.orika.MapperFacade;
 import ma.glasnost.orika.MapperFactory;
 import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.MappingException;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
 import ma.glasnost.orika.metadata.Type;
 import ma.glasnost.orika.test.MappingUtil;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.Book;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.BookDTOWithAltCaseEnum;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.BookDTOWithAlternateEnum;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.BookDTOWithParallelEnum;
+import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.BookDTOWithPartialEnum;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.BookDTOWithSameEnum;
+import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.BookDTOWithStringFormat;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.BookImpl;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.PublicationFormat;
+import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.PublicationFormatDTOPartial;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.PublicationFormatDTOAltCase;
 import ma.glasnost.orika.test.enums.EnumsTestCaseClasses.PublicationFormatDTOAlternate;
 
@@ -129,4 +134,46 @@ public class EnumsTestCase {
         Assert.assertEquals("PUB_" + book.getFormat().toString(), mappedBook.getFormat().toString());
     }
     
+    @Test
+    public void testMapPartialEnum() {
+        for (boolean useBuiltinConverters : new boolean[] { true, false }) {
+            MapperFactory factory = new DefaultMapperFactory.Builder().useBuiltinConverters(useBuiltinConverters).build();
+            MapperFacade mapper = factory.getMapperFacade();
+            
+            Book book = createBook();
+            Assert.assertEquals(PublicationFormatDTOPartial.EBOOK, mapper.map(book, BookDTOWithPartialEnum.class).getFormat());
+            book.setFormat(PublicationFormat.HARDBACK);
+            Assert.assertEquals(PublicationFormatDTOPartial.HARDBACK, mapper.map(book, BookDTOWithPartialEnum.class).getFormat());
+            
+            book.setFormat(PublicationFormat.SOFTBACK);
+            try {
+                mapper.map(book, BookDTOWithPartialEnum.class);
+                Assert.fail("unmappable constant should have been reported");
+            } catch (MappingException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+                Assert.assertTrue(e.getCause().getMessage().endsWith(PublicationFormatDTOPartial.class.getSimpleName() + ".SOFTBACK"));
+            }
+        }
+    }
+    
+    @Test
+    public void testMapStringToEnum() {
+        for (boolean useBuiltinConverters : new boolean[] { true, false }) {
+            MapperFactory factory = new DefaultMapperFactory.Builder().useBuiltinConverters(useBuiltinConverters).build();
+            MapperFacade mapper = factory.getMapperFacade();
+            
+            BookDTOWithStringFormat dto = new BookDTOWithStringFormat();
+            dto.setFormat("SOFTBACK");
+            Assert.assertEquals(PublicationFormat.SOFTBACK, mapper.map(dto, BookImpl.class).getFormat());
+            
+            dto.setFormat("PAPERBACK");
+            try {
+                mapper.map(dto, BookImpl.class);
+                Assert.fail("unknown name should have been reported");
+            } catch (MappingException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+            }
+        }
+    }
+    
 }
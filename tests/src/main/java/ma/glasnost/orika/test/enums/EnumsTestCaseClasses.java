@@ -42,6 +42,10 @@ public interface EnumsTestCaseClasses {
 		PUB_HARDBACK, PUB_SOFTBACK, PUB_EBOOK;
 	}
 	
+	public enum PublicationFormatDTOPartial {
+		EBOOK, HARDBACK;
+	}
+	
 	public interface Book {
 		
 		public String getTitle();
@@ -164,4 +168,48 @@ public interface EnumsTestCaseClasses {
 		}
 	}
 	
+	
+	public class BookDTOWithPartialEnum {
+
+		private String title;
+		private PublicationFormatDTOPartial format;
+
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+		
+		public PublicationFormatDTOPartial getFormat() {
+			return format;
+		}
+		
+		public void setFormat(PublicationFormatDTOPartial format) {
+			this.format = format;
+		}
+	}
+	
+	public class BookDTOWithStringFormat {
+
+		private String title;
+		private String format;
+
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+		
+		public String getFormat() {
+			return format;
+		}
+		
+		public void setFormat(String format) {
+			this.format = format;
+		}
+	}
 }
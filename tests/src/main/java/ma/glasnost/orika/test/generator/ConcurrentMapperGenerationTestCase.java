@@ -0,0 +1,266 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.generator;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.CompilerStrategy;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+import ma.glasnost.orika.impl.generator.SourceCodeContext;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentMapperGenerationTestCase {
+
+    private static final String THREAD_NAME_PREFIX = "orika-build-";
+
+    private ExecutorService executor;
+
+    public static class Address {
+        public String street;
+        public String city;
+    }
+
+    public static class AddressDto {
+        public String street;
+        public String city;
+    }
+
+    public static class Line {
+        public String sku;
+        public int quantity;
+    }
+
+    public static class LineDto {
+        public String sku;
+        public long quantity;
+    }
+
+    public static class Party {
+        public String name;
+        public Address address;
+    }
+
+    public static class PartyDto {
+        public String name;
+        public AddressDto address;
+    }
+
+    public static class Customer extends Party {
+        public String email;
+    }
+
+    public static class CustomerDto extends PartyDto {
+        public String email;
+    }
+
+    public static class Order {
+        public Customer customer;
+        public Address shipTo;
+        public List<Line> lines;
+        public Line[] backorders;
+    }
+
+    public static class OrderDto {
+        public CustomerDto customer;
+        public AddressDto shipTo;
+        public List<LineDto> lines;
+        public LineDto[] backorders;
+    }
+
+    /**
+     * Records the threads on which classes were compiled, and the (name
+     * independent) source they were compiled from
+     */
+    private static class RecordingCompilerStrategy extends CompilerStrategy {
+
+        private final CompilerStrategy delegate = new JavassistCompilerStrategy();
+        private final Set<String> threads = new ConcurrentSkipListSet<String>();
+        private final Set<String> sources = new ConcurrentSkipListSet<String>();
+        private final Set<ClassLoader> contextClassLoaders = Collections.newSetFromMap(new ConcurrentHashMap<ClassLoader, Boolean>());
+
+        RecordingCompilerStrategy() {
+            super("false", "false");
+        }
+
+        public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
+            threads.add(Thread.currentThread().getName());
+            contextClassLoaders.add(Thread.currentThread().getContextClassLoader());
+            sources.add(sourceCode.toSourceFile().replace(sourceCode.getClassSimpleName(), "Generated"));
+            return delegate.compileClass(sourceCode);
+        }
+
+        public void assureTypeIsAccessible(Class<?> type) throws SourceCodeGenerationException {
+            delegate.assureTypeIsAccessible(type);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            public Thread newThread(Runnable r) {
+                return new Thread(r, THREAD_NAME_PREFIX + count.incrementAndGet());
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static MapperFactory configure(DefaultMapperFactory.Builder builder, CompilerStrategy compilerStrategy) {
+        MapperFactory factory = builder.compilerStrategy(compilerStrategy).usePrecompiledMappers(false).build();
+        factory.classMap(Address.class, AddressDto.class).byDefault().register();
+        factory.classMap(Line.class, LineDto.class).byDefault().register();
+        factory.classMap(Party.class, PartyDto.class).byDefault().register();
+        factory.classMap(Customer.class, CustomerDto.class).use(Party.class, PartyDto.class).byDefault().register();
+        factory.classMap(Order.class, OrderDto.class).byDefault().register();
+        return factory;
+    }
+
+    private static Order newOrder() {
+        Address address = new Address();
+        address.street = "1 Main St";
+        address.city = "Springfield";
+
+        Customer customer = new Customer();
+        customer.name = "Jane";
+        customer.email = "jane@example.com";
+        customer.address = address;
+
+        Line line = new Line();
+        line.sku = "A-1";
+        line.quantity = 3;
+        Line backorder = new Line();
+        backorder.sku = "B-2";
+        backorder.quantity = 1;
+
+        Order order = new Order();
+        order.customer = customer;
+        order.shipTo = address;
+        order.lines = new ArrayList<Line>(Arrays.asList(line));
+        order.backorders = new Line[] { backorder };
+        return order;
+    }
+
+    private static void assertMapped(OrderDto result) {
+        Assert.assertEquals("Jane", result.customer.name);
+        Assert.assertEquals("jane@example.com", result.customer.email);
+        Assert.assertEquals("Springfield", result.customer.address.city);
+        Assert.assertEquals("1 Main St", result.shipTo.street);
+        Assert.assertEquals(1, result.lines.size());
+        Assert.assertEquals("A-1", result.lines.get(0).sku);
+        Assert.assertEquals(3L, result.lines.get(0).quantity);
+        Assert.assertEquals(1, result.backorders.length);
+        Assert.assertEquals("B-2", result.backorders[0].sku);
+    }
+
+    @Test
+    public void testMappersAreGeneratedOnTheBuildExecutor() {
+        RecordingCompilerStrategy compilerStrategy = new RecordingCompilerStrategy();
+        MapperFacade mapper = configure(new DefaultMapperFactory.Builder().buildExecutor(executor), compilerStrategy).getMapperFacade();
+
+        Assert.assertFalse(compilerStrategy.threads.isEmpty());
+        for (String thread : compilerStrategy.threads) {
+            Assert.assertTrue(thread + " is not a build thread", thread.startsWith(THREAD_NAME_PREFIX));
+        }
+
+        OrderDto result = mapper.map(newOrder(), OrderDto.class);
+        assertMapped(result);
+
+        Order reverse = mapper.map(result, Order.class);
+        Assert.assertEquals("jane@example.com", reverse.customer.email);
+        Assert.assertEquals("B-2", reverse.backorders[0].sku);
+    }
+
+    @Test
+    public void testBuildExecutorUsesTheContextClassLoaderOfTheBuildingThread() throws Exception {
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        URLClassLoader buildingClassLoader = new URLClassLoader(new URL[0], original);
+        RecordingCompilerStrategy compilerStrategy = new RecordingCompilerStrategy();
+        ((ThreadPoolExecutor) executor).prestartAllCoreThreads();
+        Thread.currentThread().setContextClassLoader(buildingClassLoader);
+        try {
+            configure(new DefaultMapperFactory.Builder().buildExecutor(executor), compilerStrategy).getMapperFacade();
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+            buildingClassLoader.close();
+        }
+
+        Assert.assertEquals(Collections.singleton(buildingClassLoader), compilerStrategy.contextClassLoaders);
+        for (int i = 0; i < 4; ++i) {
+            ClassLoader workerClassLoader = executor.submit(new Callable<ClassLoader>() {
+                public ClassLoader call() {
+                    return Thread.currentThread().getContextClassLoader();
+                }
+            }).get();
+            Assert.assertSame(original, workerClassLoader);
+        }
+    }
+
+    @Test
+    public void testConcurrentGenerationMatchesSequentialMapping() {
+        MapperFacade sequential = configure(new DefaultMapperFactory.Builder(), new JavassistCompilerStrategy()).getMapperFacade();
+        MapperFacade concurrent = configure(new DefaultMapperFactory.Builder().buildExecutor(executor), new JavassistCompilerStrategy())
+                .getMapperFacade();
+
+        OrderDto expected = sequential.map(newOrder(), OrderDto.class);
+        OrderDto actual = concurrent.map(newOrder(), OrderDto.class);
+        assertMapped(expected);
+        assertMapped(actual);
+    }
+
+    @Test
+    public void testConcurrentGenerationIsDeterministic() {
+        Set<String> sources = null;
+        for (int i = 0; i < 5; ++i) {
+            RecordingCompilerStrategy compilerStrategy = new RecordingCompilerStrategy();
+            configure(new DefaultMapperFactory.Builder().buildExecutor(executor), compilerStrategy).getMapperFacade();
+            if (sources == null) {
+                sources = new TreeSet<String>(compilerStrategy.sources);
+            } else {
+                Assert.assertEquals(sources, compilerStrategy.sources);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.generator;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import ma.glasnost.orika.Mapper;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.OrikaSystemProperties;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.CompilerStrategy;
+import ma.glasnost.orika.impl.generator.EclipseJdtCompilerStrategy;
+import ma.glasnost.orika.impl.generator.JaninoCompilerStrategy;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+import ma.glasnost.orika.metadata.MapperKey;
+import ma.glasnost.orika.metadata.TypeFactory;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GeneratedClassCacheTestCase {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File cacheDirectory;
+    private String writeClassFiles;
+
+    public static class Source {
+        public String name;
+        public int count;
+    }
+
+    public static class Destination {
+        public String name;
+        public long count;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        cacheDirectory = new File(temporaryFolder.getRoot(), "cache");
+        System.setProperty(OrikaSystemProperties.GENERATED_CLASS_CACHE_DIRECTORY, cacheDirectory.getAbsolutePath());
+        /*
+         * Class files written to the class-path would be found there, rather
+         * than defined from the cache
+         */
+        writeClassFiles = System.setProperty(OrikaSystemProperties.WRITE_CLASS_FILES, "false");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(OrikaSystemProperties.GENERATED_CLASS_CACHE_DIRECTORY);
+        if (writeClassFiles != null) {
+            System.setProperty(OrikaSystemProperties.WRITE_CLASS_FILES, writeClassFiles);
+        } else {
+            System.clearProperty(OrikaSystemProperties.WRITE_CLASS_FILES);
+        }
+    }
+
+    private static Class<?> generateMapper(CompilerStrategy compilerStrategy) {
+        MapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(compilerStrategy)
+                .usePrecompiledMappers(false)
+                .build();
+        factory.classMap(Source.class, Destination.class).byDefault().register();
+
+        Source source = new Source();
+        source.name = "cached";
+        source.count = 5;
+        Destination destination = factory.getMapperFacade().map(source, Destination.class);
+        Assert.assertEquals("cached", destination.name);
+        Assert.assertEquals(5L, destination.count);
+
+        Mapper<Object, Object> mapper = factory.lookupMapper(new MapperKey(TypeFactory.valueOf(Source.class),
+                TypeFactory.valueOf(Destination.class)));
+        return mapper.getClass();
+    }
+
+    private static Class<?> generateMapperIn(ClassLoader classLoader) {
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            return generateMapper(new JavassistCompilerStrategy());
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    @Test
+    public void testCachedClassIsReused() throws Exception {
+        ClassLoader parent = Thread.currentThread().getContextClassLoader();
+        URLClassLoader firstRun = new URLClassLoader(new URL[0], parent);
+        URLClassLoader secondRun = new URLClassLoader(new URL[0], parent);
+        try {
+            Class<?> compiled = generateMapperIn(firstRun);
+            Assert.assertSame(firstRun, compiled.getClassLoader());
+
+            File[] entries = cacheDirectory.listFiles();
+            Assert.assertNotNull(entries);
+            Assert.assertEquals(1, entries.length);
+
+            /*
+             * The same configuration in the same class-loader reuses the class
+             * already defined there
+             */
+            Assert.assertSame(compiled, generateMapperIn(firstRun));
+
+            /*
+             * A separate class-loader stands in for a restarted JVM; the class
+             * is defined from the cached bytecode, under its original name
+             */
+            Class<?> cached = generateMapperIn(secondRun);
+            Assert.assertNotSame(compiled, cached);
+            Assert.assertEquals(compiled.getName(), cached.getName());
+            Assert.assertSame(secondRun, cached.getClassLoader());
+
+            Assert.assertEquals(1, cacheDirectory.listFiles().length);
+        } finally {
+            firstRun.close();
+            secondRun.close();
+        }
+    }
+
+    @Test
+    public void testCachedClassIsReusedByEclipseJdt() throws Exception {
+        /*
+         * Each EclipseJdtCompilerStrategy defines classes in its own
+         * class-loader
+         */
+        Class<?> compiled = generateMapper(new EclipseJdtCompilerStrategy());
+        Class<?> cached = generateMapper(new EclipseJdtCompilerStrategy());
+
+        Assert.assertNotSame(compiled, cached);
+        Assert.assertEquals(compiled.getName(), cached.getName());
+        Assert.assertEquals(1, cacheDirectory.listFiles().length);
+    }
+
+    @Test
+    public void testCachedClassIsReusedByJanino() throws Exception {
+        /*
+         * Each JaninoCompilerStrategy defines classes in its own class-loader
+         */
+        Class<?> compiled = generateMapper(new JaninoCompilerStrategy());
+        Assert.assertEquals(1, cacheDirectory.listFiles().length);
+        File entry = cacheDirectory.listFiles()[0];
+        long written = entry.lastModified();
+
+        Class<?> cached = generateMapper(new JaninoCompilerStrategy());
+
+        Assert.assertNotSame(compiled, cached);
+        Assert.assertEquals(compiled.getName(), cached.getName());
+        Assert.assertEquals(1, cacheDirectory.listFiles().length);
+        Assert.assertEquals(written, entry.lastModified());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.generator;
+
+import java.lang.ref.WeakReference;
+
+import ma.glasnost.orika.Mapper;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.OrikaSystemProperties;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.BytecodeCompilerStrategy;
+import ma.glasnost.orika.impl.generator.CompilerStrategy;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+import ma.glasnost.orika.metadata.MapperKey;
+import ma.glasnost.orika.metadata.TypeFactory;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IsolatedGeneratedClassesTestCase {
+
+    public static class Source {
+        public String name;
+        public int count;
+    }
+
+    public static class Destination {
+        public String name;
+        public long count;
+    }
+
+    static class PackagePrivateDestination {
+        public String name;
+        public long count;
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(OrikaSystemProperties.ISOLATE_GENERATED_CLASSES);
+    }
+
+    private static Class<?> generateMapper(CompilerStrategy compilerStrategy) {
+        MapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(compilerStrategy)
+                .usePrecompiledMappers(false)
+                .build();
+        factory.classMap(Source.class, Destination.class).byDefault().register();
+
+        Source source = new Source();
+        source.name = "isolated";
+        source.count = 5;
+        Destination destination = factory.getMapperFacade().map(source, Destination.class);
+        Assert.assertEquals("isolated", destination.name);
+        Assert.assertEquals(5L, destination.count);
+
+        Mapper<Object, Object> mapper = factory.lookupMapper(new MapperKey(TypeFactory.valueOf(Source.class),
+                TypeFactory.valueOf(Destination.class)));
+        return mapper.getClass();
+    }
+
+    @Test
+    public void testClassesAreDefinedInContextClassLoaderByDefault() {
+        Class<?> mapperClass = generateMapper(new JavassistCompilerStrategy());
+        Assert.assertSame(Thread.currentThread().getContextClassLoader(), mapperClass.getClassLoader());
+    }
+
+    @Test
+    public void testClassesAreDefinedInIsolatedClassLoader() {
+        System.setProperty(OrikaSystemProperties.ISOLATE_GENERATED_CLASSES, "true");
+        CompilerStrategy compilerStrategy = new JavassistCompilerStrategy();
+        Class<?> mapperClass = generateMapper(compilerStrategy);
+
+        ClassLoader isolatedLoader = mapperClass.getClassLoader();
+        Assert.assertNotSame(Thread.currentThread().getContextClassLoader(), isolatedLoader);
+        Assert.assertSame(Thread.currentThread().getContextClassLoader(), isolatedLoader.getParent());
+
+        /*
+         * Every factory using the same strategy shares its class-loader
+         */
+        Assert.assertSame(isolatedLoader, generateMapper(compilerStrategy).getClassLoader());
+        Assert.assertNotSame(isolatedLoader, generateMapper(new JavassistCompilerStrategy()).getClassLoader());
+    }
+
+    @Test
+    public void testEmittedClassesAreDefinedInIsolatedClassLoader() {
+        System.setProperty(OrikaSystemProperties.ISOLATE_GENERATED_CLASSES, "true");
+        Class<?> mapperClass = generateMapper(new BytecodeCompilerStrategy());
+        Assert.assertSame(Thread.currentThread().getContextClassLoader(), mapperClass.getClassLoader().getParent());
+    }
+
+    @Test
+    public void testClassesForPackagePrivateTypesAreNotIsolated() {
+        System.setProperty(OrikaSystemProperties.ISOLATE_GENERATED_CLASSES, "true");
+        for (CompilerStrategy compilerStrategy : new CompilerStrategy[] { new JavassistCompilerStrategy(), new BytecodeCompilerStrategy() }) {
+            MapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(compilerStrategy)
+                    .usePrecompiledMappers(false)
+                    .build();
+            factory.classMap(Source.class, PackagePrivateDestination.class).byDefault().register();
+
+            Source source = new Source();
+            source.name = "package-private";
+            source.count = 7;
+            PackagePrivateDestination destination = factory.getMapperFacade().map(source, PackagePrivateDestination.class);
+            Assert.assertEquals("package-private", destination.name);
+            Assert.assertEquals(7L, destination.count);
+
+            Mapper<Object, Object> mapper = factory.lookupMapper(new MapperKey(TypeFactory.valueOf(Source.class),
+                    TypeFactory.valueOf(PackagePrivateDestination.class)));
+            Assert.assertSame(Thread.currentThread().getContextClassLoader(), mapper.getClass().getClassLoader());
+        }
+    }
+
+    @Test
+    public void testIsolatedClassesAreUnloaded() throws InterruptedException {
+        System.setProperty(OrikaSystemProperties.ISOLATE_GENERATED_CLASSES, "true");
+        WeakReference<Class<?>> mapperClass = new WeakReference<Class<?>>(generateMapper(new JavassistCompilerStrategy()));
+
+        for (int i = 0; i < 50 && mapperClass.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(mapperClass.get());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.generator;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.OrikaSystemProperties;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.CompilerStrategy;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+import ma.glasnost.orika.impl.generator.MapperPrecompiler;
+import ma.glasnost.orika.impl.generator.PrecompiledCompilerStrategy;
+import ma.glasnost.orika.impl.generator.SourceCodeContext;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PrecompiledMapperTestCase {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    public static class Source {
+        public String name;
+        public int count;
+    }
+
+    public static class Destination {
+        public String name;
+        public int count;
+        public String label;
+    }
+
+    /**
+     * Counts the classes which had to be compiled at runtime
+     */
+    private static class CountingCompilerStrategy extends CompilerStrategy {
+
+        private final CompilerStrategy delegate = new JavassistCompilerStrategy();
+        private final AtomicInteger compiled = new AtomicInteger();
+
+        CountingCompilerStrategy() {
+            super("false", "false");
+        }
+
+        public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
+            compiled.incrementAndGet();
+            return delegate.compileClass(sourceCode);
+        }
+
+        public void assureTypeIsAccessible(Class<?> type) throws SourceCodeGenerationException {
+            delegate.assureTypeIsAccessible(type);
+        }
+    }
+
+    private static MapperFacade configure(MapperFactory factory, boolean mapLabel) {
+        if (mapLabel) {
+            factory.classMap(Source.class, Destination.class).field("name", "label").byDefault().register();
+        } else {
+            factory.classMap(Source.class, Destination.class).byDefault().register();
+        }
+        return factory.getMapperFacade();
+    }
+
+    private static Source newSource() {
+        Source source = new Source();
+        source.name = "name";
+        source.count = 3;
+        return source;
+    }
+
+    @Test
+    public void testPrecompiledClassesAreLoaded() throws Exception {
+        File outputDirectory = temporaryFolder.newFolder("classes");
+
+        MapperPrecompiler precompiler = new MapperPrecompiler(outputDirectory);
+        configure(new DefaultMapperFactory.Builder().compilerStrategy(precompiler).usePrecompiledMappers(false).build(), false);
+
+        Assert.assertEquals(1, precompiler.getPrecompiledClassCount());
+        Assert.assertTrue(new File(outputDirectory, PrecompiledCompilerStrategy.INDEX_RESOURCE).isFile());
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        URLClassLoader precompiledLoader = new URLClassLoader(new URL[] { outputDirectory.toURI().toURL() }, original);
+        Thread.currentThread().setContextClassLoader(precompiledLoader);
+        try {
+            CountingCompilerStrategy unchanged = new CountingCompilerStrategy();
+            MapperFacade mapper = configure(new DefaultMapperFactory.Builder().compilerStrategy(unchanged).usePrecompiledMappers(true)
+                    .build(), false);
+
+            Destination result = mapper.map(newSource(), Destination.class);
+            Assert.assertEquals("name", result.name);
+            Assert.assertEquals(3, result.count);
+            Assert.assertNull(result.label);
+            Assert.assertEquals(0, unchanged.compiled.get());
+
+            CountingCompilerStrategy changed = new CountingCompilerStrategy();
+            mapper = configure(new DefaultMapperFactory.Builder().compilerStrategy(changed).usePrecompiledMappers(true).build(), true);
+
+            result = mapper.map(newSource(), Destination.class);
+            Assert.assertEquals("name", result.label);
+            Assert.assertTrue(changed.compiled.get() > 0);
+
+            CountingCompilerStrategy disabled = new CountingCompilerStrategy();
+            configure(new DefaultMapperFactory.Builder().compilerStrategy(disabled).usePrecompiledMappers(false).build(), false);
+            Assert.assertTrue(disabled.compiled.get() > 0);
+
+            CountingCompilerStrategy byDefault = new CountingCompilerStrategy();
+            configure(new DefaultMapperFactory.Builder().compilerStrategy(byDefault).build(), false);
+            Assert.assertTrue(byDefault.compiled.get() > 0);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+            precompiledLoader.close();
+        }
+    }
+
+    @Test
+    public void testGeneratedClassCacheIsBypassed() throws Exception {
+        File outputDirectory = temporaryFolder.newFolder("classes");
+        File cacheDirectory = temporaryFolder.newFolder("cache");
+        System.setProperty(OrikaSystemProperties.GENERATED_CLASS_CACHE_DIRECTORY, cacheDirectory.getAbsolutePath());
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        URLClassLoader cachingRun = new URLClassLoader(new URL[0], original);
+        URLClassLoader precompilingRun = new URLClassLoader(new URL[0], original);
+        try {
+            Thread.currentThread().setContextClassLoader(cachingRun);
+            configure(new DefaultMapperFactory.Builder().compilerStrategy(new JavassistCompilerStrategy()).usePrecompiledMappers(false)
+                    .build(), false);
+            Assert.assertEquals(1, cacheDirectory.listFiles().length);
+
+            /*
+             * The class provided by the (warm) cache must still be compiled,
+             * so that it is written and indexed
+             */
+            Thread.currentThread().setContextClassLoader(precompilingRun);
+            MapperPrecompiler precompiler = new MapperPrecompiler(outputDirectory);
+            configure(new DefaultMapperFactory.Builder().compilerStrategy(precompiler).usePrecompiledMappers(false).build(), false);
+
+            Assert.assertEquals(1, precompiler.getPrecompiledClassCount());
+        } finally {
+            System.clearProperty(OrikaSystemProperties.GENERATED_CLASS_CACHE_DIRECTORY);
+            Thread.currentThread().setContextClassLoader(original);
+            cachingRun.close();
+            precompilingRun.close();
+        }
+    }
+}
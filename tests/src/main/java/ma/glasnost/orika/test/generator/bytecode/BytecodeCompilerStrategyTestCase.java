@@ -0,0 +1,297 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.generator.bytecode;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import ma.glasnost.orika.CustomMapper;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.BytecodeCompilerStrategy;
+import ma.glasnost.orika.impl.generator.CompilerStrategy;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+import ma.glasnost.orika.impl.generator.PrecompiledCompilerStrategy;
+import ma.glasnost.orika.impl.generator.SourceCodeContext;
+import ma.glasnost.orika.metadata.MapperKey;
+import ma.glasnost.orika.metadata.Type;
+import ma.glasnost.orika.metadata.TypeBuilder;
+import ma.glasnost.orika.metadata.TypeFactory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BytecodeCompilerStrategyTestCase {
+
+    public static class Person {
+        private String name;
+        private int age;
+        private Long id;
+        private boolean active;
+        public String email;
+        public double score;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    public static class PersonDto {
+        private String name;
+        private int age;
+        private Long id;
+        private boolean active;
+        public String email;
+        public double score;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    public static class Holder<T> {
+        private T value;
+
+        public T getValue() {
+            return value;
+        }
+
+        public void setValue(T value) {
+            this.value = value;
+        }
+    }
+
+    public static class StringHolder {
+        public String value;
+    }
+
+    public static class Team {
+        public String name;
+        public Person lead;
+    }
+
+    public static class TeamDto {
+        public String name;
+        public PersonDto lead;
+    }
+
+    /**
+     * Records the names of the classes compiled from source
+     */
+    private static class RecordingBytecodeCompilerStrategy extends BytecodeCompilerStrategy {
+
+        private final Set<String> compiled = new ConcurrentSkipListSet<String>();
+
+        public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
+            Class<?> compiledClass = super.compileClass(sourceCode);
+            compiled.add(compiledClass.getName());
+            return compiledClass;
+        }
+    }
+
+    private static MapperFactory newMapperFactory(CompilerStrategy compilerStrategy, boolean mapNulls) {
+        return new DefaultMapperFactory.Builder().compilerStrategy(compilerStrategy).usePrecompiledMappers(false).mapNulls(mapNulls).build();
+    }
+
+    private static Person newPerson() {
+        Person person = new Person();
+        person.setName("Jim");
+        person.setAge(42);
+        person.setActive(true);
+        person.email = "jim@example.com";
+        person.score = 1.5;
+        return person;
+    }
+
+    private static void assertEmitted(MapperFactory factory, RecordingBytecodeCompilerStrategy compilerStrategy, Type<?> aType, Type<?> bType) {
+        Class<?> mapperClass = factory.lookupMapper(new MapperKey(aType, bType)).getClass();
+        Assert.assertFalse(mapperClass.getName() + " was compiled from source", compilerStrategy.compiled.contains(mapperClass.getName()));
+    }
+
+    @Test
+    public void testMapperIsEmitted() {
+        RecordingBytecodeCompilerStrategy compilerStrategy = new RecordingBytecodeCompilerStrategy();
+        MapperFactory factory = newMapperFactory(compilerStrategy, true);
+        factory.classMap(Person.class, PersonDto.class).byDefault().register();
+        MapperFacade mapper = factory.getMapperFacade();
+
+        PersonDto result = mapper.map(newPerson(), PersonDto.class);
+        assertEmitted(factory, compilerStrategy, TypeFactory.valueOf(Person.class), TypeFactory.valueOf(PersonDto.class));
+
+        Assert.assertEquals("Jim", result.getName());
+        Assert.assertEquals(42, result.getAge());
+        Assert.assertNull(result.getId());
+        Assert.assertTrue(result.isActive());
+        Assert.assertEquals("jim@example.com", result.email);
+        Assert.assertEquals(1.5, result.score, 0.0);
+
+        result.setId(7L);
+        Person reverse = mapper.map(result, Person.class);
+        Assert.assertEquals(Long.valueOf(7L), reverse.getId());
+        Assert.assertEquals("jim@example.com", reverse.email);
+    }
+
+    @Test
+    public void testMapperIsEmittedBehindPrecompiledStrategy() {
+        RecordingBytecodeCompilerStrategy compilerStrategy = new RecordingBytecodeCompilerStrategy();
+        MapperFactory factory = newMapperFactory(new PrecompiledCompilerStrategy(compilerStrategy, getClass().getClassLoader()), true);
+        factory.classMap(Person.class, PersonDto.class).byDefault().register();
+
+        PersonDto result = factory.getMapperFacade().map(newPerson(), PersonDto.class);
+        assertEmitted(factory, compilerStrategy, TypeFactory.valueOf(Person.class), TypeFactory.valueOf(PersonDto.class));
+        Assert.assertEquals("Jim", result.getName());
+    }
+
+    @Test
+    public void testNullsAreMappedAsFromSource() {
+        for (boolean mapNulls : new boolean[] { true, false }) {
+            MapperFacade emitted = newMapperFactory(new BytecodeCompilerStrategy(), mapNulls).getMapperFacade();
+            MapperFacade compiled = newMapperFactory(new JavassistCompilerStrategy(), mapNulls).getMapperFacade();
+
+            for (MapperFacade mapper : new MapperFacade[] { emitted, compiled }) {
+                Person source = newPerson();
+                source.setName(null);
+                source.email = null;
+                PersonDto destination = new PersonDto();
+                destination.setName("unchanged");
+                destination.email = "unchanged";
+                destination.setId(3L);
+
+                mapper.map(source, destination);
+
+                Assert.assertEquals(mapNulls ? null : "unchanged", destination.getName());
+                Assert.assertEquals(mapNulls ? null : "unchanged", destination.email);
+                Assert.assertEquals(mapNulls ? null : Long.valueOf(3L), destination.getId());
+                Assert.assertEquals(42, destination.getAge());
+            }
+        }
+    }
+
+    @Test
+    public void testCustomMapperIsApplied() {
+        RecordingBytecodeCompilerStrategy compilerStrategy = new RecordingBytecodeCompilerStrategy();
+        MapperFactory factory = newMapperFactory(compilerStrategy, true);
+        factory.classMap(Person.class, PersonDto.class).byDefault().customize(new CustomMapper<Person, PersonDto>() {
+            public void mapAtoB(Person a, PersonDto b, MappingContext context) {
+                b.setName(a.getName().toUpperCase());
+            }
+        }).register();
+
+        PersonDto result = factory.getMapperFacade().map(newPerson(), PersonDto.class);
+        assertEmitted(factory, compilerStrategy, TypeFactory.valueOf(Person.class), TypeFactory.valueOf(PersonDto.class));
+        Assert.assertEquals("JIM", result.getName());
+        Assert.assertEquals("jim@example.com", result.email);
+    }
+
+    @Test
+    public void testGenericPropertyIsCast() {
+        RecordingBytecodeCompilerStrategy compilerStrategy = new RecordingBytecodeCompilerStrategy();
+        MapperFactory factory = newMapperFactory(compilerStrategy, true);
+        Type<Holder<String>> holderType = new TypeBuilder<Holder<String>>() {}.build();
+        Type<StringHolder> stringHolderType = TypeFactory.valueOf(StringHolder.class);
+        factory.classMap(holderType, stringHolderType).byDefault().register();
+
+        Holder<String> holder = new Holder<String>();
+        holder.setValue("value");
+        StringHolder result = factory.getMapperFacade().map(holder, holderType, stringHolderType);
+        assertEmitted(factory, compilerStrategy, holderType, stringHolderType);
+        Assert.assertEquals("value", result.value);
+
+        Holder<String> reverse = factory.getMapperFacade().map(result, stringHolderType, holderType);
+        Assert.assertEquals("value", reverse.getValue());
+    }
+
+    @Test
+    public void testOtherMappersAreCompiledFromSource() {
+        RecordingBytecodeCompilerStrategy compilerStrategy = new RecordingBytecodeCompilerStrategy();
+        MapperFactory factory = newMapperFactory(compilerStrategy, true);
+        factory.classMap(Team.class, TeamDto.class).byDefault().register();
+        factory.classMap(Person.class, PersonDto.class).byDefault().register();
+
+        Team team = new Team();
+        team.name = "A-Team";
+        team.lead = newPerson();
+        TeamDto result = factory.getMapperFacade().map(team, TeamDto.class);
+        Assert.assertEquals("A-Team", result.name);
+        Assert.assertEquals("Jim", result.lead.getName());
+
+        Class<?> teamMapperClass = factory.lookupMapper(new MapperKey(TypeFactory.valueOf(Team.class), TypeFactory.valueOf(TeamDto.class)))
+                .getClass();
+        Assert.assertTrue(compilerStrategy.compiled.contains(teamMapperClass.getName()));
+        assertEmitted(factory, compilerStrategy, TypeFactory.valueOf(Person.class), TypeFactory.valueOf(PersonDto.class));
+    }
+}
@@ -20,8 +20,12 @@ package ma.glasnost.orika.test.map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -29,6 +33,7 @@ import java.util.List;
 import org.junit.Test;
 
 import ma.glasnost.orika.Mapper;
+import ma.glasnost.orika.MappingContext;
 import ma.glasnost.orika.impl.GeneratedMapperBase;
 import ma.glasnost.orika.impl.MultipleMapperWrapper;
 import ma.glasnost.orika.metadata.Type;
@@ -134,6 +139,82 @@ public class MultipleMapperWrapperTest {
         
     }
     
+    /**
+     * The wrapper must keep dispatching to the right Mapper when the
+     * concrete classes of consecutive calls alternate between more pairs
+     * than it remembers inline.
+     */
+    @Test
+    public void testFindMapper_withAlternatingClasses() {
+        final List<String> calls = new ArrayList<String>();
+        List<Mapper<Object, Object>> mappers = new ArrayList<Mapper<Object, Object>>();
+        mappers.add(recordingMapper(new TypeBuilder<ASub>(){}.build(), new TypeBuilder<B>(){}.build(), "ASub", calls));
+        mappers.add(recordingMapper(new TypeBuilder<ASub2>(){}.build(), new TypeBuilder<B>(){}.build(), "ASub2", calls));
+        mappers.add(recordingMapper(new TypeBuilder<A>(){}.build(), new TypeBuilder<B>(){}.build(), "A", calls));
+        
+        @SuppressWarnings("unchecked")
+        MultipleMapperWrapper multipleMapper = new MultipleMapperWrapper((Type<Object>) (Type<?>) new TypeBuilder<A>(){}.build(),
+                (Type<Object>) (Type<?>) new TypeBuilder<B>(){}.build(), mappers);
+        
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 3; ++i) {
+            multipleMapper.mapAtoB(new ASubSub(), new B(), null);
+            multipleMapper.mapAtoB(new ASub2(), new BSub(), null);
+            multipleMapper.mapAtoB(new A(), new B(), null);
+            multipleMapper.mapBtoA(new BSub(), new ASub(), null);
+            expected.addAll(Arrays.asList("ASub", "ASub2", "A", "ASub"));
+        }
+        assertEquals(expected, calls);
+    }
+    
+    /**
+     * The mappers resolved by a wrapper (which may reach back to the wrapper
+     * itself, through the mapper facade) must not be retained by the mapped
+     * classes once the wrapper is discarded.
+     */
+    @Test
+    public void testDiscardedWrapperIsNotRetainedByMappedClasses() throws InterruptedException {
+        OwnedMapper mapper = new OwnedMapper();
+        mapper.setAType(new TypeBuilder<A>(){}.build());
+        mapper.setBType(new TypeBuilder<B>(){}.build());
+        
+        @SuppressWarnings("unchecked")
+        MultipleMapperWrapper multipleMapper = new MultipleMapperWrapper((Type<Object>) (Type<?>) new TypeBuilder<A>(){}.build(),
+                (Type<Object>) (Type<?>) new TypeBuilder<B>(){}.build(), Collections.singletonList((Mapper<Object, Object>) mapper));
+        mapper.owner = multipleMapper;
+        multipleMapper.mapAtoB(new ASub(), new BSub(), null);
+        
+        WeakReference<MultipleMapperWrapper> reference = new WeakReference<MultipleMapperWrapper>(multipleMapper);
+        multipleMapper = null;
+        mapper = null;
+        for (int i = 0; i < 50 && reference.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+    
+    private static class OwnedMapper extends GeneratedMapperBase {
+        Object owner;
+    }
+    
+    private static Mapper<Object, Object> recordingMapper(Type<?> aType, Type<?> bType, final String name, final List<String> calls) {
+        GeneratedMapperBase mapper = new GeneratedMapperBase() {
+            @Override
+            public void mapAtoB(Object a, Object b, MappingContext context) {
+                calls.add(name);
+            }
+            
+            @Override
+            public void mapBtoA(Object b, Object a, MappingContext context) {
+                calls.add(name);
+            }
+        };
+        mapper.setAType(aType);
+        mapper.setBType(bType);
+        return mapper;
+    }
+    
     private MultipleMapperWrapper createMultipleMapperWrapper(Type<?> aTypeMapper, Type<?> bTypeMapper, Type<?> aTypeWrapper,
             Type<?> bTypeWrapper) {
         GeneratedMapperBase generatedMapper = new GeneratedMapperBase() {
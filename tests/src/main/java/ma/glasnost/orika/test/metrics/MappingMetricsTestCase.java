@@ -0,0 +1,184 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.OrikaSystemProperties;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+import ma.glasnost.orika.metadata.TypeFactory;
+import ma.glasnost.orika.metrics.DefaultMappingMetrics;
+import ma.glasnost.orika.metrics.GenerationStatistics;
+import ma.glasnost.orika.metrics.MappingStatistics;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappingMetricsTestCase {
+
+    public static class Address {
+        public String city;
+    }
+
+    public static class AddressDto {
+        public String city;
+    }
+
+    public static class Person {
+        public String name;
+        public Address address;
+    }
+
+    public static class PersonDto {
+        public String name;
+        public AddressDto address;
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(OrikaSystemProperties.MAPPING_METRICS);
+    }
+
+    private static DefaultMapperFactory newMapperFactory(DefaultMappingMetrics metrics) {
+        DefaultMapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(new JavassistCompilerStrategy())
+                .usePrecompiledMappers(false)
+                .mappingMetrics(metrics)
+                .build();
+        factory.classMap(Person.class, PersonDto.class).byDefault().register();
+        factory.classMap(Address.class, AddressDto.class).byDefault().register();
+        return factory;
+    }
+
+    private static Person newPerson(String name) {
+        Person person = new Person();
+        person.name = name;
+        person.address = new Address();
+        person.address.city = "Casablanca";
+        return person;
+    }
+
+    private static MappingStatistics statisticsFor(DefaultMappingMetrics metrics, Class<?> sourceType, Class<?> destinationType) {
+        for (MappingStatistics statistics : metrics.getMappingStatistics()) {
+            if (statistics.getSourceType().equals(TypeFactory.valueOf(sourceType).toString())
+                    && statistics.getDestinationType().equals(TypeFactory.valueOf(destinationType).toString())) {
+                return statistics;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testMetricsAreDisabledByDefault() {
+        Assert.assertNull(new DefaultMapperFactory.Builder().build().getMappingMetrics());
+
+        System.setProperty(OrikaSystemProperties.MAPPING_METRICS, DefaultMappingMetrics.class.getName());
+        Assert.assertTrue(new DefaultMapperFactory.Builder().build().getMappingMetrics() instanceof DefaultMappingMetrics);
+    }
+
+    @Test
+    public void testMappingsAreRecordedPerTypePair() {
+        DefaultMappingMetrics metrics = new DefaultMappingMetrics();
+        MapperFacade mapper = newMapperFactory(metrics).getMapperFacade();
+
+        mapper.map(newPerson("Ahmed"), PersonDto.class);
+        mapper.map(newPerson("Fatima"), PersonDto.class);
+        List<PersonDto> result = mapper.mapAsList(Arrays.asList(newPerson("Omar"), newPerson("Salma"), newPerson("Youssef")),
+                PersonDto.class);
+        Assert.assertEquals("Youssef", result.get(2).name);
+
+        MappingStatistics persons = statisticsFor(metrics, Person.class, PersonDto.class);
+        Assert.assertEquals(5, persons.getCalls());
+        Assert.assertEquals(3, persons.getElements());
+        /*
+         * One strategy is resolved for the unbounded source type, and another
+         * for the source elements' type
+         */
+        Assert.assertEquals(2, persons.getCacheMisses());
+        Assert.assertTrue(persons.getTotalNanos() > 0);
+        Assert.assertTrue(persons.getCacheMissNanos() > 0);
+
+        /*
+         * Nested mappings are recorded for their own types, and included in
+         * the time spent on the enclosing mapping
+         */
+        MappingStatistics addresses = statisticsFor(metrics, Address.class, AddressDto.class);
+        Assert.assertEquals(5, addresses.getCalls());
+        Assert.assertEquals(0, addresses.getElements());
+        Assert.assertTrue(addresses.getTotalNanos() <= persons.getTotalNanos());
+        Assert.assertEquals(persons.getSourceType(), metrics.getMappingStatistics().get(0).getSourceType());
+
+        metrics.reset();
+        Assert.assertTrue(metrics.getMappingStatistics().isEmpty());
+    }
+
+    @Test
+    public void testBoundMappingsAreRecorded() {
+        DefaultMappingMetrics metrics = new DefaultMappingMetrics();
+        BoundMapperFacade<Person, PersonDto> mapper = newMapperFactory(metrics).getMapperFacade(Person.class, PersonDto.class);
+
+        PersonDto result = mapper.map(newPerson("Ahmed"));
+        mapper.map(newPerson("Fatima"), result);
+        mapper.mapReverse(result);
+
+        Assert.assertEquals(2, statisticsFor(metrics, Person.class, PersonDto.class).getCalls());
+        Assert.assertEquals(1, statisticsFor(metrics, PersonDto.class, Person.class).getCalls());
+    }
+
+    @Test
+    public void testMapperGenerationIsRecorded() {
+        DefaultMappingMetrics metrics = new DefaultMappingMetrics();
+        newMapperFactory(metrics).getMapperFacade();
+
+        Assert.assertEquals(2, metrics.getGenerationStatistics().size());
+        for (GenerationStatistics statistics : metrics.getGenerationStatistics()) {
+            Assert.assertEquals(1, statistics.getGenerations());
+            Assert.assertTrue(statistics.getCompileNanos() > 0);
+            Assert.assertTrue(statistics.getCompileNanos() <= statistics.getGenerationNanos());
+        }
+    }
+
+    @Test
+    public void testMetricsAreExposedThroughJmx() throws Exception {
+        DefaultMappingMetrics metrics = new DefaultMappingMetrics();
+        newMapperFactory(metrics).getMapperFacade().map(newPerson("Ahmed"), PersonDto.class);
+
+        ObjectName name = metrics.registerMBean("MappingMetricsTestCase");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            CompositeData[] statistics = (CompositeData[]) server.getAttribute(name, "MappingStatistics");
+            Assert.assertEquals(metrics.getMappingStatistics().size(), statistics.length);
+            Assert.assertEquals(metrics.getMappingStatistics().get(0).getCalls(), statistics[0].get("calls"));
+
+            server.invoke(name, "reset", null, null);
+            Assert.assertEquals(0, ((CompositeData[]) server.getAttribute(name, "MappingStatistics")).length);
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
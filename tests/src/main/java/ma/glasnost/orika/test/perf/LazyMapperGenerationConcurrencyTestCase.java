@@ -0,0 +1,245 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.perf;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ma.glasnost.orika.Mapper;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.GeneratedMapperBase;
+import ma.glasnost.orika.impl.generator.CompilerStrategy;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+import ma.glasnost.orika.impl.generator.SourceCodeContext;
+import ma.glasnost.orika.metadata.MapperKey;
+import ma.glasnost.orika.metadata.Type;
+import ma.glasnost.orika.metadata.TypeFactory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Many threads request the lazily generated mappers for a set of new type
+ * pairs at once; each pair must be generated only once, while the pairs are
+ * generated concurrently.
+ */
+public class LazyMapperGenerationConcurrencyTestCase extends DefaultMapperFactoryGenerationConcurrencyTestCase {
+
+    private static final int THREADS = 32;
+    private static final Class<?>[] VALUE_TYPES = { Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class,
+            Boolean.class, Character.class, String.class, BigDecimal.class, BigInteger.class, Date.class };
+
+    public static class Holder<T> {
+        public String name;
+        public T value;
+    }
+
+    public static class HolderDto<T> {
+        public String name;
+        public T value;
+    }
+
+    /**
+     * Counts the classes compiled, and the most compiled at once; the first
+     * compilation waits (for a while) for another one to begin
+     */
+    private static class CountingCompilerStrategy extends CompilerStrategy {
+
+        private final CompilerStrategy delegate = new JavassistCompilerStrategy();
+        private final AtomicInteger compiled = new AtomicInteger();
+        private final AtomicInteger compiling = new AtomicInteger();
+        private final AtomicInteger maxCompiling = new AtomicInteger();
+        private final CountDownLatch concurrentCompilation = new CountDownLatch(1);
+
+        CountingCompilerStrategy() {
+            super("false", "false");
+        }
+
+        public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
+            int current = compiling.incrementAndGet();
+            try {
+                int max;
+                do {
+                    max = maxCompiling.get();
+                } while (current > max && !maxCompiling.compareAndSet(max, current));
+                if (current > 1) {
+                    concurrentCompilation.countDown();
+                } else if (compiled.get() == 0) {
+                    concurrentCompilation.await(10, TimeUnit.SECONDS);
+                }
+                compiled.incrementAndGet();
+                return delegate.compileClass(sourceCode);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                compiling.decrementAndGet();
+            }
+        }
+
+        public void assureTypeIsAccessible(Class<?> type) throws SourceCodeGenerationException {
+            delegate.assureTypeIsAccessible(type);
+        }
+    }
+
+    @Test
+    public void lazyMappersAreGeneratedOnceAndConcurrently() throws Exception {
+        CountingCompilerStrategy compilerStrategy = new CountingCompilerStrategy();
+        DefaultMapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(compilerStrategy)
+                .usePrecompiledMappers(false)
+                .build();
+        final MapperFacade mapper = factory.getMapperFacade();
+
+        final List<Type<Holder<Object>>> sourceTypes = new ArrayList<Type<Holder<Object>>>();
+        final List<Type<HolderDto<Object>>> destinationTypes = new ArrayList<Type<HolderDto<Object>>>();
+        for (Class<?> valueType : VALUE_TYPES) {
+            sourceTypes.add(LazyMapperGenerationConcurrencyTestCase.<Holder<Object>> typeOf(Holder.class, valueType));
+            destinationTypes.add(LazyMapperGenerationConcurrencyTestCase.<HolderDto<Object>> typeOf(HolderDto.class, valueType));
+        }
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < THREADS; ++t) {
+            final int thread = t;
+            threads.add(new Thread(new Runnable() {
+                public void run() {
+                    List<Integer> order = new ArrayList<Integer>();
+                    for (int i = 0; i < VALUE_TYPES.length; ++i) {
+                        order.add(i);
+                    }
+                    Collections.shuffle(order, new Random(thread));
+                    try {
+                        start.await();
+                        for (int i : order) {
+                            Holder<Object> source = new Holder<Object>();
+                            source.name = "holder" + i;
+                            HolderDto<Object> result = mapper.map(source, sourceTypes.get(i), destinationTypes.get(i));
+                            Assert.assertEquals("holder" + i, result.name);
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }));
+        }
+
+        for (Thread t : threads) {
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        Assert.assertNull("caught unexpected exception: " + failure.get(), failure.get());
+        /*
+         * Concurrent requests for the same type pair share a single generation
+         */
+        Assert.assertEquals(VALUE_TYPES.length, compilerStrategy.compiled.get());
+        /*
+         * ...while requests for different type pairs are generated at once
+         */
+        Assert.assertTrue("mappers were not generated concurrently", compilerStrategy.maxCompiling.get() > 1);
+        for (int i = 0; i < VALUE_TYPES.length; ++i) {
+            Assert.assertTrue(factory.existsRegisteredMapper(sourceTypes.get(i), destinationTypes.get(i), true));
+        }
+    }
+
+    /**
+     * Blocks the compilation of the first mapper until released
+     */
+    private static class BlockingCompilerStrategy extends CompilerStrategy {
+
+        private final CompilerStrategy delegate = new JavassistCompilerStrategy();
+        private final CountDownLatch compiling = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger mappers = new AtomicInteger();
+
+        BlockingCompilerStrategy() {
+            super("false", "false");
+        }
+
+        public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
+            if (GeneratedMapperBase.class.equals(sourceCode.getSuperClass()) && mappers.getAndIncrement() == 0) {
+                compiling.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return delegate.compileClass(sourceCode);
+        }
+
+        public void assureTypeIsAccessible(Class<?> type) throws SourceCodeGenerationException {
+            delegate.assureTypeIsAccessible(type);
+        }
+    }
+
+    @Test
+    public void mapperRegisteredDuringGenerationIsShared() throws Exception {
+        BlockingCompilerStrategy compilerStrategy = new BlockingCompilerStrategy();
+        final DefaultMapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(compilerStrategy)
+                .usePrecompiledMappers(false)
+                .build();
+        factory.getMapperFacade();
+        final MapperKey key = new MapperKey(LazyMapperGenerationConcurrencyTestCase.<Holder<Object>> typeOf(Holder.class, String.class),
+                LazyMapperGenerationConcurrencyTestCase.<HolderDto<Object>> typeOf(HolderDto.class, String.class));
+
+        final AtomicReference<Mapper<?, ?>> generated = new AtomicReference<Mapper<?, ?>>();
+        Thread generating = new Thread(new Runnable() {
+            public void run() {
+                generated.set(factory.lookupMapper(key));
+            }
+        });
+        generating.start();
+        compilerStrategy.compiling.await();
+
+        /*
+         * A thread holding the factory lock generates the mapper itself,
+         * rather than waiting for the generation in progress
+         */
+        Mapper<?, ?> registered;
+        synchronized (factory) {
+            registered = factory.lookupMapper(key);
+        }
+        compilerStrategy.release.countDown();
+        generating.join();
+
+        Assert.assertNotNull(registered);
+        Assert.assertSame(registered, generated.get());
+        Assert.assertSame(registered, factory.lookupMapper(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Type<T> typeOf(Class<?> rawType, Class<?> valueType) {
+        return (Type<T>) TypeFactory.valueOf(rawType, valueType);
+    }
+}
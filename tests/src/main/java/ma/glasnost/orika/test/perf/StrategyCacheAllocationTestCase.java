@@ -0,0 +1,99 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ma.glasnost.orika.test.perf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.MappingContextFactory;
+import ma.glasnost.orika.MappingStrategy;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.metadata.Type;
+import ma.glasnost.orika.metadata.TypeFactory;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Verifies that resolving a previously resolved MappingStrategy does not
+ * allocate, using the per-thread allocation counters of the JVM (where
+ * supported).
+ *
+ */
+public class StrategyCacheAllocationTestCase {
+
+    private static final int ITERATIONS = 100000;
+
+    public static class A {
+        public String name;
+    }
+
+    public static class B {
+        public String name;
+    }
+
+    public static class C {
+        public String name;
+    }
+
+    @Test
+    public void testResolveStrategyDoesNotAllocateOnCacheHit() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assume.assumeTrue(allocationCounter.isThreadAllocatedMemorySupported());
+        allocationCounter.setThreadAllocatedMemoryEnabled(true);
+
+        MappingContextFactory contextFactory = new MappingContext.Factory();
+        MapperFactory factory = new DefaultMapperFactory.Builder().mappingContextFactory(contextFactory).build();
+        MapperFacade mapper = factory.getMapperFacade();
+        MappingContext context = contextFactory.getContext();
+
+        A source = new A();
+        Type<A> sourceType = TypeFactory.valueOf(A.class);
+        Type<B> bType = TypeFactory.valueOf(B.class);
+        Type<C> cType = TypeFactory.valueOf(C.class);
+
+        MappingStrategy toB = mapper.resolveMappingStrategy(source, sourceType, bType, false, context);
+        MappingStrategy toC = mapper.resolveMappingStrategy(source, null, C.class, false, context);
+        MappingStrategy toBInPlace = mapper.resolveMappingStrategy(source, sourceType, bType, true, context);
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocationCounter.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; ++i) {
+            if (mapper.resolveMappingStrategy(source, sourceType, bType, false, context) != toB
+                    || mapper.resolveMappingStrategy(source, null, C.class, false, context) != toC
+                    || mapper.resolveMappingStrategy(source, sourceType, bType, true, context) != toBInPlace) {
+                Assert.fail("expected the cached strategy to be returned");
+            }
+        }
+        long allocated = allocationCounter.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertEquals(cType, toC.getBType());
+        /*
+         * Allow for a small, fixed amount allocated by the measurement itself;
+         * allocating a cache key per resolution would amount to several
+         * megabytes here
+         */
+        Assert.assertTrue("allocated " + allocated + " bytes for " + (ITERATIONS * 3) + " resolutions", allocated < 64 * 1024);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ma.glasnost.orika.test.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ma.glasnost.orika.BoundMapperFacade;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.OrikaSystemProperties;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.StripedMappingContextFactory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StripedMappingContextFactoryTestCase {
+
+    public static class A {
+        public String name;
+        public A parent;
+    }
+
+    public static class B {
+        public String name;
+        public B parent;
+    }
+
+    @Test
+    public void testContextIsReusedByTheSameThread() {
+        StripedMappingContextFactory contextFactory = new StripedMappingContextFactory(4, 4);
+
+        MappingContext first = contextFactory.getContext();
+        contextFactory.release(first);
+        MappingContext second = contextFactory.getContext();
+
+        Assert.assertSame(first, second);
+        Assert.assertTrue(second.containsCycle());
+        Assert.assertEquals(1, contextFactory.getHitCount());
+        Assert.assertEquals(1, contextFactory.getMissCount());
+    }
+
+    @Test
+    public void testOverflowIsBounded() {
+        StripedMappingContextFactory contextFactory = new StripedMappingContextFactory(1, 1);
+
+        MappingContext first = contextFactory.getContext();
+        MappingContext second = contextFactory.getContext();
+        MappingContext third = contextFactory.getContext();
+        contextFactory.release(first);
+        contextFactory.release(second);
+        contextFactory.release(third);
+
+        contextFactory.getContext();
+        contextFactory.getContext();
+        contextFactory.getContext();
+
+        Assert.assertEquals(2, contextFactory.getHitCount());
+        Assert.assertEquals(4, contextFactory.getMissCount());
+    }
+
+    @Test
+    public void testNonCyclicContextsAreStriped() {
+        StripedMappingContextFactory contextFactory = new StripedMappingContextFactory(4, 4);
+        MapperFactory factory = new DefaultMapperFactory.Builder().mappingContextFactory(contextFactory).build();
+        BoundMapperFacade<A, B> mapper = factory.getMapperFacade(A.class, B.class, false);
+
+        A source = new A();
+        source.name = "test";
+        Assert.assertEquals("test", mapper.map(source).name);
+        long hits = contextFactory.getHitCount();
+        long misses = contextFactory.getMissCount();
+        Assert.assertEquals("test", mapper.map(source).name);
+        Assert.assertEquals(hits + 1, contextFactory.getHitCount());
+        Assert.assertEquals(misses, contextFactory.getMissCount());
+
+        MappingContext context = contextFactory.nonCyclic().getContext();
+        Assert.assertFalse(context.containsCycle());
+        Assert.assertSame(contextFactory.getGlobalProperties(), contextFactory.nonCyclic().getGlobalProperties());
+    }
+
+    @Test
+    public void testSelectedBySystemProperty() {
+        System.setProperty(OrikaSystemProperties.MAPPING_CONTEXT_FACTORY, StripedMappingContextFactory.class.getName());
+        try {
+            MapperFactory factory = new DefaultMapperFactory.Builder().build();
+            A source = new A();
+            source.name = "test";
+            Assert.assertEquals("test", factory.getMapperFacade().map(source, B.class).name);
+        } finally {
+            System.clearProperty(OrikaSystemProperties.MAPPING_CONTEXT_FACTORY);
+        }
+    }
+
+    @Test
+    public void testConcurrentMapping() throws InterruptedException {
+        final StripedMappingContextFactory contextFactory = new StripedMappingContextFactory();
+        MapperFactory factory = new DefaultMapperFactory.Builder().mappingContextFactory(contextFactory).build();
+        final MapperFacade mapper = factory.getMapperFacade();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final int threadCount = 16;
+        final int iterations = 2000;
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; ++t) {
+            final int threadIndex = t;
+            threads.add(new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        for (int i = 0; i < iterations; ++i) {
+                            A source = new A();
+                            source.name = threadIndex + ":" + i;
+                            source.parent = source;
+                            B result = mapper.map(source, B.class);
+                            if (!source.name.equals(result.name) || result.parent != result) {
+                                throw new AssertionError("unexpected result for " + source.name);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertNull("caught unexpected exception: " + failure.get(), failure.get());
+        Assert.assertTrue(contextFactory.getHitCount() + contextFactory.getMissCount() >= threadCount * iterations);
+        Assert.assertTrue(contextFactory.getHitCount() > contextFactory.getMissCount());
+    }
+}
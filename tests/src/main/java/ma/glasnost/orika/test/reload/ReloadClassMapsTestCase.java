@@ -0,0 +1,237 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.reload;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ma.glasnost.orika.CustomMapper;
+import ma.glasnost.orika.Mapper;
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MappingContext;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.impl.generator.CompilerStrategy.SourceCodeGenerationException;
+import ma.glasnost.orika.impl.generator.JavassistCompilerStrategy;
+import ma.glasnost.orika.impl.generator.SourceCodeContext;
+import ma.glasnost.orika.metadata.ClassMap;
+import ma.glasnost.orika.metadata.MapperKey;
+import ma.glasnost.orika.metadata.TypeFactory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReloadClassMapsTestCase {
+
+    public static class Person {
+        public String name;
+    }
+
+    public static class PersonDto {
+        public String name;
+        public String fullName;
+    }
+
+    public static class Team {
+        public String name;
+        public Person lead;
+    }
+
+    public static class TeamDto {
+        public String name;
+        public PersonDto lead;
+    }
+
+    public static class Address {
+        public String city;
+    }
+
+    public static class AddressDto {
+        public String city;
+    }
+
+    private static final MapperKey PERSON = new MapperKey(TypeFactory.valueOf(Person.class), TypeFactory.valueOf(PersonDto.class));
+    private static final MapperKey TEAM = new MapperKey(TypeFactory.valueOf(Team.class), TypeFactory.valueOf(TeamDto.class));
+    private static final MapperKey ADDRESS = new MapperKey(TypeFactory.valueOf(Address.class), TypeFactory.valueOf(AddressDto.class));
+
+    private static DefaultMapperFactory newMapperFactory() {
+        DefaultMapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(new JavassistCompilerStrategy())
+                .usePrecompiledMappers(false)
+                .build();
+        factory.classMap(Person.class, PersonDto.class).byDefault().register();
+        factory.classMap(Team.class, TeamDto.class).byDefault().register();
+        factory.classMap(Address.class, AddressDto.class).byDefault().register();
+        return factory;
+    }
+
+    private static ClassMap<Person, PersonDto> fullNameClassMap(DefaultMapperFactory factory) {
+        return factory.classMap(Person.class, PersonDto.class).field("name", "fullName").toClassMap();
+    }
+
+    private static Team newTeam() {
+        Team team = new Team();
+        team.name = "A-Team";
+        team.lead = new Person();
+        team.lead.name = "Hannibal";
+        return team;
+    }
+
+    @Test
+    public void testClassMapIsReplaced() {
+        DefaultMapperFactory factory = newMapperFactory();
+        MapperFacade mapper = factory.getMapperFacade();
+        Person person = newTeam().lead;
+        Mapper<Object, Object> previous = factory.lookupMapper(PERSON);
+        Assert.assertEquals("Hannibal", mapper.map(person, PersonDto.class).name);
+
+        factory.registerClassMap(fullNameClassMap(factory));
+
+        PersonDto result = mapper.map(person, PersonDto.class);
+        Assert.assertNull(result.name);
+        Assert.assertEquals("Hannibal", result.fullName);
+        Assert.assertNotSame(previous, factory.lookupMapper(PERSON));
+        Assert.assertEquals("Hannibal", mapper.map(result, Person.class).name);
+    }
+
+    @Test
+    public void testOnlyDependentMappersAreRegenerated() {
+        DefaultMapperFactory factory = newMapperFactory();
+        MapperFacade mapper = factory.getMapperFacade();
+        Assert.assertEquals("Hannibal", mapper.map(newTeam(), TeamDto.class).lead.name);
+        Mapper<Object, Object> teamMapper = factory.lookupMapper(TEAM);
+        Mapper<Object, Object> addressMapper = factory.lookupMapper(ADDRESS);
+
+        factory.registerClassMap(factory.classMap(Person.class, PersonDto.class).byDefault().customize(new CustomMapper<Person, PersonDto>() {
+            public void mapAtoB(Person a, PersonDto b, MappingContext context) {
+                b.fullName = a.name + " Smith";
+            }
+        }).toClassMap());
+
+        TeamDto result = mapper.map(newTeam(), TeamDto.class);
+        Assert.assertEquals("A-Team", result.name);
+        Assert.assertEquals("Hannibal", result.lead.name);
+        Assert.assertEquals("Hannibal Smith", result.lead.fullName);
+        Assert.assertNotSame(teamMapper, factory.lookupMapper(TEAM));
+        Assert.assertSame(addressMapper, factory.lookupMapper(ADDRESS));
+    }
+
+    @Test
+    public void testClassMapIsRemoved() {
+        DefaultMapperFactory factory = newMapperFactory();
+        factory.registerClassMap(fullNameClassMap(factory));
+        MapperFacade mapper = factory.getMapperFacade();
+        Assert.assertEquals("Hannibal", mapper.map(newTeam(), TeamDto.class).lead.fullName);
+
+        factory.unregisterClassMap(PERSON);
+        Assert.assertNull(factory.getClassMap(PERSON));
+
+        /*
+         * The mapping is generated again on demand, by default
+         */
+        TeamDto result = mapper.map(newTeam(), TeamDto.class);
+        Assert.assertEquals("Hannibal", result.lead.name);
+        Assert.assertNull(result.lead.fullName);
+    }
+
+    @Test
+    public void testClassMapWithoutDependentsIsRemoved() {
+        DefaultMapperFactory factory = new DefaultMapperFactory.Builder().compilerStrategy(new JavassistCompilerStrategy())
+                .usePrecompiledMappers(false)
+                .build();
+        factory.registerClassMap(fullNameClassMap(factory));
+        MapperFacade mapper = factory.getMapperFacade();
+        Person person = newTeam().lead;
+        Assert.assertEquals("Hannibal", mapper.map(person, PersonDto.class).fullName);
+
+        factory.unregisterClassMap(PERSON);
+        Assert.assertNull(factory.getClassMap(PERSON));
+
+        PersonDto result = mapper.map(person, PersonDto.class);
+        Assert.assertEquals("Hannibal", result.name);
+        Assert.assertNull(result.fullName);
+    }
+
+    @Test
+    public void testClassMapsAreReloadedTogether() {
+        DefaultMapperFactory factory = newMapperFactory();
+        MapperFacade mapper = factory.getMapperFacade();
+        Mapper<Object, Object> addressMapper = factory.lookupMapper(ADDRESS);
+
+        factory.reloadClassMaps(Arrays.asList(fullNameClassMap(factory),
+                factory.classMap(Team.class, TeamDto.class).field("lead", "lead").toClassMap()), Collections.singleton(ADDRESS));
+
+        TeamDto result = mapper.map(newTeam(), TeamDto.class);
+        Assert.assertNull(result.name);
+        Assert.assertEquals("Hannibal", result.lead.fullName);
+        Assert.assertNull(factory.getClassMap(ADDRESS));
+        Assert.assertNotSame(addressMapper, factory.lookupMapper(ADDRESS));
+    }
+
+    @Test
+    public void testClassMapsAreReloadedBeforeBuild() {
+        DefaultMapperFactory factory = newMapperFactory();
+        factory.reloadClassMaps(Collections.singleton(fullNameClassMap(factory)), Collections.singleton(ADDRESS));
+
+        Assert.assertNull(factory.getClassMap(ADDRESS));
+        Assert.assertEquals("Hannibal", factory.getMapperFacade().map(newTeam(), TeamDto.class).lead.fullName);
+    }
+
+    @Test
+    public void testMappersArePublishedTogether() throws InterruptedException {
+        final AtomicReference<DefaultMapperFactory> factory = new AtomicReference<DefaultMapperFactory>();
+        final AtomicReference<Mapper<Object, Object>> observedPersonMapper = new AtomicReference<Mapper<Object, Object>>();
+        final AtomicReference<Boolean> reloading = new AtomicReference<Boolean>(Boolean.FALSE);
+        factory.set(new DefaultMapperFactory.Builder().compilerStrategy(new JavassistCompilerStrategy() {
+            @Override
+            public Class<?> compileClass(SourceCodeContext sourceCode) throws SourceCodeGenerationException {
+                if (reloading.get() && sourceCode.getClassSimpleName().contains("TeamDto")) {
+                    /*
+                     * The Person mapper has been generated again by now, but
+                     * should not be visible to other threads until the Team
+                     * mapper which depends upon it is ready as well
+                     */
+                    Thread observer = new Thread() {
+                        public void run() {
+                            observedPersonMapper.set(factory.get().lookupMapper(PERSON));
+                        }
+                    };
+                    observer.start();
+                    try {
+                        observer.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.compileClass(sourceCode);
+            }
+        }).usePrecompiledMappers(false).build());
+        factory.get().classMap(Person.class, PersonDto.class).byDefault().register();
+        factory.get().classMap(Team.class, TeamDto.class).byDefault().register();
+        MapperFacade mapper = factory.get().getMapperFacade();
+        Mapper<Object, Object> personMapper = factory.get().lookupMapper(PERSON);
+
+        reloading.set(Boolean.TRUE);
+        factory.get().registerClassMap(fullNameClassMap(factory.get()));
+        reloading.set(Boolean.FALSE);
+
+        Assert.assertSame(personMapper, observedPersonMapper.get());
+        Assert.assertNotSame(personMapper, factory.get().lookupMapper(PERSON));
+        Assert.assertEquals("Hannibal", mapper.map(newTeam(), TeamDto.class).lead.fullName);
+    }
+}
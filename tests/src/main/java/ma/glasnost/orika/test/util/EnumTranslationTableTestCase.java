@@ -0,0 +1,79 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.util;
+
+import ma.glasnost.orika.impl.util.EnumTranslationTable;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EnumTranslationTableTestCase {
+
+    public enum Status {
+        NEW, ACTIVE {
+            @Override
+            public String toString() {
+                return "active";
+            }
+        },
+        CLOSED
+    }
+
+    public enum StatusDto {
+        CLOSED, NEW, ACTIVE
+    }
+
+    public enum LegacyStatus {
+        ACTIVE, NEW
+    }
+
+    @Test
+    public void testConstantsAreTranslatedByName() {
+        EnumTranslationTable table = EnumTranslationTable.valueOf(Status.class, StatusDto.class);
+        for (Status status : Status.values()) {
+            Assert.assertSame(StatusDto.valueOf(status.name()), table.translate(status));
+            Assert.assertSame(StatusDto.valueOf(status.name()), table.valueOf(status.name()));
+        }
+
+        EnumTranslationTable reverse = EnumTranslationTable.valueOf(StatusDto.class, Status.class);
+        Assert.assertSame(Status.ACTIVE, reverse.translate(StatusDto.ACTIVE));
+    }
+
+    @Test
+    public void testUnmappableConstantsFailLikeEnumValueOf() {
+        EnumTranslationTable table = EnumTranslationTable.valueOf(Status.class, LegacyStatus.class);
+        Assert.assertSame(LegacyStatus.NEW, table.translate(Status.NEW));
+        try {
+            table.translate(Status.CLOSED);
+            Assert.fail("CLOSED should not be translatable");
+        } catch (IllegalArgumentException e) {
+            try {
+                Enum.valueOf(LegacyStatus.class, "CLOSED");
+            } catch (IllegalArgumentException expected) {
+                Assert.assertEquals(expected.getMessage(), e.getMessage());
+            }
+        }
+        try {
+            table.valueOf("ARCHIVED");
+            Assert.fail("ARCHIVED should not be resolved");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().endsWith("LegacyStatus.ARCHIVED"));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ma.glasnost.orika.test.util;
+
+import ma.glasnost.orika.impl.util.MappedObjectCache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedObjectCacheTestCase {
+
+    @Test
+    public void testEntriesAreKeyedBySourceIdentityAndType() {
+        MappedObjectCache cache = new MappedObjectCache();
+        String source = new String("source");
+        String equalSource = new String("source");
+
+        cache.put(source, 1, "first");
+        cache.put(source, 2, "second");
+
+        Assert.assertEquals("first", cache.get(source, 1));
+        Assert.assertEquals("second", cache.get(source, 2));
+        Assert.assertNull(cache.get(source, 3));
+        Assert.assertNull(cache.get(equalSource, 1));
+
+        cache.put(source, 1, "replaced");
+        Assert.assertEquals("replaced", cache.get(source, 1));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testCacheGrowsAndIsReusedOnceCleared() {
+        MappedObjectCache cache = new MappedObjectCache();
+        for (int round = 0; round < 3; ++round) {
+            Object[] sources = new Object[10000];
+            for (int i = 0; i < sources.length; ++i) {
+                sources[i] = new Object();
+                cache.put(sources[i], i % 7, Integer.valueOf(i));
+            }
+            Assert.assertEquals(sources.length, cache.size());
+            for (int i = 0; i < sources.length; ++i) {
+                Assert.assertEquals(Integer.valueOf(i), cache.get(sources[i], i % 7));
+            }
+
+            cache.clear();
+            Assert.assertEquals(0, cache.size());
+            Assert.assertNull(cache.get(sources[0], 0));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Orika - simpler, better and faster Java bean mapping
+ *
+ * Copyright (C) 2011-2013 Orika authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ma.glasnost.orika.test.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import ma.glasnost.orika.metadata.MapperKey;
+import ma.glasnost.orika.metadata.TypeFactory;
+import ma.glasnost.orika.util.TypeHierarchyIndex;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TypeHierarchyIndexTestCase {
+
+    public interface Named {
+
+    }
+
+    public static class A1 {
+
+    }
+
+    public static class A2 extends A1 implements Named {
+
+    }
+
+    public static class A3 extends A2 {
+
+    }
+
+    public static class B1 {
+
+    }
+
+    private static MapperKey key(Class<?> aType, Class<?> bType) {
+        return new MapperKey(TypeFactory.valueOf(aType), TypeFactory.valueOf(bType));
+    }
+
+    @Test
+    public void testCandidatesIncludeAncestorsInSourceOrder() {
+
+        MapperKey a3ToB1 = key(A3.class, B1.class);
+        MapperKey b1ToNamed = key(B1.class, Named.class);
+        MapperKey a1ToB1 = key(A1.class, B1.class);
+        MapperKey objectToB1 = key(Object.class, B1.class);
+        MapperKey stringToB1 = key(String.class, B1.class);
+
+        List<MapperKey> source = Arrays.asList(a3ToB1, b1ToNamed, stringToB1, a1ToB1, objectToB1);
+        TypeHierarchyIndex<MapperKey> index = new TypeHierarchyIndex<MapperKey>(source);
+
+        Assert.assertEquals(Arrays.asList(b1ToNamed, a1ToB1, objectToB1), index.candidatesFor(A2.class));
+        Assert.assertEquals(Arrays.asList(a3ToB1, b1ToNamed, a1ToB1, objectToB1), index.candidatesFor(A3.class));
+        Assert.assertEquals(Arrays.asList(a3ToB1, b1ToNamed, stringToB1, a1ToB1, objectToB1), index.candidatesFor(B1.class));
+        Assert.assertEquals(Arrays.asList(b1ToNamed, objectToB1), index.candidatesFor(Named.class));
+    }
+
+    @Test
+    public void testCandidatesForArraysAndPrimitives() {
+
+        MapperKey objectArrayToList = key(Object[].class, List.class);
+        MapperKey serializableToB1 = key(Serializable.class, B1.class);
+        MapperKey intArrayToList = key(int[].class, List.class);
+        MapperKey intToLong = key(int.class, long.class);
+
+        List<MapperKey> source = new ArrayList<MapperKey>(Arrays.asList(objectArrayToList, serializableToB1, intArrayToList, intToLong));
+        TypeHierarchyIndex<MapperKey> index = new TypeHierarchyIndex<MapperKey>(source);
+
+        Assert.assertEquals(Arrays.asList(objectArrayToList, serializableToB1), index.candidatesFor(A3[][].class));
+        Assert.assertEquals(Arrays.asList(serializableToB1, intArrayToList), index.candidatesFor(int[].class));
+        Assert.assertEquals(Arrays.asList(intToLong), index.candidatesFor(int.class));
+        Assert.assertEquals(Collections.emptyList(), index.candidatesFor(double.class));
+    }
+}